@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.benchmarks;
+
+import static com.paritytrading.juncture.cboe.fx.itch.CboeFXBook.*;
+
+import com.paritytrading.juncture.cboe.fx.itch.CboeFXBookFormatter;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures encoding a market snapshot with five price levels of two
+ * orders each on both sides of every currency pair. Run with
+ * {@code -prof gc} to see the allocation rate per snapshot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CboeFXBookFormatterBenchmark {
+
+    @Param({"1", "16"})
+    public int currencyPairs;
+
+    private MarketSnapshotEntry[] entries;
+
+    private ByteBuffer buffer;
+
+    private CboeFXBookFormatter formatter;
+
+    @Setup
+    public void prepare() {
+        entries = CboeFXMessages.snapshot(new Random(0), currencyPairs, 5, 2);
+
+        buffer = ByteBuffer.allocateDirect(64 * 1024);
+
+        formatter = new CboeFXBookFormatter();
+    }
+
+    @Benchmark
+    public int marketSnapshot() {
+        buffer.clear();
+
+        formatter.marketSnapshotStart(buffer);
+
+        for (int i = 0; i < entries.length; i++)
+            formatter.marketSnapshotEntry(buffer, entries[i]);
+
+        formatter.marketSnapshotEnd(buffer);
+
+        return buffer.position();
+    }
+
+}
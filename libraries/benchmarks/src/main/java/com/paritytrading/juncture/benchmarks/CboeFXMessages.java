@@ -0,0 +1,228 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.benchmarks;
+
+import static com.paritytrading.juncture.cboe.fx.itch.CboeFXBook.*;
+
+import com.paritytrading.foundation.ASCII;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * A generator of synthetic Cboe FX Book Protocol messages.
+ *
+ * <p>The message mix approximates a trading day: mostly New Order and
+ * Cancel Order messages, with Modify Order and Ticker messages making up
+ * the rest. Market snapshots contain a number of price levels with a
+ * number of orders each on both sides of every currency pair.</p>
+ */
+final class CboeFXMessages {
+
+    static final int PRICE_DECIMALS = 5;
+
+    private static final int MAX_MESSAGE_LENGTH = 96;
+
+    private static final String[] CURRENCY_PAIRS = {
+        "EUR/USD", "USD/JPY", "GBP/USD", "AUD/USD",
+        "USD/CAD", "USD/CHF", "NZD/USD", "EUR/JPY",
+        "GBP/JPY", "EUR/GBP", "AUD/JPY", "EUR/AUD",
+        "EUR/CHF", "AUD/NZD", "NZD/JPY", "GBP/AUD",
+    };
+
+    private final Random random;
+
+    private long nextOrderId;
+
+    private final NewOrder    newOrder;
+    private final ModifyOrder modifyOrder;
+    private final CancelOrder cancelOrder;
+    private final Ticker      ticker;
+
+    private CboeFXMessages(Random random) {
+        this.random = random;
+
+        this.nextOrderId = 1;
+
+        this.newOrder    = new NewOrder();
+        this.modifyOrder = new ModifyOrder();
+        this.cancelOrder = new CancelOrder();
+        this.ticker      = new Ticker();
+    }
+
+    /**
+     * Generate a message stream.
+     *
+     * @param random a source of randomness
+     * @param count the number of messages
+     * @return the messages, each in its own buffer
+     */
+    static ByteBuffer[] mix(Random random, int count) {
+        return generate(random, count, false);
+    }
+
+    /**
+     * Generate a stream of Ticker messages.
+     *
+     * @param random a source of randomness
+     * @param count the number of messages
+     * @return the messages, each in its own buffer
+     */
+    static ByteBuffer[] tickers(Random random, int count) {
+        return generate(random, count, true);
+    }
+
+    private static ByteBuffer[] generate(Random random, int count, boolean tickers) {
+        CboeFXMessages generator = new CboeFXMessages(random);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(count * MAX_MESSAGE_LENGTH);
+
+        ByteBuffer[] messages = new ByteBuffer[count];
+
+        for (int i = 0; i < count; i++) {
+            int position = buffer.position();
+
+            if (tickers)
+                generator.ticker(buffer);
+            else
+                generator.next(buffer);
+
+            ByteBuffer message = buffer.duplicate();
+            message.position(position);
+            message.limit(buffer.position());
+
+            messages[i] = message.slice();
+        }
+
+        return messages;
+    }
+
+    /**
+     * Generate the entries of a market snapshot, grouped as required by
+     * {@link com.paritytrading.juncture.cboe.fx.itch.CboeFXBookFormatter}.
+     *
+     * @param random a source of randomness
+     * @param currencyPairs the number of currency pairs, at most 16
+     * @param levels the number of price levels on each side
+     * @param orders the number of orders on each price level
+     * @return the entries
+     */
+    static MarketSnapshotEntry[] snapshot(Random random, int currencyPairs, int levels, int orders) {
+        CboeFXMessages generator = new CboeFXMessages(random);
+
+        MarketSnapshotEntry[] entries = new MarketSnapshotEntry[currencyPairs * 2 * levels * orders];
+
+        int i = 0;
+
+        for (int pair = 0; pair < currencyPairs; pair++) {
+            for (byte side : new byte[] { BUY, SELL }) {
+                for (int level = 0; level < levels; level++) {
+                    long price = side == BUY ? 112340 - 5 * level : 112345 + 5 * level;
+
+                    for (int order = 0; order < orders; order++) {
+                        MarketSnapshotEntry entry = new MarketSnapshotEntry();
+
+                        ASCII.putLeft(entry.currencyPair, CURRENCY_PAIRS[pair]);
+                        entry.buyOrSellIndicator = side;
+                        ASCII.putFixedLeft(entry.price, price, PRICE_DECIMALS);
+                        ASCII.putLongLeft(entry.amount, generator.amount());
+                        ASCII.putLongLeft(entry.minqty, 0);
+                        ASCII.putLongLeft(entry.lotsize, 0);
+                        ASCII.putLongLeft(entry.orderId, generator.nextOrderId++);
+
+                        entries[i++] = entry;
+                    }
+                }
+            }
+        }
+
+        return entries;
+    }
+
+    private void next(ByteBuffer buffer) {
+        int n = random.nextInt(100);
+
+        if (n < 48)
+            newOrder(buffer);
+        else if (n < 58)
+            modifyOrder(buffer);
+        else if (n < 98)
+            cancelOrder(buffer);
+        else
+            ticker(buffer);
+    }
+
+    private void newOrder(ByteBuffer buffer) {
+        byte side = random.nextBoolean() ? BUY : SELL;
+
+        newOrder.buyOrSellIndicator = side;
+        ASCII.putLeft(newOrder.currencyPair, currencyPair());
+        ASCII.putLongLeft(newOrder.orderId, nextOrderId++);
+        ASCII.putFixedLeft(newOrder.price, price(side), PRICE_DECIMALS);
+        ASCII.putLongLeft(newOrder.amount, amount());
+        ASCII.putLongLeft(newOrder.minqty, 0);
+        ASCII.putLongLeft(newOrder.lotsize, 0);
+
+        newOrder.put(buffer);
+    }
+
+    private void modifyOrder(ByteBuffer buffer) {
+        ASCII.putLeft(modifyOrder.currencyPair, currencyPair());
+        ASCII.putLongLeft(modifyOrder.orderId, orderId());
+        ASCII.putLongLeft(modifyOrder.amount, amount());
+        ASCII.putLongLeft(modifyOrder.minqty, 0);
+        ASCII.putLongLeft(modifyOrder.lotsize, 0);
+
+        modifyOrder.put(buffer);
+    }
+
+    private void cancelOrder(ByteBuffer buffer) {
+        ASCII.putLeft(cancelOrder.currencyPair, currencyPair());
+        ASCII.putLongLeft(cancelOrder.orderId, orderId());
+
+        cancelOrder.put(buffer);
+    }
+
+    private void ticker(ByteBuffer buffer) {
+        byte side = random.nextBoolean() ? BUY : SELL;
+
+        ticker.aggressorBuyOrSellIndicator = side;
+        ASCII.putLeft(ticker.currencyPair, currencyPair());
+        ASCII.putFixedLeft(ticker.price, price(side), PRICE_DECIMALS);
+        ASCII.putLeft(ticker.transactionDate, "20151015");
+        ASCII.putLeft(ticker.transactionTime, "123456");
+
+        ticker.put(buffer);
+    }
+
+    private String currencyPair() {
+        return CURRENCY_PAIRS[random.nextInt(CURRENCY_PAIRS.length)];
+    }
+
+    private long orderId() {
+        return Math.max(nextOrderId - 1 - random.nextInt(1000), 1);
+    }
+
+    private long amount() {
+        return 1000000 * (1 + random.nextInt(5));
+    }
+
+    private long price(byte side) {
+        int ticks = random.nextInt(10);
+
+        return side == BUY ? 112340 - 5 * ticks : 112345 + 5 * ticks;
+    }
+
+}
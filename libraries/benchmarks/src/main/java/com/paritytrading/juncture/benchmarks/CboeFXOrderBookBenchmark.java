@@ -0,0 +1,124 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.benchmarks;
+
+import static com.paritytrading.juncture.cboe.fx.itch.CboeFXBook.*;
+
+import com.paritytrading.juncture.cboe.fx.itch.CboeFXBookFormatter;
+import com.paritytrading.juncture.cboe.fx.itch.CboeFXBookParser;
+import com.paritytrading.juncture.cboe.fx.itch.CboeFXOrderBook;
+import com.paritytrading.juncture.cboe.fx.itch.CboeFXOrderBookListener;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures order book reconstruction from Cboe FX Book Protocol messages,
+ * including decoding the messages: a message mix resembling a trading day
+ * and a market snapshot of 16 currency pairs. Run with {@code -prof gc} to
+ * see the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CboeFXOrderBookBenchmark {
+
+    private static final int MESSAGES = 4096;
+
+    private ByteBuffer[] messages;
+
+    private int index;
+
+    private ByteBuffer snapshot;
+
+    private CboeFXBookParser parser;
+
+    @Setup
+    public void prepare(Blackhole blackhole) {
+        messages = CboeFXMessages.mix(new Random(0), MESSAGES);
+
+        snapshot = ByteBuffer.allocateDirect(64 * 1024);
+
+        CboeFXBookFormatter formatter = new CboeFXBookFormatter();
+
+        formatter.marketSnapshotStart(snapshot);
+
+        for (MarketSnapshotEntry entry : CboeFXMessages.snapshot(new Random(0), 16, 5, 2))
+            formatter.marketSnapshotEntry(snapshot, entry);
+
+        formatter.marketSnapshotEnd(snapshot);
+
+        snapshot.flip();
+
+        parser = new CboeFXBookParser(new CboeFXOrderBook(new Sink(blackhole),
+                    CboeFXMessages.PRICE_DECIMALS));
+    }
+
+    @Benchmark
+    public void message() throws IOException {
+        ByteBuffer message = messages[index];
+
+        index = (index + 1) % MESSAGES;
+
+        message.position(0);
+
+        parser.parse(message);
+    }
+
+    @Benchmark
+    public void marketSnapshot() throws IOException {
+        snapshot.position(0);
+
+        parser.parse(snapshot);
+    }
+
+    private static class Sink implements CboeFXOrderBookListener {
+
+        private final Blackhole blackhole;
+
+        Sink(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void level(int currencyPair, byte side, long price, long amount) {
+            blackhole.consume(amount);
+        }
+
+        @Override
+        public void bbo(int currencyPair, long bidPrice, long bidAmount, long askPrice, long askAmount) {
+            blackhole.consume(bidAmount);
+            blackhole.consume(askAmount);
+        }
+
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.benchmarks;
+
+import com.paritytrading.juncture.nasdaq.itch50.ITCH50Book;
+import com.paritytrading.juncture.nasdaq.itch50.ITCH50BookListener;
+import com.paritytrading.juncture.nasdaq.itch50.ITCH50Parser;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures order book reconstruction from a message mix resembling a
+ * TotalView-ITCH 5.0 trading day, including decoding the messages.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ITCH50BookBenchmark {
+
+    private static final int MESSAGES = 256 * 1024;
+
+    private ByteBuffer[] messages;
+
+    private ITCH50Parser parser;
+
+    @Setup
+    public void prepare(Blackhole blackhole) {
+        messages = ITCH50Messages.closed(new Random(0), MESSAGES);
+
+        parser = new ITCH50Parser(new ITCH50Book(new Sink(blackhole)), true);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void replay() throws IOException {
+        for (int i = 0; i < messages.length; i++) {
+            ByteBuffer message = messages[i];
+
+            message.position(0);
+
+            parser.message(message);
+        }
+    }
+
+    private static class Sink implements ITCH50BookListener {
+
+        private final Blackhole blackhole;
+
+        Sink(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void level(int stockLocate, byte side, long price, long size) {
+            blackhole.consume(size);
+        }
+
+        @Override
+        public void bbo(int stockLocate, long bidPrice, long bidSize, long askPrice, long askSize) {
+            blackhole.consume(bidSize);
+            blackhole.consume(askSize);
+        }
+
+    }
+
+}
@@ -0,0 +1,394 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.benchmarks;
+
+import static com.paritytrading.juncture.nasdaq.itch50.ITCH50.*;
+
+import com.paritytrading.foundation.ASCII;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A generator of synthetic TotalView-ITCH 5.0 message streams.
+ *
+ * <p>The message mix approximates a trading day: mostly Add Order, Order
+ * Delete and Order Replace messages, with executions, cancellations and
+ * trades making up the rest. Every order message refers to a live order on
+ * the same stock locate, so the stream can also drive an order book.</p>
+ */
+final class ITCH50Messages {
+
+    static final int STOCKS = 64;
+
+    private static final int MAX_LIVE_ORDERS = 16384;
+
+    private static final int MAX_MESSAGE_LENGTH = 64;
+
+    private final Random random;
+
+    private final long[] orderReferenceNumbers;
+    private final int[]  stockLocates;
+    private final char[] sides;
+    private final long[] shares;
+    private final long[] prices;
+
+    private int liveOrders;
+
+    private long nextOrderReferenceNumber;
+    private long nextMatchNumber;
+
+    private final AddOrder               addOrder;
+    private final AddOrderMPID           addOrderMPID;
+    private final OrderExecuted          orderExecuted;
+    private final OrderExecutedWithPrice orderExecutedWithPrice;
+    private final OrderCancel            orderCancel;
+    private final OrderDelete            orderDelete;
+    private final OrderReplace           orderReplace;
+    private final Trade                  trade;
+    private final NOII                   noii;
+
+    private ITCH50Messages(Random random) {
+        this.random = random;
+
+        this.orderReferenceNumbers = new long[MAX_LIVE_ORDERS];
+        this.stockLocates          = new int[MAX_LIVE_ORDERS];
+        this.sides                 = new char[MAX_LIVE_ORDERS];
+        this.shares                = new long[MAX_LIVE_ORDERS];
+        this.prices                = new long[MAX_LIVE_ORDERS];
+
+        this.nextOrderReferenceNumber = 1;
+        this.nextMatchNumber          = 1;
+
+        this.addOrder               = new AddOrder();
+        this.addOrderMPID           = new AddOrderMPID();
+        this.orderExecuted          = new OrderExecuted();
+        this.orderExecutedWithPrice = new OrderExecutedWithPrice();
+        this.orderCancel            = new OrderCancel();
+        this.orderDelete            = new OrderDelete();
+        this.orderReplace           = new OrderReplace();
+        this.trade                  = new Trade();
+        this.noii                   = new NOII();
+    }
+
+    /**
+     * Generate a message stream.
+     *
+     * @param random a source of randomness
+     * @param count the number of messages
+     * @return the messages, each in its own buffer
+     */
+    static ByteBuffer[] mix(Random random, int count) {
+        return generate(random, count, false);
+    }
+
+    /**
+     * Generate a message stream that ends with an Order Delete message for
+     * every open order. Replaying the stream leaves the order book empty,
+     * so the stream can be replayed repeatedly.
+     *
+     * @param random a source of randomness
+     * @param count the number of messages before the Order Delete messages
+     * @return the messages, each in its own buffer
+     */
+    static ByteBuffer[] closed(Random random, int count) {
+        return generate(random, count, true);
+    }
+
+    private static ByteBuffer[] generate(Random random, int count, boolean closed) {
+        ITCH50Messages generator = new ITCH50Messages(random);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect((count + MAX_LIVE_ORDERS) * MAX_MESSAGE_LENGTH);
+
+        List<ByteBuffer> messages = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            int position = buffer.position();
+
+            generator.next(buffer);
+
+            messages.add(slice(buffer, position));
+        }
+
+        while (closed && generator.liveOrders > 0) {
+            int position = buffer.position();
+
+            generator.orderDelete(buffer);
+
+            messages.add(slice(buffer, position));
+        }
+
+        return messages.toArray(new ByteBuffer[0]);
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int position) {
+        ByteBuffer message = buffer.duplicate();
+        message.position(position);
+        message.limit(buffer.position());
+
+        return message.slice();
+    }
+
+    /**
+     * Get the stock symbol for a stock locate.
+     *
+     * @param stockLocate a stock locate
+     * @return the stock symbol, padded with spaces
+     */
+    static String stock(int stockLocate) {
+        return String.format("S%03d    ", stockLocate);
+    }
+
+    /**
+     * Get the packed stock symbol for a stock locate.
+     *
+     * @param stockLocate a stock locate
+     * @return the packed stock symbol
+     */
+    static long packedStock(int stockLocate) {
+        return ASCII.packLong(stock(stockLocate));
+    }
+
+    private void next(ByteBuffer buffer) {
+        int n = random.nextInt(100);
+
+        if (liveOrders < 64 || (n < 40 && liveOrders < MAX_LIVE_ORDERS)) {
+            if (n < 38)
+                addOrder(buffer);
+            else
+                addOrderMPID(buffer);
+        } else if (n < 76) {
+            orderDelete(buffer);
+        } else if (n < 87) {
+            orderReplace(buffer);
+        } else if (n < 91) {
+            orderExecuted(buffer);
+        } else if (n < 92) {
+            orderExecutedWithPrice(buffer);
+        } else if (n < 95) {
+            orderCancel(buffer);
+        } else if (n < 98) {
+            trade(buffer);
+        } else {
+            noii(buffer);
+        }
+    }
+
+    private void addOrder(ByteBuffer buffer) {
+        int  i           = add();
+        int  stockLocate = stockLocates[i];
+
+        addOrder.stockLocate          = stockLocate;
+        addOrder.trackingNumber       = 0;
+        addOrder.timestampHigh        = 0;
+        addOrder.timestampLow         = random.nextInt(Integer.MAX_VALUE);
+        addOrder.orderReferenceNumber = orderReferenceNumbers[i];
+        addOrder.buySellIndicator     = sides[i];
+        addOrder.shares               = shares[i];
+        addOrder.packedStock          = packedStock(stockLocate);
+        addOrder.rawPrice             = prices[i];
+
+        addOrder.put(buffer);
+    }
+
+    private void addOrderMPID(ByteBuffer buffer) {
+        int  i           = add();
+        int  stockLocate = stockLocates[i];
+
+        addOrderMPID.stockLocate          = stockLocate;
+        addOrderMPID.trackingNumber       = 0;
+        addOrderMPID.timestampHigh        = 0;
+        addOrderMPID.timestampLow         = random.nextInt(Integer.MAX_VALUE);
+        addOrderMPID.orderReferenceNumber = orderReferenceNumbers[i];
+        addOrderMPID.buySellIndicator     = sides[i];
+        addOrderMPID.shares               = shares[i];
+        addOrderMPID.packedStock          = packedStock(stockLocate);
+        addOrderMPID.rawPrice             = prices[i];
+        addOrderMPID.packedAttribution    = ASCII.packInt("MPID");
+
+        addOrderMPID.put(buffer);
+    }
+
+    private void orderExecuted(ByteBuffer buffer) {
+        int  i              = random.nextInt(liveOrders);
+        long executedShares = Math.min(shares[i], 100);
+
+        orderExecuted.stockLocate          = stockLocates[i];
+        orderExecuted.trackingNumber       = 0;
+        orderExecuted.timestampHigh        = 0;
+        orderExecuted.timestampLow         = random.nextInt(Integer.MAX_VALUE);
+        orderExecuted.orderReferenceNumber = orderReferenceNumbers[i];
+        orderExecuted.executedShares       = executedShares;
+        orderExecuted.matchNumber          = nextMatchNumber++;
+
+        orderExecuted.put(buffer);
+
+        reduce(i, executedShares);
+    }
+
+    private void orderExecutedWithPrice(ByteBuffer buffer) {
+        int  i              = random.nextInt(liveOrders);
+        long executedShares = Math.min(shares[i], 100);
+
+        orderExecutedWithPrice.stockLocate          = stockLocates[i];
+        orderExecutedWithPrice.trackingNumber       = 0;
+        orderExecutedWithPrice.timestampHigh        = 0;
+        orderExecutedWithPrice.timestampLow         = random.nextInt(Integer.MAX_VALUE);
+        orderExecutedWithPrice.orderReferenceNumber = orderReferenceNumbers[i];
+        orderExecutedWithPrice.executedShares       = executedShares;
+        orderExecutedWithPrice.matchNumber          = nextMatchNumber++;
+        orderExecutedWithPrice.printable            = (char)YES;
+        orderExecutedWithPrice.rawExecutionPrice    = prices[i];
+
+        orderExecutedWithPrice.put(buffer);
+
+        reduce(i, executedShares);
+    }
+
+    private void orderCancel(ByteBuffer buffer) {
+        int  i              = random.nextInt(liveOrders);
+        long canceledShares = Math.max(shares[i] / 2, 1);
+
+        orderCancel.stockLocate          = stockLocates[i];
+        orderCancel.trackingNumber       = 0;
+        orderCancel.timestampHigh        = 0;
+        orderCancel.timestampLow         = random.nextInt(Integer.MAX_VALUE);
+        orderCancel.orderReferenceNumber = orderReferenceNumbers[i];
+        orderCancel.canceledShares       = canceledShares;
+
+        orderCancel.put(buffer);
+
+        reduce(i, canceledShares);
+    }
+
+    private void orderDelete(ByteBuffer buffer) {
+        int i = random.nextInt(liveOrders);
+
+        orderDelete.stockLocate          = stockLocates[i];
+        orderDelete.trackingNumber       = 0;
+        orderDelete.timestampHigh        = 0;
+        orderDelete.timestampLow         = random.nextInt(Integer.MAX_VALUE);
+        orderDelete.orderReferenceNumber = orderReferenceNumbers[i];
+
+        orderDelete.put(buffer);
+
+        remove(i);
+    }
+
+    private void orderReplace(ByteBuffer buffer) {
+        int i = random.nextInt(liveOrders);
+
+        long originalOrderReferenceNumber = orderReferenceNumbers[i];
+
+        orderReferenceNumbers[i] = nextOrderReferenceNumber++;
+        shares[i]                = shares();
+        prices[i]                = price(sides[i]);
+
+        orderReplace.stockLocate                  = stockLocates[i];
+        orderReplace.trackingNumber               = 0;
+        orderReplace.timestampHigh                = 0;
+        orderReplace.timestampLow                 = random.nextInt(Integer.MAX_VALUE);
+        orderReplace.originalOrderReferenceNumber = originalOrderReferenceNumber;
+        orderReplace.newOrderReferenceNumber      = orderReferenceNumbers[i];
+        orderReplace.shares                       = shares[i];
+        orderReplace.rawPrice                     = prices[i];
+
+        orderReplace.put(buffer);
+    }
+
+    private void trade(ByteBuffer buffer) {
+        int stockLocate = 1 + random.nextInt(STOCKS);
+
+        trade.stockLocate          = stockLocate;
+        trade.trackingNumber       = 0;
+        trade.timestampHigh        = 0;
+        trade.timestampLow         = random.nextInt(Integer.MAX_VALUE);
+        trade.orderReferenceNumber = 0;
+        trade.buySellIndicator     = (char)BUY;
+        trade.shares               = shares();
+        trade.packedStock          = packedStock(stockLocate);
+        trade.rawPrice             = price(BUY);
+        trade.matchNumber          = nextMatchNumber++;
+
+        trade.put(buffer);
+    }
+
+    private void noii(ByteBuffer buffer) {
+        int stockLocate = 1 + random.nextInt(STOCKS);
+
+        noii.stockLocate              = stockLocate;
+        noii.trackingNumber           = 0;
+        noii.timestampHigh            = 0;
+        noii.timestampLow             = random.nextInt(Integer.MAX_VALUE);
+        noii.pairedShares             = shares();
+        noii.imbalanceShares          = shares();
+        noii.imbalanceDirection       = (char)IMBALANCE_DIRECTION_BUY_IMBALANCE;
+        noii.packedStock              = packedStock(stockLocate);
+        noii.rawFarPrice              = price(SELL);
+        noii.rawNearPrice             = price(SELL);
+        noii.rawCurrentReferencePrice = price(BUY);
+        noii.crossType                = (char)CROSS_TYPE_CLOSING_CROSS;
+        noii.priceVariationIndicator  = (char)PRICE_VARIATION_INDICATOR_LESS_THAN_1_PCT;
+
+        noii.put(buffer);
+    }
+
+    private int add() {
+        int  i    = liveOrders++;
+        char side = random.nextBoolean() ? (char)BUY : (char)SELL;
+
+        orderReferenceNumbers[i] = nextOrderReferenceNumber++;
+        stockLocates[i]          = 1 + random.nextInt(STOCKS);
+        sides[i]                 = side;
+        shares[i]                = shares();
+        prices[i]                = price(side);
+
+        return i;
+    }
+
+    private void reduce(int i, long quantity) {
+        shares[i] -= quantity;
+
+        if (shares[i] == 0)
+            remove(i);
+    }
+
+    private void remove(int i) {
+        int last = --liveOrders;
+
+        orderReferenceNumbers[i] = orderReferenceNumbers[last];
+        stockLocates[i]          = stockLocates[last];
+        sides[i]                 = sides[last];
+        shares[i]                = shares[last];
+        prices[i]                = prices[last];
+    }
+
+    private long shares() {
+        return 100 * (1 + random.nextInt(10));
+    }
+
+    /*
+     * Most orders are placed close to the best price, so the distance from
+     * the inside in ticks follows a geometric distribution.
+     */
+    private long price(int side) {
+        int ticks = Math.min((int)(-Math.log(1 - random.nextDouble()) * 4), 99);
+
+        return side == BUY ? 1000000 - 100 * ticks : 1000100 + 100 * ticks;
+    }
+
+}
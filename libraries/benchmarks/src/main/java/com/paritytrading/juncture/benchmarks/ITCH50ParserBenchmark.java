@@ -0,0 +1,247 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.benchmarks;
+
+import static com.paritytrading.juncture.nasdaq.itch50.ITCH50.*;
+
+import com.paritytrading.juncture.nasdaq.MessageFilter;
+import com.paritytrading.juncture.nasdaq.itch50.ITCH50Listener;
+import com.paritytrading.juncture.nasdaq.itch50.ITCH50Parser;
+import com.paritytrading.juncture.nasdaq.itch50.StockLocateDirectory;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures decoding a message mix resembling a TotalView-ITCH 5.0 trading
+ * day. Run with {@code -prof gc} to see the allocation rate per message.
+ *
+ * <p>The decoding is either the default decoding, the default decoding
+ * with stock symbols resolved through a {@link StockLocateDirectory}, the
+ * packed decoding, or the default decoding filtered to Add Order and Order
+ * Executed messages for four of the stocks.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ITCH50ParserBenchmark {
+
+    private static final int MESSAGES = 4096;
+
+    @Param({"default", "directory", "packed", "filtered"})
+    public String decoding;
+
+    private ByteBuffer[] messages;
+
+    private int index;
+
+    private ITCH50Parser parser;
+
+    @Setup
+    public void prepare(Blackhole blackhole) {
+        messages = ITCH50Messages.mix(new Random(0), MESSAGES);
+
+        Sink sink = new Sink(blackhole);
+
+        switch (decoding) {
+        case "directory":
+            parser = new ITCH50Parser(sink, directory());
+            break;
+        case "packed":
+            parser = new ITCH50Parser(sink, true);
+            break;
+        case "filtered":
+            parser = new ITCH50Parser(sink);
+            parser.setFilter(filter());
+            break;
+        default:
+            parser = new ITCH50Parser(sink);
+            break;
+        }
+    }
+
+    @Benchmark
+    public void message() throws IOException {
+        ByteBuffer message = messages[index];
+
+        index = (index + 1) % MESSAGES;
+
+        message.position(0);
+
+        parser.message(message);
+    }
+
+    private static StockLocateDirectory directory() {
+        StockLocateDirectory directory = new StockLocateDirectory();
+
+        StockDirectory message = new StockDirectory();
+
+        for (int stockLocate = 1; stockLocate <= ITCH50Messages.STOCKS; stockLocate++) {
+            message.stockLocate = stockLocate;
+            message.packedStock = ITCH50Messages.packedStock(stockLocate);
+
+            directory.add(message);
+        }
+
+        return directory;
+    }
+
+    private static MessageFilter filter() {
+        MessageFilter filter = new MessageFilter();
+
+        filter.setMessageTypes(MESSAGE_TYPE_ADD_ORDER, MESSAGE_TYPE_ORDER_EXECUTED);
+        filter.setStockLocates(1, 2, 3, 4);
+
+        return filter;
+    }
+
+    private static class Sink implements ITCH50Listener {
+
+        private final Blackhole blackhole;
+
+        Sink(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void systemEvent(SystemEvent message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void stockDirectory(StockDirectory message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void stockTradingAction(StockTradingAction message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void regSHORestriction(RegSHORestriction message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void marketParticipantPosition(MarketParticipantPosition message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void mwcbDeclineLevel(MWCBDeclineLevel message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void mwcbStatus(MWCBStatus message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void ipoQuotingPeriodUpdate(IPOQuotingPeriodUpdate message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void luldAuctionCollar(LULDAuctionCollar message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void operationalHalt(OperationalHalt message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void addOrder(AddOrder message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void addOrderMPID(AddOrderMPID message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void orderExecuted(OrderExecuted message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void orderExecutedWithPrice(OrderExecutedWithPrice message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void orderCancel(OrderCancel message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void orderDelete(OrderDelete message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void orderReplace(OrderReplace message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void trade(Trade message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void crossTrade(CrossTrade message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void brokenTrade(BrokenTrade message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void noii(NOII message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void rpii(RPII message) {
+            blackhole.consume(message);
+        }
+
+    }
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.benchmarks;
+
+import static com.paritytrading.juncture.nasdaq.itch50.ITCH50View.*;
+
+import com.paritytrading.juncture.nasdaq.itch50.ITCH50ViewListener;
+import com.paritytrading.juncture.nasdaq.itch50.ITCH50ViewParser;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures dispatching flyweight views over a message mix resembling a
+ * TotalView-ITCH 5.0 trading day. The listener reads a single field of each
+ * message, like an aggressively filtering consumer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ITCH50ViewParserBenchmark {
+
+    private static final int MESSAGES = 4096;
+
+    private ByteBuffer[] messages;
+
+    private int index;
+
+    private ITCH50ViewParser parser;
+
+    @Setup
+    public void prepare(Blackhole blackhole) {
+        messages = ITCH50Messages.mix(new Random(0), MESSAGES);
+
+        parser = new ITCH50ViewParser(new Sink(blackhole));
+    }
+
+    @Benchmark
+    public void message() throws IOException {
+        ByteBuffer message = messages[index];
+
+        index = (index + 1) % MESSAGES;
+
+        message.position(0);
+
+        parser.message(message);
+    }
+
+    private static class Sink implements ITCH50ViewListener {
+
+        private final Blackhole blackhole;
+
+        Sink(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void systemEvent(SystemEvent message) {
+            blackhole.consume(message.stockLocate());
+        }
+
+        @Override
+        public void stockDirectory(StockDirectory message) {
+            blackhole.consume(message.stockLocate());
+        }
+
+        @Override
+        public void stockTradingAction(StockTradingAction message) {
+            blackhole.consume(message.stockLocate());
+        }
+
+        @Override
+        public void regSHORestriction(RegSHORestriction message) {
+            blackhole.consume(message.stockLocate());
+        }
+
+        @Override
+        public void marketParticipantPosition(MarketParticipantPosition message) {
+            blackhole.consume(message.stockLocate());
+        }
+
+        @Override
+        public void mwcbDeclineLevel(MWCBDeclineLevel message) {
+            blackhole.consume(message.stockLocate());
+        }
+
+        @Override
+        public void mwcbStatus(MWCBStatus message) {
+            blackhole.consume(message.stockLocate());
+        }
+
+        @Override
+        public void ipoQuotingPeriodUpdate(IPOQuotingPeriodUpdate message) {
+            blackhole.consume(message.stockLocate());
+        }
+
+        @Override
+        public void luldAuctionCollar(LULDAuctionCollar message) {
+            blackhole.consume(message.stockLocate());
+        }
+
+        @Override
+        public void operationalHalt(OperationalHalt message) {
+            blackhole.consume(message.stockLocate());
+        }
+
+        @Override
+        public void addOrder(AddOrder message) {
+            blackhole.consume(message.orderReferenceNumber());
+        }
+
+        @Override
+        public void addOrderMPID(AddOrderMPID message) {
+            blackhole.consume(message.orderReferenceNumber());
+        }
+
+        @Override
+        public void orderExecuted(OrderExecuted message) {
+            blackhole.consume(message.orderReferenceNumber());
+        }
+
+        @Override
+        public void orderExecutedWithPrice(OrderExecutedWithPrice message) {
+            blackhole.consume(message.orderReferenceNumber());
+        }
+
+        @Override
+        public void orderCancel(OrderCancel message) {
+            blackhole.consume(message.orderReferenceNumber());
+        }
+
+        @Override
+        public void orderDelete(OrderDelete message) {
+            blackhole.consume(message.orderReferenceNumber());
+        }
+
+        @Override
+        public void orderReplace(OrderReplace message) {
+            blackhole.consume(message.newOrderReferenceNumber());
+        }
+
+        @Override
+        public void trade(Trade message) {
+            blackhole.consume(message.orderReferenceNumber());
+        }
+
+        @Override
+        public void crossTrade(CrossTrade message) {
+            blackhole.consume(message.stockLocate());
+        }
+
+        @Override
+        public void brokenTrade(BrokenTrade message) {
+            blackhole.consume(message.stockLocate());
+        }
+
+        @Override
+        public void noii(NOII message) {
+            blackhole.consume(message.stockLocate());
+        }
+
+        @Override
+        public void rpii(RPII message) {
+            blackhole.consume(message.stockLocate());
+        }
+
+    }
+
+}
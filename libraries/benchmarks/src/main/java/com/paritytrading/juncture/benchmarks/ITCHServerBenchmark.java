@@ -0,0 +1,162 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.benchmarks;
+
+import static com.paritytrading.juncture.cboe.fx.itch.ITCH.*;
+
+import com.paritytrading.foundation.ASCII;
+import com.paritytrading.juncture.cboe.fx.itch.ITCHServer;
+import com.paritytrading.juncture.cboe.fx.itch.ITCHServerListener;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures sending Sequenced Data packets carrying Cboe FX Book Protocol
+ * Ticker messages over a loopback connection, either one write per packet
+ * or batched into a transmit buffer and flushed once per invocation. A
+ * background thread drains the other end of the connection. The reported
+ * time is per packet.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ITCHServerBenchmark {
+
+    private static final int PACKETS = 64;
+
+    private static final int RX_BUFFER_CAPACITY = 1024;
+
+    @Param({"0", "65536"})
+    public int txBufferCapacity;
+
+    private ByteBuffer[] messages;
+
+    private SequencedData header;
+
+    private SocketChannel clientChannel;
+
+    private ITCHServer server;
+
+    @Setup
+    public void prepare() throws IOException {
+        messages = CboeFXMessages.tickers(new Random(0), PACKETS);
+
+        header = new SequencedData();
+        ASCII.putLeft(header.time, "123456789");
+
+        ServerSocketChannel acceptor = ServerSocketChannel.open();
+        acceptor.bind(null);
+
+        clientChannel = SocketChannel.open(acceptor.getLocalAddress());
+
+        SocketChannel serverChannel = acceptor.accept();
+        acceptor.close();
+
+        server = new ITCHServer(serverChannel, RX_BUFFER_CAPACITY, txBufferCapacity, new Sink());
+
+        Thread drain = new Thread(() -> {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+
+            try {
+                while (clientChannel.read(buffer) >= 0)
+                    buffer.clear();
+            } catch (IOException e) {
+            }
+        });
+
+        drain.setDaemon(true);
+        drain.start();
+    }
+
+    @TearDown
+    public void dispose() throws IOException {
+        server.close();
+        clientChannel.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PACKETS)
+    public void send() throws IOException {
+        for (ByteBuffer message : messages) {
+            server.send(header, message);
+
+            message.flip();
+        }
+
+        server.flush();
+    }
+
+    private static class Sink implements ITCHServerListener {
+
+        @Override
+        public void heartbeatTimeout(ITCHServer session) {
+        }
+
+        @Override
+        public void loginRequest(ITCHServer session, LoginRequest packet) {
+        }
+
+        @Override
+        public void logoutRequest(ITCHServer session) {
+        }
+
+        @Override
+        public void marketSnapshotRequest(ITCHServer session, MarketSnapshotRequest packet) {
+        }
+
+        @Override
+        public void tickerSubscribeRequest(ITCHServer session, TickerSubscribeRequest packet) {
+        }
+
+        @Override
+        public void tickerUnsubscribeRequest(ITCHServer session, TickerUnsubscribeRequest packet) {
+        }
+
+        @Override
+        public void marketDataSubscribeRequest(ITCHServer session, MarketDataSubscribeRequest packet) {
+        }
+
+        @Override
+        public void marketDataUnsubscribeRequest(ITCHServer session, MarketDataUnsubscribeRequest packet) {
+        }
+
+        @Override
+        public void instrumentDirectoryRequest(ITCHServer session) {
+        }
+
+    }
+
+}
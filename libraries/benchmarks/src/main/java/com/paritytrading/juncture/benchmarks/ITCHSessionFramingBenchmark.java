@@ -0,0 +1,201 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.benchmarks;
+
+import static com.paritytrading.juncture.cboe.fx.itch.CboeFXBook.*;
+import static com.paritytrading.juncture.cboe.fx.itch.ITCH.*;
+
+import com.paritytrading.juncture.cboe.fx.itch.CboeFXBookFormatter;
+import com.paritytrading.juncture.cboe.fx.itch.ITCHClient;
+import com.paritytrading.juncture.cboe.fx.itch.ITCHClientListener;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures framing Sequenced Data packets: a stream of small packets each
+ * carrying a Ticker message and a stream of packets each carrying a market
+ * snapshot of about 8 KB. The packets are read from memory in segments of
+ * 1460 bytes, so a snapshot packet arrives over several reads. The
+ * reported time is per packet.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ITCHSessionFramingBenchmark {
+
+    private static final int TICKER_PACKETS = 4096;
+
+    private static final int SNAPSHOT_PACKETS = 64;
+
+    private static final int SEGMENT_SIZE = 1460;
+
+    private static final int RX_BUFFER_CAPACITY = 64 * 1024;
+
+    private static final byte SEQUENCED_DATA = 'S';
+
+    private static final byte TLF = 0x0A;
+
+    private static final byte[] TIME = { '1', '2', '3', '4', '5', '6', '7', '8', '9' };
+
+    @Benchmark
+    @OperationsPerInvocation(TICKER_PACKETS)
+    public void tickers(Tickers stream) throws IOException {
+        stream.receive();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SNAPSHOT_PACKETS)
+    public void snapshots(Snapshots stream) throws IOException {
+        stream.receive();
+    }
+
+    @State(Scope.Thread)
+    public static class Tickers extends Stream {
+
+        @Setup
+        public void prepare(Blackhole blackhole) {
+            ByteBuffer[] messages = CboeFXMessages.tickers(new Random(0), TICKER_PACKETS);
+
+            prepare(blackhole, messages);
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class Snapshots extends Stream {
+
+        @Setup
+        public void prepare(Blackhole blackhole) {
+            ByteBuffer[] messages = new ByteBuffer[SNAPSHOT_PACKETS];
+
+            CboeFXBookFormatter formatter = new CboeFXBookFormatter();
+
+            Random random = new Random(0);
+
+            for (int i = 0; i < messages.length; i++) {
+                ByteBuffer message = ByteBuffer.allocateDirect(16 * 1024);
+
+                formatter.marketSnapshotStart(message);
+
+                for (MarketSnapshotEntry entry : CboeFXMessages.snapshot(random, 7, 4, 2))
+                    formatter.marketSnapshotEntry(message, entry);
+
+                formatter.marketSnapshotEnd(message);
+
+                message.flip();
+
+                messages[i] = message;
+            }
+
+            prepare(blackhole, messages);
+        }
+
+    }
+
+    private abstract static class Stream {
+
+        private int streamLength;
+
+        private ITCHClient client;
+
+        void prepare(Blackhole blackhole, ByteBuffer[] messages) {
+            int capacity = 0;
+
+            for (ByteBuffer message : messages)
+                capacity += 1 + TIME.length + message.remaining() + 1;
+
+            ByteBuffer stream = ByteBuffer.allocateDirect(capacity);
+
+            for (ByteBuffer message : messages) {
+                stream.put(SEQUENCED_DATA);
+                stream.put(TIME);
+                stream.put(message);
+                stream.put(TLF);
+            }
+
+            stream.flip();
+
+            streamLength = stream.remaining();
+
+            client = new ITCHClient(new ReplayChannel(stream, SEGMENT_SIZE), RX_BUFFER_CAPACITY,
+                    new Sink(blackhole));
+        }
+
+        void receive() throws IOException {
+            int bytes = 0;
+
+            while (bytes < streamLength)
+                bytes += client.receive();
+        }
+
+    }
+
+    private static class Sink implements ITCHClientListener {
+
+        private final Blackhole blackhole;
+
+        Sink(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void heartbeatTimeout(ITCHClient session) {
+        }
+
+        @Override
+        public void loginAccepted(ITCHClient session, LoginAccepted packet) {
+        }
+
+        @Override
+        public void loginRejected(ITCHClient session, LoginRejected packet) {
+        }
+
+        @Override
+        public void sequencedData(ITCHClient session, SequencedData header, ByteBuffer payload) {
+            blackhole.consume(payload.remaining());
+        }
+
+        @Override
+        public void endOfSession(ITCHClient session) {
+        }
+
+        @Override
+        public void errorNotification(ITCHClient session, ErrorNotification packet) {
+        }
+
+        @Override
+        public void instrumentDirectory(ITCHClient session, InstrumentDirectory packet) {
+        }
+
+    }
+
+}
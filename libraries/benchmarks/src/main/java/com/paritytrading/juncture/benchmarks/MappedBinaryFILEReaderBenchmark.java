@@ -0,0 +1,98 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.benchmarks;
+
+import com.paritytrading.juncture.nasdaq.MappedBinaryFILEReader;
+import com.paritytrading.nassau.MessageListener;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures reading a BinaryFILE file containing a TotalView-ITCH 5.0
+ * message mix. The message listener only reads the message type, so the
+ * reported time per message is the overhead of the reader.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MappedBinaryFILEReaderBenchmark {
+
+    private static final int MESSAGES = 1024 * 1024;
+
+    private File file;
+
+    private FileChannel channel;
+
+    private MessageListener listener;
+
+    @Setup
+    public void prepare(Blackhole blackhole) throws IOException {
+        file = File.createTempFile("juncture", ".bin");
+
+        ByteBuffer length = ByteBuffer.allocate(2);
+
+        try (FileChannel output = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            for (ByteBuffer message : ITCH50Messages.mix(new Random(0), MESSAGES)) {
+                length.clear();
+                length.putShort((short)message.remaining());
+                length.flip();
+
+                output.write(new ByteBuffer[] { length, message });
+            }
+        }
+
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+
+        listener = buffer -> blackhole.consume(buffer.get(buffer.position()));
+    }
+
+    @TearDown
+    public void dispose() throws IOException {
+        channel.close();
+
+        file.delete();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void read() throws IOException {
+        MappedBinaryFILEReader reader = new MappedBinaryFILEReader(channel, listener);
+
+        while (reader.read() >= 0);
+    }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.benchmarks;
+
+import static com.paritytrading.juncture.nasdaq.nls30.NLS30.*;
+
+import com.paritytrading.foundation.ASCII;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * A generator of synthetic Nasdaq Last Sale 3.0 message streams.
+ *
+ * <p>The message mix approximates a trading day: mostly Trade Report
+ * messages, with long form trade reports, trade cancellations, trade
+ * corrections and Reg SHO Restriction messages making up the rest.</p>
+ */
+final class NLS30Messages {
+
+    private static final int MAX_MESSAGE_LENGTH = 128;
+
+    private static final int SALE_CONDITION_MODIFIER_FT   = ASCII.packInt("@FT ");
+    private static final int SALE_CONDITION_MODIFIER_NONE = ASCII.packInt("@   ");
+
+    private final Random random;
+
+    private long nextTradeControlNumber;
+
+    private long consolidatedVolume;
+
+    private final TradeReportForNonNextShares         tradeReport;
+    private final LongFormTradeReportForNonNextShares tradeReportLongForm;
+    private final TradeCancelErrorForNonNextShares    tradeCancelError;
+    private final TradeCorrectionForNonNextShares     tradeCorrection;
+    private final RegSHORestriction                   regSHORestriction;
+
+    private NLS30Messages(Random random) {
+        this.random = random;
+
+        this.nextTradeControlNumber = 1;
+
+        this.tradeReport         = new TradeReportForNonNextShares();
+        this.tradeReportLongForm = new LongFormTradeReportForNonNextShares();
+        this.tradeCancelError    = new TradeCancelErrorForNonNextShares();
+        this.tradeCorrection     = new TradeCorrectionForNonNextShares();
+        this.regSHORestriction   = new RegSHORestriction();
+    }
+
+    /**
+     * Generate a message stream.
+     *
+     * @param random a source of randomness
+     * @param count the number of messages
+     * @return the messages, each in its own buffer
+     */
+    static ByteBuffer[] mix(Random random, int count) {
+        NLS30Messages generator = new NLS30Messages(random);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(count * MAX_MESSAGE_LENGTH);
+
+        ByteBuffer[] messages = new ByteBuffer[count];
+
+        for (int i = 0; i < count; i++) {
+            int position = buffer.position();
+
+            generator.next(buffer);
+
+            messages[i] = slice(buffer, position);
+        }
+
+        return messages;
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int position) {
+        ByteBuffer message = buffer.duplicate();
+        message.position(position);
+        message.limit(buffer.position());
+
+        return message.slice();
+    }
+
+    private void next(ByteBuffer buffer) {
+        int n = random.nextInt(100);
+
+        if (n < 88)
+            tradeReport(buffer);
+        else if (n < 92)
+            tradeReportLongForm(buffer);
+        else if (n < 96)
+            tradeCancelError(buffer);
+        else if (n < 98)
+            tradeCorrection(buffer);
+        else
+            regSHORestriction(buffer);
+    }
+
+    private void tradeReport(ByteBuffer buffer) {
+        long tradeSize = shares();
+
+        consolidatedVolume += tradeSize;
+
+        tradeReport.trackingNumber                    = 0;
+        tradeReport.timestampHigh                     = 0;
+        tradeReport.timestampLow                      = random.nextInt(Integer.MAX_VALUE);
+        tradeReport.originatingMarketCenterIdentifier = (char)MARKET_CODE_NASDAQ;
+        tradeReport.packedIssueSymbol                 = ITCH50Messages.packedStock(stock());
+        tradeReport.securityClass                     = (char)SECURITY_CLASS_NASDAQ;
+        tradeReport.rawTradePrice                     = price();
+        tradeReport.tradeSize                         = tradeSize;
+        tradeReport.packedSaleConditionModifier       = saleConditionModifier();
+        tradeReport.consolidatedVolume                = consolidatedVolume;
+
+        tradeControlNumber(tradeReport.packedTradeControlNumber);
+
+        tradeReport.put(buffer);
+    }
+
+    private void tradeReportLongForm(ByteBuffer buffer) {
+        long tradeSize = 100 * shares();
+
+        consolidatedVolume += tradeSize;
+
+        tradeReportLongForm.trackingNumber                    = 0;
+        tradeReportLongForm.timestampHigh                     = 0;
+        tradeReportLongForm.timestampLow                      = random.nextInt(Integer.MAX_VALUE);
+        tradeReportLongForm.originatingMarketCenterIdentifier = (char)MARKET_CODE_TRF_CARTARET;
+        tradeReportLongForm.packedIssueSymbol                 = ITCH50Messages.packedStock(stock());
+        tradeReportLongForm.securityClass                     = (char)SECURITY_CLASS_NYSE;
+        tradeReportLongForm.rawTradePrice                     = price();
+        tradeReportLongForm.tradeSize                         = tradeSize;
+        tradeReportLongForm.packedSaleConditionModifier       = saleConditionModifier();
+        tradeReportLongForm.consolidatedVolume                = consolidatedVolume;
+
+        tradeControlNumber(tradeReportLongForm.packedTradeControlNumber);
+
+        tradeReportLongForm.put(buffer);
+    }
+
+    private void tradeCancelError(ByteBuffer buffer) {
+        tradeCancelError.trackingNumber                      = 0;
+        tradeCancelError.timestampHigh                       = 0;
+        tradeCancelError.timestampLow                        = random.nextInt(Integer.MAX_VALUE);
+        tradeCancelError.originatingMarketCenterIdentifier   = (char)MARKET_CODE_NASDAQ;
+        tradeCancelError.packedIssueSymbol                   = ITCH50Messages.packedStock(stock());
+        tradeCancelError.securityClass                       = (char)SECURITY_CLASS_NASDAQ;
+        tradeCancelError.rawOriginalTradePrice               = price();
+        tradeCancelError.originalTradeSize                   = shares();
+        tradeCancelError.packedOriginalSaleConditionModifier = saleConditionModifier();
+        tradeCancelError.consolidatedVolume                  = consolidatedVolume;
+
+        tradeControlNumber(tradeCancelError.packedOriginalTradeControlNumber);
+
+        tradeCancelError.put(buffer);
+    }
+
+    private void tradeCorrection(ByteBuffer buffer) {
+        tradeCorrection.trackingNumber                        = 0;
+        tradeCorrection.timestampHigh                         = 0;
+        tradeCorrection.timestampLow                          = random.nextInt(Integer.MAX_VALUE);
+        tradeCorrection.originatingMarketCenterIdentifier     = (char)MARKET_CODE_NASDAQ;
+        tradeCorrection.packedIssueSymbol                     = ITCH50Messages.packedStock(stock());
+        tradeCorrection.securityClass                         = (char)SECURITY_CLASS_NASDAQ;
+        tradeCorrection.rawOriginalTradePrice                 = price();
+        tradeCorrection.originalTradeSize                     = shares();
+        tradeCorrection.packedOriginalSaleConditionModifier   = saleConditionModifier();
+        tradeCorrection.rawCorrectionTradePrice               = price();
+        tradeCorrection.correctionTradeSize                   = shares();
+        tradeCorrection.packedCorrectionSaleConditionModifier = saleConditionModifier();
+        tradeCorrection.consolidatedVolume                    = consolidatedVolume;
+
+        tradeControlNumber(tradeCorrection.packedOriginalTradeControlNumber);
+        tradeControlNumber(tradeCorrection.packedCorrectionTradeControlNumber);
+
+        tradeCorrection.put(buffer);
+    }
+
+    private void regSHORestriction(ByteBuffer buffer) {
+        regSHORestriction.trackingNumber    = 0;
+        regSHORestriction.timestampHigh     = 0;
+        regSHORestriction.timestampLow      = random.nextInt(Integer.MAX_VALUE);
+        regSHORestriction.packedIssueSymbol = ITCH50Messages.packedStock(stock());
+        regSHORestriction.regSHOAction      = '1';
+
+        regSHORestriction.put(buffer);
+    }
+
+    private int stock() {
+        return 1 + random.nextInt(ITCH50Messages.STOCKS);
+    }
+
+    private void tradeControlNumber(byte[] packed) {
+        byte[] value = String.format("%-10d", nextTradeControlNumber++).getBytes(StandardCharsets.US_ASCII);
+
+        System.arraycopy(value, 0, packed, 0, packed.length);
+    }
+
+    private int saleConditionModifier() {
+        return random.nextInt(4) == 0 ? SALE_CONDITION_MODIFIER_FT : SALE_CONDITION_MODIFIER_NONE;
+    }
+
+    private long shares() {
+        return 100 * (1 + random.nextInt(10));
+    }
+
+    private long price() {
+        return 1000000 + 100 * (random.nextInt(21) - 10);
+    }
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.benchmarks;
+
+import static com.paritytrading.juncture.nasdaq.nls30.NLS30.*;
+
+import com.paritytrading.juncture.nasdaq.nls30.NLS30Listener;
+import com.paritytrading.juncture.nasdaq.nls30.NLS30Parser;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures decoding a message mix resembling a Nasdaq Last Sale 3.0
+ * trading day. Run with {@code -prof gc} to see the allocation
+ * rate per message.
+ *
+ * <p>The decoding is either the default decoding or the packed
+ * decoding.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NLS30ParserBenchmark {
+
+    private static final int MESSAGES = 4096;
+
+    @Param({"default", "packed"})
+    public String decoding;
+
+    private ByteBuffer[] messages;
+
+    private int index;
+
+    private NLS30Parser parser;
+
+    @Setup
+    public void prepare(Blackhole blackhole) {
+        messages = NLS30Messages.mix(new Random(0), MESSAGES);
+
+        parser = new NLS30Parser(new Sink(blackhole), true, decoding.equals("packed"));
+    }
+
+    @Benchmark
+    public void message() throws IOException {
+        ByteBuffer message = messages[index];
+
+        index = (index + 1) % MESSAGES;
+
+        message.position(0);
+
+        parser.message(message);
+    }
+
+    private static class Sink implements NLS30Listener {
+
+        private final Blackhole blackhole;
+
+        Sink(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void systemEvent(SystemEvent message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void tradeReportForNonNextShares(TradeReportForNonNextShares message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void tradeReportForNonNextShares(LongFormTradeReportForNonNextShares message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void tradeReportForNextShares(TradeReportForNextShares message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void tradeCancelErrorForNonNextShares(TradeCancelErrorForNonNextShares message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void tradeCancelErrorForNonNextShares(LongFormTradeCancelErrorForNonNextShares message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void tradeCancelErrorForNextShares(TradeCancelErrorForNextShares message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void tradeCorrectionForNonNextShares(TradeCorrectionForNonNextShares message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void tradeCorrectionForNonNextShares(LongFormTradeCorrectionForNonNextShares message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void tradeCorrectionForNextShares(TradeCorrectionForNextShares message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void stockTradingAction(StockTradingAction message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void stockDirectory(StockDirectory message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void regSHORestriction(RegSHORestriction message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void adjustedClosingPrice(AdjustedClosingPrice message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void adjustedClosingPrice(LongFormAdjustedClosingPrice message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void endOfDayTradeSummary(EndOfDayTradeSummary message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void endOfDayTradeSummary(LongFormEndOfDayTradeSummary message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void endOfDayTradeSummaryNextShares(EndOfDayTradeSummaryNextShares message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void ipoInformation(IPOInformation message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void mwcbDeclineLevel(MWCBDeclineLevel message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void mwcbStatus(MWCBStatus message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void ipoQuotingPeriodUpdate(IPOQuotingPeriodUpdate message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void operationalHalt(OperationalHalt message) {
+            blackhole.consume(message);
+        }
+
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.benchmarks;
+
+import static com.paritytrading.juncture.nasdaq.qbbo21.QBBO21.*;
+
+import com.paritytrading.foundation.ASCII;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * A generator of synthetic Nasdaq Basic Quotation 2.1 message streams.
+ *
+ * <p>The message mix approximates a trading day: mostly Quotation
+ * messages, with NextShares Quotation, RPII and Stock Trading Action
+ * messages making up the rest.</p>
+ */
+final class QBBO21Messages {
+
+
+    private static final int REASON_NONE = ASCII.packInt("    ");
+    private static final int MAX_MESSAGE_LENGTH = 64;
+
+    private final Random random;
+
+    private final Quotation           quotation;
+    private final NextSharesQuotation nextSharesQuotation;
+    private final RPII                rpii;
+    private final StockTradingAction  stockTradingAction;
+
+    private QBBO21Messages(Random random) {
+        this.random = random;
+
+        this.quotation           = new Quotation();
+        this.nextSharesQuotation = new NextSharesQuotation();
+        this.rpii                = new RPII();
+        this.stockTradingAction  = new StockTradingAction();
+    }
+
+    /**
+     * Generate a message stream.
+     *
+     * @param random a source of randomness
+     * @param count the number of messages
+     * @return the messages, each in its own buffer
+     */
+    static ByteBuffer[] mix(Random random, int count) {
+        QBBO21Messages generator = new QBBO21Messages(random);
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(count * MAX_MESSAGE_LENGTH);
+
+        ByteBuffer[] messages = new ByteBuffer[count];
+
+        for (int i = 0; i < count; i++) {
+            int position = buffer.position();
+
+            generator.next(buffer);
+
+            messages[i] = slice(buffer, position);
+        }
+
+        return messages;
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int position) {
+        ByteBuffer message = buffer.duplicate();
+        message.position(position);
+        message.limit(buffer.position());
+
+        return message.slice();
+    }
+
+    private void next(ByteBuffer buffer) {
+        int n = random.nextInt(100);
+
+        if (n < 94)
+            quotation(buffer);
+        else if (n < 96)
+            nextSharesQuotation(buffer);
+        else if (n < 98)
+            rpii(buffer);
+        else
+            stockTradingAction(buffer);
+    }
+
+    private void quotation(ByteBuffer buffer) {
+        long bid = bid();
+
+        quotation.trackingNumber    = 0;
+        quotation.timestampHigh     = 0;
+        quotation.timestampLow      = random.nextInt(Integer.MAX_VALUE);
+        quotation.packedStock       = ITCH50Messages.packedStock(stock());
+        quotation.securityClass     = 'Q';
+        quotation.rawBestBidPrice   = bid;
+        quotation.bestBidSize       = shares();
+        quotation.rawBestOfferPrice = bid + 100;
+        quotation.bestOfferSize     = shares();
+
+        quotation.put(buffer);
+    }
+
+    private void nextSharesQuotation(ByteBuffer buffer) {
+        long bid = bid();
+
+        nextSharesQuotation.trackingNumber         = 0;
+        nextSharesQuotation.timestampHigh          = 0;
+        nextSharesQuotation.timestampLow           = random.nextInt(Integer.MAX_VALUE);
+        nextSharesQuotation.packedStock            = ITCH50Messages.packedStock(stock());
+        nextSharesQuotation.securityClass          = 'Q';
+        nextSharesQuotation.rawBestBidProxyPrice   = bid;
+        nextSharesQuotation.bestBidSize            = shares();
+        nextSharesQuotation.rawBestBidAmount       = -100;
+        nextSharesQuotation.rawBestOfferProxyPrice = bid + 100;
+        nextSharesQuotation.bestOfferSize          = shares();
+        nextSharesQuotation.rawBestOfferAmount     = 100;
+
+        nextSharesQuotation.put(buffer);
+    }
+
+    private void rpii(ByteBuffer buffer) {
+        rpii.trackingNumber = 0;
+        rpii.timestampHigh  = 0;
+        rpii.timestampLow   = random.nextInt(Integer.MAX_VALUE);
+        rpii.packedStock    = ITCH50Messages.packedStock(stock());
+        rpii.interestFlag   = 'B';
+
+        rpii.put(buffer);
+    }
+
+    private void stockTradingAction(ByteBuffer buffer) {
+        stockTradingAction.trackingNumber = 0;
+        stockTradingAction.timestampHigh  = 0;
+        stockTradingAction.timestampLow   = random.nextInt(Integer.MAX_VALUE);
+        stockTradingAction.packedStock    = ITCH50Messages.packedStock(stock());
+        stockTradingAction.securityClass  = 'Q';
+        stockTradingAction.tradingState   = 'T';
+        stockTradingAction.packedReason   = REASON_NONE;
+
+        stockTradingAction.put(buffer);
+    }
+
+    private int stock() {
+        return 1 + random.nextInt(ITCH50Messages.STOCKS);
+    }
+
+    private long shares() {
+        return 100 * (1 + random.nextInt(10));
+    }
+
+    private long bid() {
+        return 1000000 + 100 * (random.nextInt(21) - 10);
+    }
+
+}
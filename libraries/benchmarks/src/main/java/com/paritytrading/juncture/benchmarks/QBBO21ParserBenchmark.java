@@ -0,0 +1,165 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.benchmarks;
+
+import static com.paritytrading.juncture.nasdaq.qbbo21.QBBO21.*;
+
+import com.paritytrading.juncture.nasdaq.MessageFilter;
+import com.paritytrading.juncture.nasdaq.qbbo21.QBBO21Listener;
+import com.paritytrading.juncture.nasdaq.qbbo21.QBBO21Parser;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures decoding a message mix resembling a Nasdaq Basic Quotation
+ * 2.1 trading day. Run with {@code -prof gc} to see the allocation
+ * rate per message.
+ *
+ * <p>The decoding is either the default decoding, the packed decoding,
+ * or the default decoding filtered to Quotation messages for four of the
+ * stocks.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QBBO21ParserBenchmark {
+
+    private static final int MESSAGES = 4096;
+
+    @Param({"default", "packed", "filtered"})
+    public String decoding;
+
+    private ByteBuffer[] messages;
+
+    private int index;
+
+    private QBBO21Parser parser;
+
+    @Setup
+    public void prepare(Blackhole blackhole) {
+        messages = QBBO21Messages.mix(new Random(0), MESSAGES);
+
+        parser = new QBBO21Parser(new Sink(blackhole), true, decoding.equals("packed"));
+
+        if (decoding.equals("filtered"))
+            parser.setFilter(filter());
+    }
+
+    @Benchmark
+    public void message() throws IOException {
+        ByteBuffer message = messages[index];
+
+        index = (index + 1) % MESSAGES;
+
+        message.position(0);
+
+        parser.message(message);
+    }
+
+    private static MessageFilter filter() {
+        MessageFilter filter = new MessageFilter();
+
+        filter.setMessageTypes(MESSAGE_TYPE_QUOTATION);
+        filter.setSymbols(Arrays.asList(ITCH50Messages.stock(1).trim(), ITCH50Messages.stock(2).trim(),
+                ITCH50Messages.stock(3).trim(), ITCH50Messages.stock(4).trim()));
+
+        return filter;
+    }
+
+    private static class Sink implements QBBO21Listener {
+
+        private final Blackhole blackhole;
+
+        Sink(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void systemEvent(SystemEvent message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void stockDirectory(StockDirectory message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void stockTradingAction(StockTradingAction message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void regSHORestriction(RegSHORestriction message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void mwcbDeclineLevel(MWCBDeclineLevel message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void mwcbStatus(MWCBStatus message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void ipoQuotingPeriodUpdate(IPOQuotingPeriodUpdate message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void operationalHalt(OperationalHalt message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void nextSharesQuotation(NextSharesQuotation message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void quotation(Quotation message) {
+            blackhole.consume(message);
+        }
+
+        @Override
+        public void rpii(RPII message) {
+            blackhole.consume(message);
+        }
+
+    }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.benchmarks;
+
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketOption;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.spi.SelectorProvider;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * A socket channel that replays a byte stream from memory.
+ *
+ * <p>Each read returns at most one segment worth of bytes and never
+ * crosses the end of the stream, so that reading the length of the stream
+ * in total always ends on the end of the stream. After the end of the
+ * stream, reading starts over from the beginning. Writes are discarded.</p>
+ */
+class ReplayChannel extends SocketChannel {
+
+    private final ByteBuffer stream;
+
+    private final int segmentSize;
+
+    /**
+     * Create a socket channel.
+     *
+     * @param stream the byte stream
+     * @param segmentSize the maximum number of bytes returned by one read
+     */
+    ReplayChannel(ByteBuffer stream, int segmentSize) {
+        super(SelectorProvider.provider());
+
+        this.stream = stream.duplicate();
+
+        this.segmentSize = segmentSize;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) {
+        if (!stream.hasRemaining())
+            stream.rewind();
+
+        int length = Math.min(Math.min(dst.remaining(), segmentSize), stream.remaining());
+
+        int limit = stream.limit();
+
+        stream.limit(stream.position() + length);
+        dst.put(stream);
+        stream.limit(limit);
+
+        return length;
+    }
+
+    @Override
+    public long read(ByteBuffer[] dsts, int offset, int length) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        int length = src.remaining();
+
+        src.position(src.limit());
+
+        return length;
+    }
+
+    @Override
+    public long write(ByteBuffer[] srcs, int offset, int length) {
+        long bytes = 0;
+
+        for (int i = offset; i < offset + length; i++)
+            bytes += write(srcs[i]);
+
+        return bytes;
+    }
+
+    @Override
+    public SocketChannel bind(SocketAddress local) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <T> SocketChannel setOption(SocketOption<T> name, T value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <T> T getOption(SocketOption<T> name) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Set<SocketOption<?>> supportedOptions() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public SocketChannel shutdownInput() {
+        return this;
+    }
+
+    @Override
+    public SocketChannel shutdownOutput() {
+        return this;
+    }
+
+    @Override
+    public Socket socket() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isConnected() {
+        return true;
+    }
+
+    @Override
+    public boolean isConnectionPending() {
+        return false;
+    }
+
+    @Override
+    public boolean connect(SocketAddress remote) {
+        return true;
+    }
+
+    @Override
+    public boolean finishConnect() {
+        return true;
+    }
+
+    @Override
+    public SocketAddress getRemoteAddress() {
+        return null;
+    }
+
+    @Override
+    public SocketAddress getLocalAddress() {
+        return null;
+    }
+
+    @Override
+    protected void implCloseSelectableChannel() {
+    }
+
+    @Override
+    protected void implConfigureBlocking(boolean block) {
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An idle strategy that first spins, then yields and finally parks with an
+ * exponentially increasing duration while there is no work.
+ *
+ * <p>Any work resets the idle strategy back to spinning.</p>
+ */
+public class BackoffIdleStrategy implements IdleStrategy {
+
+    private final long maxSpins;
+    private final long maxYields;
+
+    private final long minParkNanos;
+    private final long maxParkNanos;
+
+    private long spins;
+    private long yields;
+
+    private long parkNanos;
+
+    /**
+     * Create an idle strategy.
+     *
+     * @param maxSpins the number of idle iterations to spin
+     * @param maxYields the number of idle iterations to yield after spinning
+     * @param minParkNanos the first park duration in nanoseconds
+     * @param maxParkNanos the maximum park duration in nanoseconds
+     */
+    public BackoffIdleStrategy(long maxSpins, long maxYields, long minParkNanos,
+            long maxParkNanos) {
+        this.maxSpins     = maxSpins;
+        this.maxYields    = maxYields;
+        this.minParkNanos = minParkNanos;
+        this.maxParkNanos = maxParkNanos;
+
+        this.parkNanos = minParkNanos;
+    }
+
+    @Override
+    public void idle(int workCount) {
+        if (workCount > 0) {
+            spins     = 0;
+            yields    = 0;
+            parkNanos = minParkNanos;
+        } else if (spins < maxSpins) {
+            spins++;
+        } else if (yields < maxYields) {
+            yields++;
+
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(parkNanos);
+
+            parkNanos = Math.min(2 * parkNanos, maxParkNanos);
+        }
+    }
+
+    long spins() {
+        return spins;
+    }
+
+    long yields() {
+        return yields;
+    }
+
+    long parkNanos() {
+        return parkNanos;
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A pool of direct buffers by capacity.
+ *
+ * <p>The pool keeps a bounded number of released buffers of each capacity
+ * for reuse. It is shared by all sessions and so it is synchronized.</p>
+ */
+class BufferPool {
+
+    static final BufferPool INSTANCE = new BufferPool(16);
+
+    private final int maxBuffersPerCapacity;
+
+    private final Map<Integer, ArrayDeque<ByteBuffer>> buffers;
+
+    BufferPool(int maxBuffersPerCapacity) {
+        this.maxBuffersPerCapacity = maxBuffersPerCapacity;
+
+        this.buffers = new HashMap<>();
+    }
+
+    /**
+     * Acquire a cleared buffer.
+     *
+     * @param capacity the capacity
+     * @return a buffer
+     */
+    synchronized ByteBuffer acquire(int capacity) {
+        ArrayDeque<ByteBuffer> free = buffers.get(capacity);
+
+        ByteBuffer buffer = free != null ? free.poll() : null;
+        if (buffer == null)
+            return ByteBuffer.allocateDirect(capacity);
+
+        buffer.clear();
+
+        return buffer;
+    }
+
+    /**
+     * Release a buffer back to the pool.
+     *
+     * @param buffer a buffer
+     */
+    synchronized void release(ByteBuffer buffer) {
+        ArrayDeque<ByteBuffer> free = buffers.computeIfAbsent(buffer.capacity(),
+                capacity -> new ArrayDeque<>());
+
+        if (free.size() < maxBuffersPerCapacity)
+            free.add(buffer);
+    }
+
+}
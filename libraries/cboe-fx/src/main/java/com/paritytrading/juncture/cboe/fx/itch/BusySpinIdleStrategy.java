@@ -0,0 +1,37 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+/**
+ * An idle strategy that never gives the core away.
+ *
+ * <p>Use it on a dedicated core only.</p>
+ */
+public class BusySpinIdleStrategy implements IdleStrategy {
+
+    /**
+     * The instance.
+     */
+    public static final BusySpinIdleStrategy INSTANCE = new BusySpinIdleStrategy();
+
+    private BusySpinIdleStrategy() {
+    }
+
+    @Override
+    public void idle(int workCount) {
+    }
+
+}
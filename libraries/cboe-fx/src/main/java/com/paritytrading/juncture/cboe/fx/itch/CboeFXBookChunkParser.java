@@ -0,0 +1,319 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+import static com.paritytrading.juncture.cboe.fx.itch.CboeFXBook.*;
+
+import com.paritytrading.foundation.ASCII;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A resumable parser for inbound Cboe FX Book Protocol messages.
+ *
+ * <p>Unlike {@link CboeFXBookParser}, this parser does not require a
+ * message to be contained in one buffer. It can be fed a stream of
+ * messages in chunks of any size, and it keeps its position within a
+ * message, including the currency pair, price and order nesting of a
+ * Market Snapshot message, between chunks. It invokes the listener as
+ * soon as each message or Market Snapshot entry is complete, so the
+ * first entries of a large Market Snapshot message are available before
+ * the rest of it has arrived.</p>
+ *
+ * <p>A field that is contained in the chunk is read from the chunk
+ * directly. A field that spans chunks is copied into an internal buffer
+ * first.</p>
+ */
+public class CboeFXBookChunkParser {
+
+    private static final int NEW_ORDER_LENGTH    = 81;
+    private static final int MODIFY_ORDER_LENGTH = 70;
+    private static final int CANCEL_ORDER_LENGTH = 22;
+    private static final int TICKER_LENGTH       = 32;
+
+    private static final int MAX_FIELD_LENGTH = NEW_ORDER_LENGTH;
+
+    private static final int ORDER_LENGTH = 16 + 16 + 16 + 15;
+
+    private static final int MESSAGE_TYPE             = 0;
+    private static final int MESSAGE                  = 1;
+    private static final int LENGTH_OF_MESSAGE        = 2;
+    private static final int NUMBER_OF_CURRENCY_PAIRS = 3;
+    private static final int CURRENCY_PAIR            = 4;
+    private static final int NUMBER_OF_PRICES         = 5;
+    private static final int PRICE                    = 6;
+    private static final int NUMBER_OF_ORDERS         = 7;
+    private static final int ORDER                    = 8;
+
+    private NewOrder            newOrder;
+    private ModifyOrder         modifyOrder;
+    private CancelOrder         cancelOrder;
+    private MarketSnapshotEntry marketSnapshotEntry;
+    private Ticker              ticker;
+
+    private State state;
+
+    private CboeFXBookListener listener;
+
+    /**
+     * Create a resumable parser for inbound Cboe FX Book Protocol messages.
+     *
+     * @param listener the listener
+     */
+    public CboeFXBookChunkParser(CboeFXBookListener listener) {
+        this.newOrder            = new NewOrder();
+        this.modifyOrder         = new ModifyOrder();
+        this.cancelOrder         = new CancelOrder();
+        this.marketSnapshotEntry = new MarketSnapshotEntry();
+        this.ticker              = new Ticker();
+
+        this.state = new State();
+
+        this.listener = listener;
+    }
+
+    /**
+     * Parse a chunk of a stream of Cboe FX Book Protocol messages. All
+     * remaining bytes in the chunk are consumed.
+     *
+     * @param chunk a buffer containing a chunk of a stream of Cboe FX Book
+     *   Protocol messages
+     * @throws IOException if an I/O error occurs
+     */
+    public void parse(ByteBuffer chunk) throws IOException {
+        while (true) {
+            ByteBuffer source;
+
+            if (state.fieldPosition == 0 && chunk.remaining() >= state.fieldLength) {
+                source = chunk;
+            } else {
+                int length = Math.min(state.fieldLength - state.fieldPosition, chunk.remaining());
+
+                chunk.get(state.field, state.fieldPosition, length);
+
+                state.fieldPosition += length;
+
+                if (state.fieldPosition < state.fieldLength)
+                    return;
+
+                state.fieldPosition = 0;
+
+                source = state.fieldBuffer;
+
+                source.clear();
+            }
+
+            field(source);
+        }
+    }
+
+    /**
+     * Check whether the parser is at a message boundary.
+     *
+     * @return true if the parser is at a message boundary, otherwise false
+     */
+    public boolean isAtMessageBoundary() {
+        return state.step == MESSAGE_TYPE && state.fieldPosition == 0;
+    }
+
+    /**
+     * Discard the partial message, if any, and expect the start of a
+     * message next.
+     */
+    public void reset() {
+        state.fieldPosition = 0;
+
+        next(MESSAGE_TYPE, 1);
+    }
+
+    private void field(ByteBuffer source) throws IOException {
+        switch (state.step) {
+        case MESSAGE_TYPE:
+            messageType(source.get());
+            break;
+        case MESSAGE:
+            message(source);
+            break;
+        case LENGTH_OF_MESSAGE:
+            source.get(state.lengthOfMessage);
+
+            if (ASCII.getLong(state.lengthOfMessage) < state.numberOfItems.length)
+                marketSnapshotEnd();
+            else
+                next(NUMBER_OF_CURRENCY_PAIRS, state.numberOfItems.length);
+            break;
+        case NUMBER_OF_CURRENCY_PAIRS:
+            state.currencyPairs = numberOfItems(source);
+
+            nextCurrencyPair();
+            break;
+        case CURRENCY_PAIR:
+            source.get(marketSnapshotEntry.currencyPair);
+
+            marketSnapshotEntry.buyOrSellIndicator = BUY;
+
+            next(NUMBER_OF_PRICES, state.numberOfItems.length);
+            break;
+        case NUMBER_OF_PRICES:
+            state.prices = numberOfItems(source);
+
+            nextPrice();
+            break;
+        case PRICE:
+            source.get(marketSnapshotEntry.price);
+
+            next(NUMBER_OF_ORDERS, state.numberOfItems.length);
+            break;
+        case NUMBER_OF_ORDERS:
+            state.orders = numberOfItems(source);
+
+            nextOrder();
+            break;
+        case ORDER:
+            source.get(marketSnapshotEntry.amount);
+            source.get(marketSnapshotEntry.minqty);
+            source.get(marketSnapshotEntry.lotsize);
+            source.get(marketSnapshotEntry.orderId);
+
+            listener.marketSnapshotEntry(marketSnapshotEntry);
+
+            nextOrder();
+            break;
+        }
+    }
+
+    private void messageType(byte messageType) throws IOException {
+        state.messageType = messageType;
+
+        switch (messageType) {
+        case MESSAGE_TYPE_NEW_ORDER:
+            next(MESSAGE, NEW_ORDER_LENGTH);
+            break;
+        case MESSAGE_TYPE_MODIFY_ORDER:
+            next(MESSAGE, MODIFY_ORDER_LENGTH);
+            break;
+        case MESSAGE_TYPE_CANCEL_ORDER:
+            next(MESSAGE, CANCEL_ORDER_LENGTH);
+            break;
+        case MESSAGE_TYPE_MARKET_SNAPSHOT:
+            listener.marketSnapshotStart();
+
+            next(LENGTH_OF_MESSAGE, state.lengthOfMessage.length);
+            break;
+        case MESSAGE_TYPE_TICKER:
+            next(MESSAGE, TICKER_LENGTH);
+            break;
+        default:
+            throw new CboeFXBookException("Unknown message type: " + (char)messageType);
+        }
+    }
+
+    private void message(ByteBuffer source) throws IOException {
+        switch (state.messageType) {
+        case MESSAGE_TYPE_NEW_ORDER:
+            newOrder.get(source);
+            listener.newOrder(newOrder);
+            break;
+        case MESSAGE_TYPE_MODIFY_ORDER:
+            modifyOrder.get(source);
+            listener.modifyOrder(modifyOrder);
+            break;
+        case MESSAGE_TYPE_CANCEL_ORDER:
+            cancelOrder.get(source);
+            listener.cancelOrder(cancelOrder);
+            break;
+        case MESSAGE_TYPE_TICKER:
+            ticker.get(source);
+            listener.ticker(ticker);
+            break;
+        }
+
+        next(MESSAGE_TYPE, 1);
+    }
+
+    private void nextCurrencyPair() throws IOException {
+        if (state.currencyPairs-- > 0)
+            next(CURRENCY_PAIR, marketSnapshotEntry.currencyPair.length);
+        else
+            marketSnapshotEnd();
+    }
+
+    private void nextPrice() throws IOException {
+        if (state.prices-- > 0) {
+            next(PRICE, marketSnapshotEntry.price.length);
+        } else if (marketSnapshotEntry.buyOrSellIndicator == BUY) {
+            marketSnapshotEntry.buyOrSellIndicator = SELL;
+
+            next(NUMBER_OF_PRICES, state.numberOfItems.length);
+        } else {
+            nextCurrencyPair();
+        }
+    }
+
+    private void nextOrder() throws IOException {
+        if (state.orders-- > 0)
+            next(ORDER, ORDER_LENGTH);
+        else
+            nextPrice();
+    }
+
+    private void marketSnapshotEnd() throws IOException {
+        listener.marketSnapshotEnd();
+
+        next(MESSAGE_TYPE, 1);
+    }
+
+    private long numberOfItems(ByteBuffer source) {
+        source.get(state.numberOfItems);
+
+        return ASCII.getLong(state.numberOfItems);
+    }
+
+    private void next(int step, int fieldLength) {
+        state.step        = step;
+        state.fieldLength = fieldLength;
+    }
+
+    private static class State {
+        public byte[] lengthOfMessage;
+        public byte[] numberOfItems;
+
+        public byte[]     field;
+        public ByteBuffer fieldBuffer;
+
+        public int step;
+        public int fieldLength;
+        public int fieldPosition;
+
+        public byte messageType;
+
+        public long currencyPairs;
+        public long prices;
+        public long orders;
+
+        public State() {
+            lengthOfMessage = new byte[6];
+            numberOfItems   = new byte[4];
+
+            field       = new byte[MAX_FIELD_LENGTH];
+            fieldBuffer = ByteBuffer.wrap(field);
+
+            step        = MESSAGE_TYPE;
+            fieldLength = 1;
+        }
+    }
+
+}
@@ -76,6 +76,8 @@ public class CboeFXBookFormatter {
                 // Number of Currency Pairs
                 ASCII.putLongRight(state.numberOfItems, 0);
                 buffer.put(state.numberOfItems);
+            } else {
+                currencyPairEnd(buffer);
             }
 
             state.currencyPairs++;
@@ -188,6 +190,18 @@ public class CboeFXBookFormatter {
             put(buffer, state.numberOfItems, state.numberOfCurrencyPairsPosition);
         }
 
+        currencyPairEnd(buffer);
+
+        int endPosition = buffer.position();
+
+        int lengthOfMessage = endPosition - state.numberOfCurrencyPairsPosition;
+
+        // Length of Message
+        ASCII.putLongRight(state.lengthOfMessage, lengthOfMessage);
+        put(buffer, state.lengthOfMessage, state.lengthOfMessagePosition);
+    }
+
+    private void currencyPairEnd(ByteBuffer buffer) {
         if (state.buyOrSellIndicator == BUY) {
 
             // Number Of Offer Prices
@@ -208,14 +222,6 @@ public class CboeFXBookFormatter {
             ASCII.putLongRight(state.numberOfItems, state.orders);
             put(buffer, state.numberOfItems, state.numberOfOrdersPosition);
         }
-
-        int endPosition = buffer.position();
-
-        int lengthOfMessage = endPosition - state.numberOfCurrencyPairsPosition;
-
-        // Length of Message
-        ASCII.putLongRight(state.lengthOfMessage, lengthOfMessage);
-        put(buffer, state.lengthOfMessage, state.lengthOfMessagePosition);
     }
 
     private static class State {
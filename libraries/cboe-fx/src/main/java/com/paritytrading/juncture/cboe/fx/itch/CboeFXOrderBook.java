@@ -0,0 +1,672 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+import static com.paritytrading.juncture.cboe.fx.itch.CboeFXBook.*;
+import static com.paritytrading.juncture.cboe.fx.itch.ITCH.*;
+
+import com.paritytrading.foundation.ASCII;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * An order book reconstruction engine for Cboe FX Book Protocol.
+ *
+ * <p>The engine maintains a price level book for each currency pair based
+ * on the New Order, Modify Order and Cancel Order messages and the Market
+ * Snapshot messages. Ticker messages are ignored.</p>
+ *
+ * <p>Currency pairs are numbered in the order in which they first appear,
+ * up to {@link ITCH#MAX_NUMBER_OF_CURRENCY_PAIRS}. Prices are parsed once
+ * into fixed-point prices with the number of decimal places given to the
+ * engine. Orders are kept in a primitive open addressing hash map keyed by
+ * the order identifier packed into two {@code long} values, and order
+ * objects are pooled. Apart from the first appearance of a currency pair,
+ * messages are handled without allocating memory once the order pool, the
+ * order maps and the price levels of both the active and the snapshot book
+ * have grown to their peak sizes. A New Order message with the order
+ * identifier of an open order replaces the open order.</p>
+ *
+ * <p>A Market Snapshot message replaces the whole book atomically. The
+ * snapshot is built aside, and only when it is complete does the engine
+ * switch to it and publish the differences between the old and the new
+ * book.</p>
+ */
+public class CboeFXOrderBook implements CboeFXBookListener {
+
+    private static final int PAIR_TABLE_SIZE = 2 * MAX_NUMBER_OF_CURRENCY_PAIRS;
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 64 * 1024;
+
+    private final CboeFXOrderBookListener listener;
+
+    private final int priceDecimals;
+
+    private final long[] pairKeys;
+    private final int[]  pairIndices;
+
+    private final byte[][] currencyPairs;
+
+    private int currencyPairCount;
+
+    private final long[] bidPrices;
+    private final long[] bidAmounts;
+    private final long[] askPrices;
+    private final long[] askAmounts;
+
+    private State active;
+    private State standby;
+
+    private boolean snapshot;
+
+    private Order free;
+
+    /**
+     * Create an order book reconstruction engine.
+     *
+     * @param listener the order book event listener
+     * @param priceDecimals the number of decimal places in prices
+     */
+    public CboeFXOrderBook(CboeFXOrderBookListener listener, int priceDecimals) {
+        this(listener, priceDecimals, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Create an order book reconstruction engine.
+     *
+     * @param listener the order book event listener
+     * @param priceDecimals the number of decimal places in prices
+     * @param initialCapacity the initial capacity for open orders
+     */
+    public CboeFXOrderBook(CboeFXOrderBookListener listener, int priceDecimals,
+            int initialCapacity) {
+        this.listener      = listener;
+        this.priceDecimals = priceDecimals;
+
+        this.pairKeys    = new long[PAIR_TABLE_SIZE];
+        this.pairIndices = new int[PAIR_TABLE_SIZE];
+
+        this.currencyPairs = new byte[MAX_NUMBER_OF_CURRENCY_PAIRS][];
+
+        this.bidPrices  = new long[MAX_NUMBER_OF_CURRENCY_PAIRS];
+        this.bidAmounts = new long[MAX_NUMBER_OF_CURRENCY_PAIRS];
+        this.askPrices  = new long[MAX_NUMBER_OF_CURRENCY_PAIRS];
+        this.askAmounts = new long[MAX_NUMBER_OF_CURRENCY_PAIRS];
+
+        this.active  = new State(initialCapacity);
+        this.standby = new State(initialCapacity);
+    }
+
+    /**
+     * Get the number of currency pairs.
+     *
+     * @return the number of currency pairs
+     */
+    public int getCurrencyPairCount() {
+        return currencyPairCount;
+    }
+
+    /**
+     * Get a currency pair.
+     *
+     * @param index the index of the currency pair
+     * @return the currency pair
+     */
+    public String getCurrencyPair(int index) {
+        return new String(currencyPairs[index], StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Get the index of a currency pair.
+     *
+     * @param currencyPair the currency pair
+     * @return the index of the currency pair or -1 if the currency pair has
+     *   not appeared
+     */
+    public int getCurrencyPairIndex(byte[] currencyPair) {
+        long key = pack(currencyPair);
+
+        for (int i = slot(key); pairIndices[i] != 0; i = (i + 1) % PAIR_TABLE_SIZE) {
+            if (pairKeys[i] == key)
+                return pairIndices[i] - 1;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Get the number of open orders.
+     *
+     * @return the number of open orders
+     */
+    public int getOrderCount() {
+        return active.orders.size();
+    }
+
+    /**
+     * Get the number of price levels on a side.
+     *
+     * @param currencyPair the index of the currency pair
+     * @param side the side, either {@link CboeFXBook#BUY} or {@link
+     *   CboeFXBook#SELL}
+     * @return the number of price levels
+     */
+    public int getDepth(int currencyPair, byte side) {
+        Book book = active.books[currencyPair];
+
+        return book != null ? book.side(side).levels : 0;
+    }
+
+    /**
+     * Get the price of a price level. The best price level is at index zero.
+     *
+     * @param currencyPair the index of the currency pair
+     * @param side the side, either {@link CboeFXBook#BUY} or {@link
+     *   CboeFXBook#SELL}
+     * @param level the index of the price level
+     * @return the price or zero if the price level does not exist
+     */
+    public long getPrice(int currencyPair, byte side, int level) {
+        Book book = active.books[currencyPair];
+
+        return book != null ? book.side(side).price(level) : 0;
+    }
+
+    /**
+     * Get the aggregate amount of a price level. The best price level is at
+     * index zero.
+     *
+     * @param currencyPair the index of the currency pair
+     * @param side the side, either {@link CboeFXBook#BUY} or {@link
+     *   CboeFXBook#SELL}
+     * @param level the index of the price level
+     * @return the aggregate amount or zero if the price level does not exist
+     */
+    public long getAmount(int currencyPair, byte side, int level) {
+        Book book = active.books[currencyPair];
+
+        return book != null ? book.side(side).size(level) : 0;
+    }
+
+    @Override
+    public void newOrder(NewOrder message) throws IOException {
+        Book book = active.book(currencyPair(message.currencyPair));
+
+        byte side  = message.buyOrSellIndicator;
+        long price = ASCII.getFixed(message.price, priceDecimals);
+
+        long amount = add(active, book, message.orderId, side, price, ASCII.getLong(message.amount));
+
+        level(book, side, price, amount);
+        bbo(book);
+    }
+
+    @Override
+    public void modifyOrder(ModifyOrder message) throws IOException {
+        long hi = OrderIdMap.hi(message.orderId);
+        long lo = OrderIdMap.lo(message.orderId);
+
+        Order order = active.orders.get(hi, lo);
+        if (order == null)
+            return;
+
+        Book book = order.book;
+        Side side = book.side(order.side);
+
+        long amount = ASCII.getLong(message.amount);
+
+        long size;
+
+        if (amount >= order.amount)
+            size = side.add(order.price, amount - order.amount);
+        else
+            size = side.reduce(order.price, order.amount - amount);
+
+        order.amount = amount;
+
+        level(book, order.side, order.price, size);
+        bbo(book);
+
+        if (amount == 0) {
+            active.orders.remove(hi, lo);
+            active.unlink(order);
+
+            release(order);
+        }
+    }
+
+    @Override
+    public void cancelOrder(CancelOrder message) throws IOException {
+        Order order = active.orders.remove(OrderIdMap.hi(message.orderId),
+                OrderIdMap.lo(message.orderId));
+        if (order == null)
+            return;
+
+        active.unlink(order);
+
+        Book book = order.book;
+
+        level(book, order.side, order.price, book.side(order.side).reduce(order.price, order.amount));
+        bbo(book);
+
+        release(order);
+    }
+
+    @Override
+    public void marketSnapshotStart() {
+        clear(standby);
+
+        snapshot = true;
+    }
+
+    @Override
+    public void marketSnapshotEntry(MarketSnapshotEntry entry) throws IOException {
+        if (!snapshot)
+            return;
+
+        Book book = standby.book(currencyPair(entry.currencyPair));
+
+        add(standby, book, entry.orderId, entry.buyOrSellIndicator,
+                ASCII.getFixed(entry.price, priceDecimals), ASCII.getLong(entry.amount));
+    }
+
+    @Override
+    public void marketSnapshotEnd() throws IOException {
+        if (!snapshot)
+            return;
+
+        snapshot = false;
+
+        State previous = active;
+
+        active  = standby;
+        standby = previous;
+
+        for (int i = 0; i < currencyPairCount; i++) {
+            Book oldBook = previous.book(i);
+            Book newBook = active.book(i);
+
+            diff(newBook, BUY, oldBook.bids, newBook.bids);
+            diff(newBook, SELL, oldBook.asks, newBook.asks);
+            bbo(newBook);
+        }
+
+        clear(previous);
+    }
+
+    @Override
+    public void ticker(Ticker message) {
+    }
+
+    /*
+     * Add an order. An order with the same order identifier is replaced.
+     * The changes caused by removing the replaced order are published if
+     * the state is the active one.
+     */
+    private long add(State state, Book book, byte[] orderId, byte side, long price,
+            long amount) throws IOException {
+        long hi = OrderIdMap.hi(orderId);
+        long lo = OrderIdMap.lo(orderId);
+
+        Order order = state.orders.get(hi, lo);
+
+        if (order == null) {
+            order = acquire();
+
+            order.hi = hi;
+            order.lo = lo;
+
+            state.orders.put(hi, lo, order);
+            state.link(order);
+        } else {
+            long size = order.book.side(order.side).reduce(order.price, order.amount);
+
+            if (state == active) {
+                level(order.book, order.side, order.price, size);
+
+                if (order.book != book)
+                    bbo(order.book);
+            }
+        }
+
+        order.book   = book;
+        order.side   = side;
+        order.price  = price;
+        order.amount = amount;
+
+        return book.side(side).add(price, amount);
+    }
+
+    private void clear(State state) {
+        for (int i = 0; i < currencyPairCount; i++) {
+            Book book = state.books[i];
+
+            if (book != null) {
+                book.bids.clear();
+                book.asks.clear();
+            }
+        }
+
+        Order order = state.head;
+
+        while (order != null) {
+            Order next = order.next;
+
+            state.orders.remove(order.hi, order.lo);
+
+            release(order);
+
+            order = next;
+        }
+
+        state.head = null;
+    }
+
+    /*
+     * Publish the differences between two versions of a side, from the
+     * best price level to the worst.
+     */
+    private void diff(Book book, byte side, Side oldSide, Side newSide) throws IOException {
+        int i = oldSide.levels - 1;
+        int j = newSide.levels - 1;
+
+        while (i >= 0 || j >= 0) {
+            long oldKey = i >= 0 ? oldSide.keys[i] : Long.MIN_VALUE;
+            long newKey = j >= 0 ? newSide.keys[j] : Long.MIN_VALUE;
+
+            if (j < 0 || (i >= 0 && oldKey > newKey)) {
+                level(book, side, oldSide.key(oldKey), 0);
+
+                i--;
+            } else if (i < 0 || newKey > oldKey) {
+                level(book, side, newSide.key(newKey), newSide.sizes[j]);
+
+                j--;
+            } else {
+                if (oldSide.sizes[i] != newSide.sizes[j])
+                    level(book, side, newSide.key(newKey), newSide.sizes[j]);
+
+                i--;
+                j--;
+            }
+        }
+    }
+
+    private int currencyPair(byte[] currencyPair) throws CboeFXBookException {
+        long key = pack(currencyPair);
+
+        int i = slot(key);
+
+        for (; pairIndices[i] != 0; i = (i + 1) % PAIR_TABLE_SIZE) {
+            if (pairKeys[i] == key)
+                return pairIndices[i] - 1;
+        }
+
+        if (currencyPairCount == MAX_NUMBER_OF_CURRENCY_PAIRS)
+            throw new CboeFXBookException("Too many currency pairs");
+
+        int index = currencyPairCount++;
+
+        pairKeys[i]    = key;
+        pairIndices[i] = index + 1;
+
+        currencyPairs[index] = Arrays.copyOf(currencyPair, currencyPair.length);
+
+        return index;
+    }
+
+    private void level(Book book, byte side, long price, long amount) throws IOException {
+        listener.level(book.currencyPair, side, price, amount);
+    }
+
+    private void bbo(Book book) throws IOException {
+        int i = book.currencyPair;
+
+        long bidPrice  = book.bids.price(0);
+        long bidAmount = book.bids.size(0);
+        long askPrice  = book.asks.price(0);
+        long askAmount = book.asks.size(0);
+
+        if (bidPrice == bidPrices[i] && bidAmount == bidAmounts[i] &&
+                askPrice == askPrices[i] && askAmount == askAmounts[i])
+            return;
+
+        bidPrices[i]  = bidPrice;
+        bidAmounts[i] = bidAmount;
+        askPrices[i]  = askPrice;
+        askAmounts[i] = askAmount;
+
+        listener.bbo(i, bidPrice, bidAmount, askPrice, askAmount);
+    }
+
+    private Order acquire() {
+        Order order = free;
+        if (order == null)
+            return new Order();
+
+        free = order.next;
+
+        order.next = null;
+
+        return order;
+    }
+
+    private void release(Order order) {
+        order.book = null;
+        order.prev = null;
+        order.next = free;
+
+        free = order;
+    }
+
+    private static long pack(byte[] currencyPair) {
+        long value = 0;
+
+        for (int i = 0; i < currencyPair.length; i++)
+            value = (value << 8) | (currencyPair[i] & 0xff);
+
+        return value;
+    }
+
+    private static int slot(long key) {
+        long h = key * 0x9e3779b97f4a7c15L;
+
+        return (int)((h >>> 32) % PAIR_TABLE_SIZE);
+    }
+
+    private static class State {
+        final Book[]            books;
+        final OrderIdMap<Order> orders;
+
+        Order head;
+
+        State(int initialCapacity) {
+            this.books  = new Book[MAX_NUMBER_OF_CURRENCY_PAIRS];
+            this.orders = new OrderIdMap<>(initialCapacity);
+        }
+
+        Book book(int currencyPair) {
+            Book book = books[currencyPair];
+            if (book == null)
+                book = books[currencyPair] = new Book(currencyPair);
+
+            return book;
+        }
+
+        void link(Order order) {
+            order.prev = null;
+            order.next = head;
+
+            if (head != null)
+                head.prev = order;
+
+            head = order;
+        }
+
+        void unlink(Order order) {
+            if (order.prev != null)
+                order.prev.next = order.next;
+            else
+                head = order.next;
+
+            if (order.next != null)
+                order.next.prev = order.prev;
+        }
+    }
+
+    /*
+     * The open orders of a state are linked together so that the state
+     * can be cleared without scanning the whole order map. Released orders
+     * are linked into the pool of free orders instead.
+     */
+    private static class Order {
+        long  hi;
+        long  lo;
+        Book  book;
+        byte  side;
+        long  price;
+        long  amount;
+        Order prev;
+        Order next;
+    }
+
+    private static class Book {
+        final int  currencyPair;
+        final Side bids;
+        final Side asks;
+
+        Book(int currencyPair) {
+            this.currencyPair = currencyPair;
+
+            this.bids = new Side(false);
+            this.asks = new Side(true);
+        }
+
+        Side side(byte side) {
+            return side == BUY ? bids : asks;
+        }
+    }
+
+    /*
+     * A side holds price keys and aggregate amounts in parallel arrays in
+     * ascending key order, with ask prices negated so that the best level
+     * of either side is the last element. The ordering lets a snapshot be
+     * compared with the previous book in one merge pass from the best level
+     * down, and clearing a side before a snapshot keeps its arrays. Quotes
+     * on FX venues churn at the top of the book, so lookups scan the best
+     * few levels before falling back to a binary search.
+     *
+     * This class is a copy of ITCH50Book.Side in the NASDAQ library, with
+     * clear() added, as the libraries share no module. Keep the two in
+     * sync, along with CboeFXOrderBookSideTest and ITCH50BookSideTest.
+     */
+    static class Side {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private static final int LINEAR_SEARCH_LEVELS = 8;
+
+        private final boolean negate;
+
+        long[] keys;
+        long[] sizes;
+
+        int levels;
+
+        Side(boolean negate) {
+            this.negate = negate;
+
+            this.keys  = new long[INITIAL_CAPACITY];
+            this.sizes = new long[INITIAL_CAPACITY];
+        }
+
+        long price(int level) {
+            int i = levels - 1 - level;
+
+            return i >= 0 && level >= 0 ? key(keys[i]) : 0;
+        }
+
+        long size(int level) {
+            int i = levels - 1 - level;
+
+            return i >= 0 && level >= 0 ? sizes[i] : 0;
+        }
+
+        long add(long price, long quantity) {
+            long key = key(price);
+
+            int i = find(key);
+            if (i >= 0)
+                return sizes[i] += quantity;
+
+            i = -(i + 1);
+
+            if (levels == keys.length) {
+                keys  = Arrays.copyOf(keys, 2 * levels);
+                sizes = Arrays.copyOf(sizes, 2 * levels);
+            }
+
+            System.arraycopy(keys, i, keys, i + 1, levels - i);
+            System.arraycopy(sizes, i, sizes, i + 1, levels - i);
+
+            keys[i]  = key;
+            sizes[i] = quantity;
+
+            levels++;
+
+            return quantity;
+        }
+
+        long reduce(long price, long quantity) {
+            int i = find(key(price));
+            if (i < 0)
+                return 0;
+
+            long size = sizes[i] -= quantity;
+            if (size > 0)
+                return size;
+
+            levels--;
+
+            System.arraycopy(keys, i + 1, keys, i, levels - i);
+            System.arraycopy(sizes, i + 1, sizes, i, levels - i);
+
+            return 0;
+        }
+
+        void clear() {
+            levels = 0;
+        }
+
+        long key(long value) {
+            return negate ? -value : value;
+        }
+
+        private int find(long key) {
+            int bottom = Math.max(levels - LINEAR_SEARCH_LEVELS, 0);
+
+            for (int i = levels - 1; i >= bottom; i--) {
+                if (keys[i] <= key)
+                    return keys[i] == key ? i : -(i + 2);
+            }
+
+            return Arrays.binarySearch(keys, 0, bottom, key);
+        }
+
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+import java.io.IOException;
+
+/**
+ * The interface for Cboe FX order book events.
+ *
+ * <p>Currency pairs are identified by their index in the order book.
+ * Prices are fixed-point prices with the number of decimal places given
+ * to the order book.</p>
+ */
+public interface CboeFXOrderBookListener {
+
+    /**
+     * Receive an indication of a change in the aggregate amount of a price
+     * level.
+     *
+     * @param currencyPair the index of the currency pair
+     * @param side the side, either {@link CboeFXBook#BUY} or {@link
+     *   CboeFXBook#SELL}
+     * @param price the price
+     * @param amount the aggregate amount or zero if the price level was
+     *   removed
+     * @throws IOException if an I/O error occurs
+     */
+    void level(int currencyPair, byte side, long price, long amount) throws IOException;
+
+    /**
+     * Receive an indication of a change in the best bid and offer. An empty
+     * side is indicated by zero price and amount.
+     *
+     * @param currencyPair the index of the currency pair
+     * @param bidPrice the best bid price
+     * @param bidAmount the best bid amount
+     * @param askPrice the best ask price
+     * @param askAmount the best ask amount
+     * @throws IOException if an I/O error occurs
+     */
+    void bbo(int currencyPair, long bidPrice, long bidAmount, long askPrice, long askAmount) throws IOException;
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of non-negative values.
+ *
+ * <p>The histogram has a fixed set of log-linear buckets: values below 64
+ * have a bucket each, and each power of two above that is divided into 32
+ * buckets. The relative error of a value read back from the histogram is
+ * thus at most about three percent. Recording a value does not allocate
+ * memory. Negative values are recorded as zero.</p>
+ *
+ * <p>One thread can record values while other threads take snapshots.</p>
+ */
+public class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+
+    /**
+     * Create an empty histogram.
+     */
+    public Histogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+    }
+
+    /**
+     * Record a value. Only one thread can record values at a time.
+     *
+     * @param value the value
+     */
+    public void record(long value) {
+        int index = index(Math.max(value, 0));
+
+        counts.lazySet(index, counts.get(index) + 1);
+    }
+
+    /**
+     * Take a snapshot of the histogram.
+     *
+     * @return a snapshot of the histogram
+     */
+    public Histogram snapshot() {
+        Histogram snapshot = new Histogram();
+
+        for (int i = 0; i < BUCKETS; i++)
+            snapshot.counts.lazySet(i, counts.get(i));
+
+        return snapshot;
+    }
+
+    /**
+     * Get the number of recorded values.
+     *
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        long count = 0;
+
+        for (int i = 0; i < BUCKETS; i++)
+            count += counts.get(i);
+
+        return count;
+    }
+
+    /**
+     * Get the mean of the recorded values, using the midpoint of each
+     * bucket.
+     *
+     * @return the mean or zero if no values have been recorded
+     */
+    public double getMean() {
+        long   count = 0;
+        double total = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucketCount = counts.get(i);
+            if (bucketCount == 0)
+                continue;
+
+            count += bucketCount;
+            total += bucketCount * ((lowestValue(i) + highestValue(i)) / 2.0);
+        }
+
+        return count > 0 ? total / count : 0;
+    }
+
+    /**
+     * Get the largest recorded value, rounded up to the highest value of
+     * its bucket.
+     *
+     * @return the largest recorded value or zero if no values have been
+     *   recorded
+     */
+    public long getMax() {
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+            if (counts.get(i) > 0)
+                return highestValue(i);
+        }
+
+        return 0;
+    }
+
+    /**
+     * Get the value at a percentile, rounded up to the highest value of its
+     * bucket.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the value at the percentile or zero if no values have been
+     *   recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = getCount();
+        if (count == 0)
+            return 0;
+
+        long rank = Math.max((long)Math.ceil(percentile / 100 * count), 1);
+
+        long total = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            total += counts.get(i);
+
+            if (total >= rank)
+                return highestValue(i);
+        }
+
+        return getMax();
+    }
+
+    static int index(long value) {
+        if (value < 2 * SUB_BUCKETS)
+            return (int)value;
+
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+
+        return (shift + 1) * SUB_BUCKETS + (int)(value >>> shift) - SUB_BUCKETS;
+    }
+
+    static long lowestValue(int index) {
+        if (index < 2 * SUB_BUCKETS)
+            return index;
+
+        int shift = index / SUB_BUCKETS - 1;
+
+        return (long)(index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    }
+
+    static long highestValue(int index) {
+        if (index == BUCKETS - 1)
+            return Long.MAX_VALUE;
+
+        return lowestValue(index + 1) - 1;
+    }
+
+}
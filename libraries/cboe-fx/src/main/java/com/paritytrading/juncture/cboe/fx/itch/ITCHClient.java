@@ -20,6 +20,7 @@ import static com.paritytrading.juncture.cboe.fx.itch.ITCH.*;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.List;
 
 /**
  * An implementation of the client side of ITCH Session Management Protocol.
@@ -157,6 +158,31 @@ public class ITCHClient extends ITCHSession {
         send(MESSAGE_TYPE_MARKET_DATA_UNSUBSCRIBE_REQUEST, txPayload);
     }
 
+    /**
+     * Send a batch of pre-encoded request packets.
+     *
+     * @param batch the batch
+     * @throws IOException if an I/O error occurs
+     */
+    public void request(ITCHRequestBatch batch) throws IOException {
+        send(batch.packets());
+    }
+
+    /**
+     * Send Market Data Subscribe Request packets (1.3.7) for the currency
+     * pairs in one write.
+     *
+     * <p>To resubscribe to the same currency pairs on every reconnect,
+     * build an {@link ITCHRequestBatch} once and send it with {@link
+     * #request(ITCHRequestBatch)} instead.</p>
+     *
+     * @param currencyPairs the currency pairs
+     * @throws IOException if an I/O error occurs
+     */
+    public void subscribe(List<String> currencyPairs) throws IOException {
+        request(ITCHRequestBatch.marketDataSubscribe(currencyPairs));
+    }
+
     /**
      * Send an Instrument Directory Request packet (1.3.9).
      *
@@ -171,6 +197,11 @@ public class ITCHClient extends ITCHSession {
         listener.heartbeatTimeout(this);
     }
 
+    @Override
+    protected void backPressure() throws IOException {
+        listener.backPressure(this);
+    }
+
     @Override
     protected void packet(byte messageType, ByteBuffer packet) throws IOException {
         switch (messageType) {
@@ -185,6 +216,8 @@ public class ITCHClient extends ITCHSession {
         case MESSAGE_TYPE_SEQUENCED_DATA:
             if (packet.hasRemaining()) {
                 sequencedData.get(packet);
+                if (getStatistics() != null)
+                    getStatistics().sequencedData(sequencedData.time, getClock().currentTimeMillis());
                 listener.sequencedData(this, sequencedData, packet);
             } else {
                 listener.endOfSession(this);
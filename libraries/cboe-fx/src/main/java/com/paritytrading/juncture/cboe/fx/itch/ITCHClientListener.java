@@ -87,4 +87,17 @@ public interface ITCHClientListener {
      */
     void instrumentDirectory(ITCHClient session, InstrumentDirectory packet) throws IOException;
 
+    /**
+     * Receive an indication that the number of pending bytes has risen
+     * above the high-water mark.
+     *
+     * <p>The default implementation does nothing.</p>
+     *
+     * @param session the session
+     * @throws IOException if an I/O error occurs
+     * @see ITCHSession#setHighWaterMark(int)
+     */
+    default void backPressure(ITCHClient session) throws IOException {
+    }
+
 }
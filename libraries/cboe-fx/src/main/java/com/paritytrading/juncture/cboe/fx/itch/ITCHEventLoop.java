@@ -0,0 +1,385 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * An event loop that multiplexes sessions over one selector.
+ *
+ * <p>The event loop receives data on sessions whose underlying socket
+ * channels are readable, writes pending bytes on sessions whose underlying
+ * socket channels are writable, and at the end of each selector cycle
+ * flushes every session that has been handled or that has staged packets
+ * or pending bytes in the meantime, whether or not it was selected. A
+ * packet sent from a listener method to another session therefore goes
+ * out in the same selector cycle. Listener methods run on the event loop
+ * thread.</p>
+ *
+ * <p>The event loop keeps its sessions alive with a hashed timer wheel
+ * that ticks every 10 milliseconds. Each session has one timer for
+ * sending Heartbeat packets and one for detecting heartbeat timeouts. A
+ * timer that expires early because a packet was sent or received in the
+ * meantime reschedules itself, so sending and receiving packets do not
+ * touch the timer wheel. The sessions read the time from a coarse clock
+ * that the event loop updates once per selector cycle.</p>
+ *
+ * <p>Sessions can be registered from any thread. All other operations on
+ * a registered session must run on the event loop thread, for example in
+ * listener methods.</p>
+ */
+public class ITCHEventLoop implements Closeable, Runnable {
+
+    private static final long TICK_MILLIS = 10;
+
+    private static final int WHEEL_SLOTS = 512;
+
+    private static final long SELECT_TIMEOUT_MILLIS = 1000;
+
+    private final Clock clock;
+
+    private final CoarseClock coarseClock;
+
+    private final TimerWheel wheel;
+
+    private final Selector selector;
+
+    private final ITCHEventLoopListener listener;
+
+    private final Queue<ITCHSession> registrations;
+
+    private final Map<ITCHSession, Registration> sessions;
+
+    private final List<ITCHSession> dirty;
+
+    private volatile int sessionCount;
+
+    private volatile boolean running;
+
+    /**
+     * Create an event loop.
+     *
+     * @param listener the event loop listener
+     * @throws IOException if an I/O error occurs
+     */
+    public ITCHEventLoop(ITCHEventLoopListener listener) throws IOException {
+        this(SystemClock.INSTANCE, listener);
+    }
+
+    ITCHEventLoop(Clock clock, ITCHEventLoopListener listener) throws IOException {
+        this.clock       = clock;
+        this.coarseClock = new CoarseClock(clock.currentTimeMillis());
+        this.wheel       = new TimerWheel(TICK_MILLIS, WHEEL_SLOTS, clock.currentTimeMillis());
+        this.selector    = Selector.open();
+        this.listener    = listener;
+
+        this.registrations = new ConcurrentLinkedQueue<>();
+
+        this.sessions = new IdentityHashMap<>();
+        this.dirty    = new ArrayList<>();
+
+        this.running = true;
+    }
+
+    /**
+     * Register a session. The underlying socket channel is put into
+     * non-blocking mode on the event loop thread.
+     *
+     * <p>This method can be invoked from any thread.</p>
+     *
+     * @param session the session
+     */
+    public void register(ITCHSession session) {
+        registrations.add(session);
+
+        selector.wakeup();
+    }
+
+    /**
+     * Get the number of registered sessions.
+     *
+     * <p>This method can be invoked from any thread.</p>
+     *
+     * @return the number of registered sessions
+     */
+    public int getSessionCount() {
+        return sessionCount;
+    }
+
+    /**
+     * Run the event loop until {@link #stop()} is invoked.
+     *
+     * <p>If an I/O error occurs on the selector, the event loop closes and
+     * removes all of its sessions, reporting the I/O error as the cause
+     * to the event loop listener, and stops.</p>
+     */
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                runOnce(SELECT_TIMEOUT_MILLIS);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    /**
+     * Stop the event loop. The event loop stops after the current selector
+     * cycle.
+     *
+     * <p>This method can be invoked from any thread.</p>
+     */
+    public void stop() {
+        running = false;
+
+        selector.wakeup();
+    }
+
+    /**
+     * Run one selector cycle. Wait at most until either a registered
+     * session becomes ready, the next tick of the timer wheel is due or
+     * the timeout expires.
+     *
+     * @param timeoutMillis the timeout in milliseconds, must be positive
+     * @throws IOException if an I/O error occurs on the selector
+     */
+    public void runOnce(long timeoutMillis) throws IOException {
+        registerAll();
+
+        long timeout = Math.min(timeoutMillis,
+                Math.max(wheel.nextTickMillis() - clock.currentTimeMillis(), 1));
+
+        int ready = selector.select(timeout);
+
+        coarseClock.update(clock.currentTimeMillis());
+
+        if (ready > 0) {
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+
+            while (keys.hasNext()) {
+                handle(keys.next());
+
+                keys.remove();
+            }
+        }
+
+        wheel.advance(coarseClock.currentTimeMillis());
+
+        for (int i = 0; i < dirty.size(); i++)
+            flush(dirty.get(i));
+
+        dirty.clear();
+    }
+
+    /**
+     * Close the selector and all registered sessions. Invoke this method
+     * after the event loop has stopped.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        registerAll();
+
+        for (ITCHSession session : sessions.keySet())
+            session.close();
+
+        sessions.clear();
+
+        sessionCount = 0;
+
+        selector.close();
+    }
+
+    private void fail(IOException cause) {
+        running = false;
+
+        ITCHSession session;
+
+        while ((session = registrations.poll()) != null)
+            closed(session, cause);
+
+        for (ITCHSession registered : new ArrayList<>(sessions.keySet()))
+            remove(registered, cause);
+    }
+
+    private void registerAll() {
+        ITCHSession session;
+
+        while ((session = registrations.poll()) != null) {
+            try {
+                session.getChannel().configureBlocking(false);
+                session.register(selector);
+            } catch (IOException e) {
+                closed(session, e);
+
+                continue;
+            }
+
+            Registration registration = new Registration(session);
+
+            sessions.put(session, registration);
+
+            sessionCount = sessions.size();
+
+            session.setClock(coarseClock);
+            session.setDirtySessions(dirty);
+            session.markDirty();
+
+            registration.tx.reschedule(session.keepAliveTxDeadline());
+            registration.rx.reschedule(session.keepAliveRxDeadline());
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        ITCHSession session = (ITCHSession)key.attachment();
+
+        if (!key.isValid()) {
+            remove(session, null);
+            return;
+        }
+
+        try {
+            if (key.isReadable() && session.receive() < 0) {
+                remove(session, null);
+                return;
+            }
+        } catch (IOException e) {
+            remove(session, e);
+            return;
+        }
+
+        session.markDirty();
+    }
+
+    private void flush(ITCHSession session) {
+        session.clearDirty();
+
+        if (!session.getChannel().isOpen()) {
+            remove(session, null);
+            return;
+        }
+
+        try {
+            session.flush();
+        } catch (IOException e) {
+            remove(session, e);
+        }
+    }
+
+    private void remove(ITCHSession session, IOException cause) {
+        Registration registration = sessions.remove(session);
+        if (registration == null)
+            return;
+
+        sessionCount = sessions.size();
+
+        wheel.cancel(registration.tx);
+        wheel.cancel(registration.rx);
+
+        SelectionKey key = session.getChannel().keyFor(selector);
+        if (key != null)
+            key.cancel();
+
+        session.setClock(registration.clock);
+        session.setDirtySessions(null);
+
+        closed(session, cause);
+    }
+
+    private void closed(ITCHSession session, IOException cause) {
+        try {
+            session.close();
+        } catch (IOException e) {
+            if (cause != null)
+                cause.addSuppressed(e);
+        }
+
+        listener.sessionClosed(session, cause);
+    }
+
+    private class Registration {
+
+        final Clock clock;
+
+        final KeepAlive tx;
+        final KeepAlive rx;
+
+        Registration(ITCHSession session) {
+            this.clock = session.getClock();
+
+            this.tx = new KeepAlive(session, true);
+            this.rx = new KeepAlive(session, false);
+        }
+
+    }
+
+    private class KeepAlive extends TimerWheel.Timer {
+
+        private final ITCHSession session;
+
+        private final boolean tx;
+
+        KeepAlive(ITCHSession session, boolean tx) {
+            this.session = session;
+            this.tx      = tx;
+        }
+
+        void reschedule(long deadlineMillis) {
+            wheel.schedule(this, deadlineMillis);
+        }
+
+        @Override
+        void expire(long currentTimeMillis) {
+            if (!session.getChannel().isOpen()) {
+                remove(session, null);
+                return;
+            }
+
+            long deadlineMillis;
+
+            try {
+                if (tx)
+                    deadlineMillis = session.keepAliveTx(currentTimeMillis);
+                else
+                    deadlineMillis = session.keepAliveRx(currentTimeMillis);
+            } catch (IOException e) {
+                remove(session, e);
+                return;
+            }
+
+            if (!session.getChannel().isOpen()) {
+                remove(session, null);
+                return;
+            }
+
+            reschedule(deadlineMillis);
+        }
+
+    }
+
+}
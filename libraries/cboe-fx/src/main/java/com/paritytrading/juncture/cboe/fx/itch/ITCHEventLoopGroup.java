@@ -0,0 +1,120 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A group of event loops, each running on its own thread.
+ *
+ * <p>Sessions are assigned to the event loops in round-robin order and
+ * stay on their event loop until they are removed. Listener methods run
+ * on the thread of the event loop that the session is assigned to.</p>
+ */
+public class ITCHEventLoopGroup implements Closeable {
+
+    private final ITCHEventLoop[] loops;
+
+    private final Thread[] threads;
+
+    private final AtomicInteger next;
+
+    /**
+     * Create a group of event loops. The event loops do not run until the
+     * group is started.
+     *
+     * @param size the number of event loops
+     * @param listener the event loop listener
+     * @throws IllegalArgumentException if the number of event loops is not
+     *   positive
+     * @throws IOException if an I/O error occurs
+     */
+    public ITCHEventLoopGroup(int size, ITCHEventLoopListener listener) throws IOException {
+        if (size < 1)
+            throw new IllegalArgumentException("Number of event loops must be positive");
+
+        this.loops   = new ITCHEventLoop[size];
+        this.threads = new Thread[size];
+
+        for (int i = 0; i < size; i++) {
+            loops[i] = new ITCHEventLoop(listener);
+
+            threads[i] = new Thread(loops[i], "itch-event-loop-" + i);
+        }
+
+        this.next = new AtomicInteger();
+    }
+
+    /**
+     * Get the number of event loops.
+     *
+     * @return the number of event loops
+     */
+    public int size() {
+        return loops.length;
+    }
+
+    /**
+     * Start the event loop threads.
+     */
+    public void start() {
+        for (Thread thread : threads)
+            thread.start();
+    }
+
+    /**
+     * Register a session with the next event loop.
+     *
+     * <p>This method can be invoked from any thread.</p>
+     *
+     * @param session the session
+     * @return the event loop
+     */
+    public ITCHEventLoop register(ITCHSession session) {
+        ITCHEventLoop loop = loops[Math.floorMod(next.getAndIncrement(), loops.length)];
+
+        loop.register(session);
+
+        return loop;
+    }
+
+    /**
+     * Stop the event loops, wait for their threads to terminate and close
+     * the event loops.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        for (ITCHEventLoop loop : loops)
+            loop.stop();
+
+        try {
+            for (Thread thread : threads) {
+                if (thread.isAlive())
+                    thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (ITCHEventLoop loop : loops)
+            loop.close();
+    }
+
+}
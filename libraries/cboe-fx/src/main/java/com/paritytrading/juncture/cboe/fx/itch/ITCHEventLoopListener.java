@@ -0,0 +1,37 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+import java.io.IOException;
+
+/**
+ * The interface for event loop events.
+ */
+public interface ITCHEventLoopListener {
+
+    /**
+     * Receive an indication that the event loop has removed a session. The
+     * event loop removes a session when the underlying socket channel
+     * reaches end-of-stream or is closed or when handling the session or
+     * the selector raises an I/O error. The event loop closes the session
+     * when it removes it.
+     *
+     * @param session the session
+     * @param cause the I/O error or {@code null} if none
+     */
+    void sessionClosed(ITCHSession session, IOException cause);
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+import static com.paritytrading.juncture.cboe.fx.itch.ITCH.*;
+
+import com.paritytrading.foundation.ASCII;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * A batch of pre-encoded request packets.
+ *
+ * <p>A batch encodes its packets, including the packet headers and
+ * trailers, into one direct buffer. Sending the batch writes them to the
+ * underlying socket channel in one write. The batch does not change when
+ * sent, so it can be built once and sent again on every reconnect.</p>
+ *
+ * @see ITCHClient#request(ITCHRequestBatch)
+ */
+public class ITCHRequestBatch {
+
+    private static final int CURRENCY_PAIR_LENGTH = 7;
+
+    private static final int PACKET_LENGTH = 1 + CURRENCY_PAIR_LENGTH + 1;
+
+    private static final byte TLF = 0x0A;
+
+    private final byte[] currencyPair;
+
+    private ByteBuffer packets;
+
+    /**
+     * Create an empty batch.
+     */
+    public ITCHRequestBatch() {
+        this.currencyPair = new byte[CURRENCY_PAIR_LENGTH];
+
+        this.packets = ByteBuffer.allocateDirect(64 * PACKET_LENGTH);
+    }
+
+    /**
+     * Create a batch of Market Data Subscribe Request packets (1.3.7).
+     *
+     * @param currencyPairs the currency pairs
+     * @return the batch
+     */
+    public static ITCHRequestBatch marketDataSubscribe(List<String> currencyPairs) {
+        ITCHRequestBatch batch = new ITCHRequestBatch();
+
+        for (String currencyPair : currencyPairs)
+            batch.addMarketDataSubscribe(currencyPair);
+
+        return batch;
+    }
+
+    /**
+     * Create a batch of Ticker Subscribe Request packets (1.3.5).
+     *
+     * @param currencyPairs the currency pairs
+     * @return the batch
+     */
+    public static ITCHRequestBatch tickerSubscribe(List<String> currencyPairs) {
+        ITCHRequestBatch batch = new ITCHRequestBatch();
+
+        for (String currencyPair : currencyPairs)
+            batch.addTickerSubscribe(currencyPair);
+
+        return batch;
+    }
+
+    /**
+     * Add a Market Data Subscribe Request packet (1.3.7).
+     *
+     * @param currencyPair the currency pair
+     * @return this batch
+     */
+    public ITCHRequestBatch addMarketDataSubscribe(String currencyPair) {
+        return add(MESSAGE_TYPE_MARKET_DATA_SUBSCRIBE_REQUEST, currencyPair);
+    }
+
+    /**
+     * Add a Market Data Unsubscribe Request packet (1.3.8).
+     *
+     * @param currencyPair the currency pair
+     * @return this batch
+     */
+    public ITCHRequestBatch addMarketDataUnsubscribe(String currencyPair) {
+        return add(MESSAGE_TYPE_MARKET_DATA_UNSUBSCRIBE_REQUEST, currencyPair);
+    }
+
+    /**
+     * Add a Ticker Subscribe Request packet (1.3.5).
+     *
+     * @param currencyPair the currency pair
+     * @return this batch
+     */
+    public ITCHRequestBatch addTickerSubscribe(String currencyPair) {
+        return add(MESSAGE_TYPE_TICKER_SUBSCRIBE_REQUEST, currencyPair);
+    }
+
+    /**
+     * Add a Ticker Unsubscribe Request packet (1.3.6).
+     *
+     * @param currencyPair the currency pair
+     * @return this batch
+     */
+    public ITCHRequestBatch addTickerUnsubscribe(String currencyPair) {
+        return add(MESSAGE_TYPE_TICKER_UNSUBSCRIBE_REQUEST, currencyPair);
+    }
+
+    /**
+     * Get the number of packets.
+     *
+     * @return the number of packets
+     */
+    public int size() {
+        return packets.position() / PACKET_LENGTH;
+    }
+
+    /**
+     * Remove all packets.
+     */
+    public void clear() {
+        packets.clear();
+    }
+
+    /*
+     * Return a view of the encoded packets. The view is independent of
+     * the batch, so consuming it leaves the batch intact.
+     */
+    ByteBuffer packets() {
+        ByteBuffer view = packets.duplicate();
+
+        view.flip();
+
+        return view;
+    }
+
+    private ITCHRequestBatch add(byte messageType, String currencyPair) {
+        if (packets.remaining() < PACKET_LENGTH)
+            grow();
+
+        ASCII.putLeft(this.currencyPair, currencyPair);
+
+        packets.put(messageType);
+        packets.put(this.currencyPair);
+        packets.put(TLF);
+
+        return this;
+    }
+
+    private void grow() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(2 * packets.capacity());
+
+        packets.flip();
+        buffer.put(packets);
+
+        packets = buffer;
+    }
+
+}
@@ -47,12 +47,37 @@ public class ITCHServer extends ITCHSession {
      */
     public ITCHServer(SocketChannel channel, int rxBufferCapacity,
             ITCHServerListener listener) {
-        this(SystemClock.INSTANCE, channel, rxBufferCapacity, listener);
+        this(channel, rxBufferCapacity, 0, listener);
+    }
+
+    /**
+     * Create a server. The underlying socket channel can be either blocking
+     * or non-blocking.
+     *
+     * <p>If the transmit buffer capacity is positive, the server batches
+     * outbound packets into a transmit buffer of the given capacity and
+     * writes them with one gathering write when the transmit buffer fills
+     * up or on {@link #flush()}.</p>
+     *
+     * @param channel the underlying socket channel
+     * @param rxBufferCapacity the receive buffer capacity
+     * @param txBufferCapacity the transmit buffer capacity or zero to write
+     *   each packet on its own
+     * @param listener the inbound packet listener
+     */
+    public ITCHServer(SocketChannel channel, int rxBufferCapacity, int txBufferCapacity,
+            ITCHServerListener listener) {
+        this(SystemClock.INSTANCE, channel, rxBufferCapacity, txBufferCapacity, listener);
     }
 
     ITCHServer(Clock clock, SocketChannel channel, int rxBufferCapacity,
             ITCHServerListener listener) {
-        super(clock, channel, rxBufferCapacity, MESSAGE_TYPE_SERVER_HEARTBEAT);
+        this(clock, channel, rxBufferCapacity, 0, listener);
+    }
+
+    ITCHServer(Clock clock, SocketChannel channel, int rxBufferCapacity,
+            int txBufferCapacity, ITCHServerListener listener) {
+        super(clock, channel, rxBufferCapacity, txBufferCapacity, MESSAGE_TYPE_SERVER_HEARTBEAT);
 
         this.loginRequest                 = new LoginRequest();
         this.marketSnapshotRequest        = new MarketSnapshotRequest();
@@ -152,6 +177,11 @@ public class ITCHServer extends ITCHSession {
         listener.heartbeatTimeout(this);
     }
 
+    @Override
+    protected void backPressure() throws IOException {
+        listener.backPressure(this);
+    }
+
     @Override
     protected void packet(byte messageType, ByteBuffer packet) throws IOException {
         switch (messageType) {
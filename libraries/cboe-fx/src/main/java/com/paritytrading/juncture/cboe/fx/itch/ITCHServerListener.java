@@ -102,4 +102,17 @@ public interface ITCHServerListener {
      */
     void instrumentDirectoryRequest(ITCHServer session) throws IOException;
 
+    /**
+     * Receive an indication that the number of pending bytes has risen
+     * above the high-water mark.
+     *
+     * <p>The default implementation does nothing.</p>
+     *
+     * @param session the session
+     * @throws IOException if an I/O error occurs
+     * @see ITCHSession#setHighWaterMark(int)
+     */
+    default void backPressure(ITCHServer session) throws IOException {
+    }
+
 }
@@ -18,7 +18,10 @@ package com.paritytrading.juncture.cboe.fx.itch;
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
+import java.util.List;
 
 /**
  * The base for both the client and server side of ITCH Session Management
@@ -26,11 +29,18 @@ import java.nio.channels.SocketChannel;
  */
 public abstract class ITCHSession implements Closeable {
 
-    private static final long RX_HEARTBEAT_TIMEOUT_MILLIS  = 15000;
-    private static final long TX_HEARTBEAT_INTERVAL_MILLIS =  1000;
+    private static final long DEFAULT_RX_HEARTBEAT_TIMEOUT_MILLIS  = 15000;
+    private static final long DEFAULT_TX_HEARTBEAT_INTERVAL_MILLIS =  1000;
 
     private static final byte TLF = 0x0A;
 
+    private static final long TLFS = 0x0A0A0A0A0A0A0A0AL;
+    private static final long LOWS = 0x7F7F7F7F7F7F7F7FL;
+
+    private static final int TX_QUEUE_INITIAL_CAPACITY = 8192;
+
+    private static final int RUN_KEEP_ALIVE_ITERATIONS = 1024;
+
     private Clock clock;
 
     private SocketChannel channel;
@@ -49,34 +59,119 @@ public abstract class ITCHSession implements Closeable {
      */
     private long lastTxMillis;
 
+    private long rxHeartbeatTimeoutMillis;
+    private long txHeartbeatIntervalMillis;
+
     private ByteBuffer rxBuffer;
 
+    /*
+     * The receive buffer of the initial capacity. The receive buffer is
+     * replaced with a larger one from the buffer pool while an oversize
+     * packet is being received.
+     */
+    private ByteBuffer rxDefaultBuffer;
+
+    private int rxMaxBufferCapacity;
+
+    /*
+     * The index in the receive buffer up to which a partial packet has
+     * already been scanned for the trailer, or zero if none.
+     */
+    private int rxScanIndex;
+
+    /*
+     * The staging buffer for outbound packets in batching mode, or null if
+     * each packet is written on its own.
+     */
+    private ByteBuffer txBuffer;
+
     private ByteBuffer txHeader;
     private ByteBuffer txTrailer;
 
     private ByteBuffer[] txBuffers;
 
+    /*
+     * The bytes that a non-blocking channel has not accepted yet, or null
+     * if the channel has always accepted every write in full.
+     */
+    private ByteBuffer txQueue;
+
+    private int txHighWaterMark;
+
+    private boolean txBackPressure;
+
+    private SelectionKey selectionKey;
+
+    /*
+     * The sessions of an event loop that have bytes to flush, or null if
+     * the session is not registered with an event loop. The session adds
+     * itself when it stages a packet or queues pending bytes, so that the
+     * event loop flushes it at the end of the selector cycle even if its
+     * selection key was not selected.
+     */
+    private List<ITCHSession> dirtySessions;
+
+    private boolean dirty;
+
+    private volatile boolean running;
+
+    /*
+     * The statistics, or null if the session does not record statistics.
+     */
+    private ITCHSessionStatistics statistics;
+
     private byte heartbeatMessageType;
 
     protected ITCHSession(Clock clock, SocketChannel channel, int rxBufferCapacity,
             byte heartbeatMessageType) {
+        this(clock, channel, rxBufferCapacity, 0, heartbeatMessageType);
+    }
+
+    /**
+     * Create a session. If the transmit buffer capacity is positive, the
+     * session operates in batching mode: outbound packets are appended to a
+     * transmit buffer of the given capacity and written to the underlying
+     * socket channel when the transmit buffer fills up or when the session
+     * is flushed.
+     *
+     * @param clock the clock
+     * @param channel the underlying socket channel
+     * @param rxBufferCapacity the receive buffer capacity
+     * @param txBufferCapacity the transmit buffer capacity or zero to write
+     *   each packet on its own
+     * @param heartbeatMessageType the message type of the Heartbeat packet
+     */
+    protected ITCHSession(Clock clock, SocketChannel channel, int rxBufferCapacity,
+            int txBufferCapacity, byte heartbeatMessageType) {
         this.clock   = clock;
         this.channel = channel;
 
         this.lastRxMillis = clock.currentTimeMillis();
         this.lastTxMillis = clock.currentTimeMillis();
 
+        this.rxHeartbeatTimeoutMillis  = DEFAULT_RX_HEARTBEAT_TIMEOUT_MILLIS;
+        this.txHeartbeatIntervalMillis = DEFAULT_TX_HEARTBEAT_INTERVAL_MILLIS;
+
         this.rxBuffer = ByteBuffer.allocateDirect(rxBufferCapacity);
 
+        this.rxDefaultBuffer = rxBuffer;
+
+        this.rxMaxBufferCapacity = rxBufferCapacity;
+
+        if (txBufferCapacity > 0)
+            this.txBuffer = ByteBuffer.allocateDirect(txBufferCapacity);
+
         this.txHeader  = ByteBuffer.allocateDirect(1);
         this.txTrailer = ByteBuffer.allocateDirect(1);
 
         this.txTrailer.put(TLF);
 
-        this.txBuffers = new ByteBuffer[4];
+        this.txBuffers = new ByteBuffer[5];
 
-        this.txBuffers[0] = txHeader;
-        this.txBuffers[3] = txTrailer;
+        this.txBuffers[0] = txBuffer;
+        this.txBuffers[1] = txHeader;
+
+        this.txHighWaterMark = Integer.MAX_VALUE;
 
         this.heartbeatMessageType = heartbeatMessageType;
     }
@@ -90,6 +185,126 @@ public abstract class ITCHSession implements Closeable {
         return channel;
     }
 
+    /**
+     * Register the underlying socket channel with a selector for reading.
+     * The session is attached to the returned selection key.
+     *
+     * <p>While the session has pending bytes, it adds interest in writing
+     * to the selection key. When the selection key is writable, invoke
+     * {@link #flush()}. Once the pending bytes have been written, the
+     * session removes interest in writing again.</p>
+     *
+     * @param selector the selector
+     * @return the selection key
+     * @throws IOException if an I/O error occurs
+     */
+    public SelectionKey register(Selector selector) throws IOException {
+        int ops = SelectionKey.OP_READ;
+
+        if (pendingBytes() > 0)
+            ops |= SelectionKey.OP_WRITE;
+
+        selectionKey = channel.register(selector, ops, this);
+
+        return selectionKey;
+    }
+
+    /**
+     * Get the number of pending bytes. Pending bytes are bytes that a
+     * non-blocking underlying socket channel has not accepted yet. They are
+     * written on {@link #flush()} before any subsequent packets.
+     *
+     * @return the number of pending bytes
+     */
+    public int pendingBytes() {
+        return txQueue != null ? txQueue.position() : 0;
+    }
+
+    /**
+     * Set the high-water mark for pending bytes. When the number of pending
+     * bytes rises above the high-water mark, invoke the corresponding
+     * method on the listener. The indication is raised again only after all
+     * pending bytes have been written.
+     *
+     * <p>The default high-water mark is {@link Integer#MAX_VALUE}.</p>
+     *
+     * @param txHighWaterMark the high-water mark
+     */
+    public void setHighWaterMark(int txHighWaterMark) {
+        this.txHighWaterMark = txHighWaterMark;
+    }
+
+    /**
+     * Set the heartbeat timeout. If no packet has been received for longer
+     * than the heartbeat timeout, keeping the session alive invokes the
+     * corresponding method on the listener.
+     *
+     * <p>The default heartbeat timeout is 15 seconds. Set it before
+     * registering the session with an event loop: the event loop picks up
+     * a change only when its timer for the session next expires.</p>
+     *
+     * @param rxHeartbeatTimeoutMillis the heartbeat timeout in milliseconds
+     */
+    public void setHeartbeatTimeout(long rxHeartbeatTimeoutMillis) {
+        this.rxHeartbeatTimeoutMillis = rxHeartbeatTimeoutMillis;
+    }
+
+    /**
+     * Set the heartbeat interval. If no packet has been sent for longer than
+     * the heartbeat interval, keeping the session alive sends a Heartbeat
+     * packet.
+     *
+     * <p>The default heartbeat interval is one second. Set it before
+     * registering the session with an event loop: the event loop picks up
+     * a change only when its timer for the session next expires.</p>
+     *
+     * @param txHeartbeatIntervalMillis the heartbeat interval in milliseconds
+     */
+    public void setHeartbeatInterval(long txHeartbeatIntervalMillis) {
+        this.txHeartbeatIntervalMillis = txHeartbeatIntervalMillis;
+    }
+
+    /**
+     * Set the maximum receive buffer capacity. If a packet does not fit in
+     * the receive buffer, the session switches to a larger receive buffer,
+     * doubling its capacity up to the maximum. Once the packet has been
+     * received, the session switches back to the receive buffer of the
+     * initial capacity. The larger receive buffers come from a pool shared
+     * by all sessions.
+     *
+     * <p>By default, the maximum receive buffer capacity equals the
+     * initial receive buffer capacity, and receiving a packet that does not
+     * fit in the receive buffer fails.</p>
+     *
+     * @param rxMaxBufferCapacity the maximum receive buffer capacity
+     */
+    public void setMaxRxBufferCapacity(int rxMaxBufferCapacity) {
+        this.rxMaxBufferCapacity = Math.max(rxMaxBufferCapacity, rxDefaultBuffer.capacity());
+    }
+
+    /**
+     * Set the statistics to record into, or {@code null} to stop recording
+     * statistics. By default, the session does not record statistics.
+     *
+     * <p>Recording the packet dispatch time takes two clock reads per
+     * packet.</p>
+     *
+     * @param statistics the statistics or {@code null}
+     */
+    public void setStatistics(ITCHSessionStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Get the statistics.
+     *
+     * @return the statistics or {@code null} if the session does not record
+     *   statistics
+     */
+    public ITCHSessionStatistics getStatistics() {
+        return statistics;
+    }
+
     /**
      * Receive data from the underlying socket channel. For each packet
      * received, invoke the corresponding listener if applicable.
@@ -106,32 +321,135 @@ public abstract class ITCHSession implements Closeable {
 
         rxBuffer.flip();
 
-        while (parse());
+        if (statistics == null) {
+            while (parse());
+        } else {
+            int packets = 0;
+
+            while (parse())
+                packets++;
+
+            statistics.read(bytes, packets);
+        }
+
+        int offset = rxBuffer.position();
 
         rxBuffer.compact();
 
+        rxScanIndex = Math.max(rxScanIndex - offset, 0);
+
         if (rxBuffer.position() == rxBuffer.capacity())
-            throw new ITCHException("Packet length exceeds buffer capacity");
+            grow();
+        else if (rxBuffer != rxDefaultBuffer && rxBuffer.position() < rxDefaultBuffer.capacity())
+            shrink();
 
         receivedData();
 
         return bytes;
     }
 
+    /**
+     * Run a receive loop on the current thread until {@link #stop()} is
+     * invoked or the underlying socket channel reaches end-of-stream.
+     *
+     * <p>Each iteration receives data and then lets the idle strategy
+     * decide what to do before the next one. Iterations that receive no
+     * data also keep the session alive, and so does every 1024th iteration
+     * to keep the session alive under sustained load.</p>
+     *
+     * <p>While the loop runs, the session reads the time from a coarse
+     * clock that is updated only when the session is kept alive, so that
+     * receiving data does not read the clock.</p>
+     *
+     * <p>Use a non-blocking underlying socket channel: on a blocking one,
+     * each iteration blocks until data arrives.</p>
+     *
+     * @param idleStrategy the idle strategy
+     * @throws IOException if an I/O error occurs
+     */
+    public void run(IdleStrategy idleStrategy) throws IOException {
+        running = true;
+
+        Clock       systemClock = clock;
+        CoarseClock coarseClock = new CoarseClock(systemClock.currentTimeMillis());
+
+        clock = coarseClock;
+
+        try {
+            int iterations = 0;
+
+            while (running) {
+                int bytes = receive();
+                if (bytes < 0)
+                    break;
+
+                if (bytes == 0 || ++iterations == RUN_KEEP_ALIVE_ITERATIONS) {
+                    coarseClock.update(systemClock.currentTimeMillis());
+
+                    keepAlive();
+
+                    iterations = 0;
+                }
+
+                idleStrategy.idle(bytes);
+            }
+        } finally {
+            clock = systemClock;
+        }
+    }
+
+    /**
+     * Stop the receive loop after the current iteration.
+     *
+     * <p>This method can be invoked from any thread.</p>
+     */
+    public void stop() {
+        running = false;
+    }
+
+    int getRxBufferCapacity() {
+        return rxBuffer.capacity();
+    }
+
+    private void grow() throws ITCHException {
+        int capacity = rxBuffer.capacity();
+        if (capacity >= rxMaxBufferCapacity)
+            throw new ITCHException("Packet length exceeds buffer capacity");
+
+        switchRxBuffer(BufferPool.INSTANCE.acquire((int)Math.min(2L * capacity, rxMaxBufferCapacity)));
+    }
+
+    private void shrink() {
+        switchRxBuffer(rxDefaultBuffer);
+    }
+
+    private void switchRxBuffer(ByteBuffer buffer) {
+        buffer.clear();
+
+        rxBuffer.flip();
+        buffer.put(rxBuffer);
+
+        if (rxBuffer != rxDefaultBuffer)
+            BufferPool.INSTANCE.release(rxBuffer);
+
+        rxBuffer = buffer;
+    }
+
     private boolean parse() throws IOException {
         if (rxBuffer.remaining() < 2)
             return false;
 
-        rxBuffer.mark();
-
-        byte messageType = rxBuffer.get();
-
-        int trailerIndex = trailerIndex();
+        int trailerIndex = trailerIndex(Math.max(rxBuffer.position() + 1, rxScanIndex),
+                rxBuffer.limit());
         if (trailerIndex < 0) {
-            rxBuffer.reset();
+            rxScanIndex = rxBuffer.limit();
             return false;
         }
 
+        rxScanIndex = 0;
+
+        byte messageType = rxBuffer.get();
+
         int packetLength = trailerIndex - rxBuffer.position();
 
         int limit = rxBuffer.limit();
@@ -140,7 +458,15 @@ public abstract class ITCHSession implements Closeable {
 
         int position = rxBuffer.limit() + 1;
 
-        packet(messageType, rxBuffer);
+        if (statistics == null) {
+            packet(messageType, rxBuffer);
+        } else {
+            long startNanos = System.nanoTime();
+
+            packet(messageType, rxBuffer);
+
+            statistics.dispatch(System.nanoTime() - startNanos);
+        }
 
         rxBuffer.limit(limit);
         rxBuffer.position(position);
@@ -148,8 +474,24 @@ public abstract class ITCHSession implements Closeable {
         return true;
     }
 
-    private int trailerIndex() {
-        for (int i = rxBuffer.position(); i < rxBuffer.limit(); i++) {
+    /*
+     * Search for the trailer eight bytes at a time. In each word, the bytes
+     * equal to the trailer become zero bytes, which are then located
+     * without carries between bytes. The receive buffer is big-endian, so
+     * the first byte in the buffer is the most significant one.
+     */
+    private int trailerIndex(int start, int end) {
+        int i = start;
+
+        for (; i <= end - 8; i += 8) {
+            long x = rxBuffer.getLong(i) ^ TLFS;
+            long y = ~(((x & LOWS) + LOWS) | x | LOWS);
+
+            if (y != 0)
+                return i + (Long.numberOfLeadingZeros(y) >>> 3);
+        }
+
+        for (; i < end; i++) {
             if (rxBuffer.get(i) == TLF)
                 return i;
         }
@@ -160,9 +502,10 @@ public abstract class ITCHSession implements Closeable {
     /**
      * Keep the session alive.
      *
-     * <p>If the heartbeat interval duration has passed since the last packet
-     * was sent, send a Heartbeat packet. If the heartbeat timeout duration
-     * has passed since the last packet was received, invoke the corresponding
+     * <p>Write any batched packets to the underlying socket channel. If the
+     * heartbeat interval duration has passed since the last packet was
+     * sent, send a Heartbeat packet. If the heartbeat timeout duration has
+     * passed since the last packet was received, invoke the corresponding
      * method on the listener.</p>
      *
      * @throws IOException if an I/O error occurs
@@ -170,86 +513,350 @@ public abstract class ITCHSession implements Closeable {
     public void keepAlive() throws IOException {
         long currentTimeMillis = clock.currentTimeMillis();
 
-        if (currentTimeMillis - lastTxMillis > TX_HEARTBEAT_INTERVAL_MILLIS)
+        keepAliveTx(currentTimeMillis);
+        keepAliveRx(currentTimeMillis);
+    }
+
+    /*
+     * Write any batched packets and send a Heartbeat packet if the heartbeat
+     * interval has passed. Return the time at which the next Heartbeat
+     * packet is due unless a packet is sent before it.
+     */
+    long keepAliveTx(long currentTimeMillis) throws IOException {
+        flush();
+
+        if (currentTimeMillis - lastTxMillis > txHeartbeatIntervalMillis && pendingBytes() == 0) {
             send(heartbeatMessageType);
 
-        if (currentTimeMillis - lastRxMillis > RX_HEARTBEAT_TIMEOUT_MILLIS)
+            flush();
+        }
+
+        return keepAliveTxDeadline();
+    }
+
+    /*
+     * Handle a heartbeat timeout if the heartbeat timeout has passed. Return
+     * the time at which the next heartbeat timeout is due unless a packet is
+     * received before it.
+     */
+    long keepAliveRx(long currentTimeMillis) throws IOException {
+        if (currentTimeMillis - lastRxMillis > rxHeartbeatTimeoutMillis)
             handleHeartbeatTimeout();
+
+        return keepAliveRxDeadline();
+    }
+
+    long keepAliveTxDeadline() {
+        return lastTxMillis + txHeartbeatIntervalMillis + 1;
+    }
+
+    long keepAliveRxDeadline() {
+        return lastRxMillis + rxHeartbeatTimeoutMillis + 1;
+    }
+
+    Clock getClock() {
+        return clock;
+    }
+
+    void setDirtySessions(List<ITCHSession> dirtySessions) {
+        this.dirtySessions = dirtySessions;
+        this.dirty         = false;
+    }
+
+    void markDirty() {
+        if (dirtySessions != null && !dirty) {
+            dirty = true;
+
+            dirtySessions.add(this);
+        }
+    }
+
+    void clearDirty() {
+        dirty = false;
+    }
+
+    /*
+     * An event loop replaces the clock with its coarse clock, which it
+     * updates once per selector cycle. The clock is only read on the event
+     * loop thread then.
+     */
+    void setClock(Clock clock) {
+        this.clock = clock;
     }
 
     /**
-     * Close the underlying socket channel.
+     * Write any pending bytes and batched packets to the underlying socket
+     * channel.
+     *
+     * <p>In batching mode, packets are only written when the transmit
+     * buffer fills up, so call this method after each round of sending,
+     * for example at the end of each selector cycle. If the underlying
+     * socket channel is non-blocking, also call this method when it
+     * becomes writable.</p>
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void flush() throws IOException {
+        if (pendingBytes() > 0)
+            drain();
+
+        if (txBuffer == null || txBuffer.position() == 0)
+            return;
+
+        txBuffer.flip();
+
+        write(0, 1);
+
+        txBuffer.clear();
+    }
+
+    /**
+     * Close the underlying socket channel. Pending bytes and batched packets
+     * that have not been flushed are discarded, and a receive buffer grown
+     * for an oversize packet is released back to the shared pool.
      *
      * @throws IOException if an I/O error occurs
      */
     @Override
     public void close() throws IOException {
-        channel.close();
+        try {
+            channel.close();
+        } finally {
+            if (rxBuffer != rxDefaultBuffer) {
+                BufferPool.INSTANCE.release(rxBuffer);
+
+                rxBuffer = rxDefaultBuffer;
+            }
+        }
     }
 
     protected abstract void heartbeatTimeout() throws IOException;
 
     protected abstract void packet(byte messageType, ByteBuffer payload) throws IOException;
 
+    /**
+     * Handle an indication that the number of pending bytes has risen above
+     * the high-water mark. The indication is raised when a write leaves
+     * more pending bytes than the high-water mark, and raised again only
+     * after all pending bytes have been written.
+     *
+     * <p>The default implementation does nothing.</p>
+     *
+     * @throws IOException if an I/O error occurs
+     * @see #setHighWaterMark(int)
+     */
+    protected void backPressure() throws IOException {
+    }
+
     protected void send(byte messageType) throws IOException {
-        txHeader.clear();
-        txHeader.put(messageType);
-        txHeader.flip();
+        if (stage(messageType, null, null))
+            return;
 
-        txBuffers[1] = txTrailer;
+        txBuffers[2] = txTrailer;
 
-        txTrailer.flip();
+        write(3);
+    }
 
-        int remaining = txHeader.remaining() + txTrailer.remaining();
+    protected void send(byte messageType, ByteBuffer payload) throws IOException {
+        if (stage(messageType, payload, null))
+            return;
 
-        do {
-            remaining -= channel.write(txBuffers, 0, 2);
-        } while (remaining > 0);
+        txBuffers[2] = payload;
+        txBuffers[3] = txTrailer;
 
-        sentData();
+        write(4);
     }
 
-    protected void send(byte messageType, ByteBuffer payload) throws IOException {
-        txHeader.clear();
-        txHeader.put(messageType);
-        txHeader.flip();
+    protected void send(byte messageType, ByteBuffer payload1, ByteBuffer payload2) throws IOException {
+        if (stage(messageType, payload1, payload2))
+            return;
 
-        txBuffers[1] = payload;
-        txBuffers[2] = txTrailer;
+        txBuffers[2] = payload1;
+        txBuffers[3] = payload2;
+        txBuffers[4] = txTrailer;
 
-        txTrailer.flip();
+        write(5);
+    }
 
-        int remaining = txHeader.remaining() + payload.remaining() + txTrailer.remaining();
+    /*
+     * Send complete, already framed packets. In batching mode, the packets
+     * are appended to the transmit buffer if they fit.
+     */
+    protected void send(ByteBuffer packets) throws IOException {
+        if (txBuffer != null && packets.remaining() <= txBuffer.remaining()) {
+            txBuffer.put(packets);
+
+            if (!txBuffer.hasRemaining())
+                flush();
+            else
+                markDirty();
+
+            return;
+        }
 
-        do {
-            remaining -= channel.write(txBuffers, 0, 3);
-        } while (remaining > 0);
+        txBuffers[1] = packets;
 
-        sentData();
+        try {
+            write(2);
+        } finally {
+            txBuffers[1] = txHeader;
+        }
     }
 
-    protected void send(byte messageType, ByteBuffer payload1, ByteBuffer payload2) throws IOException {
+    protected void unexpectedMessageType(byte messageType) throws ITCHException {
+        throw new ITCHException("Unexpected message type: " + (char)messageType);
+    }
+
+    /*
+     * In batching mode, append the packet to the transmit buffer if it
+     * fits. Otherwise prepare the packet header for a write.
+     */
+    private boolean stage(byte messageType, ByteBuffer payload1, ByteBuffer payload2)
+            throws IOException {
+        if (txBuffer != null) {
+            int packetLength = 2 + remaining(payload1) + remaining(payload2);
+
+            if (packetLength <= txBuffer.remaining()) {
+                txBuffer.put(messageType);
+
+                if (payload1 != null)
+                    txBuffer.put(payload1);
+                if (payload2 != null)
+                    txBuffer.put(payload2);
+
+                txBuffer.put(TLF);
+
+                if (!txBuffer.hasRemaining())
+                    flush();
+                else
+                    markDirty();
+
+                return true;
+            }
+        }
+
         txHeader.clear();
         txHeader.put(messageType);
         txHeader.flip();
 
-        txBuffers[1] = payload1;
-        txBuffers[2] = payload2;
-
         txTrailer.flip();
 
-        int remaining = txHeader.remaining() + payload1.remaining() + payload2.remaining()
-                + txTrailer.remaining();
+        return false;
+    }
 
-        do {
-            remaining -= channel.write(txBuffers);
-        } while (remaining > 0);
+    /*
+     * Write the packet in the transmit buffers up to the given index. In
+     * batching mode, the packets in the transmit buffer precede it in the
+     * same gathering write.
+     */
+    private void write(int end) throws IOException {
+        int start = 1;
+
+        if (txBuffer != null && txBuffer.position() > 0) {
+            txBuffer.flip();
+
+            start = 0;
+        }
+
+        write(start, end);
 
-        sentData();
+        if (txBuffer != null)
+            txBuffer.clear();
     }
 
-    protected void unexpectedMessageType(byte messageType) throws ITCHException {
-        throw new ITCHException("Unexpected message type: " + (char)messageType);
+    /*
+     * Write the given transmit buffers. A blocking channel accepts them in
+     * full. If a non-blocking channel does not, or if there are pending
+     * bytes already, append the rest to the pending bytes instead.
+     */
+    private void write(int start, int end) throws IOException {
+        long remaining = 0;
+
+        for (int i = start; i < end; i++)
+            remaining += txBuffers[i].remaining();
+
+        if (pendingBytes() == 0) {
+            if (channel.isBlocking()) {
+                do {
+                    remaining -= channel.write(txBuffers, start, end - start);
+                } while (remaining > 0);
+
+                sentData();
+
+                return;
+            }
+
+            long bytes = channel.write(txBuffers, start, end - start);
+            if (bytes > 0)
+                sentData();
+
+            remaining -= bytes;
+            if (remaining == 0)
+                return;
+        }
+
+        enqueue(start, end, remaining);
+    }
+
+    private void enqueue(int start, int end, long remaining) throws IOException {
+        if (txQueue == null)
+            txQueue = ByteBuffer.allocateDirect(TX_QUEUE_INITIAL_CAPACITY);
+
+        if (remaining > txQueue.remaining()) {
+            long capacity = Math.max(2L * txQueue.capacity(), txQueue.position() + remaining);
+            if (capacity > Integer.MAX_VALUE)
+                throw new ITCHException("Too many pending bytes");
+
+            ByteBuffer queue = ByteBuffer.allocateDirect((int)capacity);
+
+            txQueue.flip();
+            queue.put(txQueue);
+
+            txQueue = queue;
+        }
+
+        for (int i = start; i < end; i++)
+            txQueue.put(txBuffers[i]);
+
+        if (selectionKey != null && selectionKey.isValid())
+            selectionKey.interestOps(selectionKey.interestOps() | SelectionKey.OP_WRITE);
+
+        markDirty();
+
+        if (!txBackPressure && txQueue.position() > txHighWaterMark) {
+            txBackPressure = true;
+
+            backPressure();
+        }
+    }
+
+    private void drain() throws IOException {
+        txQueue.flip();
+
+        if (channel.isBlocking()) {
+            do {
+                channel.write(txQueue);
+            } while (txQueue.hasRemaining());
+
+            sentData();
+        } else {
+            if (channel.write(txQueue) > 0)
+                sentData();
+        }
+
+        txQueue.compact();
+
+        if (txQueue.position() > 0)
+            return;
+
+        if (selectionKey != null && selectionKey.isValid())
+            selectionKey.interestOps(selectionKey.interestOps() & ~SelectionKey.OP_WRITE);
+
+        txBackPressure = false;
+    }
+
+    private static int remaining(ByteBuffer buffer) {
+        return buffer != null ? buffer.remaining() : 0;
     }
 
     private void handleHeartbeatTimeout() throws IOException {
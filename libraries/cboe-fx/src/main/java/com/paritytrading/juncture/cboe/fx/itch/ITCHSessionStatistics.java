@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+/**
+ * Statistics of a session.
+ *
+ * <p>The statistics consist of histograms that the session records into
+ * while receiving data. To poll them without stopping the session, take
+ * a snapshot of each histogram.</p>
+ *
+ * @see ITCHSession#setStatistics(ITCHSessionStatistics)
+ */
+public class ITCHSessionStatistics {
+
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000;
+
+    private final Histogram bytesPerRead;
+    private final Histogram packetsPerRead;
+    private final Histogram dispatchNanos;
+    private final Histogram sequencedDataLatencyMillis;
+
+    /**
+     * Create empty statistics.
+     */
+    public ITCHSessionStatistics() {
+        this.bytesPerRead               = new Histogram();
+        this.packetsPerRead             = new Histogram();
+        this.dispatchNanos              = new Histogram();
+        this.sequencedDataLatencyMillis = new Histogram();
+    }
+
+    /**
+     * Get the histogram of bytes received per read.
+     *
+     * @return the histogram of bytes received per read
+     */
+    public Histogram getBytesPerRead() {
+        return bytesPerRead;
+    }
+
+    /**
+     * Get the histogram of packets received per read.
+     *
+     * @return the histogram of packets received per read
+     */
+    public Histogram getPacketsPerRead() {
+        return packetsPerRead;
+    }
+
+    /**
+     * Get the histogram of the time to dispatch a packet, including the
+     * time spent in the listener.
+     *
+     * @return the histogram of the packet dispatch time in nanoseconds
+     */
+    public Histogram getDispatchNanos() {
+        return dispatchNanos;
+    }
+
+    /**
+     * Get the histogram of the difference between the local time on
+     * receiving a Sequenced Data packet and its time field, interpreted as
+     * UTC time of day. Only a client records this histogram. A negative
+     * difference, caused by clock skew, is recorded as zero.
+     *
+     * @return the histogram of the Sequenced Data latency in milliseconds
+     */
+    public Histogram getSequencedDataLatencyMillis() {
+        return sequencedDataLatencyMillis;
+    }
+
+    void read(int bytes, int packets) {
+        bytesPerRead.record(bytes);
+        packetsPerRead.record(packets);
+    }
+
+    void dispatch(long nanos) {
+        dispatchNanos.record(nanos);
+    }
+
+    void sequencedData(byte[] time, long currentTimeMillis) {
+        long latencyMillis = Math.floorMod(currentTimeMillis - timeOfDayMillis(time), MILLIS_PER_DAY);
+
+        if (latencyMillis > MILLIS_PER_DAY / 2)
+            latencyMillis -= MILLIS_PER_DAY;
+
+        sequencedDataLatencyMillis.record(latencyMillis);
+    }
+
+    /*
+     * Parse a time field in HHMMSSsss format.
+     */
+    private static long timeOfDayMillis(byte[] time) {
+        long hours   = digits(time, 0, 2);
+        long minutes = digits(time, 2, 4);
+        long seconds = digits(time, 4, 6);
+        long millis  = digits(time, 6, 9);
+
+        return ((hours * 60 + minutes) * 60 + seconds) * 1000 + millis;
+    }
+
+    private static long digits(byte[] time, int start, int end) {
+        long value = 0;
+
+        for (int i = start; i < end; i++)
+            value = 10 * value + (time[i] - '0');
+
+        return value;
+    }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+/**
+ * The interface for idle strategies.
+ *
+ * <p>An idle strategy decides what a receive loop does between iterations.
+ * Spinning gives the lowest latency at the cost of a busy core, while
+ * yielding and parking give the core away at the cost of latency.</p>
+ *
+ * @see ITCHSession#run(IdleStrategy)
+ */
+public interface IdleStrategy {
+
+    /**
+     * Idle after an iteration of a receive loop.
+     *
+     * @param workCount the amount of work done in the iteration, such as
+     *   the number of bytes received, or zero if none
+     */
+    void idle(int workCount);
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+import java.util.function.LongSupplier;
+
+/**
+ * An idle strategy that measures the time a receive loop spends idle and
+ * the time it spends working before delegating to another idle strategy.
+ *
+ * <p>The time between two consecutive invocations counts as working time
+ * if the iteration did work and as idle time otherwise. The idle time
+ * includes the time spent in the delegate. Measuring takes one clock read
+ * per working iteration and two per idle iteration.</p>
+ *
+ * <p>The counters can be read from any thread.</p>
+ */
+public class MeasuringIdleStrategy implements IdleStrategy {
+
+    private final IdleStrategy delegate;
+
+    private final LongSupplier nanoTime;
+
+    private boolean started;
+
+    private long lastNanos;
+
+    private volatile long workNanos;
+    private volatile long idleNanos;
+
+    private volatile long workIterations;
+    private volatile long idleIterations;
+
+    /**
+     * Create an idle strategy.
+     *
+     * @param delegate the idle strategy to delegate to
+     */
+    public MeasuringIdleStrategy(IdleStrategy delegate) {
+        this(delegate, System::nanoTime);
+    }
+
+    MeasuringIdleStrategy(IdleStrategy delegate, LongSupplier nanoTime) {
+        this.delegate = delegate;
+        this.nanoTime = nanoTime;
+    }
+
+    @Override
+    public void idle(int workCount) {
+        long currentNanos = nanoTime.getAsLong();
+
+        if (started) {
+            if (workCount > 0) {
+                workNanos      += currentNanos - lastNanos;
+                workIterations += 1;
+            } else {
+                idleNanos      += currentNanos - lastNanos;
+                idleIterations += 1;
+            }
+        }
+
+        delegate.idle(workCount);
+
+        if (workCount > 0) {
+            lastNanos = currentNanos;
+        } else {
+            lastNanos = nanoTime.getAsLong();
+
+            idleNanos += lastNanos - currentNanos;
+        }
+
+        started = true;
+    }
+
+    /**
+     * Get the time spent in iterations that did work.
+     *
+     * @return the working time in nanoseconds
+     */
+    public long getWorkNanos() {
+        return workNanos;
+    }
+
+    /**
+     * Get the time spent in iterations that did no work, including the
+     * time spent idling.
+     *
+     * @return the idle time in nanoseconds
+     */
+    public long getIdleNanos() {
+        return idleNanos;
+    }
+
+    /**
+     * Get the number of iterations that did work.
+     *
+     * @return the number of iterations that did work
+     */
+    public long getWorkIterations() {
+        return workIterations;
+    }
+
+    /**
+     * Get the number of iterations that did no work.
+     *
+     * @return the number of iterations that did no work
+     */
+    public long getIdleIterations() {
+        return idleIterations;
+    }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+/**
+ * An open addressing hash map keyed by 15-byte order identifiers.
+ *
+ * <p>An order identifier is packed into two {@code long} values: the first
+ * seven bytes into the high part and the last eight bytes into the low
+ * part. The map uses linear probing and backward shift deletion, so it does
+ * not need tombstones and never allocates memory except when it grows.</p>
+ */
+class OrderIdMap<V> {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[]   his;
+    private long[]   los;
+    private Object[] values;
+
+    private int mask;
+
+    private int size;
+
+    private int threshold;
+
+    OrderIdMap(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(initialCapacity, 8) - 1) << 2;
+
+        allocate(capacity);
+    }
+
+    /**
+     * Pack the high part of an order identifier.
+     *
+     * @param orderId an order identifier
+     * @return the high part
+     */
+    static long hi(byte[] orderId) {
+        long value = 0;
+
+        for (int i = 0; i < 7; i++)
+            value = (value << 8) | (orderId[i] & 0xff);
+
+        return value;
+    }
+
+    /**
+     * Pack the low part of an order identifier.
+     *
+     * @param orderId an order identifier
+     * @return the low part
+     */
+    static long lo(byte[] orderId) {
+        long value = 0;
+
+        for (int i = 7; i < 15; i++)
+            value = (value << 8) | (orderId[i] & 0xff);
+
+        return value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long hi, long lo) {
+        for (int i = hash(hi, lo) & mask; values[i] != null; i = (i + 1) & mask) {
+            if (his[i] == hi && los[i] == lo)
+                return (V)values[i];
+        }
+
+        return null;
+    }
+
+    void put(long hi, long lo, V value) {
+        int i = hash(hi, lo) & mask;
+
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (his[i] == hi && los[i] == lo) {
+                values[i] = value;
+                return;
+            }
+        }
+
+        his[i]    = hi;
+        los[i]    = lo;
+        values[i] = value;
+
+        if (++size > threshold)
+            rehash();
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(long hi, long lo) {
+        for (int i = hash(hi, lo) & mask; values[i] != null; i = (i + 1) & mask) {
+            if (his[i] == hi && los[i] == lo) {
+                V value = (V)values[i];
+
+                delete(i);
+
+                size--;
+
+                return value;
+            }
+        }
+
+        return null;
+    }
+
+    private void delete(int i) {
+        for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int k = hash(his[j], los[j]) & mask;
+
+            if (i <= j ? (i < k && k <= j) : (i < k || k <= j))
+                continue;
+
+            his[i]    = his[j];
+            los[i]    = los[j];
+            values[i] = values[j];
+
+            i = j;
+        }
+
+        values[i] = null;
+    }
+
+    private void rehash() {
+        long[]   oldHis    = his;
+        long[]   oldLos    = los;
+        Object[] oldValues = values;
+
+        allocate(oldHis.length * 2);
+
+        for (int i = 0; i < oldHis.length; i++) {
+            if (oldValues[i] == null)
+                continue;
+
+            int j = hash(oldHis[i], oldLos[i]) & mask;
+
+            while (values[j] != null)
+                j = (j + 1) & mask;
+
+            his[j]    = oldHis[i];
+            los[j]    = oldLos[i];
+            values[j] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        his    = new long[capacity];
+        los    = new long[capacity];
+        values = new Object[capacity];
+
+        mask      = capacity - 1;
+        threshold = (int)(capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(long hi, long lo) {
+        long h = (lo ^ Long.rotateLeft(hi, 29)) * 0x9e3779b97f4a7c15L;
+
+        return (int)(h ^ (h >>> 32));
+    }
+
+}
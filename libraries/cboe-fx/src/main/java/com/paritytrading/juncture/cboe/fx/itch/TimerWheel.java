@@ -0,0 +1,213 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+/**
+ * A hashed timer wheel.
+ *
+ * <p>Time is divided into ticks of fixed duration, and each timer is kept
+ * in the slot of the tick on which it is due, modulo the number of slots.
+ * Scheduling and cancelling a timer take constant time. Advancing the
+ * wheel visits the slots of the ticks that have passed and expires the
+ * timers in them whose deadline has passed, leaving the timers due on a
+ * later revolution in place.</p>
+ *
+ * <p>The timers are intrusive doubly-linked list nodes, so the wheel never
+ * allocates memory after construction.</p>
+ */
+class TimerWheel {
+
+    private static final int IDLE     = -1;
+    private static final int EXPIRING = -2;
+
+    private final long tickMillis;
+
+    private final Timer[] slots;
+
+    private final int mask;
+
+    private long tick;
+
+    private Timer expiring;
+
+    /**
+     * Create a timer wheel.
+     *
+     * @param tickMillis the tick duration in milliseconds
+     * @param slots the number of slots, must be a power of two
+     * @param currentTimeMillis the current time in milliseconds
+     */
+    TimerWheel(long tickMillis, int slots, long currentTimeMillis) {
+        this.tickMillis = tickMillis;
+
+        this.slots = new Timer[slots];
+
+        this.mask = slots - 1;
+
+        this.tick = currentTimeMillis / tickMillis;
+    }
+
+    /**
+     * Get the time at which the next tick is due.
+     *
+     * @return the time of the next tick in milliseconds
+     */
+    long nextTickMillis() {
+        return (tick + 1) * tickMillis;
+    }
+
+    /**
+     * Schedule a timer. If the timer is already scheduled, it is
+     * rescheduled. A deadline that has already passed is due on the next
+     * tick.
+     *
+     * @param timer the timer
+     * @param deadlineMillis the deadline in milliseconds
+     */
+    void schedule(Timer timer, long deadlineMillis) {
+        cancel(timer);
+
+        long due = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, tick + 1);
+
+        int slot = (int)(due & mask);
+
+        timer.deadlineMillis = deadlineMillis;
+        timer.slot           = slot;
+        timer.prev           = null;
+        timer.next           = slots[slot];
+
+        if (timer.next != null)
+            timer.next.prev = timer;
+
+        slots[slot] = timer;
+    }
+
+    /**
+     * Cancel a timer. If the timer is not scheduled, do nothing.
+     *
+     * @param timer the timer
+     */
+    void cancel(Timer timer) {
+        if (timer.slot == IDLE)
+            return;
+
+        if (timer.slot == EXPIRING) {
+            unexpire(timer);
+            return;
+        }
+
+        if (timer.prev != null)
+            timer.prev.next = timer.next;
+        else
+            slots[timer.slot] = timer.next;
+
+        if (timer.next != null)
+            timer.next.prev = timer.prev;
+
+        timer.prev = null;
+        timer.next = null;
+        timer.slot = IDLE;
+    }
+
+    /**
+     * Advance the wheel and expire the timers whose deadline has passed.
+     *
+     * @param currentTimeMillis the current time in milliseconds
+     */
+    void advance(long currentTimeMillis) {
+        long target = currentTimeMillis / tickMillis;
+
+        long ticks = Math.min(target - tick, slots.length);
+
+        for (long i = 1; i <= ticks; i++)
+            collect((int)((tick + i) & mask), currentTimeMillis);
+
+        tick = Math.max(tick, target);
+
+        while (expiring != null) {
+            Timer timer = expiring;
+
+            expiring = timer.next;
+
+            timer.next = null;
+            timer.slot = IDLE;
+
+            timer.expire(currentTimeMillis);
+        }
+    }
+
+    private void unexpire(Timer timer) {
+        if (expiring == timer) {
+            expiring = timer.next;
+        } else {
+            Timer prev = expiring;
+
+            while (prev.next != timer)
+                prev = prev.next;
+
+            prev.next = timer.next;
+        }
+
+        timer.next = null;
+        timer.slot = IDLE;
+    }
+
+    /*
+     * Move the timers in a slot whose deadline has passed to the list of
+     * expiring timers. Expiring them only after collecting them lets a
+     * timer reschedule itself or cancel other timers on expiry.
+     */
+    private void collect(int slot, long currentTimeMillis) {
+        Timer timer = slots[slot];
+
+        while (timer != null) {
+            Timer next = timer.next;
+
+            if (timer.deadlineMillis <= currentTimeMillis) {
+                cancel(timer);
+
+                timer.slot = EXPIRING;
+                timer.next = expiring;
+
+                expiring = timer;
+            }
+
+            timer = next;
+        }
+    }
+
+    /**
+     * A timer.
+     */
+    abstract static class Timer {
+
+        private long deadlineMillis;
+
+        private Timer prev;
+        private Timer next;
+
+        private int slot = IDLE;
+
+        /**
+         * Expire the timer.
+         *
+         * @param currentTimeMillis the current time in milliseconds
+         */
+        abstract void expire(long currentTimeMillis);
+
+    }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+/**
+ * An idle strategy that yields the core whenever there is no work.
+ */
+public class YieldingIdleStrategy implements IdleStrategy {
+
+    /**
+     * The instance.
+     */
+    public static final YieldingIdleStrategy INSTANCE = new YieldingIdleStrategy();
+
+    private YieldingIdleStrategy() {
+    }
+
+    @Override
+    public void idle(int workCount) {
+        if (workCount == 0)
+            Thread.yield();
+    }
+
+}
@@ -41,6 +41,15 @@
  * keep-alive can run on different threads but require locking.</p>
  *
  * <p>The underlying socket channels can be either blocking or non-blocking.
- * In both cases, data transmission always blocks.</p>
+ * On a non-blocking socket channel, bytes that the socket channel does not
+ * accept are queued and written on
+ * {@link com.paritytrading.juncture.cboe.fx.itch.ITCHSession#flush}.</p>
+ *
+ * <p>An event loop
+ * ({@link com.paritytrading.juncture.cboe.fx.itch.ITCHEventLoop})
+ * multiplexes many sessions over one selector and keeps them alive, and an
+ * event loop group
+ * ({@link com.paritytrading.juncture.cboe.fx.itch.ITCHEventLoopGroup})
+ * shards sessions across several event loop threads.</p>
  */
 package com.paritytrading.juncture.cboe.fx.itch;
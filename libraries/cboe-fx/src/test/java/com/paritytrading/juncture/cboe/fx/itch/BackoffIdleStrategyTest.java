@@ -0,0 +1,86 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BackoffIdleStrategyTest {
+
+    private BackoffIdleStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        strategy = new BackoffIdleStrategy(2, 2, 1000, 4000);
+    }
+
+    @Test
+    void spin() {
+        strategy.idle(0);
+        strategy.idle(0);
+
+        assertEquals(2, strategy.spins());
+        assertEquals(0, strategy.yields());
+        assertEquals(1000, strategy.parkNanos());
+    }
+
+    @Test
+    void yield() {
+        for (int i = 0; i < 4; i++)
+            strategy.idle(0);
+
+        assertEquals(2, strategy.spins());
+        assertEquals(2, strategy.yields());
+        assertEquals(1000, strategy.parkNanos());
+    }
+
+    @Test
+    void park() {
+        for (int i = 0; i < 4; i++)
+            strategy.idle(0);
+
+        strategy.idle(0);
+
+        assertEquals(2000, strategy.parkNanos());
+
+        strategy.idle(0);
+
+        assertEquals(4000, strategy.parkNanos());
+
+        strategy.idle(0);
+
+        assertEquals(4000, strategy.parkNanos());
+    }
+
+    @Test
+    void reset() {
+        for (int i = 0; i < 6; i++)
+            strategy.idle(0);
+
+        strategy.idle(1);
+
+        assertEquals(0, strategy.spins());
+        assertEquals(0, strategy.yields());
+        assertEquals(1000, strategy.parkNanos());
+
+        strategy.idle(0);
+
+        assertEquals(1, strategy.spins());
+    }
+
+}
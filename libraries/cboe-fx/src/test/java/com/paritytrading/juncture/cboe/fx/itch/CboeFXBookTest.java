@@ -116,6 +116,29 @@ class CboeFXBookTest {
         "0               " + // Lotsize
         "201            ";   // Order ID
 
+    private static final String SNAPSHOT_BID_BID_OTHER = "" +
+        "S"                + // Message Type
+        "   188"           + // Length of Message
+        "   2"             + // Number of Currency Pairs
+        "FOO/BAR"          + // Currency Pair
+        "   1"             + // Number of Bid Prices
+        "0.9500    "       + // Bid Price
+        "   1"             + // Number of Bid Orders
+        "100             " + // Amount
+        "0               " + // Minqty
+        "0               " + // Lotsize
+        "100            "  + // Order ID
+        "   0"             + // Number of Offer Prices
+        "BAZ/QUX"          + // Currency Pair
+        "   1"             + // Number of Bid Prices
+        "0.9500    "       + // Bid Price
+        "   1"             + // Number of Bid Orders
+        "100             " + // Amount
+        "0               " + // Minqty
+        "0               " + // Lotsize
+        "300            "  + // Order ID
+        "   0";              // Number of Offer Prices
+
     private static final Event START = new MarketSnapshotStart();
 
     private static final Event END = new MarketSnapshotEnd();
@@ -160,6 +183,16 @@ class CboeFXBookTest {
             "201            "
     );
 
+    private static final MarketSnapshotEntry BID_OTHER = new MarketSnapshotEntry(
+            "BAZ/QUX",
+            CboeFXBook.BUY,
+            9500,
+            100,
+            0,
+            0,
+            "300            "
+    );
+
     private ByteBuffer buffer;
 
     private CboeFXBookEvents events;
@@ -287,6 +320,117 @@ class CboeFXBookTest {
         assertEquals(asList(START, OFFER, OFFER_2, END), events.collect());
     }
 
+    @Test
+    void formatSnapshotWithBidAndBidOther() {
+        formatter.marketSnapshotStart(buffer);
+        formatter.marketSnapshotEntry(buffer, entry(BID));
+        formatter.marketSnapshotEntry(buffer, entry(BID_OTHER));
+        formatter.marketSnapshotEnd(buffer);
+
+        buffer.flip();
+
+        assertEquals(SNAPSHOT_BID_BID_OTHER, remaining(buffer));
+    }
+
+    @Test
+    void parseSnapshotWithBidAndBidOther() throws Exception {
+        parser.parse(wrap(SNAPSHOT_BID_BID_OTHER));
+
+        assertEquals(asList(START, BID, BID_OTHER, END), events.collect());
+    }
+
+    @Test
+    void parseSnapshotsInChunks() throws Exception {
+        String stream = SNAPSHOT_EMPTY + SNAPSHOT_BID_OFFER + SNAPSHOT_BID_BID_OTHER;
+
+        for (int chunkSize = 1; chunkSize <= 32; chunkSize++) {
+            CboeFXBookEvents chunkEvents = new CboeFXBookEvents();
+
+            CboeFXBookChunkParser chunkParser = new CboeFXBookChunkParser(chunkEvents);
+
+            parseInChunks(chunkParser, wrap(stream), chunkSize);
+
+            assertEquals(asList(START, END, START, BID, OFFER, END, START, BID, BID_OTHER, END),
+                    chunkEvents.collect());
+            assertTrue(chunkParser.isAtMessageBoundary());
+        }
+    }
+
+    @Test
+    void parseMessagesInChunks() throws Exception {
+        CboeFXBook.NewOrder newOrder = new CboeFXBook.NewOrder();
+
+        newOrder.buyOrSellIndicator = CboeFXBook.BUY;
+        ASCII.putLeft(newOrder.currencyPair, "FOO/BAR");
+        ASCII.putLeft(newOrder.orderId, "100");
+        ASCII.putFixedLeft(newOrder.price, 9500, PRICE_DECIMALS);
+        ASCII.putLongLeft(newOrder.amount, 100);
+        ASCII.putLongLeft(newOrder.minqty, 0);
+        ASCII.putLongLeft(newOrder.lotsize, 0);
+
+        CboeFXBook.CancelOrder cancelOrder = new CboeFXBook.CancelOrder();
+
+        ASCII.putLeft(cancelOrder.currencyPair, "FOO/BAR");
+        ASCII.putLeft(cancelOrder.orderId, "100");
+
+        CboeFXBook.Ticker ticker = new CboeFXBook.Ticker();
+
+        ticker.aggressorBuyOrSellIndicator = CboeFXBook.SELL;
+        ASCII.putLeft(ticker.currencyPair, "FOO/BAR");
+        ASCII.putFixedLeft(ticker.price, 9500, PRICE_DECIMALS);
+        ASCII.putLeft(ticker.transactionDate, "20150101");
+        ASCII.putLeft(ticker.transactionTime, "093000");
+
+        newOrder.put(buffer);
+        cancelOrder.put(buffer);
+        ticker.put(buffer);
+        buffer.flip();
+
+        ByteBuffer messages = buffer.duplicate();
+
+        while (messages.hasRemaining())
+            parser.parse(messages);
+
+        for (int chunkSize = 1; chunkSize <= 32; chunkSize++) {
+            CboeFXBookEvents chunkEvents = new CboeFXBookEvents();
+
+            parseInChunks(new CboeFXBookChunkParser(chunkEvents), buffer.duplicate(), chunkSize);
+
+            assertEquals(events.collect(), chunkEvents.collect());
+        }
+    }
+
+    @Test
+    void resetChunkParser() throws Exception {
+        CboeFXBookEvents chunkEvents = new CboeFXBookEvents();
+
+        CboeFXBookChunkParser chunkParser = new CboeFXBookChunkParser(chunkEvents);
+
+        chunkParser.parse(wrap(SNAPSHOT_BID.substring(0, 20)));
+
+        assertFalse(chunkParser.isAtMessageBoundary());
+
+        chunkParser.reset();
+        chunkParser.parse(wrap(SNAPSHOT_EMPTY));
+
+        assertEquals(asList(START, START, END), chunkEvents.collect());
+    }
+
+    private void parseInChunks(CboeFXBookChunkParser chunkParser, ByteBuffer stream,
+            int chunkSize) throws Exception {
+        while (stream.hasRemaining()) {
+            ByteBuffer chunk = stream.slice();
+
+            chunk.limit(Math.min(chunkSize, chunk.remaining()));
+
+            chunkParser.parse(chunk);
+
+            assertFalse(chunk.hasRemaining());
+
+            stream.position(stream.position() + chunk.position());
+        }
+    }
+
     private ByteBuffer wrap(String string) {
         return ByteBuffer.wrap(ASCII.put(string));
     }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.jvirtanen.value.Value;
+
+class CboeFXOrderBookEvents implements CboeFXOrderBookListener {
+
+    private List<Event> events;
+
+    public CboeFXOrderBookEvents() {
+        events = new ArrayList<Event>();
+    }
+
+    public List<Event> collect() {
+        return events;
+    }
+
+    @Override
+    public void level(int currencyPair, byte side, long price, long amount) {
+        events.add(new Level(currencyPair, side, price, amount));
+    }
+
+    @Override
+    public void bbo(int currencyPair, long bidPrice, long bidAmount, long askPrice, long askAmount) {
+        events.add(new BBO(currencyPair, bidPrice, bidAmount, askPrice, askAmount));
+    }
+
+    public interface Event {
+    }
+
+    public static class Level extends Value implements Event {
+        public final int  currencyPair;
+        public final byte side;
+        public final long price;
+        public final long amount;
+
+        public Level(int currencyPair, byte side, long price, long amount) {
+            this.currencyPair = currencyPair;
+            this.side         = side;
+            this.price        = price;
+            this.amount       = amount;
+        }
+    }
+
+    public static class BBO extends Value implements Event {
+        public final int  currencyPair;
+        public final long bidPrice;
+        public final long bidAmount;
+        public final long askPrice;
+        public final long askAmount;
+
+        public BBO(int currencyPair, long bidPrice, long bidAmount, long askPrice,
+                long askAmount) {
+            this.currencyPair = currencyPair;
+            this.bidPrice     = bidPrice;
+            this.bidAmount    = bidAmount;
+            this.askPrice     = askPrice;
+            this.askAmount    = askAmount;
+        }
+    }
+
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+import static com.paritytrading.juncture.cboe.fx.itch.CboeFXBook.*;
+import static com.paritytrading.juncture.cboe.fx.itch.CboeFXOrderBookEvents.*;
+import static java.util.Arrays.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.paritytrading.foundation.ASCII;
+import java.io.IOException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CboeFXOrderBookTest {
+
+    private static final int PRICE_DECIMALS = 4;
+
+    private static final String FOO_BAR = "FOO/BAR";
+    private static final String BAZ_QUX = "BAZ/QUX";
+
+    private CboeFXOrderBookEvents events;
+
+    private CboeFXOrderBook book;
+
+    @BeforeEach
+    void setUp() {
+        events = new CboeFXOrderBookEvents();
+
+        book = new CboeFXOrderBook(events, PRICE_DECIMALS);
+    }
+
+    @Test
+    void newOrder() throws IOException {
+        newOrder(FOO_BAR, "100", BUY, "0.9500", 100);
+
+        assertEquals(asList(new Level(0, BUY, 9500, 100), new BBO(0, 9500, 100, 0, 0)),
+                events.collect());
+    }
+
+    @Test
+    void newOrderOnSameLevel() throws IOException {
+        newOrder(FOO_BAR, "100", BUY, "0.9500", 100);
+        newOrder(FOO_BAR, "101", BUY, "0.9500", 50);
+
+        assertEquals(150, book.getAmount(0, BUY, 0));
+        assertEquals(1, book.getDepth(0, BUY));
+        assertEquals(2, book.getOrderCount());
+    }
+
+    @Test
+    void newOrderWithSameOrderId() throws IOException {
+        newOrder(FOO_BAR, "100", BUY, "0.9500", 100);
+        newOrder(FOO_BAR, "100", BUY, "0.9600", 50);
+
+        assertEquals(1, book.getOrderCount());
+        assertEquals(1, book.getDepth(0, BUY));
+        assertEquals(9600, book.getPrice(0, BUY, 0));
+        assertEquals(50, book.getAmount(0, BUY, 0));
+    }
+
+    @Test
+    void modifyOrder() throws IOException {
+        newOrder(FOO_BAR, "100", SELL, "1.0500", 100);
+        modifyOrder(FOO_BAR, "100", 40);
+
+        assertEquals(asList(
+                    new Level(0, SELL, 10500, 100),
+                    new BBO(0, 0, 0, 10500, 100),
+                    new Level(0, SELL, 10500, 40),
+                    new BBO(0, 0, 0, 10500, 40)),
+                events.collect());
+    }
+
+    @Test
+    void cancelOrder() throws IOException {
+        newOrder(FOO_BAR, "100", BUY, "0.9500", 100);
+        cancelOrder(FOO_BAR, "100");
+
+        assertEquals(asList(
+                    new Level(0, BUY, 9500, 100),
+                    new BBO(0, 9500, 100, 0, 0),
+                    new Level(0, BUY, 9500, 0),
+                    new BBO(0, 0, 0, 0, 0)),
+                events.collect());
+        assertEquals(0, book.getOrderCount());
+    }
+
+    @Test
+    void cancelUnknownOrder() throws IOException {
+        cancelOrder(FOO_BAR, "100");
+
+        assertEquals(asList(), events.collect());
+    }
+
+    @Test
+    void orderIdsDifferingInLastByte() throws IOException {
+        newOrder(FOO_BAR, "10000000000000A", BUY, "0.9500", 100);
+        newOrder(FOO_BAR, "10000000000000B", BUY, "0.9500", 50);
+        cancelOrder(FOO_BAR, "10000000000000A");
+
+        assertEquals(50, book.getAmount(0, BUY, 0));
+        assertEquals(1, book.getOrderCount());
+    }
+
+    @Test
+    void priceLevels() throws IOException {
+        newOrder(FOO_BAR, "100", BUY, "0.9500", 100);
+        newOrder(FOO_BAR, "101", BUY, "0.9600", 100);
+        newOrder(FOO_BAR, "102", BUY, "0.9400", 100);
+        newOrder(FOO_BAR, "200", SELL, "1.0500", 100);
+        newOrder(FOO_BAR, "201", SELL, "1.0400", 100);
+
+        assertEquals(9600, book.getPrice(0, BUY, 0));
+        assertEquals(9500, book.getPrice(0, BUY, 1));
+        assertEquals(9400, book.getPrice(0, BUY, 2));
+        assertEquals(10400, book.getPrice(0, SELL, 0));
+        assertEquals(10500, book.getPrice(0, SELL, 1));
+    }
+
+    @Test
+    void currencyPairs() throws IOException {
+        newOrder(FOO_BAR, "100", BUY, "0.9500", 100);
+        newOrder(BAZ_QUX, "200", BUY, "0.9500", 100);
+
+        assertEquals(2, book.getCurrencyPairCount());
+        assertEquals(FOO_BAR, book.getCurrencyPair(0));
+        assertEquals(1, book.getCurrencyPairIndex(ASCII.put(BAZ_QUX)));
+        assertEquals(-1, book.getCurrencyPairIndex(ASCII.put("QUX/BAZ")));
+    }
+
+    @Test
+    void tooManyCurrencyPairs() throws IOException {
+        for (int i = 0; i < ITCH.MAX_NUMBER_OF_CURRENCY_PAIRS; i++)
+            newOrder(String.format("P%03d/XX", i), Integer.toString(i), BUY, "1.0000", 1);
+
+        assertThrows(CboeFXBookException.class, () -> newOrder(FOO_BAR, "X", BUY, "1.0000", 1));
+    }
+
+    @Test
+    void snapshotReplacesBook() throws IOException {
+        newOrder(FOO_BAR, "100", BUY, "0.9500", 100);
+        newOrder(FOO_BAR, "101", BUY, "0.9400", 100);
+
+        events.collect().clear();
+
+        book.marketSnapshotStart();
+        book.marketSnapshotEntry(entry(FOO_BAR, BUY, "0.9500", 50, "102"));
+        book.marketSnapshotEntry(entry(FOO_BAR, SELL, "1.0500", 100, "200"));
+
+        assertEquals(asList(), events.collect());
+        assertEquals(9400, book.getPrice(0, BUY, 1));
+
+        book.marketSnapshotEnd();
+
+        assertEquals(asList(
+                    new Level(0, BUY, 9500, 50),
+                    new Level(0, BUY, 9400, 0),
+                    new Level(0, SELL, 10500, 100),
+                    new BBO(0, 9500, 50, 10500, 100)),
+                events.collect());
+        assertEquals(2, book.getOrderCount());
+        assertEquals(1, book.getDepth(0, BUY));
+    }
+
+    @Test
+    void snapshotClearsMissingCurrencyPair() throws IOException {
+        newOrder(FOO_BAR, "100", BUY, "0.9500", 100);
+
+        events.collect().clear();
+
+        book.marketSnapshotStart();
+        book.marketSnapshotEntry(entry(BAZ_QUX, BUY, "0.9500", 100, "300"));
+        book.marketSnapshotEnd();
+
+        assertEquals(asList(
+                    new Level(0, BUY, 9500, 0),
+                    new BBO(0, 0, 0, 0, 0),
+                    new Level(1, BUY, 9500, 100),
+                    new BBO(1, 9500, 100, 0, 0)),
+                events.collect());
+    }
+
+    @Test
+    void identicalSnapshot() throws IOException {
+        book.marketSnapshotStart();
+        book.marketSnapshotEntry(entry(FOO_BAR, BUY, "0.9500", 100, "100"));
+        book.marketSnapshotEnd();
+
+        events.collect().clear();
+
+        book.marketSnapshotStart();
+        book.marketSnapshotEntry(entry(FOO_BAR, BUY, "0.9500", 100, "100"));
+        book.marketSnapshotEnd();
+
+        assertEquals(asList(), events.collect());
+
+        cancelOrder(FOO_BAR, "100");
+
+        assertEquals(0, book.getOrderCount());
+    }
+
+    private void newOrder(String currencyPair, String orderId, byte side, String price,
+            long amount) throws IOException {
+        NewOrder message = new NewOrder();
+
+        message.buyOrSellIndicator = side;
+        ASCII.putLeft(message.currencyPair, currencyPair);
+        ASCII.putLeft(message.orderId, orderId);
+        ASCII.putLeft(message.price, price);
+        ASCII.putLongLeft(message.amount, amount);
+
+        book.newOrder(message);
+    }
+
+    private void modifyOrder(String currencyPair, String orderId, long amount) throws IOException {
+        ModifyOrder message = new ModifyOrder();
+
+        ASCII.putLeft(message.currencyPair, currencyPair);
+        ASCII.putLeft(message.orderId, orderId);
+        ASCII.putLongLeft(message.amount, amount);
+
+        book.modifyOrder(message);
+    }
+
+    private void cancelOrder(String currencyPair, String orderId) throws IOException {
+        CancelOrder message = new CancelOrder();
+
+        ASCII.putLeft(message.currencyPair, currencyPair);
+        ASCII.putLeft(message.orderId, orderId);
+
+        book.cancelOrder(message);
+    }
+
+    private static MarketSnapshotEntry entry(String currencyPair, byte side, String price,
+            long amount, String orderId) {
+        MarketSnapshotEntry entry = new MarketSnapshotEntry();
+
+        ASCII.putLeft(entry.currencyPair, currencyPair);
+        entry.buyOrSellIndicator = side;
+        ASCII.putLeft(entry.price, price);
+        ASCII.putLongLeft(entry.amount, amount);
+        ASCII.putLeft(entry.orderId, orderId);
+
+        return entry;
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HistogramTest {
+
+    private Histogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        histogram = new Histogram();
+    }
+
+    @Test
+    void empty() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0.0, histogram.getMean());
+    }
+
+    @Test
+    void exactValues() {
+        for (int i = 1; i <= 50; i++)
+            histogram.record(i);
+
+        assertEquals(50, histogram.getCount());
+        assertEquals(50, histogram.getMax());
+        assertEquals(25, histogram.getValueAtPercentile(50));
+        assertEquals(45, histogram.getValueAtPercentile(90));
+        assertEquals(25.5, histogram.getMean());
+    }
+
+    @Test
+    void largeValues() {
+        histogram.record(1_000_000);
+
+        long max = histogram.getMax();
+
+        assertTrue(max >= 1_000_000);
+        assertTrue(max <= 1_000_000 * 1.04);
+    }
+
+    @Test
+    void negativeValues() {
+        histogram.record(-1);
+
+        assertEquals(0, histogram.getMax());
+        assertEquals(1, histogram.getCount());
+    }
+
+    @Test
+    void buckets() {
+        long[] values = { 0, 1, 63, 64, 65, 127, 128, 1L << 40, Long.MAX_VALUE };
+
+        for (long value : values) {
+            int index = Histogram.index(value);
+
+            assertTrue(Histogram.lowestValue(index) <= value);
+            assertTrue(Histogram.highestValue(index) >= value);
+        }
+
+        for (int i = 0; i < Histogram.index(Long.MAX_VALUE); i++)
+            assertEquals(Histogram.highestValue(i) + 1, Histogram.lowestValue(i + 1));
+    }
+
+    @Test
+    void snapshot() {
+        histogram.record(1);
+
+        Histogram snapshot = histogram.snapshot();
+
+        histogram.record(2);
+
+        assertEquals(1, snapshot.getCount());
+        assertEquals(2, histogram.getCount());
+    }
+
+}
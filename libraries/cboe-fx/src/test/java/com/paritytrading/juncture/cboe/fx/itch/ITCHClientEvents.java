@@ -88,6 +88,11 @@ class ITCHClientEvents implements ITCHClientListener {
         events.add(new InstrumentDirectory(currencyPairs));
     }
 
+    @Override
+    public void backPressure(ITCHClient session) {
+        events.add(new BackPressure());
+    }
+
     public interface Event {
     }
 
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+class ITCHEventLoopGroupTest {
+
+    private static final ITCHEventLoopListener LISTENER = (session, cause) -> {};
+
+    @Test
+    void size() throws IOException {
+        try (ITCHEventLoopGroup group = new ITCHEventLoopGroup(2, LISTENER)) {
+            assertEquals(2, group.size());
+        }
+    }
+
+    @Test
+    void zeroSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ITCHEventLoopGroup(0, LISTENER));
+    }
+
+    @Test
+    void negativeSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ITCHEventLoopGroup(-1, LISTENER));
+    }
+
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+import static com.paritytrading.juncture.cboe.fx.itch.ITCHServerEvents.*;
+import static java.util.Arrays.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.paritytrading.foundation.ASCII;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value=1, unit=TimeUnit.SECONDS)
+class ITCHEventLoopTest {
+
+    private static final int RX_BUFFER_CAPACITY = 1024;
+
+    private FixedClock clock;
+
+    private ServerSocketChannel acceptor;
+
+    private ITCHServerEvents serverEvents;
+
+    private List<ITCHSession> closedSessions;
+
+    private ITCHEventLoop loop;
+
+    private SocketChannel clientChannel;
+
+    private ITCHServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        clock = new FixedClock();
+
+        acceptor = ServerSocketChannel.open();
+        acceptor.bind(null);
+
+        serverEvents = new ITCHServerEvents();
+
+        closedSessions = new ArrayList<>();
+
+        loop = new ITCHEventLoop(clock, (session, cause) -> closedSessions.add(session));
+
+        clientChannel = SocketChannel.open(acceptor.getLocalAddress());
+
+        server = new ITCHServer(clock, acceptor.accept(), RX_BUFFER_CAPACITY, serverEvents);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        loop.close();
+
+        clientChannel.close();
+        acceptor.close();
+    }
+
+    @Test
+    void receive() throws Exception {
+        loop.register(server);
+
+        ITCH.LoginRequest loginRequest = new ITCH.LoginRequest();
+
+        ITCHClient client = new ITCHClient(clock, clientChannel, RX_BUFFER_CAPACITY,
+                new ITCHClientEvents());
+
+        ASCII.putLeft(loginRequest.loginName, "foo");
+        ASCII.putLeft(loginRequest.password, "bar");
+        loginRequest.marketDataUnsubscribe = ITCH.TRUE;
+        ASCII.putLongRight(loginRequest.reserved, 0);
+
+        client.login(loginRequest);
+
+        while (serverEvents.collect().size() != 1)
+            loop.runOnce(1);
+
+        assertEquals(asList(new LoginRequest("foo                                     ",
+                        "bar                                     ", ITCH.TRUE, 0)),
+                serverEvents.collect());
+        assertEquals(1, loop.getSessionCount());
+    }
+
+    @Test
+    void keepAlive() throws Exception {
+        loop.register(server);
+
+        loop.runOnce(1);
+
+        clock.setCurrentTimeMillis(1500);
+
+        loop.runOnce(1);
+
+        ByteBuffer heartbeat = ByteBuffer.allocate(2);
+
+        while (heartbeat.hasRemaining())
+            clientChannel.read(heartbeat);
+
+        assertEquals(ByteBuffer.wrap(new byte[] { 'H', 0x0A }), heartbeat.flip());
+    }
+
+    @Test
+    void heartbeatInterval() throws Exception {
+        server.setHeartbeatInterval(100);
+
+        loop.register(server);
+
+        loop.runOnce(1);
+
+        clock.setCurrentTimeMillis(150);
+
+        loop.runOnce(1);
+
+        ByteBuffer heartbeat = ByteBuffer.allocate(2);
+
+        while (heartbeat.hasRemaining())
+            clientChannel.read(heartbeat);
+
+        assertEquals(ByteBuffer.wrap(new byte[] { 'H', 0x0A }), heartbeat.flip());
+    }
+
+    @Test
+    void heartbeatTimeout() throws Exception {
+        server.setHeartbeatTimeout(200);
+
+        loop.register(server);
+
+        loop.runOnce(1);
+
+        clock.setCurrentTimeMillis(150);
+
+        loop.runOnce(1);
+
+        assertEquals(asList(), serverEvents.collect());
+
+        clock.setCurrentTimeMillis(250);
+
+        loop.runOnce(1);
+
+        assertEquals(asList(new ITCHSessionEvents.HeartbeatTimeout()), serverEvents.collect());
+    }
+
+    @Test
+    void endOfStream() throws Exception {
+        loop.register(server);
+
+        loop.runOnce(1);
+
+        clientChannel.close();
+
+        while (closedSessions.isEmpty())
+            loop.runOnce(1);
+
+        assertEquals(asList(server), closedSessions);
+        assertEquals(0, loop.getSessionCount());
+
+        loop.runOnce(1);
+
+        assertFalse(server.getChannel().isOpen());
+        assertFalse(server.getChannel().isRegistered());
+    }
+
+    @Test
+    void flushUnselectedSession() throws Exception {
+        SocketChannel otherClientChannel = SocketChannel.open(acceptor.getLocalAddress());
+
+        try {
+            ITCHServer other = new ITCHServer(clock, acceptor.accept(), RX_BUFFER_CAPACITY,
+                    RX_BUFFER_CAPACITY, new ITCHServerEvents());
+
+            loop.register(other);
+
+            loop.runOnce(1);
+
+            other.endSession();
+
+            loop.runOnce(1);
+
+            ByteBuffer packet = ByteBuffer.allocate(2);
+
+            while (packet.hasRemaining())
+                otherClientChannel.read(packet);
+
+            assertEquals(ByteBuffer.wrap(new byte[] { 'S', 0x0A }), packet.flip());
+        } finally {
+            otherClientChannel.close();
+        }
+    }
+
+    @Test
+    void group() throws Exception {
+        List<SocketChannel> clientChannels = new ArrayList<>();
+        List<ITCHServer>    servers        = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            clientChannels.add(SocketChannel.open(acceptor.getLocalAddress()));
+
+            servers.add(new ITCHServer(clock, acceptor.accept(), RX_BUFFER_CAPACITY, new ITCHServerEvents()));
+        }
+
+        try (ITCHEventLoopGroup group = new ITCHEventLoopGroup(2, (session, cause) -> {})) {
+            ITCHEventLoop first  = group.register(servers.get(0));
+            ITCHEventLoop second = group.register(servers.get(1));
+
+            assertNotSame(first, second);
+            assertSame(first, group.register(servers.get(2)));
+        } finally {
+            for (SocketChannel channel : clientChannels)
+                channel.close();
+        }
+    }
+
+}
@@ -94,6 +94,11 @@ class ITCHServerEvents implements ITCHServerListener {
         events.add(new InstrumentDirectoryRequest());
     }
 
+    @Override
+    public void backPressure(ITCHServer session) {
+        events.add(new BackPressure());
+    }
+
     public interface Event {
     }
 
@@ -23,4 +23,8 @@ class ITCHSessionEvents {
             implements ITCHClientEvents.Event, ITCHServerEvents.Event {
     }
 
+    public static class BackPressure extends Value
+            implements ITCHClientEvents.Event, ITCHServerEvents.Event {
+    }
+
 }
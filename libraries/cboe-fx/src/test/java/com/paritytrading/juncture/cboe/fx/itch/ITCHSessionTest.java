@@ -22,9 +22,14 @@ import static java.util.Arrays.*;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.paritytrading.foundation.ASCII;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.StandardSocketOptions;
 import java.nio.ByteBuffer;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -164,6 +169,294 @@ class ITCHSessionTest {
         });
     }
 
+    @Test
+    void oversizePacket() throws Exception {
+        client.setMaxRxBufferCapacity(8 * RX_BUFFER_CAPACITY);
+
+        ASCII.putLeft(sequencedData.time, "093000250");
+
+        byte[] payload1 = repeat((byte)'A', 5 * RX_BUFFER_CAPACITY);
+        byte[] payload2 = new byte[] { 'f', 'o', 'o' };
+
+        server.send(sequencedData, ByteBuffer.wrap(payload1));
+        server.send(sequencedData, ByteBuffer.wrap(payload2));
+
+        while (clientEvents.collect().size() != 2)
+            client.receive();
+
+        assertEquals(asList(new SequencedData("093000250", payload1),
+                    new SequencedData("093000250", payload2)), clientEvents.collect());
+        assertEquals(RX_BUFFER_CAPACITY, client.getRxBufferCapacity());
+    }
+
+    @Test
+    void closeWithGrownBuffer() throws Exception {
+        client.setMaxRxBufferCapacity(8 * RX_BUFFER_CAPACITY);
+
+        ASCII.putLeft(sequencedData.time, "093000250");
+
+        byte[] payload = repeat((byte)'A', 5 * RX_BUFFER_CAPACITY);
+
+        server.send(sequencedData, ByteBuffer.wrap(payload));
+
+        while (client.getRxBufferCapacity() == RX_BUFFER_CAPACITY)
+            client.receive();
+
+        client.close();
+
+        assertEquals(RX_BUFFER_CAPACITY, client.getRxBufferCapacity());
+    }
+
+    @Test
+    void packetLengthExceedsMaxBufferCapacity() throws Exception {
+        client.setMaxRxBufferCapacity(2 * RX_BUFFER_CAPACITY);
+
+        ASCII.putLeft(sequencedData.time, "093000250");
+
+        byte[] payload = repeat((byte)'A', 2 * RX_BUFFER_CAPACITY - 10);
+
+        server.send(sequencedData, ByteBuffer.wrap(payload));
+
+        assertThrows(ITCHException.class, () -> {
+            while (true)
+                client.receive();
+        });
+    }
+
+    @Test
+    void partialPackets() throws Exception {
+        byte[] payload = new byte[100];
+
+        for (int i = 0; i < payload.length; i++)
+            payload[i] = (byte)(i % 2 == 0 ? 0x0B : 0x8A);
+
+        ByteBuffer packets = ByteBuffer.allocate(2 * (payload.length + 11));
+
+        for (int i = 0; i < 2; i++) {
+            packets.put((byte)'S');
+            packets.put(ASCII.put("093000250"));
+            packets.put(payload);
+            packets.put((byte)0x0A);
+        }
+
+        packets.flip();
+
+        while (packets.hasRemaining()) {
+            ByteBuffer chunk = packets.duplicate();
+            chunk.limit(Math.min(chunk.position() + 7, chunk.limit()));
+
+            while (chunk.hasRemaining())
+                server.getChannel().write(chunk);
+
+            packets.position(chunk.position());
+
+            client.receive();
+        }
+
+        while (clientEvents.collect().size() != 2)
+            client.receive();
+
+        assertEquals(asList(new SequencedData("093000250", payload),
+                    new SequencedData("093000250", payload)), clientEvents.collect());
+    }
+
+    @Test
+    void batchedFlush() throws Exception {
+        ITCHServer batchingServer = batchingServer(1024);
+
+        ASCII.putLeft(sequencedData.time, "093000250");
+
+        byte[] payload1 = new byte[] { 'f', 'o', 'o' };
+        byte[] payload2 = new byte[] { 'b', 'a', 'r' };
+
+        batchingServer.send(sequencedData, ByteBuffer.wrap(payload1));
+        batchingServer.send(sequencedData, ByteBuffer.wrap(payload2));
+
+        batchingServer.flush();
+
+        while (clientEvents.collect().size() != 2)
+            client.receive();
+
+        assertEquals(asList(new SequencedData("093000250", payload1),
+                    new SequencedData("093000250", payload2)), clientEvents.collect());
+    }
+
+    @Test
+    void batchedFullBuffer() throws Exception {
+        ITCHServer batchingServer = batchingServer(2 * 14);
+
+        ASCII.putLeft(sequencedData.time, "093000250");
+
+        byte[] payload1 = new byte[] { 'f', 'o', 'o' };
+        byte[] payload2 = new byte[] { 'b', 'a', 'r' };
+
+        batchingServer.send(sequencedData, ByteBuffer.wrap(payload1));
+        batchingServer.send(sequencedData, ByteBuffer.wrap(payload2));
+
+        while (clientEvents.collect().size() != 2)
+            client.receive();
+
+        assertEquals(asList(new SequencedData("093000250", payload1),
+                    new SequencedData("093000250", payload2)), clientEvents.collect());
+    }
+
+    @Test
+    void batchedPacketLengthExceedsBufferCapacity() throws Exception {
+        ITCHServer batchingServer = batchingServer(20);
+
+        ASCII.putLeft(sequencedData.time, "093000250");
+
+        byte[] payload1 = new byte[] { 'f', 'o', 'o' };
+        byte[] payload2 = repeat((byte)'A', 100);
+
+        batchingServer.send(sequencedData, ByteBuffer.wrap(payload1));
+        batchingServer.send(sequencedData, ByteBuffer.wrap(payload2));
+
+        while (clientEvents.collect().size() != 2)
+            client.receive();
+
+        assertEquals(asList(new SequencedData("093000250", payload1),
+                    new SequencedData("093000250", payload2)), clientEvents.collect());
+    }
+
+    @Test
+    void batchedKeepAlive() throws Exception {
+        ITCHServer batchingServer = batchingServer(1024);
+
+        clock.setCurrentTimeMillis(1500);
+
+        batchingServer.endSession();
+        batchingServer.keepAlive();
+
+        while (clientEvents.collect().size() != 1)
+            client.receive();
+
+        assertEquals(asList(new EndOfSession()), clientEvents.collect());
+    }
+
+    @Test
+    void nonBlockingWrite() throws Exception {
+        server.getChannel().setOption(StandardSocketOptions.SO_SNDBUF, 4096);
+        server.getChannel().configureBlocking(false);
+        server.setHighWaterMark(0);
+
+        ASCII.putLeft(sequencedData.time, "093000250");
+
+        int packets = 0;
+
+        while (server.pendingBytes() == 0) {
+            byte[] payload = repeat((byte)('A' + packets % 26), 500);
+
+            server.send(sequencedData, ByteBuffer.wrap(payload));
+
+            packets++;
+        }
+
+        assertEquals(asList(new BackPressure()), serverEvents.collect());
+
+        byte[] payload = repeat((byte)'-', 500);
+
+        server.send(sequencedData, ByteBuffer.wrap(payload));
+
+        packets++;
+
+        while (clientEvents.collect().size() != packets) {
+            server.flush();
+            client.receive();
+        }
+
+        assertEquals(0, server.pendingBytes());
+
+        for (int i = 0; i < packets - 1; i++) {
+            assertEquals(new SequencedData("093000250", repeat((byte)('A' + i % 26), 500)),
+                    clientEvents.collect().get(i));
+        }
+
+        assertEquals(new SequencedData("093000250", payload), clientEvents.collect().get(packets - 1));
+    }
+
+    @Test
+    void run() throws Exception {
+        ASCII.putLeft(sequencedData.time, "093000250");
+
+        byte[] payload = new byte[] { 'f', 'o', 'o' };
+
+        server.send(sequencedData, ByteBuffer.wrap(payload));
+        server.close();
+
+        List<Integer> workCounts = new ArrayList<>();
+
+        client.run(workCounts::add);
+
+        assertEquals(asList(new SequencedData("093000250", payload)), clientEvents.collect());
+        assertEquals(asList(14), workCounts);
+    }
+
+    @Test
+    void runReadsClockOnlyToKeepAlive() throws Exception {
+        List<Long> reads = new ArrayList<>();
+
+        ITCHClient countingClient = new ITCHClient(() -> {
+            reads.add(clock.currentTimeMillis());
+
+            return clock.currentTimeMillis();
+        }, client.getChannel(), RX_BUFFER_CAPACITY, clientEvents);
+
+        ASCII.putLeft(sequencedData.time, "093000250");
+
+        byte[] payload = new byte[] { 'f', 'o', 'o' };
+
+        server.send(sequencedData, ByteBuffer.wrap(payload));
+
+        reads.clear();
+
+        countingClient.run(workCount -> {
+            if (workCount <= 0)
+                return;
+
+            try {
+                if (clientEvents.collect().size() < 3)
+                    server.send(sequencedData, ByteBuffer.wrap(payload));
+                else
+                    server.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        assertEquals(3, clientEvents.collect().size());
+        assertEquals(1, reads.size());
+
+        reads.clear();
+
+        countingClient.keepAlive();
+
+        assertEquals(1, reads.size());
+    }
+
+    @Test
+    void statistics() throws Exception {
+        ITCHSessionStatistics statistics = new ITCHSessionStatistics();
+
+        client.setStatistics(statistics);
+
+        clock.setCurrentTimeMillis(((9 * 60 + 30) * 60 + 1) * 1000 + 250);
+
+        ASCII.putLeft(sequencedData.time, "093000250");
+
+        byte[] payload = new byte[] { 'f', 'o', 'o' };
+
+        server.send(sequencedData, ByteBuffer.wrap(payload));
+
+        while (clientEvents.collect().size() != 1)
+            client.receive();
+
+        assertEquals(14, statistics.getBytesPerRead().snapshot().getMax());
+        assertEquals(1, statistics.getPacketsPerRead().snapshot().getMax());
+        assertEquals(1, statistics.getDispatchNanos().snapshot().getCount());
+        assertEquals(1000, statistics.getSequencedDataLatencyMillis().snapshot().getMax(), 1000 * 0.04);
+    }
+
     @Test
     void endOfSession() throws Exception {
         server.endSession();
@@ -279,6 +572,39 @@ class ITCHSessionTest {
                 serverEvents.collect());
     }
 
+    @Test
+    void subscribe() throws Exception {
+        client.subscribe(asList("FOO/BAR", "BAZ/QUX"));
+
+        while (serverEvents.collect().size() != 2)
+            server.receive();
+
+        assertEquals(asList(new MarketDataSubscribeRequest("FOO/BAR"),
+                    new MarketDataSubscribeRequest("BAZ/QUX")),
+                serverEvents.collect());
+    }
+
+    @Test
+    void requestBatch() throws Exception {
+        ITCHRequestBatch batch = new ITCHRequestBatch();
+
+        for (int i = 0; i < 100; i++)
+            batch.addTickerSubscribe(String.format("FOO/%03d", i));
+
+        batch.addMarketDataUnsubscribe("BAZ/QUX");
+
+        client.request(batch);
+        client.request(batch);
+
+        while (serverEvents.collect().size() != 2 * 101)
+            server.receive();
+
+        assertEquals(101, batch.size());
+        assertEquals(new TickerSubscribeRequest("FOO/099"), serverEvents.collect().get(99));
+        assertEquals(new MarketDataUnsubscribeRequest("BAZ/QUX"), serverEvents.collect().get(100));
+        assertEquals(new TickerSubscribeRequest("FOO/000"), serverEvents.collect().get(101));
+    }
+
     @Test
     void instrumentDirectoryRequest() throws Exception {
         client.requestInstrumentDirectory();
@@ -329,6 +655,11 @@ class ITCHSessionTest {
         assertEquals(asList(new HeartbeatTimeout()), clientEvents.collect());
     }
 
+    private ITCHServer batchingServer(int txBufferCapacity) {
+        return new ITCHServer(clock, server.getChannel(), RX_BUFFER_CAPACITY, txBufferCapacity,
+                serverEvents);
+    }
+
     private static byte[] repeat(byte val, int num) {
         byte[] a = new byte[num];
 
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+import static java.util.Arrays.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MeasuringIdleStrategyTest {
+
+    private Deque<Long> nanos;
+
+    private List<Integer> workCounts;
+
+    private MeasuringIdleStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        nanos = new ArrayDeque<>();
+
+        workCounts = new ArrayList<>();
+
+        strategy = new MeasuringIdleStrategy(workCounts::add, nanos::remove);
+    }
+
+    @Test
+    void busy() {
+        nanos.addAll(asList(100L, 150L, 210L));
+
+        strategy.idle(1);
+        strategy.idle(1);
+        strategy.idle(2);
+
+        assertEquals(110, strategy.getWorkNanos());
+        assertEquals(2, strategy.getWorkIterations());
+        assertEquals(0, strategy.getIdleNanos());
+        assertEquals(0, strategy.getIdleIterations());
+        assertEquals(asList(1, 1, 2), workCounts);
+    }
+
+    @Test
+    void idle() {
+        nanos.addAll(asList(100L, 120L, 150L, 170L, 200L));
+
+        strategy.idle(1);
+        strategy.idle(0);
+        strategy.idle(0);
+
+        assertEquals(0, strategy.getWorkNanos());
+        assertEquals(0, strategy.getWorkIterations());
+        assertEquals(100, strategy.getIdleNanos());
+        assertEquals(2, strategy.getIdleIterations());
+        assertEquals(asList(1, 0, 0), workCounts);
+    }
+
+    @Test
+    void busyAfterIdle() {
+        nanos.addAll(asList(100L, 120L, 150L, 210L));
+
+        strategy.idle(1);
+        strategy.idle(0);
+        strategy.idle(1);
+
+        assertEquals(60, strategy.getWorkNanos());
+        assertEquals(1, strategy.getWorkIterations());
+        assertEquals(50, strategy.getIdleNanos());
+        assertEquals(1, strategy.getIdleIterations());
+    }
+
+    @Test
+    void startAtZero() {
+        nanos.addAll(asList(0L, 10L));
+
+        strategy.idle(1);
+        strategy.idle(1);
+
+        assertEquals(10, strategy.getWorkNanos());
+        assertEquals(1, strategy.getWorkIterations());
+    }
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.cboe.fx.itch;
+
+import static java.util.Arrays.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TimerWheelTest {
+
+    private TimerWheel wheel;
+
+    private List<String> expired;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new TimerWheel(10, 8, 0);
+
+        expired = new ArrayList<>();
+    }
+
+    @Test
+    void expire() {
+        wheel.schedule(new Timer("foo"), 25);
+
+        wheel.advance(20);
+
+        assertEquals(asList(), expired);
+
+        wheel.advance(30);
+
+        assertEquals(asList("foo"), expired);
+    }
+
+    @Test
+    void laterRevolution() {
+        wheel.schedule(new Timer("foo"), 95);
+
+        wheel.advance(80);
+
+        assertEquals(asList(), expired);
+
+        wheel.advance(100);
+
+        assertEquals(asList("foo"), expired);
+    }
+
+    @Test
+    void passedDeadline() {
+        wheel.advance(50);
+
+        wheel.schedule(new Timer("foo"), 10);
+
+        wheel.advance(60);
+
+        assertEquals(asList("foo"), expired);
+    }
+
+    @Test
+    void cancel() {
+        Timer foo = new Timer("foo");
+
+        wheel.schedule(foo, 25);
+        wheel.schedule(new Timer("bar"), 25);
+
+        wheel.cancel(foo);
+
+        wheel.advance(30);
+
+        assertEquals(asList("bar"), expired);
+    }
+
+    @Test
+    void cancelOnExpiry() {
+        Timer foo = new Timer("foo");
+        Timer bar = new Timer("bar");
+
+        foo.cancel = bar;
+        bar.cancel = foo;
+
+        wheel.schedule(foo, 25);
+        wheel.schedule(bar, 25);
+
+        wheel.advance(30);
+
+        assertEquals(1, expired.size());
+    }
+
+    @Test
+    void rescheduleOnExpiry() {
+        Timer foo = new Timer("foo");
+
+        foo.period = 20;
+
+        wheel.schedule(foo, 20);
+
+        wheel.advance(1000);
+
+        assertEquals(asList("foo"), expired);
+
+        wheel.advance(1020);
+
+        assertEquals(asList("foo", "foo"), expired);
+    }
+
+    @Test
+    void longJump() {
+        wheel.schedule(new Timer("foo"), 25);
+        wheel.schedule(new Timer("bar"), 1000);
+        wheel.schedule(new Timer("baz"), 1001);
+
+        wheel.advance(1000);
+
+        assertEquals(asList("bar", "foo"), expired);
+    }
+
+    private class Timer extends TimerWheel.Timer {
+
+        private final String name;
+
+        TimerWheel.Timer cancel;
+
+        long period;
+
+        Timer(String name) {
+            this.name = name;
+        }
+
+        @Override
+        void expire(long currentTimeMillis) {
+            expired.add(name);
+
+            if (cancel != null)
+                wheel.cancel(cancel);
+
+            if (period > 0)
+                wheel.schedule(this, currentTimeMillis + period);
+        }
+
+    }
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * A sparse index of message boundaries in a BinaryFILE file.
+ *
+ * <p>The index divides the file into intervals of a fixed number of bytes
+ * and records, for each interval, the position of the first message that
+ * starts in it or after it. A range of the file between two entries
+ * starts and ends at message boundaries, so it can be read independently
+ * of the rest of the file with a {@link MappedBinaryFILEReader}.</p>
+ *
+ * <p>Building the index reads only the length of each message. The index
+ * can be saved to a file and loaded again to avoid rebuilding it.</p>
+ */
+public class BinaryFILEIndex {
+
+    private static final long CHUNK_SIZE = 1L << 30;
+
+    private static final int LENGTH_SIZE = 2;
+
+    private final long fileSize;
+
+    private final long end;
+
+    private final long[] positions;
+
+    private BinaryFILEIndex(long fileSize, long end, long[] positions) {
+        this.fileSize  = fileSize;
+        this.end       = end;
+        this.positions = positions;
+    }
+
+    /**
+     * Build an index.
+     *
+     * @param channel a file channel
+     * @param interval the number of bytes between index entries
+     * @return an index
+     * @throws IOException if an I/O error occurs
+     */
+    public static BinaryFILEIndex build(FileChannel channel, long interval) throws IOException {
+        if (interval < 1)
+            throw new IllegalArgumentException("Interval must be positive");
+
+        long fileSize = channel.size();
+
+        long maxEntries = (fileSize + interval - 1) / interval;
+        if (maxEntries > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Interval too small: " + interval);
+
+        long[] positions = new long[(int)maxEntries];
+
+        int entries = 0;
+
+        long position = 0;
+
+        while (fileSize - position >= LENGTH_SIZE) {
+            MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY,
+                    position, Math.min(CHUNK_SIZE, fileSize - position));
+
+            int capacity = chunk.capacity();
+
+            int offset = 0;
+
+            while (capacity - offset >= LENGTH_SIZE) {
+                int next = offset + LENGTH_SIZE + (chunk.getShort(offset) & 0xffff);
+                if (next > capacity)
+                    break;
+
+                while (entries * interval <= position + offset)
+                    positions[entries++] = position + offset;
+
+                offset = next;
+            }
+
+            if (offset == 0)
+                break;
+
+            position += offset;
+        }
+
+        return new BinaryFILEIndex(fileSize, position, Arrays.copyOf(positions, entries));
+    }
+
+    /**
+     * Load an index from a file.
+     *
+     * @param file a file
+     * @return an index
+     * @throws IOException if an I/O error occurs
+     */
+    public static BinaryFILEIndex load(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            long fileSize = in.readLong();
+            long end      = in.readLong();
+
+            long[] positions = new long[in.readInt()];
+
+            for (int i = 0; i < positions.length; i++)
+                positions[i] = in.readLong();
+
+            return new BinaryFILEIndex(fileSize, end, positions);
+        }
+    }
+
+    /**
+     * Save this index to a file.
+     *
+     * @param file a file
+     * @throws IOException if an I/O error occurs
+     */
+    public void save(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeLong(fileSize);
+            out.writeLong(end);
+            out.writeInt(positions.length);
+
+            for (long position : positions)
+                out.writeLong(position);
+        }
+    }
+
+    /**
+     * Get the size of the indexed file.
+     *
+     * @return the size of the indexed file
+     */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /**
+     * Get the position in the file after the last complete message.
+     *
+     * @return the position after the last complete message
+     */
+    public long getEnd() {
+        return end;
+    }
+
+    /**
+     * Get the number of entries.
+     *
+     * @return the number of entries
+     */
+    public int getEntryCount() {
+        return positions.length;
+    }
+
+    /**
+     * Get the position of the message at an entry.
+     *
+     * @param entry the index of the entry
+     * @return the position of the message in the file
+     */
+    public long getPosition(int entry) {
+        return positions[entry];
+    }
+
+}
@@ -5,7 +5,6 @@ import java.nio.channels.FileChannel;
 import com.paritytrading.juncture.nasdaq.nls30.NLS30;
 import com.paritytrading.juncture.nasdaq.nls30.NLS30Parser;
 import com.paritytrading.juncture.nasdaq.nls30.NLS30Source;
-import com.paritytrading.juncture.nasdaq.qbbo21.QBBO21;
 import com.paritytrading.juncture.nasdaq.qbbo21.QBBO21.Message;
 import com.paritytrading.juncture.nasdaq.qbbo21.QBBO21Parser;
 import com.paritytrading.juncture.nasdaq.qbbo21.QBBO21Source;
@@ -29,7 +28,7 @@ public class Context {
         protected void handle(Message message) {
             qbboMessage = message;
         }
-    });
+    }, false);
 
     private NLS30.Message nlsMessage = null;
 
@@ -38,7 +37,7 @@ public class Context {
         protected void handle(NLS30.Message message) {
             nlsMessage = message;
         }
-    });
+    }, false);
 
     private final ByteBuffer byteBuffer = ByteBuffer.allocate(1024);
 
@@ -47,8 +46,6 @@ public class Context {
     private FileChannel qbboOut;
 
     {
-        NLS30.setDecodeContainsHeader(false);
-        QBBO21.setDecodeContainsHeader(false);
         try {
             /*nlspOut = new FileOutputStream(String.format("quote.us_nlsp_%d_%d.bin", Thread.currentThread().getId(),
                     System.currentTimeMillis())).getChannel();
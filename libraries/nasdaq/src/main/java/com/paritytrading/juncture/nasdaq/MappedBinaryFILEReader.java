@@ -0,0 +1,214 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq;
+
+import com.paritytrading.nassau.MessageListener;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A reader for BinaryFILE files that maps the file into memory.
+ *
+ * <p>A BinaryFILE file consists of messages, each preceded by its length
+ * as a two-byte big-endian integer. The reader maps the file in chunks of
+ * at most {@code chunkSize} bytes, so files larger than 2 GB can be read,
+ * and invokes the message listener on each message directly in the mapped
+ * buffer, without copying it. The message listener can be, for example, an
+ * {@link com.paritytrading.juncture.nasdaq.itch50.ITCH50Parser}, an {@link
+ * com.paritytrading.juncture.nasdaq.nls30.NLS30Parser} or a {@link
+ * com.paritytrading.juncture.nasdaq.qbbo21.QBBO21Parser}.</p>
+ *
+ * <p>Each chunk starts at a message boundary. A message that does not fit
+ * in the remainder of a chunk is read as part of the next chunk. An
+ * incomplete message at the end of the file is ignored.</p>
+ *
+ * <p>The message listener must not retain the buffer passed to it. Java
+ * offers no way to unmap a buffer explicitly, so the mapping of a chunk
+ * is released only once the chunk has been garbage collected. Until then,
+ * it occupies virtual address space but not heap, so reading a large file
+ * may keep several chunks mapped at once without triggering a garbage
+ * collection. A smaller chunk size bounds the address space held by each
+ * chunk that has not been released yet.</p>
+ *
+ * <p>To detect the end of session, wrap the message listener in a {@link
+ * com.paritytrading.nassau.binaryfile.BinaryFILEStatusParser}.</p>
+ */
+public class MappedBinaryFILEReader implements Closeable {
+
+    private static final long DEFAULT_CHUNK_SIZE = 1L << 30;
+
+    private static final int MAX_MESSAGE_LENGTH = 65535;
+
+    private static final int LENGTH_SIZE = 2;
+
+    private final FileChannel channel;
+
+    private final long chunkSize;
+
+    private final MessageListener listener;
+
+    private final long end;
+
+    private long position;
+
+    /**
+     * Create a reader.
+     *
+     * @param channel a file channel
+     * @param listener a message listener
+     * @throws IOException if an I/O error occurs
+     */
+    public MappedBinaryFILEReader(FileChannel channel, MessageListener listener) throws IOException {
+        this(channel, DEFAULT_CHUNK_SIZE, listener);
+    }
+
+    /**
+     * Create a reader.
+     *
+     * @param channel a file channel
+     * @param chunkSize the maximum number of bytes mapped at once
+     * @param listener a message listener
+     * @throws IOException if an I/O error occurs
+     */
+    public MappedBinaryFILEReader(FileChannel channel, long chunkSize,
+            MessageListener listener) throws IOException {
+        this(channel, channel.position(), channel.size(), chunkSize, listener);
+    }
+
+    /**
+     * Create a reader for a range of a file. The range must start at a
+     * message boundary.
+     *
+     * <p>The reader does not use or modify the position of the file
+     * channel, so several readers can read different ranges of the same
+     * file channel concurrently.</p>
+     *
+     * @param channel a file channel
+     * @param start the position in the file where the range starts
+     * @param end the position in the file where the range ends
+     * @param listener a message listener
+     * @throws IllegalArgumentException if the start is negative or after
+     *   the end, or if the end is after the end of the file
+     * @throws IOException if an I/O error occurs
+     */
+    public MappedBinaryFILEReader(FileChannel channel, long start, long end,
+            MessageListener listener) throws IOException {
+        this(channel, start, end, DEFAULT_CHUNK_SIZE, listener);
+    }
+
+    private MappedBinaryFILEReader(FileChannel channel, long start, long end,
+            long chunkSize, MessageListener listener) throws IOException {
+        if (chunkSize < LENGTH_SIZE + MAX_MESSAGE_LENGTH || chunkSize > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Chunk size out of range: " + chunkSize);
+
+        if (start < 0 || start > end)
+            throw new IllegalArgumentException("Invalid range: " + start + "-" + end);
+
+        if (end > channel.size())
+            throw new IllegalArgumentException("Range end after end of file: " + end);
+
+        this.channel   = channel;
+        this.chunkSize = chunkSize;
+        this.listener  = listener;
+
+        this.end      = end;
+        this.position = start;
+    }
+
+    /**
+     * Open a file.
+     *
+     * @param file a file
+     * @param listener a message listener
+     * @return a reader
+     * @throws IOException if an I/O error occurs
+     */
+    public static MappedBinaryFILEReader open(File file, MessageListener listener) throws IOException {
+        return new MappedBinaryFILEReader(FileChannel.open(file.toPath(), StandardOpenOption.READ), listener);
+    }
+
+    /**
+     * Get the position in the file of the next message to be read.
+     *
+     * @return the position in the file
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Map the next chunk and read the messages in it. For each message,
+     * invoke the message listener.
+     *
+     * @return the number of bytes read, or {@code -1} if the end of the
+     *   file has been reached
+     * @throws IOException if an I/O error occurs
+     */
+    public int read() throws IOException {
+        long remaining = end - position;
+        if (remaining < LENGTH_SIZE)
+            return -1;
+
+        MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY,
+                position, Math.min(chunkSize, remaining));
+
+        int bytes = read(chunk);
+        if (bytes == 0)
+            return -1;
+
+        position += bytes;
+
+        return bytes;
+    }
+
+    private int read(MappedByteBuffer chunk) throws IOException {
+        int capacity = chunk.capacity();
+
+        int offset = 0;
+
+        while (capacity - offset >= LENGTH_SIZE) {
+            chunk.limit(capacity);
+
+            int next = offset + LENGTH_SIZE + (chunk.getShort(offset) & 0xffff);
+            if (next > capacity)
+                break;
+
+            chunk.limit(next);
+            chunk.position(offset + LENGTH_SIZE);
+
+            listener.message(chunk);
+
+            offset = next;
+        }
+
+        return offset;
+    }
+
+    /**
+     * Close the underlying file channel.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
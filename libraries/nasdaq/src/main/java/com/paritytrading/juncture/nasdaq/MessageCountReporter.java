@@ -0,0 +1,123 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq;
+
+import java.io.Closeable;
+
+/**
+ * A reporter thread for message counters.
+ *
+ * <p>The reporter periodically reads the counters and reports the topics
+ * whose counts have changed since the previous report. Reading the
+ * counters never blocks the threads that increment them.</p>
+ */
+public class MessageCountReporter implements Closeable {
+
+    /**
+     * The interface for message counts.
+     */
+    public interface Listener {
+
+        /**
+         * Receive the count of a message type.
+         *
+         * @param topic the topic
+         * @param count the count
+         */
+        void count(String topic, long count);
+
+    }
+
+    private final MessageCounters counters;
+
+    private final long intervalMillis;
+
+    private final Listener listener;
+
+    private final long[] reported;
+
+    private final Thread thread;
+
+    /**
+     * Create a reporter. The reporter thread is a daemon thread.
+     *
+     * @param counters the message counters
+     * @param intervalMillis the reporting interval in milliseconds
+     * @param listener the listener
+     */
+    public MessageCountReporter(MessageCounters counters, long intervalMillis, Listener listener) {
+        this.counters       = counters;
+        this.intervalMillis = intervalMillis;
+        this.listener       = listener;
+
+        this.reported = new long[counters.size()];
+
+        this.thread = new Thread(this::run, "message-count-reporter");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Start the reporter thread.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Report the topics whose counts have changed since the previous
+     * report.
+     */
+    public synchronized void report() {
+        for (int i = 0; i < reported.length; i++) {
+            long count = counters.getCount(i);
+            if (count == reported[i])
+                continue;
+
+            reported[i] = count;
+
+            listener.count(counters.getTopic(i), count);
+        }
+    }
+
+    /**
+     * Stop the reporter thread and make a final report.
+     */
+    @Override
+    public void close() {
+        thread.interrupt();
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        report();
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(intervalMillis);
+
+                report();
+            }
+        } catch (InterruptedException e) {
+            // Closed.
+        }
+    }
+
+}
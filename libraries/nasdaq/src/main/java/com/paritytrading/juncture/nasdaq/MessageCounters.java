@@ -0,0 +1,172 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Message counters keyed by message type.
+ *
+ * <p>Each message type has a precomputed topic and a counter that is
+ * striped by thread. A thread increments its own stripe, and stripes are
+ * padded to whole cache lines, so feed threads neither contend on nor
+ * falsely share a counter. Reading a count sums the stripes.</p>
+ *
+ * <p>Threads are mapped to stripes by thread identifier. Two threads that
+ * map to the same stripe still count correctly, but share its cache
+ * lines.</p>
+ */
+public class MessageCounters {
+
+    /*
+     * The number of counters in a cache line.
+     */
+    private static final int PADDING = 8;
+
+    private final byte[] messageTypes;
+
+    private final String[] topics;
+
+    private final int[] indices;
+
+    private final int stride;
+
+    private final int stripeMask;
+
+    private final AtomicLongArray counts;
+
+    /**
+     * Create message counters with two stripes per available processor,
+     * rounded up to a power of two.
+     *
+     * @param messageTypes the message types
+     * @param topics the topics, one for each message type
+     * @throws IllegalArgumentException if the number of topics differs
+     *   from the number of message types or a message type is repeated
+     */
+    public MessageCounters(byte[] messageTypes, String[] topics) {
+        this(messageTypes, topics, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create message counters.
+     *
+     * @param messageTypes the message types
+     * @param topics the topics, one for each message type
+     * @param stripes the number of stripes, rounded up to a power of two
+     * @throws IllegalArgumentException if the number of topics differs
+     *   from the number of message types or a message type is repeated
+     */
+    public MessageCounters(byte[] messageTypes, String[] topics, int stripes) {
+        if (messageTypes.length != topics.length)
+            throw new IllegalArgumentException("Number of topics differs from number of message types");
+
+        this.messageTypes = messageTypes.clone();
+        this.topics       = topics.clone();
+
+        this.indices = new int[256];
+
+        Arrays.fill(this.indices, -1);
+
+        for (int i = 0; i < messageTypes.length; i++) {
+            if (this.indices[messageTypes[i] & 0xff] != -1)
+                throw new IllegalArgumentException("Repeated message type: " + (char)messageTypes[i]);
+
+            this.indices[messageTypes[i] & 0xff] = i;
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(stripes, 1) * 2 - 1);
+
+        this.stride     = (messageTypes.length + PADDING - 1) / PADDING * PADDING + PADDING;
+        this.stripeMask = capacity - 1;
+
+        this.counts = new AtomicLongArray(PADDING + capacity * stride);
+    }
+
+    /**
+     * Increment the counter of a message type. Unknown message types are
+     * ignored.
+     *
+     * @param messageType the message type
+     */
+    public void increment(byte messageType) {
+        int index = indices[messageType & 0xff];
+        if (index < 0)
+            return;
+
+        int stripe = (int)Thread.currentThread().getId() & stripeMask;
+
+        counts.getAndIncrement(PADDING + stripe * stride + index);
+    }
+
+    /**
+     * Get the number of message types.
+     *
+     * @return the number of message types
+     */
+    public int size() {
+        return messageTypes.length;
+    }
+
+    /**
+     * Get a message type.
+     *
+     * @param index the index of the message type
+     * @return the message type
+     */
+    public byte getMessageType(int index) {
+        return messageTypes[index];
+    }
+
+    /**
+     * Get the topic of a message type.
+     *
+     * @param index the index of the message type
+     * @return the topic
+     */
+    public String getTopic(int index) {
+        return topics[index];
+    }
+
+    /**
+     * Get the count of a message type.
+     *
+     * @param index the index of the message type
+     * @return the count
+     */
+    public long getCount(int index) {
+        long count = 0;
+
+        for (int i = PADDING + index; i < counts.length(); i += stride)
+            count += counts.get(i);
+
+        return count;
+    }
+
+    /**
+     * Get the count of a message type.
+     *
+     * @param messageType the message type
+     * @return the count or zero if the message type is unknown
+     */
+    public long getCount(byte messageType) {
+        int index = indices[messageType & 0xff];
+
+        return index >= 0 ? getCount(index) : 0;
+    }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq;
+
+import com.paritytrading.foundation.ASCII;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A message filter for parsers.
+ *
+ * <p>A parser checks the filter against the raw bytes of a message before
+ * decoding it and skips the message by its known length if the filter
+ * rejects it. A filter can restrict messages by message type and either
+ * by symbol or by stock locate:</p>
+ *
+ * <ul>
+ *   <li>Messages are accepted by message type if no message types have
+ *     been set or if the message type is one of them.</li>
+ *   <li>Messages that carry a symbol are accepted by symbol if no symbols
+ *     have been set or if the symbol is one of them. The symbol is
+ *     compared as a packed 8-byte value.</li>
+ *   <li>Messages that carry a non-zero stock locate are accepted by stock
+ *     locate if no stock locates have been set or if the stock locate is
+ *     one of them.</li>
+ * </ul>
+ *
+ * <p>Which of symbols and stock locates apply depends on the protocol. A
+ * filter must not be modified while a parser uses it.</p>
+ */
+public class MessageFilter {
+
+    private static final int STOCK_LOCATES = 65536;
+
+    private static final int SYMBOL_LENGTH = 8;
+
+    private final long[] messageTypes;
+
+    private boolean messageTypesSet;
+
+    private long[] symbols;
+
+    private int symbolMask;
+
+    private long[] stockLocates;
+
+    /**
+     * Create a message filter that accepts all messages.
+     */
+    public MessageFilter() {
+        this.messageTypes = new long[4];
+    }
+
+    /**
+     * Accept only messages of the given message types.
+     *
+     * @param messageTypes the message types
+     */
+    public void setMessageTypes(byte... messageTypes) {
+        Arrays.fill(this.messageTypes, 0);
+
+        for (byte messageType : messageTypes)
+            this.messageTypes[(messageType & 0xff) >>> 6] |= 1L << messageType;
+
+        this.messageTypesSet = true;
+    }
+
+    /**
+     * Accept only messages that carry one of the given symbols, in addition
+     * to messages that carry no symbol.
+     *
+     * @param symbols the symbols, at most eight characters each
+     * @throws IllegalArgumentException if a symbol is longer than eight
+     *   characters
+     */
+    public void setSymbols(Collection<String> symbols) {
+        for (String symbol : symbols) {
+            if (symbol.length() > SYMBOL_LENGTH)
+                throw new IllegalArgumentException("Symbol too long: " + symbol);
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(symbols.size(), 4) - 1) << 2;
+
+        this.symbols    = new long[capacity];
+        this.symbolMask = capacity - 1;
+
+        for (String symbol : symbols)
+            addSymbol(ASCII.packLong(pad(symbol)));
+    }
+
+    /**
+     * Accept only messages that carry one of the given stock locates, in
+     * addition to messages whose stock locate is zero.
+     *
+     * @param stockLocates the stock locates
+     */
+    public void setStockLocates(int... stockLocates) {
+        this.stockLocates = new long[STOCK_LOCATES / 64];
+
+        for (int stockLocate : stockLocates)
+            this.stockLocates[stockLocate >>> 6] |= 1L << stockLocate;
+    }
+
+    /**
+     * Check whether this filter accepts a message type.
+     *
+     * @param messageType the message type
+     * @return true if this filter accepts the message type, otherwise false
+     */
+    public boolean acceptsMessageType(byte messageType) {
+        return !messageTypesSet || (messageTypes[(messageType & 0xff) >>> 6] & 1L << messageType) != 0;
+    }
+
+    /**
+     * Check whether this filter restricts messages by symbol.
+     *
+     * @return true if this filter restricts messages by symbol, otherwise
+     *   false
+     */
+    public boolean hasSymbols() {
+        return symbols != null;
+    }
+
+    /**
+     * Check whether this filter accepts a symbol.
+     *
+     * @param packedSymbol a packed 8-byte symbol
+     * @return true if this filter accepts the symbol, otherwise false
+     */
+    public boolean acceptsSymbol(long packedSymbol) {
+        if (symbols == null)
+            return true;
+
+        for (int i = hash(packedSymbol) & symbolMask; symbols[i] != 0; i = (i + 1) & symbolMask) {
+            if (symbols[i] == packedSymbol)
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Check whether this filter restricts messages by stock locate.
+     *
+     * @return true if this filter restricts messages by stock locate,
+     *   otherwise false
+     */
+    public boolean hasStockLocates() {
+        return stockLocates != null;
+    }
+
+    /**
+     * Check whether this filter accepts a stock locate.
+     *
+     * @param stockLocate a stock locate
+     * @return true if this filter accepts the stock locate, otherwise false
+     */
+    public boolean acceptsStockLocate(int stockLocate) {
+        return stockLocates == null || stockLocate == 0 || (stockLocates[stockLocate >>> 6] & 1L << stockLocate) != 0;
+    }
+
+    private void addSymbol(long packedSymbol) {
+        int i = hash(packedSymbol) & symbolMask;
+
+        while (symbols[i] != 0 && symbols[i] != packedSymbol)
+            i = (i + 1) & symbolMask;
+
+        symbols[i] = packedSymbol;
+    }
+
+    private static String pad(String symbol) {
+        StringBuilder builder = new StringBuilder(symbol);
+
+        while (builder.length() < SYMBOL_LENGTH)
+            builder.append(' ');
+
+        return builder.toString();
+    }
+
+    private static int hash(long value) {
+        long h = value * 0x9e3779b97f4a7c15L;
+
+        return (int)(h ^ (h >>> 32));
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq;
+
+import java.math.BigDecimal;
+
+/**
+ * Conversions for fixed-point prices.
+ *
+ * <p>Nasdaq protocols carry prices as integers with implied decimal
+ * places: four for Price (4) fields and eight for Price (8) fields. The
+ * messages expose these integers as raw prices, such as {@code rawPrice},
+ * alongside their {@code double} counterparts.</p>
+ *
+ * <p>Converting a raw price to a {@code double} yields the {@code double}
+ * closest to the exact price, and converting it back yields the original
+ * raw price for any raw price whose magnitude is below 2<sup>51</sup>.
+ * Converting a raw price to a {@link BigDecimal} is always exact.</p>
+ */
+public final class Prices {
+
+    /**
+     * The number of implied decimal places in a Price (4) field.
+     */
+    public static final int PRICE4_DECIMALS = 4;
+
+    /**
+     * The number of implied decimal places in a Price (8) field.
+     */
+    public static final int PRICE8_DECIMALS = 8;
+
+    /**
+     * The scale of a Price (4) field.
+     */
+    public static final long PRICE4_SCALE = 10_000L;
+
+    /**
+     * The scale of a Price (8) field.
+     */
+    public static final long PRICE8_SCALE = 100_000_000L;
+
+    private static final double PRICE4_SCALE_DOUBLE = PRICE4_SCALE;
+
+    private static final double PRICE8_SCALE_DOUBLE = PRICE8_SCALE;
+
+    private Prices() {
+    }
+
+    /**
+     * Convert a Price (4) value to a {@code double}.
+     *
+     * @param value a raw price with four implied decimal places
+     * @return the price
+     */
+    public static double toDouble4(long value) {
+        return value / PRICE4_SCALE_DOUBLE;
+    }
+
+    /**
+     * Convert a Price (8) value to a {@code double}.
+     *
+     * @param value a raw price with eight implied decimal places
+     * @return the price
+     */
+    public static double toDouble8(long value) {
+        return value / PRICE8_SCALE_DOUBLE;
+    }
+
+    /**
+     * Convert a price to a Price (4) value, rounding to the nearest
+     * representable value.
+     *
+     * @param price a price
+     * @return a raw price with four implied decimal places
+     */
+    public static long fromDouble4(double price) {
+        return Math.round(price * PRICE4_SCALE_DOUBLE);
+    }
+
+    /**
+     * Convert a price to a Price (8) value, rounding to the nearest
+     * representable value.
+     *
+     * @param price a price
+     * @return a raw price with eight implied decimal places
+     */
+    public static long fromDouble8(double price) {
+        return Math.round(price * PRICE8_SCALE_DOUBLE);
+    }
+
+    /**
+     * Convert a Price (4) value to a {@link BigDecimal}.
+     *
+     * @param value a raw price with four implied decimal places
+     * @return the price
+     */
+    public static BigDecimal toBigDecimal4(long value) {
+        return BigDecimal.valueOf(value, PRICE4_DECIMALS);
+    }
+
+    /**
+     * Convert a Price (8) value to a {@link BigDecimal}.
+     *
+     * @param value a raw price with eight implied decimal places
+     * @return the price
+     */
+    public static BigDecimal toBigDecimal8(long value) {
+        return BigDecimal.valueOf(value, PRICE8_DECIMALS);
+    }
+
+    /**
+     * Convert a Price (4) value to a Price (8) value.
+     *
+     * @param value a raw price with four implied decimal places
+     * @return a raw price with eight implied decimal places
+     * @throws ArithmeticException if the result overflows
+     */
+    public static long price4ToPrice8(long value) {
+        return Math.multiplyExact(value, PRICE8_SCALE / PRICE4_SCALE);
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq;
+
+/**
+ * The policy for messages of an unknown message type.
+ *
+ * <p>An unknown message is skipped by advancing the buffer to its limit
+ * without decoding the message.</p>
+ */
+public enum UnknownMessageTypePolicy {
+
+    /**
+     * Skip the message silently.
+     */
+    SKIP,
+
+    /**
+     * Skip the message and count it by message type.
+     */
+    COUNT,
+
+    /**
+     * Fail with a protocol error.
+     */
+    FAIL,
+
+}
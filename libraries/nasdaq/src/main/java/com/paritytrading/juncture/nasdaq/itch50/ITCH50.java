@@ -17,6 +17,8 @@ package com.paritytrading.juncture.nasdaq.itch50;
 
 import static com.paritytrading.foundation.ByteBuffers.*;
 
+import com.paritytrading.foundation.ASCII;
+import com.paritytrading.juncture.nasdaq.Prices;
 import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
@@ -213,6 +215,12 @@ public class ITCH50 {
 
     /**
      * A message.
+     *
+     * <p>Prices are available both as {@code double} fields and as raw
+     * fields, such as {@code rawPrice}. A raw price holds the price as an
+     * integer with four implied decimal places for Price (4) fields and
+     * eight for Price (8) fields. Use {@link Prices} to convert raw prices
+     * exactly.</p>
      */
     public interface Message {
 
@@ -225,9 +233,53 @@ public class ITCH50 {
          */
         void get(ByteBuffer buffer);
 
+        /**
+         * Read this message from the buffer without allocating memory.
+         *
+         * <p>Alphanumeric fields are read into their packed counterparts,
+         * such as {@code packedStock}, and prices into their raw
+         * counterparts, such as {@code rawPrice}, only. The corresponding
+         * {@code String} and {@code double} fields are left untouched.</p>
+         *
+         * <p>A packed alphanumeric field holds the ASCII characters of the
+         * field in big-endian byte order, padded with spaces. A raw price
+         * holds the price as an integer with four implied decimal places
+         * for Price (4) fields and eight for Price (8) fields.</p>
+         *
+         * @param buffer a buffer
+         * @throws BufferUnderflowException if there are fewer bytes remaining
+         *   in the buffer than what this message consists of
+         */
+        default void getPacked(ByteBuffer buffer) {
+            get(buffer);
+        }
+
+        /**
+         * Read this message from the buffer, resolving the stock symbol
+         * through a stock locate directory.
+         *
+         * <p>If the stock locate of this message has been captured by the
+         * directory with the same symbol, the {@code stock} field is set to
+         * the captured symbol instead of a newly decoded one.</p>
+         *
+         * @param buffer a buffer
+         * @param directory a stock locate directory, or {@code null} to
+         *   decode the stock symbol
+         * @throws BufferUnderflowException if there are fewer bytes remaining
+         *   in the buffer than what this message consists of
+         */
+        default void get(ByteBuffer buffer, StockLocateDirectory directory) {
+            get(buffer);
+        }
+
         /**
          * Write this message to the buffer.
          *
+         * <p>Alphanumeric fields are written from their packed counterparts
+         * and prices from their raw counterparts, both of which are filled
+         * in by every read. The corresponding {@code String} and {@code
+         * double} fields are ignored.</p>
+         *
          * @param buffer a buffer
          * @throws BufferOverflowException if there are fewer bytes remaining
          *   in the buffer than what this message consists of
@@ -242,7 +294,7 @@ public class ITCH50 {
          * @return double
          */
         default double readDouble4(ByteBuffer buffer) {
-            return buffer.getInt() / 10000.0;
+            return Prices.toDouble4(buffer.getInt());
         }
 
         /**
@@ -252,7 +304,7 @@ public class ITCH50 {
          * @return price
          */
         default double readPrice8(ByteBuffer buffer) {
-            return buffer.getLong() / 10000.0 / 1000;
+            return Prices.toDouble8(buffer.getLong());
         }
 
         /**
@@ -276,7 +328,7 @@ public class ITCH50 {
          * @return Byte array
          */
         default void put(ByteBuffer buffer, double value) {
-            buffer.putInt((int) (value * 10000));
+            buffer.putInt((int) Prices.fromDouble4(value));
         }
 
         /**
@@ -287,7 +339,7 @@ public class ITCH50 {
          * @return Byte array
          */
         default void putPrice8(ByteBuffer buffer, double value) {
-            buffer.putLong((int) (value * 10000 * 1000));
+            buffer.putLong(Prices.fromDouble8(value));
         }
 
     }
@@ -344,20 +396,30 @@ public class ITCH50 {
         public char  etpFlag;
         public long  etpLeverageFactor;
         public char  inverseIndicator;
+        public long packedStock;
+        public short packedIssueSubType;
 
         @Override
         public void get(ByteBuffer buffer) {
+            getPacked(buffer);
+
+            stock        = alpha(packedStock);
+            issueSubType = alpha(packedIssueSubType);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
             stockLocate                 = getUnsignedShort(buffer);
             trackingNumber              = getUnsignedShort(buffer);
             timestampHigh               = getUnsignedShort(buffer);
             timestampLow                = getUnsignedInt(buffer);
-            stock                       = readString(buffer, 8);
+            packedStock                 = buffer.getLong();
             marketCategory              = (char) buffer.get();
             financialStatusIndicator    = (char) buffer.get();
             roundLotSize                = getUnsignedInt(buffer);
             roundLotsOnly               = (char) buffer.get();
             issueClassification         = (char) buffer.get();
-            issueSubType                = readString(buffer, 2);
+            packedIssueSubType          = buffer.getShort();
             authenticity                = (char) buffer.get();
             shortSaleThresholdIndicator = (char) buffer.get();
             ipoFlag                     = (char) buffer.get();
@@ -374,13 +436,13 @@ public class ITCH50 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(stock.getBytes(StandardCharsets.UTF_8));
+            buffer.putLong(packedStock);
             buffer.put((byte) marketCategory);
             buffer.put((byte) financialStatusIndicator);
             putUnsignedInt(buffer, roundLotSize);
             buffer.put((byte) roundLotsOnly);
             buffer.put((byte) issueClassification);
-            buffer.put(issueSubType.getBytes(StandardCharsets.UTF_8));
+            buffer.putShort(packedIssueSubType);
             buffer.put((byte) authenticity);
             buffer.put((byte) shortSaleThresholdIndicator);
             buffer.put((byte) ipoFlag);
@@ -403,17 +465,32 @@ public class ITCH50 {
         public char tradingState;
         public byte reserved;
         public String  reason;
+        public long packedStock;
+        public int packedReason;
 
         @Override
         public void get(ByteBuffer buffer) {
+            get(buffer, null);
+        }
+
+        @Override
+        public void get(ByteBuffer buffer, StockLocateDirectory directory) {
+            getPacked(buffer);
+
+            stock  = stock(directory, stockLocate, packedStock);
+            reason = alpha(packedReason);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
             stockLocate    = getUnsignedShort(buffer);
             trackingNumber = getUnsignedShort(buffer);
             timestampHigh  = getUnsignedShort(buffer);
             timestampLow   = getUnsignedInt(buffer);
-            stock          = readString(buffer, 8);
+            packedStock    = buffer.getLong();
             tradingState   = (char) buffer.get();
             reserved       = buffer.get();
-            reason         = readString(buffer, 4);
+            packedReason   = buffer.getInt();
         }
 
         @Override
@@ -423,10 +500,10 @@ public class ITCH50 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(stock.getBytes(StandardCharsets.UTF_8));
+            buffer.putLong(packedStock);
             buffer.put((byte) tradingState);
             buffer.put(reserved);
-            buffer.put(reason.getBytes(StandardCharsets.UTF_8));
+            buffer.putInt(packedReason);
         }
     }
 
@@ -440,14 +517,27 @@ public class ITCH50 {
         public long timestampLow;
         public String stock;
         public char regSHOAction;
+        public long packedStock;
 
         @Override
         public void get(ByteBuffer buffer) {
+            get(buffer, null);
+        }
+
+        @Override
+        public void get(ByteBuffer buffer, StockLocateDirectory directory) {
+            getPacked(buffer);
+
+            stock = stock(directory, locateCode, packedStock);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
             locateCode     = getUnsignedShort(buffer);
             trackingNumber = getUnsignedShort(buffer);
             timestampHigh  = getUnsignedShort(buffer);
             timestampLow   = getUnsignedInt(buffer);
-            stock          = readString(buffer, 8);
+            packedStock    = buffer.getLong();
             regSHOAction   = (char) buffer.get();
         }
 
@@ -458,7 +548,7 @@ public class ITCH50 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(stock.getBytes(StandardCharsets.UTF_8));
+            buffer.putLong(packedStock);
             buffer.put((byte) regSHOAction);
         }
     }
@@ -476,15 +566,30 @@ public class ITCH50 {
         public char primaryMarketMaker;
         public char marketMakerMode;
         public char marketParticipantState;
+        public int packedMpid;
+        public long packedStock;
 
         @Override
         public void get(ByteBuffer buffer) {
+            get(buffer, null);
+        }
+
+        @Override
+        public void get(ByteBuffer buffer, StockLocateDirectory directory) {
+            getPacked(buffer);
+
+            mpid  = alpha(packedMpid);
+            stock = stock(directory, stockLocate, packedStock);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
             stockLocate            = getUnsignedShort(buffer);
             trackingNumber         = getUnsignedShort(buffer);
             timestampHigh          = getUnsignedShort(buffer);
             timestampLow           = getUnsignedInt(buffer);
-            mpid                   = readString(buffer, 4);
-            stock                  = readString(buffer, 8);
+            packedMpid             = buffer.getInt();
+            packedStock            = buffer.getLong();
             primaryMarketMaker     = (char) buffer.get();
             marketMakerMode        = (char) buffer.get();
             marketParticipantState = (char) buffer.get();
@@ -497,8 +602,8 @@ public class ITCH50 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(mpid.getBytes(StandardCharsets.UTF_8));
-            buffer.put(stock.getBytes(StandardCharsets.UTF_8));
+            buffer.putInt(packedMpid);
+            buffer.putLong(packedStock);
             buffer.put((byte) primaryMarketMaker);
             buffer.put((byte) marketMakerMode);
             buffer.put((byte) marketParticipantState);
@@ -516,16 +621,28 @@ public class ITCH50 {
         public double level1;
         public double level2;
         public double level3;
+        public long rawLevel1;
+        public long rawLevel2;
+        public long rawLevel3;
 
         @Override
         public void get(ByteBuffer buffer) {
+            getPacked(buffer);
+
+            level1 = price8(rawLevel1);
+            level2 = price8(rawLevel2);
+            level3 = price8(rawLevel3);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
             stockLocate    = getUnsignedShort(buffer);
             trackingNumber = getUnsignedShort(buffer);
             timestampHigh  = getUnsignedShort(buffer);
             timestampLow   = getUnsignedInt(buffer);
-            level1         = readPrice8(buffer);
-            level2         = readPrice8(buffer);
-            level3         = readPrice8(buffer);
+            rawLevel1      = buffer.getLong();
+            rawLevel2      = buffer.getLong();
+            rawLevel3      = buffer.getLong();
         }
 
         @Override
@@ -535,9 +652,9 @@ public class ITCH50 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            putPrice8(buffer, level1);
-            putPrice8(buffer, level2);
-            putPrice8(buffer, level3);
+            buffer.putLong(rawLevel1);
+            buffer.putLong(rawLevel2);
+            buffer.putLong(rawLevel3);
         }
     }
 
@@ -583,17 +700,32 @@ public class ITCH50 {
         public long ipoQuotationReleaseTime;
         public char ipoQuotationReleaseQualifier;
         public double ipoPrice;
+        public long packedStock;
+        public long rawIpoPrice;
 
         @Override
         public void get(ByteBuffer buffer) {
+            get(buffer, null);
+        }
+
+        @Override
+        public void get(ByteBuffer buffer, StockLocateDirectory directory) {
+            getPacked(buffer);
+
+            stock    = stock(directory, stockLocate, packedStock);
+            ipoPrice = price4(rawIpoPrice);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
             stockLocate                  = getUnsignedShort(buffer);
             trackingNumber               = getUnsignedShort(buffer);
             timestampHigh                = getUnsignedShort(buffer);
             timestampLow                 = getUnsignedInt(buffer);
-            stock                        = readString(buffer, 8);
+            packedStock                  = buffer.getLong();
             ipoQuotationReleaseTime      = getUnsignedInt(buffer);
             ipoQuotationReleaseQualifier = (char) buffer.get();
-            ipoPrice                     = readDouble4(buffer);
+            rawIpoPrice                  = getUnsignedInt(buffer);
         }
 
         @Override
@@ -603,10 +735,10 @@ public class ITCH50 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(stock.getBytes(StandardCharsets.UTF_8));
+            buffer.putLong(packedStock);
             putUnsignedInt(buffer, ipoQuotationReleaseTime);
             buffer.put((byte) ipoQuotationReleaseQualifier);
-            put(buffer, ipoPrice);
+            putUnsignedInt(buffer, rawIpoPrice);
         }
     }
 
@@ -623,18 +755,37 @@ public class ITCH50 {
         public double upperAuctionCollarPrice;
         public double lowerAuctionCollarPrice;
         public long auctionCollarExtension;
+        public long packedStock;
+        public long rawAuctionCollarReferencePrice;
+        public long rawUpperAuctionCollarPrice;
+        public long rawLowerAuctionCollarPrice;
 
         @Override
         public void get(ByteBuffer buffer) {
-            stockLocate                 = getUnsignedShort(buffer);
-            trackingNumber              = getUnsignedShort(buffer);
-            timestampHigh               = getUnsignedShort(buffer);
-            timestampLow                = getUnsignedInt(buffer);
-            stock                       = readString(buffer, 8);
-            auctionCollarReferencePrice = readDouble4(buffer);
-            upperAuctionCollarPrice     = readDouble4(buffer);
-            lowerAuctionCollarPrice     = readDouble4(buffer);
-            auctionCollarExtension      = getUnsignedInt(buffer);
+            get(buffer, null);
+        }
+
+        @Override
+        public void get(ByteBuffer buffer, StockLocateDirectory directory) {
+            getPacked(buffer);
+
+            stock                       = stock(directory, stockLocate, packedStock);
+            auctionCollarReferencePrice = price4(rawAuctionCollarReferencePrice);
+            upperAuctionCollarPrice     = price4(rawUpperAuctionCollarPrice);
+            lowerAuctionCollarPrice     = price4(rawLowerAuctionCollarPrice);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            stockLocate                    = getUnsignedShort(buffer);
+            trackingNumber                 = getUnsignedShort(buffer);
+            timestampHigh                  = getUnsignedShort(buffer);
+            timestampLow                   = getUnsignedInt(buffer);
+            packedStock                    = buffer.getLong();
+            rawAuctionCollarReferencePrice = getUnsignedInt(buffer);
+            rawUpperAuctionCollarPrice     = getUnsignedInt(buffer);
+            rawLowerAuctionCollarPrice     = getUnsignedInt(buffer);
+            auctionCollarExtension         = getUnsignedInt(buffer);
         }
 
         @Override
@@ -644,10 +795,10 @@ public class ITCH50 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(stock.getBytes(StandardCharsets.UTF_8));
-            put(buffer, auctionCollarReferencePrice);
-            put(buffer, upperAuctionCollarPrice);
-            put(buffer, lowerAuctionCollarPrice);
+            buffer.putLong(packedStock);
+            putUnsignedInt(buffer, rawAuctionCollarReferencePrice);
+            putUnsignedInt(buffer, rawUpperAuctionCollarPrice);
+            putUnsignedInt(buffer, rawLowerAuctionCollarPrice);
             putUnsignedInt(buffer, auctionCollarExtension);
         }
     }
@@ -663,14 +814,27 @@ public class ITCH50 {
         public String stock;
         public char marketCode;
         public char operationalHaltAction;
+        public long packedStock;
 
         @Override
         public void get(ByteBuffer buffer) {
+            get(buffer, null);
+        }
+
+        @Override
+        public void get(ByteBuffer buffer, StockLocateDirectory directory) {
+            getPacked(buffer);
+
+            stock = stock(directory, stockLocate, packedStock);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
             stockLocate           = getUnsignedShort(buffer);
             trackingNumber        = getUnsignedShort(buffer);
             timestampHigh         = getUnsignedShort(buffer);
             timestampLow          = getUnsignedInt(buffer);
-            stock                 = readString(buffer, 8);
+            packedStock           = buffer.getLong();
             marketCode            = (char) buffer.get();
             operationalHaltAction = (char) buffer.get();
         }
@@ -682,7 +846,7 @@ public class ITCH50 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(stock.getBytes(StandardCharsets.UTF_8));
+            buffer.putLong(packedStock);
             buffer.put((byte) marketCode);
             buffer.put((byte) operationalHaltAction);
         }
@@ -701,9 +865,24 @@ public class ITCH50 {
         public long shares;
         public String stock;
         public double price;
+        public long packedStock;
+        public long rawPrice;
 
         @Override
         public void get(ByteBuffer buffer) {
+            get(buffer, null);
+        }
+
+        @Override
+        public void get(ByteBuffer buffer, StockLocateDirectory directory) {
+            getPacked(buffer);
+
+            stock = stock(directory, stockLocate, packedStock);
+            price = price4(rawPrice);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
             stockLocate          = getUnsignedShort(buffer);
             trackingNumber       = getUnsignedShort(buffer);
             timestampHigh        = getUnsignedShort(buffer);
@@ -711,8 +890,8 @@ public class ITCH50 {
             orderReferenceNumber = buffer.getLong();
             buySellIndicator     = (char) buffer.get();
             shares               = getUnsignedInt(buffer);
-            stock                = readString(buffer, 8);
-            price                = readDouble4(buffer);
+            packedStock          = buffer.getLong();
+            rawPrice             = getUnsignedInt(buffer);
         }
 
         @Override
@@ -725,8 +904,8 @@ public class ITCH50 {
             buffer.putLong(orderReferenceNumber);
             buffer.put((byte) buySellIndicator);
             putUnsignedInt(buffer, shares);
-            buffer.put(stock.getBytes(StandardCharsets.UTF_8));
-            put(buffer, price);
+            buffer.putLong(packedStock);
+            putUnsignedInt(buffer, rawPrice);
         }
     }
 
@@ -744,9 +923,26 @@ public class ITCH50 {
         public String stock;
         public double price;
         public String attribution;
+        public long packedStock;
+        public long rawPrice;
+        public int packedAttribution;
 
         @Override
         public void get(ByteBuffer buffer) {
+            get(buffer, null);
+        }
+
+        @Override
+        public void get(ByteBuffer buffer, StockLocateDirectory directory) {
+            getPacked(buffer);
+
+            stock       = stock(directory, stockLocate, packedStock);
+            price       = price4(rawPrice);
+            attribution = alpha(packedAttribution);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
             stockLocate          = getUnsignedShort(buffer);
             trackingNumber       = getUnsignedShort(buffer);
             timestampHigh        = getUnsignedShort(buffer);
@@ -754,9 +950,9 @@ public class ITCH50 {
             orderReferenceNumber = buffer.getLong();
             buySellIndicator     = (char) buffer.get();
             shares               = getUnsignedInt(buffer);
-            stock                = readString(buffer, 8);
-            price                = readDouble4(buffer);
-            attribution          = readString(buffer, 4);
+            packedStock          = buffer.getLong();
+            rawPrice             = getUnsignedInt(buffer);
+            packedAttribution    = buffer.getInt();
         }
 
         @Override
@@ -769,9 +965,9 @@ public class ITCH50 {
             buffer.putLong(orderReferenceNumber);
             buffer.put((byte) buySellIndicator);
             putUnsignedInt(buffer, shares);
-            buffer.put(stock.getBytes(StandardCharsets.UTF_8));
-            put(buffer, price);
-            buffer.put(attribution.getBytes(StandardCharsets.UTF_8));
+            buffer.putLong(packedStock);
+            putUnsignedInt(buffer, rawPrice);
+            buffer.putInt(packedAttribution);
         }
     }
 
@@ -824,9 +1020,17 @@ public class ITCH50 {
         public long matchNumber;
         public char printable;
         public double executionPrice;
+        public long rawExecutionPrice;
 
         @Override
         public void get(ByteBuffer buffer) {
+            getPacked(buffer);
+
+            executionPrice = price4(rawExecutionPrice);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
             stockLocate          = getUnsignedShort(buffer);
             trackingNumber       = getUnsignedShort(buffer);
             timestampHigh        = getUnsignedShort(buffer);
@@ -835,7 +1039,7 @@ public class ITCH50 {
             executedShares       = getUnsignedInt(buffer);
             matchNumber          = buffer.getLong();
             printable            = (char) buffer.get();
-            executionPrice       = readDouble4(buffer);
+            rawExecutionPrice    = getUnsignedInt(buffer);
         }
 
         @Override
@@ -849,7 +1053,7 @@ public class ITCH50 {
             putUnsignedInt(buffer, executedShares);
             buffer.putLong(matchNumber);
             buffer.put((byte) printable);
-            put(buffer, executionPrice);
+            putUnsignedInt(buffer, rawExecutionPrice);
         }
     }
 
@@ -928,9 +1132,17 @@ public class ITCH50 {
         public long newOrderReferenceNumber;
         public long shares;
         public double price;
+        public long rawPrice;
 
         @Override
         public void get(ByteBuffer buffer) {
+            getPacked(buffer);
+
+            price = price4(rawPrice);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
             stockLocate                  = getUnsignedShort(buffer);
             trackingNumber               = getUnsignedShort(buffer);
             timestampHigh                = getUnsignedShort(buffer);
@@ -938,7 +1150,7 @@ public class ITCH50 {
             originalOrderReferenceNumber = buffer.getLong();
             newOrderReferenceNumber      = buffer.getLong();
             shares                       = getUnsignedInt(buffer);
-            price                        = readDouble4(buffer);
+            rawPrice                     = getUnsignedInt(buffer);
         }
 
         @Override
@@ -951,7 +1163,7 @@ public class ITCH50 {
             buffer.putLong(originalOrderReferenceNumber);
             buffer.putLong(newOrderReferenceNumber);
             putUnsignedInt(buffer, shares);
-            put(buffer, price);
+            putUnsignedInt(buffer, rawPrice);
         }
     }
 
@@ -969,9 +1181,24 @@ public class ITCH50 {
         public String stock;
         public double price;
         public long matchNumber;
+        public long packedStock;
+        public long rawPrice;
 
         @Override
         public void get(ByteBuffer buffer) {
+            get(buffer, null);
+        }
+
+        @Override
+        public void get(ByteBuffer buffer, StockLocateDirectory directory) {
+            getPacked(buffer);
+
+            stock = stock(directory, stockLocate, packedStock);
+            price = price4(rawPrice);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
             stockLocate          = getUnsignedShort(buffer);
             trackingNumber       = getUnsignedShort(buffer);
             timestampHigh        = getUnsignedShort(buffer);
@@ -979,8 +1206,8 @@ public class ITCH50 {
             orderReferenceNumber = buffer.getLong();
             buySellIndicator     = (char) buffer.get();
             shares               = getUnsignedInt(buffer);
-            stock                = readString(buffer, 8);
-            price                = readDouble4(buffer);
+            packedStock          = buffer.getLong();
+            rawPrice             = getUnsignedInt(buffer);
             matchNumber          = buffer.getLong();
         }
 
@@ -994,8 +1221,8 @@ public class ITCH50 {
             buffer.putLong(orderReferenceNumber);
             buffer.put((byte) buySellIndicator);
             putUnsignedInt(buffer, shares);
-            buffer.put(stock.getBytes(StandardCharsets.UTF_8));
-            put(buffer, price);
+            buffer.putLong(packedStock);
+            putUnsignedInt(buffer, rawPrice);
             buffer.putLong(matchNumber);
         }
     }
@@ -1013,16 +1240,31 @@ public class ITCH50 {
         public double crossPrice;
         public long matchNumber;
         public char crossType;
+        public long packedStock;
+        public long rawCrossPrice;
 
         @Override
         public void get(ByteBuffer buffer) {
+            get(buffer, null);
+        }
+
+        @Override
+        public void get(ByteBuffer buffer, StockLocateDirectory directory) {
+            getPacked(buffer);
+
+            stock      = stock(directory, stockLocate, packedStock);
+            crossPrice = price4(rawCrossPrice);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
             stockLocate    = getUnsignedShort(buffer);
             trackingNumber = getUnsignedShort(buffer);
             timestampHigh  = getUnsignedShort(buffer);
             timestampLow   = getUnsignedInt(buffer);
-            shares         = getUnsignedInt(buffer);
-            stock          = readString(buffer, 8);
-            crossPrice     = readDouble4(buffer);
+            shares         = buffer.getLong();
+            packedStock    = buffer.getLong();
+            rawCrossPrice  = getUnsignedInt(buffer);
             matchNumber    = buffer.getLong();
             crossType      = (char) buffer.get();
         }
@@ -1034,9 +1276,9 @@ public class ITCH50 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            putUnsignedInt(buffer, shares);
-            buffer.put(stock.getBytes(StandardCharsets.UTF_8));
-            put(buffer, crossPrice);
+            buffer.putLong(shares);
+            buffer.putLong(packedStock);
+            putUnsignedInt(buffer, rawCrossPrice);
             buffer.putLong(matchNumber);
             buffer.put((byte) crossType);
         }
@@ -1089,22 +1331,41 @@ public class ITCH50 {
         public double currentReferencePrice;
         public char crossType;
         public char priceVariationIndicator;
+        public long packedStock;
+        public long rawFarPrice;
+        public long rawNearPrice;
+        public long rawCurrentReferencePrice;
 
         @Override
         public void get(ByteBuffer buffer) {
-            stockLocate             = getUnsignedShort(buffer);
-            trackingNumber          = getUnsignedShort(buffer);
-            timestampHigh           = getUnsignedShort(buffer);
-            timestampLow            = getUnsignedInt(buffer);
-            pairedShares            = buffer.getLong();
-            imbalanceShares         = buffer.getLong();
-            imbalanceDirection      = (char) buffer.get();
-            stock                   = readString(buffer, 8);
-            farPrice                = readDouble4(buffer);
-            nearPrice               = readDouble4(buffer);
-            currentReferencePrice   = readDouble4(buffer);
-            crossType               = (char) buffer.get();
-            priceVariationIndicator = (char) buffer.get();
+            get(buffer, null);
+        }
+
+        @Override
+        public void get(ByteBuffer buffer, StockLocateDirectory directory) {
+            getPacked(buffer);
+
+            stock                 = stock(directory, stockLocate, packedStock);
+            farPrice              = price4(rawFarPrice);
+            nearPrice             = price4(rawNearPrice);
+            currentReferencePrice = price4(rawCurrentReferencePrice);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            stockLocate              = getUnsignedShort(buffer);
+            trackingNumber           = getUnsignedShort(buffer);
+            timestampHigh            = getUnsignedShort(buffer);
+            timestampLow             = getUnsignedInt(buffer);
+            pairedShares             = buffer.getLong();
+            imbalanceShares          = buffer.getLong();
+            imbalanceDirection       = (char) buffer.get();
+            packedStock              = buffer.getLong();
+            rawFarPrice              = getUnsignedInt(buffer);
+            rawNearPrice             = getUnsignedInt(buffer);
+            rawCurrentReferencePrice = getUnsignedInt(buffer);
+            crossType                = (char) buffer.get();
+            priceVariationIndicator  = (char) buffer.get();
         }
 
         @Override
@@ -1117,10 +1378,10 @@ public class ITCH50 {
             buffer.putLong(pairedShares);
             buffer.putLong(imbalanceShares);
             buffer.put((byte) imbalanceDirection);
-            buffer.put(stock.getBytes(StandardCharsets.UTF_8));
-            put(buffer, farPrice);
-            put(buffer, nearPrice);
-            put(buffer, currentReferencePrice);
+            buffer.putLong(packedStock);
+            putUnsignedInt(buffer, rawFarPrice);
+            putUnsignedInt(buffer, rawNearPrice);
+            putUnsignedInt(buffer, rawCurrentReferencePrice);
             buffer.put((byte) crossType);
             buffer.put((byte) priceVariationIndicator);
         }
@@ -1136,14 +1397,27 @@ public class ITCH50 {
         public long timestampLow;
         public String stock;
         public char interestFlag;
+        public long packedStock;
 
         @Override
         public void get(ByteBuffer buffer) {
+            get(buffer, null);
+        }
+
+        @Override
+        public void get(ByteBuffer buffer, StockLocateDirectory directory) {
+            getPacked(buffer);
+
+            stock = stock(directory, stockLocate, packedStock);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
             stockLocate    = getUnsignedShort(buffer);
             trackingNumber = getUnsignedShort(buffer);
             timestampHigh  = getUnsignedShort(buffer);
             timestampLow   = getUnsignedInt(buffer);
-            stock          = readString(buffer, 8);
+            packedStock    = buffer.getLong();
             interestFlag   = (char) buffer.get();
         }
 
@@ -1154,9 +1428,70 @@ public class ITCH50 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(stock.getBytes(StandardCharsets.UTF_8));
+            buffer.putLong(packedStock);
             buffer.put((byte) interestFlag);
         }
     }
 
+    private static final int[] MESSAGE_LENGTHS = new int[256];
+
+    static {
+        MESSAGE_LENGTHS[MESSAGE_TYPE_SYSTEM_EVENT]                = 12;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_STOCK_DIRECTORY]             = 39;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_STOCK_TRADING_ACTION]        = 25;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_REG_SHO_RESTRICTION]         = 20;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_MARKET_PARTICIPANT_POSITION] = 26;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_MWCB_DECLINE_LEVEL]          = 35;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_MWCB_STATUS]                 = 12;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_IPO_QUOTING_PERIOD_UPDATE]   = 28;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_LULD_AUCTION_COLLAR]         = 35;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_OPERATIONAL_HALT]            = 21;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_ADD_ORDER]                   = 36;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_ADD_ORDER_MPID]              = 40;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_ORDER_EXECUTED]              = 31;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_ORDER_EXECUTED_WITH_PRICE]   = 36;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_ORDER_CANCEL]                = 23;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_ORDER_DELETE]                = 19;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_ORDER_REPLACE]               = 35;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_TRADE]                       = 44;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_CROSS_TRADE]                 = 40;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_BROKEN_TRADE]                = 19;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_NOII]                        = 50;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_RPII]                        = 20;
+    }
+
+    /**
+     * Get the length of a message, including the message type.
+     *
+     * @param messageType the message type
+     * @return the message length or zero if the message type is unknown
+     */
+    public static int messageLength(byte messageType) {
+        return MESSAGE_LENGTHS[messageType & 0xff];
+    }
+
+    private static String alpha(short value) {
+        return ASCII.unpackShort(value).trim();
+    }
+
+    private static String alpha(int value) {
+        return ASCII.unpackInt(value).trim();
+    }
+
+    private static String alpha(long value) {
+        return ASCII.unpackLong(value).trim();
+    }
+
+    private static String stock(StockLocateDirectory directory, int stockLocate, long packedStock) {
+        return directory != null ? directory.resolve(stockLocate, packedStock) : alpha(packedStock);
+    }
+
+    private static double price4(long value) {
+        return Prices.toDouble4(value);
+    }
+
+    private static double price8(long value) {
+        return Prices.toDouble8(value);
+    }
+
 }
@@ -0,0 +1,462 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.itch50;
+
+import static com.paritytrading.juncture.nasdaq.itch50.ITCH50.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * An order book reconstruction engine.
+ *
+ * <p>The engine maintains a price level book for each stock locate based
+ * on the Add Order, Add Order with MPID, Order Executed, Order Executed
+ * With Price, Order Cancel, Order Delete and Order Replace messages. The
+ * other messages are ignored.</p>
+ *
+ * <p>Prices are raw prices with four implied decimal places. The engine
+ * reads the raw prices of the messages, so it works with both the default
+ * and the packed decoding of {@link ITCH50Parser}.</p>
+ *
+ * <p>Orders are kept in a primitive open addressing hash map keyed by the
+ * order reference number, and order objects are pooled. Once the engine
+ * has reached the peak number of open orders and price levels, it does not
+ * allocate memory.</p>
+ */
+public class ITCH50Book implements ITCH50Listener {
+
+    private static final int MAX_STOCK_LOCATES = 65536;
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 64 * 1024;
+
+    private final ITCH50BookListener listener;
+
+    private final Book[] books;
+
+    private final LongHashMap<Order> orders;
+
+    private Order free;
+
+    /**
+     * Create an order book reconstruction engine.
+     *
+     * @param listener the order book event listener
+     */
+    public ITCH50Book(ITCH50BookListener listener) {
+        this(listener, DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Create an order book reconstruction engine.
+     *
+     * @param listener the order book event listener
+     * @param initialCapacity the initial capacity for open orders
+     */
+    public ITCH50Book(ITCH50BookListener listener, int initialCapacity) {
+        this.listener = listener;
+
+        this.books = new Book[MAX_STOCK_LOCATES];
+
+        this.orders = new LongHashMap<>(initialCapacity);
+    }
+
+    /**
+     * Get the number of open orders.
+     *
+     * @return the number of open orders
+     */
+    public int getOrderCount() {
+        return orders.size();
+    }
+
+    /**
+     * Get the number of price levels on a side.
+     *
+     * @param stockLocate the stock locate
+     * @param side the side, either {@link ITCH50#BUY} or {@link ITCH50#SELL}
+     * @return the number of price levels
+     */
+    public int getDepth(int stockLocate, byte side) {
+        Book book = books[stockLocate];
+
+        return book != null ? book.side(side).levels : 0;
+    }
+
+    /**
+     * Get the price of a price level. The best price level is at index zero.
+     *
+     * @param stockLocate the stock locate
+     * @param side the side, either {@link ITCH50#BUY} or {@link ITCH50#SELL}
+     * @param level the index of the price level
+     * @return the price or zero if the price level does not exist
+     */
+    public long getPrice(int stockLocate, byte side, int level) {
+        Book book = books[stockLocate];
+
+        return book != null ? book.side(side).price(level) : 0;
+    }
+
+    /**
+     * Get the aggregate size of a price level. The best price level is at
+     * index zero.
+     *
+     * @param stockLocate the stock locate
+     * @param side the side, either {@link ITCH50#BUY} or {@link ITCH50#SELL}
+     * @param level the index of the price level
+     * @return the aggregate size or zero if the price level does not exist
+     */
+    public long getSize(int stockLocate, byte side, int level) {
+        Book book = books[stockLocate];
+
+        return book != null ? book.side(side).size(level) : 0;
+    }
+
+    @Override
+    public void systemEvent(SystemEvent message) {
+    }
+
+    @Override
+    public void stockDirectory(StockDirectory message) {
+    }
+
+    @Override
+    public void stockTradingAction(StockTradingAction message) {
+    }
+
+    @Override
+    public void regSHORestriction(RegSHORestriction message) {
+    }
+
+    @Override
+    public void marketParticipantPosition(MarketParticipantPosition message) {
+    }
+
+    @Override
+    public void mwcbDeclineLevel(MWCBDeclineLevel message) {
+    }
+
+    @Override
+    public void mwcbStatus(MWCBStatus message) {
+    }
+
+    @Override
+    public void ipoQuotingPeriodUpdate(IPOQuotingPeriodUpdate message) {
+    }
+
+    @Override
+    public void luldAuctionCollar(LULDAuctionCollar message) {
+    }
+
+    @Override
+    public void operationalHalt(OperationalHalt message) {
+    }
+
+    @Override
+    public void addOrder(AddOrder message) throws IOException {
+        add(message.stockLocate, message.orderReferenceNumber,
+                (byte)message.buySellIndicator, message.rawPrice, message.shares);
+    }
+
+    @Override
+    public void addOrderMPID(AddOrderMPID message) throws IOException {
+        add(message.stockLocate, message.orderReferenceNumber,
+                (byte)message.buySellIndicator, message.rawPrice, message.shares);
+    }
+
+    @Override
+    public void orderExecuted(OrderExecuted message) throws IOException {
+        reduce(message.orderReferenceNumber, message.executedShares);
+    }
+
+    @Override
+    public void orderExecutedWithPrice(OrderExecutedWithPrice message) throws IOException {
+        reduce(message.orderReferenceNumber, message.executedShares);
+    }
+
+    @Override
+    public void orderCancel(OrderCancel message) throws IOException {
+        reduce(message.orderReferenceNumber, message.canceledShares);
+    }
+
+    @Override
+    public void orderDelete(OrderDelete message) throws IOException {
+        Order order = orders.remove(message.orderReferenceNumber);
+        if (order == null)
+            return;
+
+        Book book = order.book;
+
+        level(book, order.side, order.price, book.side(order.side).reduce(order.price, order.shares));
+        bbo(book);
+
+        release(order);
+    }
+
+    @Override
+    public void orderReplace(OrderReplace message) throws IOException {
+        Order order = orders.remove(message.originalOrderReferenceNumber);
+        if (order == null)
+            return;
+
+        Book book = order.book;
+        Side side = book.side(order.side);
+
+        level(book, order.side, order.price, side.reduce(order.price, order.shares));
+
+        order.price  = message.rawPrice;
+        order.shares = message.shares;
+
+        orders.put(message.newOrderReferenceNumber, order);
+
+        level(book, order.side, order.price, side.add(order.price, order.shares));
+        bbo(book);
+    }
+
+    @Override
+    public void trade(Trade message) {
+    }
+
+    @Override
+    public void crossTrade(CrossTrade message) {
+    }
+
+    @Override
+    public void brokenTrade(BrokenTrade message) {
+    }
+
+    @Override
+    public void noii(NOII message) {
+    }
+
+    @Override
+    public void rpii(RPII message) {
+    }
+
+    private void add(int stockLocate, long orderReferenceNumber, byte side,
+            long price, long shares) throws IOException {
+        Book book = books[stockLocate];
+        if (book == null)
+            book = books[stockLocate] = new Book(stockLocate);
+
+        Order order = acquire();
+
+        order.book   = book;
+        order.side   = side;
+        order.price  = price;
+        order.shares = shares;
+
+        orders.put(orderReferenceNumber, order);
+
+        level(book, side, price, book.side(side).add(price, shares));
+        bbo(book);
+    }
+
+    private void reduce(long orderReferenceNumber, long shares) throws IOException {
+        Order order = orders.get(orderReferenceNumber);
+        if (order == null)
+            return;
+
+        Book book = order.book;
+
+        long quantity = Math.min(shares, order.shares);
+
+        order.shares -= quantity;
+
+        level(book, order.side, order.price, book.side(order.side).reduce(order.price, quantity));
+        bbo(book);
+
+        if (order.shares == 0) {
+            orders.remove(orderReferenceNumber);
+
+            release(order);
+        }
+    }
+
+    private void level(Book book, byte side, long price, long size) throws IOException {
+        listener.level(book.stockLocate, side, price, size);
+    }
+
+    private void bbo(Book book) throws IOException {
+        long bidPrice = book.bids.price(0);
+        long bidSize  = book.bids.size(0);
+        long askPrice = book.asks.price(0);
+        long askSize  = book.asks.size(0);
+
+        if (bidPrice == book.bidPrice && bidSize == book.bidSize &&
+                askPrice == book.askPrice && askSize == book.askSize)
+            return;
+
+        book.bidPrice = bidPrice;
+        book.bidSize  = bidSize;
+        book.askPrice = askPrice;
+        book.askSize  = askSize;
+
+        listener.bbo(book.stockLocate, bidPrice, bidSize, askPrice, askSize);
+    }
+
+    private Order acquire() {
+        Order order = free;
+        if (order == null)
+            return new Order();
+
+        free = order.next;
+
+        order.next = null;
+
+        return order;
+    }
+
+    private void release(Order order) {
+        order.book = null;
+        order.next = free;
+
+        free = order;
+    }
+
+    private static class Order {
+        Book  book;
+        byte  side;
+        long  price;
+        long  shares;
+        Order next;
+    }
+
+    private static class Book {
+        final int  stockLocate;
+        final Side bids;
+        final Side asks;
+
+        long bidPrice;
+        long bidSize;
+        long askPrice;
+        long askSize;
+
+        Book(int stockLocate) {
+            this.stockLocate = stockLocate;
+
+            this.bids = new Side(false);
+            this.asks = new Side(true);
+        }
+
+        Side side(byte side) {
+            return side == BUY ? bids : asks;
+        }
+    }
+
+    /*
+     * The price levels of a side are kept sorted so that the best price
+     * level is the last one. Most activity happens close to the best price,
+     * so price levels are first searched linearly from the best one, and
+     * inserting and removing price levels mostly moves few elements. Ask
+     * prices are stored negated so that both sides sort the same way.
+     *
+     * The Cboe FX library keeps a copy of this class as
+     * CboeFXOrderBook.Side, as the libraries share no module. Keep the two
+     * in sync, along with ITCH50BookSideTest and CboeFXOrderBookSideTest.
+     */
+    static class Side {
+
+        private static final int INITIAL_CAPACITY = 64;
+
+        private static final int LINEAR_SEARCH_LEVELS = 8;
+
+        private final boolean negate;
+
+        private long[] keys;
+        private long[] sizes;
+
+        int levels;
+
+        Side(boolean negate) {
+            this.negate = negate;
+
+            this.keys  = new long[INITIAL_CAPACITY];
+            this.sizes = new long[INITIAL_CAPACITY];
+        }
+
+        long price(int level) {
+            int i = levels - 1 - level;
+
+            return i >= 0 && level >= 0 ? key(keys[i]) : 0;
+        }
+
+        long size(int level) {
+            int i = levels - 1 - level;
+
+            return i >= 0 && level >= 0 ? sizes[i] : 0;
+        }
+
+        long add(long price, long quantity) {
+            long key = key(price);
+
+            int i = find(key);
+            if (i >= 0)
+                return sizes[i] += quantity;
+
+            i = -(i + 1);
+
+            if (levels == keys.length) {
+                keys  = Arrays.copyOf(keys, 2 * levels);
+                sizes = Arrays.copyOf(sizes, 2 * levels);
+            }
+
+            System.arraycopy(keys, i, keys, i + 1, levels - i);
+            System.arraycopy(sizes, i, sizes, i + 1, levels - i);
+
+            keys[i]  = key;
+            sizes[i] = quantity;
+
+            levels++;
+
+            return quantity;
+        }
+
+        long reduce(long price, long quantity) {
+            int i = find(key(price));
+            if (i < 0)
+                return 0;
+
+            long size = sizes[i] -= quantity;
+            if (size > 0)
+                return size;
+
+            levels--;
+
+            System.arraycopy(keys, i + 1, keys, i, levels - i);
+            System.arraycopy(sizes, i + 1, sizes, i, levels - i);
+
+            return 0;
+        }
+
+        private int find(long key) {
+            int bottom = Math.max(levels - LINEAR_SEARCH_LEVELS, 0);
+
+            for (int i = levels - 1; i >= bottom; i--) {
+                if (keys[i] <= key)
+                    return keys[i] == key ? i : -(i + 2);
+            }
+
+            return Arrays.binarySearch(keys, 0, bottom, key);
+        }
+
+        private long key(long value) {
+            return negate ? -value : value;
+        }
+
+    }
+
+}
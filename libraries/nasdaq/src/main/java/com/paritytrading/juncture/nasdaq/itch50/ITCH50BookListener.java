@@ -0,0 +1,52 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.itch50;
+
+import java.io.IOException;
+
+/**
+ * The interface for order book events.
+ *
+ * <p>Prices are raw prices with four implied decimal places.</p>
+ */
+public interface ITCH50BookListener {
+
+    /**
+     * Receive an indication of a change in the aggregate size of a price
+     * level.
+     *
+     * @param stockLocate the stock locate
+     * @param side the side, either {@link ITCH50#BUY} or {@link ITCH50#SELL}
+     * @param price the price
+     * @param size the aggregate size or zero if the price level was removed
+     * @throws IOException if an I/O error occurs
+     */
+    void level(int stockLocate, byte side, long price, long size) throws IOException;
+
+    /**
+     * Receive an indication of a change in the best bid and offer. An empty
+     * side is indicated by zero price and size.
+     *
+     * @param stockLocate the stock locate
+     * @param bidPrice the best bid price
+     * @param bidSize the best bid size
+     * @param askPrice the best ask price
+     * @param askSize the best ask size
+     * @throws IOException if an I/O error occurs
+     */
+    void bbo(int stockLocate, long bidPrice, long bidSize, long askPrice, long askSize) throws IOException;
+
+}
@@ -17,6 +17,8 @@ package com.paritytrading.juncture.nasdaq.itch50;
 
 import static com.paritytrading.juncture.nasdaq.itch50.ITCH50.*;
 
+import com.paritytrading.juncture.nasdaq.MessageFilter;
+import com.paritytrading.juncture.nasdaq.UnknownMessageTypePolicy;
 import com.paritytrading.nassau.MessageListener;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -51,12 +53,71 @@ public class ITCH50Parser implements MessageListener {
 
     private ITCH50Listener listener;
 
+    private UnknownMessageTypePolicy unknownMessageTypePolicy;
+
+    private final long[] unknownMessageCounts;
+
+    private MessageFilter filter;
+
+    private boolean packed;
+
+    private StockLocateDirectory directory;
+
     /**
      * Create a parser for inbound messages.
      *
      * @param listener the message listener
      */
     public ITCH50Parser(ITCH50Listener listener) {
+        this(listener, false);
+    }
+
+    /**
+     * Create a parser for inbound messages.
+     *
+     * <p>If packed decoding is enabled, messages are read using {@link
+     * Message#getPacked} instead of {@link Message#get}. The parser then
+     * does not allocate memory, but only the packed alphanumeric fields
+     * and raw prices of the messages are populated.</p>
+     *
+     * @param listener the message listener
+     * @param packed if true, use packed decoding, otherwise not
+     */
+    public ITCH50Parser(ITCH50Listener listener, boolean packed) {
+        this(listener, packed, null);
+    }
+
+    /**
+     * Create a parser for inbound messages.
+     *
+     * <p>The parser captures Stock Directory messages into the stock
+     * locate directory before passing them to the message listener. The
+     * {@code stock} field of other messages is resolved through the
+     * directory instead of being decoded from each message.</p>
+     *
+     * @param listener the message listener
+     * @param directory the stock locate directory
+     */
+    public ITCH50Parser(ITCH50Listener listener, StockLocateDirectory directory) {
+        this(listener, false, directory);
+    }
+
+    /**
+     * Create a parser for inbound messages.
+     *
+     * <p>The parser captures Stock Directory messages into the stock
+     * locate directory before passing them to the message listener. With
+     * the default decoding, the {@code stock} field of other messages is
+     * resolved through the directory. With packed decoding, only the packed
+     * stock field is populated, and the listener can look up the symbol of
+     * a stock locate with {@link StockLocateDirectory#getSymbol}.</p>
+     *
+     * @param listener the message listener
+     * @param packed if true, use packed decoding, otherwise not
+     * @param directory the stock locate directory or {@code null} to not
+     *   capture Stock Directory messages
+     */
+    public ITCH50Parser(ITCH50Listener listener, boolean packed, StockLocateDirectory directory) {
         this.systemEvent               = new SystemEvent();
         this.stockDirectory            = new StockDirectory();
         this.stockTradingAction        = new StockTradingAction();
@@ -81,104 +142,194 @@ public class ITCH50Parser implements MessageListener {
         this.rpii                      = new RPII();
 
         this.listener = listener;
+
+        this.unknownMessageTypePolicy = UnknownMessageTypePolicy.FAIL;
+        this.unknownMessageCounts     = new long[256];
+
+        this.packed = packed;
+
+        this.directory = directory;
+    }
+
+    /**
+     * Set the policy for messages of an unknown message type. The default
+     * is {@link UnknownMessageTypePolicy#FAIL}.
+     *
+     * @param policy the policy
+     */
+    public void setUnknownMessageTypePolicy(UnknownMessageTypePolicy policy) {
+        this.unknownMessageTypePolicy = policy;
+    }
+
+    /**
+     * Get the number of skipped messages of an unknown message type. Only
+     * messages skipped under {@link UnknownMessageTypePolicy#COUNT} are
+     * counted.
+     *
+     * @param messageType the message type
+     * @return the number of skipped messages
+     */
+    public long getUnknownMessageCount(byte messageType) {
+        return unknownMessageCounts[messageType & 0xff];
+    }
+
+    /**
+     * Set the message filter. The parser checks the message type and the
+     * stock locate of each message against the filter before decoding the
+     * message and skips the message by its known length if the filter
+     * rejects it. Messages of an unknown message type are not filtered.
+     *
+     * <p>Stock Directory messages rejected by the filter are not captured
+     * into the stock locate directory.</p>
+     *
+     * @param filter the message filter or {@code null} to accept all
+     *   messages
+     */
+    public void setFilter(MessageFilter filter) {
+        this.filter = filter;
     }
 
     @Override
     public void message(ByteBuffer buffer) throws IOException {
         byte messageType = buffer.get();
 
+        if (filter != null && skip(messageType, buffer))
+            return;
+
         switch (messageType) {
         case MESSAGE_TYPE_SYSTEM_EVENT:
-            systemEvent.get(buffer);
+            get(systemEvent, buffer);
             listener.systemEvent(systemEvent);
             break;
         case MESSAGE_TYPE_STOCK_DIRECTORY:
-            stockDirectory.get(buffer);
+            get(stockDirectory, buffer);
+            if (directory != null)
+                directory.add(stockDirectory);
             listener.stockDirectory(stockDirectory);
             break;
         case MESSAGE_TYPE_STOCK_TRADING_ACTION:
-            stockTradingAction.get(buffer);
+            get(stockTradingAction, buffer);
             listener.stockTradingAction(stockTradingAction);
             break;
         case MESSAGE_TYPE_REG_SHO_RESTRICTION:
-            regSHORestriction.get(buffer);
+            get(regSHORestriction, buffer);
             listener.regSHORestriction(regSHORestriction);
             break;
         case MESSAGE_TYPE_MARKET_PARTICIPANT_POSITION:
-            marketParticipantPosition.get(buffer);
+            get(marketParticipantPosition, buffer);
             listener.marketParticipantPosition(marketParticipantPosition);
             break;
         case MESSAGE_TYPE_MWCB_DECLINE_LEVEL:
-            mwcbDeclineLevel.get(buffer);
+            get(mwcbDeclineLevel, buffer);
             listener.mwcbDeclineLevel(mwcbDeclineLevel);
             break;
         case MESSAGE_TYPE_MWCB_STATUS:
-            mwcbStatus.get(buffer);
+            get(mwcbStatus, buffer);
             listener.mwcbStatus(mwcbStatus);
             break;
         case MESSAGE_TYPE_IPO_QUOTING_PERIOD_UPDATE:
-            ipoQuotingPeriodUpdate.get(buffer);
+            get(ipoQuotingPeriodUpdate, buffer);
             listener.ipoQuotingPeriodUpdate(ipoQuotingPeriodUpdate);
             break;
         case MESSAGE_TYPE_LULD_AUCTION_COLLAR:
-            luldAuctionCollar.get(buffer);
+            get(luldAuctionCollar, buffer);
             listener.luldAuctionCollar(luldAuctionCollar);
             break;
         case MESSAGE_TYPE_OPERATIONAL_HALT:
-            operationalHalt.get(buffer);
+            get(operationalHalt, buffer);
             listener.operationalHalt(operationalHalt);
             break;
         case MESSAGE_TYPE_ADD_ORDER:
-            addOrder.get(buffer);
+            get(addOrder, buffer);
             listener.addOrder(addOrder);
             break;
         case MESSAGE_TYPE_ADD_ORDER_MPID:
-            addOrderMPID.get(buffer);
+            get(addOrderMPID, buffer);
             listener.addOrderMPID(addOrderMPID);
             break;
         case MESSAGE_TYPE_ORDER_EXECUTED:
-            orderExecuted.get(buffer);
+            get(orderExecuted, buffer);
             listener.orderExecuted(orderExecuted);
             break;
         case MESSAGE_TYPE_ORDER_EXECUTED_WITH_PRICE:
-            orderExecutedWithPrice.get(buffer);
+            get(orderExecutedWithPrice, buffer);
             listener.orderExecutedWithPrice(orderExecutedWithPrice);
             break;
         case MESSAGE_TYPE_ORDER_CANCEL:
-            orderCancel.get(buffer);
+            get(orderCancel, buffer);
             listener.orderCancel(orderCancel);
             break;
         case MESSAGE_TYPE_ORDER_DELETE:
-            orderDelete.get(buffer);
+            get(orderDelete, buffer);
             listener.orderDelete(orderDelete);
             break;
         case MESSAGE_TYPE_ORDER_REPLACE:
-            orderReplace.get(buffer);
+            get(orderReplace, buffer);
             listener.orderReplace(orderReplace);
             break;
         case MESSAGE_TYPE_TRADE:
-            trade.get(buffer);
+            get(trade, buffer);
             listener.trade(trade);
             break;
         case MESSAGE_TYPE_CROSS_TRADE:
-            crossTrade.get(buffer);
+            get(crossTrade, buffer);
             listener.crossTrade(crossTrade);
             break;
         case MESSAGE_TYPE_BROKEN_TRADE:
-            brokenTrade.get(buffer);
+            get(brokenTrade, buffer);
             listener.brokenTrade(brokenTrade);
             break;
         case MESSAGE_TYPE_NOII:
-            noii.get(buffer);
+            get(noii, buffer);
             listener.noii(noii);
             break;
         case MESSAGE_TYPE_RPII:
-            rpii.get(buffer);
+            get(rpii, buffer);
             listener.rpii(rpii);
             break;
         default:
+            unknown(messageType, buffer);
+            break;
+        }
+    }
+
+    private void get(Message message, ByteBuffer buffer) {
+        if (packed)
+            message.getPacked(buffer);
+        else
+            message.get(buffer, directory);
+    }
+
+    private boolean skip(byte messageType, ByteBuffer buffer) {
+        int length = messageLength(messageType);
+        if (length == 0)
+            return false;
+
+        if (filter.acceptsMessageType(messageType)) {
+            if (!filter.hasStockLocates())
+                return false;
+
+            if (filter.acceptsStockLocate(buffer.getShort(buffer.position()) & 0xffff))
+                return false;
+        }
+
+        buffer.position(Math.min(buffer.position() + length - 1, buffer.limit()));
+
+        return true;
+    }
+
+    private void unknown(byte messageType, ByteBuffer buffer) throws ITCH50Exception {
+        switch (unknownMessageTypePolicy) {
+        case FAIL:
             throw new ITCH50Exception("Unknown message type: " + (char)messageType);
+        case COUNT:
+            unknownMessageCounts[messageType & 0xff]++;
+            break;
+        case SKIP:
+            break;
         }
+
+        buffer.position(buffer.limit());
     }
 
 }
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.itch50;
+
+import com.paritytrading.juncture.nasdaq.BinaryFILEIndex;
+import com.paritytrading.juncture.nasdaq.MappedBinaryFILEReader;
+import com.paritytrading.nassau.MessageListener;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * A parallel replay of a TotalView-ITCH 5.0 BinaryFILE file.
+ *
+ * <p>The replay decodes the file in parallel. Each task delivers messages
+ * to its own listener, obtained from a listener factory, and the listeners
+ * are merged pairwise in order on a fork-join pool once the tasks are
+ * done. This suits computations that can be merged, such as per-symbol
+ * aggregates:</p>
+ *
+ * <pre>
+ *   BinaryFILEIndex index = BinaryFILEIndex.build(channel, 1 &lt;&lt; 20);
+ *
+ *   Volumes volumes = new ITCH50Replay(channel, index, ForkJoinPool.commonPool())
+ *       .replay(Volumes::new, Volumes::merge);
+ * </pre>
+ *
+ * <p>{@link #replay} splits the file into ranges at the message boundaries
+ * recorded in the index and delivers each range to its own listener. Each
+ * listener sees the messages of its range in order, but the messages of
+ * one stock locate may be spread over several listeners.</p>
+ *
+ * <p>{@link #replayByStockLocate} partitions the messages by stock locate
+ * instead, in the same way as {@link ITCH50Shards}. Each listener sees
+ * every message of the stock locates it owns, in order, and every message
+ * with stock locate zero, such as System Event messages. The calling
+ * thread reads the file once and routes each message to the worker thread
+ * of its partition, which decodes it.</p>
+ *
+ * <p>Messages too short to carry a stock locate, such as the end-of-session
+ * marker of the file, are skipped.</p>
+ */
+public class ITCH50Replay {
+
+    private static final int RANGES_PER_THREAD = 4;
+
+    /*
+     * The length of the message type and stock locate fields.
+     */
+    private static final int MIN_MESSAGE_LENGTH = 3;
+
+    private final FileChannel channel;
+
+    private final BinaryFILEIndex index;
+
+    private final ForkJoinPool pool;
+
+    private final boolean packed;
+
+    /**
+     * Create a parallel replay. The listeners receive messages decoded
+     * with the default decoding of {@link ITCH50Parser}.
+     *
+     * @param channel a file channel
+     * @param index an index of the file
+     * @param pool a fork-join pool
+     * @throws IOException if an I/O error occurs
+     */
+    public ITCH50Replay(FileChannel channel, BinaryFILEIndex index, ForkJoinPool pool) throws IOException {
+        this(channel, index, pool, false);
+    }
+
+    /**
+     * Create a parallel replay.
+     *
+     * @param channel a file channel
+     * @param index an index of the file
+     * @param pool a fork-join pool
+     * @param packed if true, the listeners receive messages decoded with
+     *   the packed decoding of {@link ITCH50Parser}
+     * @throws IOException if an I/O error occurs
+     */
+    public ITCH50Replay(FileChannel channel, BinaryFILEIndex index, ForkJoinPool pool,
+            boolean packed) throws IOException {
+        if (index.getFileSize() != channel.size())
+            throw new IllegalArgumentException("Index does not match file");
+
+        this.channel = channel;
+        this.index   = index;
+        this.pool    = pool;
+        this.packed  = packed;
+    }
+
+    /**
+     * Replay the file in ranges.
+     *
+     * @param <L> the type of the listeners
+     * @param listeners a factory for the listener of each range
+     * @param merger a function that merges the listener of a range with
+     *   the listener of the range that follows it
+     * @return the merged listener
+     * @throws IOException if an I/O error occurs
+     */
+    public <L extends ITCH50Listener> L replay(Supplier<L> listeners,
+            BinaryOperator<L> merger) throws IOException {
+        int entries = index.getEntryCount();
+        int ranges  = Math.max(Math.min(entries, RANGES_PER_THREAD * pool.getParallelism()), 1);
+
+        long[] bounds = new long[ranges + 1];
+
+        for (int i = 0; i < ranges; i++)
+            bounds[i] = entries > 0 ? index.getPosition((int)((long)i * entries / ranges)) : 0;
+
+        bounds[ranges] = index.getEnd();
+
+        return invoke(new Task<>(0, ranges, merger, i -> {
+            L listener = listeners.get();
+
+            read(bounds[i], bounds[i + 1], new ITCH50Parser(listener, packed));
+
+            return listener;
+        }));
+    }
+
+    /**
+     * Replay the file partitioned by stock locate. The number of
+     * partitions is the parallelism of the fork-join pool.
+     *
+     * <p>Each partition decodes its messages on its own thread, started for
+     * the duration of the replay, and the listeners are merged on the
+     * fork-join pool.</p>
+     *
+     * @param <L> the type of the listeners
+     * @param listeners a factory for the listener of each partition
+     * @param merger a function that merges the listeners of two
+     *   partitions
+     * @return the merged listener
+     * @throws IOException if an I/O error occurs
+     */
+    public <L extends ITCH50Listener> L replayByStockLocate(Supplier<L> listeners,
+            BinaryOperator<L> merger) throws IOException {
+        int partitions = pool.getParallelism();
+
+        List<L> results = new ArrayList<>(partitions);
+
+        try (ITCH50Shards shards = new ITCH50Shards(partitions, i -> {
+            L listener = listeners.get();
+
+            results.add(listener);
+
+            return new ITCH50Parser(listener, packed);
+        })) {
+            try {
+                read(0, index.getEnd(), shards);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+
+        return invoke(new Task<>(0, partitions, merger, results::get));
+    }
+
+    private void read(long start, long end, MessageListener listener) {
+        try {
+            MappedBinaryFILEReader reader = new MappedBinaryFILEReader(channel, start, end, buffer -> {
+                if (buffer.remaining() >= MIN_MESSAGE_LENGTH)
+                    listener.message(buffer);
+            });
+
+            while (reader.read() >= 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <L> L invoke(Task<L> task) throws IOException {
+        try {
+            return pool.invoke(task);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private interface Leaf<L> {
+
+        L compute(int i);
+
+    }
+
+    private static class Task<L> extends RecursiveTask<L> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int lo;
+        private final int hi;
+
+        private final BinaryOperator<L> merger;
+
+        private final Leaf<L> leaf;
+
+        Task(int lo, int hi, BinaryOperator<L> merger, Leaf<L> leaf) {
+            this.lo     = lo;
+            this.hi     = hi;
+            this.merger = merger;
+            this.leaf   = leaf;
+        }
+
+        @Override
+        protected L compute() {
+            if (hi - lo == 1)
+                return leaf.compute(lo);
+
+            int mid = (lo + hi) >>> 1;
+
+            Task<L> left  = new Task<>(lo, mid, merger, leaf);
+            Task<L> right = new Task<>(mid, hi, merger, leaf);
+
+            left.fork();
+
+            L rightResult = right.compute();
+
+            return merger.apply(left.join(), rightResult);
+        }
+
+    }
+
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.itch50;
+
+import com.paritytrading.nassau.MessageListener;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * A pipeline stage that partitions inbound messages by stock locate and
+ * processes each partition on its own thread.
+ *
+ * <p>Every message is copied into the single-producer, single-consumer
+ * ring buffer of the shard that owns its stock locate. Each shard has a
+ * worker thread that delivers the messages in its ring buffer to the
+ * message listener of the shard. Messages for one stock locate are always
+ * delivered to the same shard in the order they were received. Messages
+ * with stock locate zero, such as System Event messages, and messages too
+ * short to carry a stock locate, such as the end-of-session marker of a
+ * BinaryFILE, are delivered to every shard.</p>
+ *
+ * <p>For example, to maintain order books on four threads:</p>
+ *
+ * <pre>
+ *   new ITCH50Shards(4, shard -&gt;
+ *       new ITCH50Parser(new ITCH50Book(listeners[shard]), true));
+ * </pre>
+ *
+ * <p>The {@link #message(ByteBuffer)}, {@link #flush()} and {@link
+ * #close()} methods must be invoked from a single thread. If a ring buffer
+ * is full, {@link #message(ByteBuffer)} waits for the worker thread to make
+ * room.</p>
+ *
+ * <p>An idle worker thread first spins, then yields and finally parks with
+ * an exponentially increasing duration, so that idle shards do not occupy
+ * a processor core each.</p>
+ */
+public class ITCH50Shards implements MessageListener, Closeable {
+
+    private static final int DEFAULT_RING_CAPACITY = 64 * 1024;
+
+    private static final int MAX_SPINS  = 100;
+    private static final int MAX_YIELDS = 100;
+
+    private static final long MIN_PARK_NANOS = 1_000L;
+    private static final long MAX_PARK_NANOS = 1_000_000L;
+
+    private final MessageRing[] rings;
+
+    private final Thread[] workers;
+
+    private volatile boolean closed;
+
+    private volatile Throwable failure;
+
+    /**
+     * Create a pipeline stage and start its worker threads.
+     *
+     * @param shards the number of shards
+     * @param listeners a factory for the message listener of each shard
+     */
+    public ITCH50Shards(int shards, IntFunction<MessageListener> listeners) {
+        this(shards, DEFAULT_RING_CAPACITY, listeners);
+    }
+
+    /**
+     * Create a pipeline stage and start its worker threads.
+     *
+     * @param shards the number of shards
+     * @param ringCapacity the number of messages each ring buffer can hold
+     * @param listeners a factory for the message listener of each shard
+     */
+    public ITCH50Shards(int shards, int ringCapacity, IntFunction<MessageListener> listeners) {
+        if (shards < 1)
+            throw new IllegalArgumentException("Number of shards must be positive");
+
+        this.rings   = new MessageRing[shards];
+        this.workers = new Thread[shards];
+
+        for (int i = 0; i < shards; i++) {
+            MessageRing     ring     = new MessageRing(ringCapacity);
+            MessageListener listener = listeners.apply(i);
+
+            this.rings[i]   = ring;
+            this.workers[i] = new Thread(() -> work(ring, listener), "itch50-shard-" + i);
+        }
+
+        for (Thread worker : workers)
+            worker.start();
+    }
+
+    /**
+     * Get the number of shards.
+     *
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return rings.length;
+    }
+
+    /**
+     * Get the shard that owns a stock locate.
+     *
+     * @param stockLocate a non-zero stock locate
+     * @return the shard
+     */
+    public int shard(int stockLocate) {
+        return stockLocate % rings.length;
+    }
+
+    @Override
+    public void message(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() > MessageRing.MAX_MESSAGE_LENGTH)
+            throw new ITCH50Exception("Message length exceeds slot size: " + buffer.remaining());
+
+        int stockLocate = buffer.remaining() >= 3 ? buffer.getShort(buffer.position() + 1) & 0xffff : 0;
+
+        if (stockLocate != 0) {
+            offer(rings[shard(stockLocate)], buffer);
+        } else {
+            int position = buffer.position();
+
+            for (MessageRing ring : rings) {
+                buffer.position(position);
+
+                offer(ring, buffer);
+            }
+        }
+    }
+
+    /**
+     * Wait until the worker threads have processed every message received
+     * so far.
+     *
+     * @throws IOException if a worker thread has failed or the current
+     *   thread is interrupted
+     */
+    public void flush() throws IOException {
+        for (MessageRing ring : rings) {
+            while (!ring.isEmpty())
+                idle();
+        }
+
+        check();
+    }
+
+    /**
+     * Process the remaining messages and stop the worker threads.
+     *
+     * @throws IOException if a worker thread has failed or the current
+     *   thread is interrupted
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+
+        for (Thread worker : workers)
+            LockSupport.unpark(worker);
+
+        try {
+            for (Thread worker : workers)
+                worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException();
+        }
+
+        check();
+    }
+
+    private void offer(MessageRing ring, ByteBuffer buffer) throws IOException {
+        while (!ring.offer(buffer))
+            idle();
+    }
+
+    private void idle() throws IOException {
+        check();
+
+        if (Thread.interrupted())
+            throw new InterruptedIOException();
+
+        Thread.yield();
+    }
+
+    private void check() throws IOException {
+        Throwable cause = failure;
+        if (cause != null)
+            throw new ITCH50Exception("Shard failed: " + cause);
+    }
+
+    private void work(MessageRing ring, MessageListener listener) {
+        int  idles     = 0;
+        long parkNanos = MIN_PARK_NANOS;
+
+        try {
+            while (true) {
+                if (ring.poll(listener) > 0) {
+                    idles     = 0;
+                    parkNanos = MIN_PARK_NANOS;
+
+                    continue;
+                }
+
+                if (closed) {
+                    if (ring.poll(listener) == 0)
+                        break;
+                } else if (idles < MAX_SPINS) {
+                    idles++;
+                } else if (idles < MAX_SPINS + MAX_YIELDS) {
+                    idles++;
+
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(parkNanos);
+
+                    parkNanos = Math.min(2 * parkNanos, MAX_PARK_NANOS);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+        }
+    }
+
+}
@@ -0,0 +1,766 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.itch50;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Flyweight views over messages.
+ *
+ * <p>A view wraps a buffer at the offset of a message and reads each field
+ * directly from the buffer at a fixed offset when the corresponding
+ * accessor is invoked. Nothing is copied or allocated, so consumers only
+ * pay for the fields they read.</p>
+ *
+ * <p>Alphanumeric fields are returned packed and prices raw, with the same
+ * semantics as the packed counterparts in {@link ITCH50}. A view is only
+ * valid as long as the underlying buffer is not modified.</p>
+ */
+public class ITCH50View {
+
+    private ITCH50View() {
+    }
+
+    /**
+     * A message view.
+     */
+    public abstract static class Message {
+
+        private ByteBuffer buffer;
+
+        private int offset;
+
+        /**
+         * Wrap a message in the buffer.
+         *
+         * @param buffer a buffer
+         * @param offset the offset of the message type in the buffer
+         */
+        public void wrap(ByteBuffer buffer, int offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+        }
+
+        /**
+         * Get the underlying buffer.
+         *
+         * @return the underlying buffer
+         */
+        public ByteBuffer buffer() {
+            return buffer;
+        }
+
+        /**
+         * Get the offset of the message type in the underlying buffer.
+         *
+         * @return the offset of the message type in the underlying buffer
+         */
+        public int offset() {
+            return offset;
+        }
+
+        /**
+         * Get the message length, including the message type.
+         *
+         * @return the message length
+         */
+        public abstract int length();
+
+        public byte messageType() {
+            return buffer.get(offset);
+        }
+
+        public int stockLocate() {
+            return getUnsignedShort(1);
+        }
+
+        public int trackingNumber() {
+            return getUnsignedShort(3);
+        }
+
+        public int timestampHigh() {
+            return getUnsignedShort(5);
+        }
+
+        public long timestampLow() {
+            return getUnsignedInt(7);
+        }
+
+        /**
+         * Get the timestamp as nanoseconds since midnight.
+         *
+         * @return the timestamp
+         */
+        public long timestamp() {
+            return (long)timestampHigh() << 32 | timestampLow();
+        }
+
+        byte getByte(int index) {
+            return buffer.get(offset + index);
+        }
+
+        short getShort(int index) {
+            return buffer.getShort(offset + index);
+        }
+
+        int getInt(int index) {
+            return buffer.getInt(offset + index);
+        }
+
+        long getLong(int index) {
+            return buffer.getLong(offset + index);
+        }
+
+        int getUnsignedShort(int index) {
+            return buffer.getShort(offset + index) & 0xffff;
+        }
+
+        long getUnsignedInt(int index) {
+            return buffer.getInt(offset + index) & 0xffffffffL;
+        }
+
+    }
+
+    /**
+     * A System Event message view.
+     */
+    public static class SystemEvent extends Message {
+
+        @Override
+        public int length() {
+            return 12;
+        }
+
+        public byte eventCode() {
+            return getByte(11);
+        }
+
+    }
+
+    /**
+     * A Stock Directory (4.2.1) message view.
+     */
+    public static class StockDirectory extends Message {
+
+        @Override
+        public int length() {
+            return 39;
+        }
+
+        public long packedStock() {
+            return getLong(11);
+        }
+
+        public byte marketCategory() {
+            return getByte(19);
+        }
+
+        public byte financialStatusIndicator() {
+            return getByte(20);
+        }
+
+        public long roundLotSize() {
+            return getUnsignedInt(21);
+        }
+
+        public byte roundLotsOnly() {
+            return getByte(25);
+        }
+
+        public byte issueClassification() {
+            return getByte(26);
+        }
+
+        public short packedIssueSubType() {
+            return getShort(27);
+        }
+
+        public byte authenticity() {
+            return getByte(29);
+        }
+
+        public byte shortSaleThresholdIndicator() {
+            return getByte(30);
+        }
+
+        public byte ipoFlag() {
+            return getByte(31);
+        }
+
+        public byte luldReferencePriceTier() {
+            return getByte(32);
+        }
+
+        public byte etpFlag() {
+            return getByte(33);
+        }
+
+        public long etpLeverageFactor() {
+            return getUnsignedInt(34);
+        }
+
+        public byte inverseIndicator() {
+            return getByte(38);
+        }
+
+    }
+
+    /**
+     * A Stock Trading Action (4.2.2) message view.
+     */
+    public static class StockTradingAction extends Message {
+
+        @Override
+        public int length() {
+            return 25;
+        }
+
+        public long packedStock() {
+            return getLong(11);
+        }
+
+        public byte tradingState() {
+            return getByte(19);
+        }
+
+        public byte reserved() {
+            return getByte(20);
+        }
+
+        public int packedReason() {
+            return getInt(21);
+        }
+
+    }
+
+    /**
+     * A Reg SHO Restriction (4.2.3) message view. The Locate Code field is
+     * available as {@link #stockLocate()}.
+     */
+    public static class RegSHORestriction extends Message {
+
+        @Override
+        public int length() {
+            return 20;
+        }
+
+        public long packedStock() {
+            return getLong(11);
+        }
+
+        public byte regSHOAction() {
+            return getByte(19);
+        }
+
+    }
+
+    /**
+     * A Market Participant Position (4.2.4) message view.
+     */
+    public static class MarketParticipantPosition extends Message {
+
+        @Override
+        public int length() {
+            return 26;
+        }
+
+        public int packedMpid() {
+            return getInt(11);
+        }
+
+        public long packedStock() {
+            return getLong(15);
+        }
+
+        public byte primaryMarketMaker() {
+            return getByte(23);
+        }
+
+        public byte marketMakerMode() {
+            return getByte(24);
+        }
+
+        public byte marketParticipantState() {
+            return getByte(25);
+        }
+
+    }
+
+    /**
+     * An MWCB Decline Level (4.2.5.1) message view.
+     */
+    public static class MWCBDeclineLevel extends Message {
+
+        @Override
+        public int length() {
+            return 35;
+        }
+
+        public long rawLevel1() {
+            return getLong(11);
+        }
+
+        public long rawLevel2() {
+            return getLong(19);
+        }
+
+        public long rawLevel3() {
+            return getLong(27);
+        }
+
+    }
+
+    /**
+     * An MWCB Status (4.2.5.2) message view.
+     */
+    public static class MWCBStatus extends Message {
+
+        @Override
+        public int length() {
+            return 12;
+        }
+
+        public byte breachedLevel() {
+            return getByte(11);
+        }
+
+    }
+
+    /**
+     * An IPO Quoting Period Update (4.2.6) message view.
+     */
+    public static class IPOQuotingPeriodUpdate extends Message {
+
+        @Override
+        public int length() {
+            return 28;
+        }
+
+        public long packedStock() {
+            return getLong(11);
+        }
+
+        public long ipoQuotationReleaseTime() {
+            return getUnsignedInt(19);
+        }
+
+        public byte ipoQuotationReleaseQualifier() {
+            return getByte(23);
+        }
+
+        public long rawIpoPrice() {
+            return getUnsignedInt(24);
+        }
+
+    }
+
+    /**
+     * A LULD Auction Collar (4.2.7) message view.
+     */
+    public static class LULDAuctionCollar extends Message {
+
+        @Override
+        public int length() {
+            return 35;
+        }
+
+        public long packedStock() {
+            return getLong(11);
+        }
+
+        public long rawAuctionCollarReferencePrice() {
+            return getUnsignedInt(19);
+        }
+
+        public long rawUpperAuctionCollarPrice() {
+            return getUnsignedInt(23);
+        }
+
+        public long rawLowerAuctionCollarPrice() {
+            return getUnsignedInt(27);
+        }
+
+        public long auctionCollarExtension() {
+            return getUnsignedInt(31);
+        }
+
+    }
+
+    /**
+     * An Operational Halt (4.2.8) message view.
+     */
+    public static class OperationalHalt extends Message {
+
+        @Override
+        public int length() {
+            return 21;
+        }
+
+        public long packedStock() {
+            return getLong(11);
+        }
+
+        public byte marketCode() {
+            return getByte(19);
+        }
+
+        public byte operationalHaltAction() {
+            return getByte(20);
+        }
+
+    }
+
+    /**
+     * An Add Order (4.3.1) message view.
+     */
+    public static class AddOrder extends Message {
+
+        @Override
+        public int length() {
+            return 36;
+        }
+
+        public long orderReferenceNumber() {
+            return getLong(11);
+        }
+
+        public byte buySellIndicator() {
+            return getByte(19);
+        }
+
+        public long shares() {
+            return getUnsignedInt(20);
+        }
+
+        public long packedStock() {
+            return getLong(24);
+        }
+
+        public long rawPrice() {
+            return getUnsignedInt(32);
+        }
+
+    }
+
+    /**
+     * An Add Order with MPID (4.3.2) message view.
+     */
+    public static class AddOrderMPID extends Message {
+
+        @Override
+        public int length() {
+            return 40;
+        }
+
+        public long orderReferenceNumber() {
+            return getLong(11);
+        }
+
+        public byte buySellIndicator() {
+            return getByte(19);
+        }
+
+        public long shares() {
+            return getUnsignedInt(20);
+        }
+
+        public long packedStock() {
+            return getLong(24);
+        }
+
+        public long rawPrice() {
+            return getUnsignedInt(32);
+        }
+
+        public int packedAttribution() {
+            return getInt(36);
+        }
+
+    }
+
+    /**
+     * An Order Executed (4.4.1) message view.
+     */
+    public static class OrderExecuted extends Message {
+
+        @Override
+        public int length() {
+            return 31;
+        }
+
+        public long orderReferenceNumber() {
+            return getLong(11);
+        }
+
+        public long executedShares() {
+            return getUnsignedInt(19);
+        }
+
+        public long matchNumber() {
+            return getLong(23);
+        }
+
+    }
+
+    /**
+     * An Order Executed With Price (4.4.2) message view.
+     */
+    public static class OrderExecutedWithPrice extends Message {
+
+        @Override
+        public int length() {
+            return 36;
+        }
+
+        public long orderReferenceNumber() {
+            return getLong(11);
+        }
+
+        public long executedShares() {
+            return getUnsignedInt(19);
+        }
+
+        public long matchNumber() {
+            return getLong(23);
+        }
+
+        public byte printable() {
+            return getByte(31);
+        }
+
+        public long rawExecutionPrice() {
+            return getUnsignedInt(32);
+        }
+
+    }
+
+    /**
+     * An Order Cancel (4.4.3) message view.
+     */
+    public static class OrderCancel extends Message {
+
+        @Override
+        public int length() {
+            return 23;
+        }
+
+        public long orderReferenceNumber() {
+            return getLong(11);
+        }
+
+        public long canceledShares() {
+            return getUnsignedInt(19);
+        }
+
+    }
+
+    /**
+     * An Order Delete (4.4.4) message view.
+     */
+    public static class OrderDelete extends Message {
+
+        @Override
+        public int length() {
+            return 19;
+        }
+
+        public long orderReferenceNumber() {
+            return getLong(11);
+        }
+
+    }
+
+    /**
+     * An Order Replace (4.4.5) message view.
+     */
+    public static class OrderReplace extends Message {
+
+        @Override
+        public int length() {
+            return 35;
+        }
+
+        public long originalOrderReferenceNumber() {
+            return getLong(11);
+        }
+
+        public long newOrderReferenceNumber() {
+            return getLong(19);
+        }
+
+        public long shares() {
+            return getUnsignedInt(27);
+        }
+
+        public long rawPrice() {
+            return getUnsignedInt(31);
+        }
+
+    }
+
+    /**
+     * A Trade (4.5.1) message view.
+     */
+    public static class Trade extends Message {
+
+        @Override
+        public int length() {
+            return 44;
+        }
+
+        public long orderReferenceNumber() {
+            return getLong(11);
+        }
+
+        public byte buySellIndicator() {
+            return getByte(19);
+        }
+
+        public long shares() {
+            return getUnsignedInt(20);
+        }
+
+        public long packedStock() {
+            return getLong(24);
+        }
+
+        public long rawPrice() {
+            return getUnsignedInt(32);
+        }
+
+        public long matchNumber() {
+            return getLong(36);
+        }
+
+    }
+
+    /**
+     * A Cross Trade (4.5.2) message view.
+     */
+    public static class CrossTrade extends Message {
+
+        @Override
+        public int length() {
+            return 40;
+        }
+
+        public long shares() {
+            return getLong(11);
+        }
+
+        public long packedStock() {
+            return getLong(19);
+        }
+
+        public long rawCrossPrice() {
+            return getUnsignedInt(27);
+        }
+
+        public long matchNumber() {
+            return getLong(31);
+        }
+
+        public byte crossType() {
+            return getByte(39);
+        }
+
+    }
+
+    /**
+     * A Broken Trade (4.5.3) message view.
+     */
+    public static class BrokenTrade extends Message {
+
+        @Override
+        public int length() {
+            return 19;
+        }
+
+        public long matchNumber() {
+            return getLong(11);
+        }
+
+    }
+
+    /**
+     * A NOII (4.6) message view.
+     */
+    public static class NOII extends Message {
+
+        @Override
+        public int length() {
+            return 50;
+        }
+
+        public long pairedShares() {
+            return getLong(11);
+        }
+
+        public long imbalanceShares() {
+            return getLong(19);
+        }
+
+        public byte imbalanceDirection() {
+            return getByte(27);
+        }
+
+        public long packedStock() {
+            return getLong(28);
+        }
+
+        public long rawFarPrice() {
+            return getUnsignedInt(36);
+        }
+
+        public long rawNearPrice() {
+            return getUnsignedInt(40);
+        }
+
+        public long rawCurrentReferencePrice() {
+            return getUnsignedInt(44);
+        }
+
+        public byte crossType() {
+            return getByte(48);
+        }
+
+        public byte priceVariationIndicator() {
+            return getByte(49);
+        }
+
+    }
+
+    /**
+     * An RPII (4.7) message view.
+     */
+    public static class RPII extends Message {
+
+        @Override
+        public int length() {
+            return 20;
+        }
+
+        public long packedStock() {
+            return getLong(11);
+        }
+
+        public byte interestFlag() {
+            return getByte(19);
+        }
+
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.itch50;
+
+import static com.paritytrading.juncture.nasdaq.itch50.ITCH50.*;
+
+import com.paritytrading.nassau.MessageListener;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * A parser for inbound messages that dispatches flyweight views.
+ *
+ * <p>Unlike {@link ITCH50Parser}, this parser does not decode any fields.
+ * It wraps a view over the message in the buffer and leaves decoding to
+ * the accessors of the view.</p>
+ */
+public class ITCH50ViewParser implements MessageListener {
+
+    private ITCH50View.SystemEvent               systemEvent;
+    private ITCH50View.StockDirectory            stockDirectory;
+    private ITCH50View.StockTradingAction        stockTradingAction;
+    private ITCH50View.RegSHORestriction         regSHORestriction;
+    private ITCH50View.MarketParticipantPosition marketParticipantPosition;
+    private ITCH50View.MWCBDeclineLevel          mwcbDeclineLevel;
+    private ITCH50View.MWCBStatus                mwcbStatus;
+    private ITCH50View.IPOQuotingPeriodUpdate    ipoQuotingPeriodUpdate;
+    private ITCH50View.LULDAuctionCollar         luldAuctionCollar;
+    private ITCH50View.OperationalHalt           operationalHalt;
+    private ITCH50View.AddOrder                  addOrder;
+    private ITCH50View.AddOrderMPID              addOrderMPID;
+    private ITCH50View.OrderExecuted             orderExecuted;
+    private ITCH50View.OrderExecutedWithPrice    orderExecutedWithPrice;
+    private ITCH50View.OrderCancel               orderCancel;
+    private ITCH50View.OrderDelete               orderDelete;
+    private ITCH50View.OrderReplace              orderReplace;
+    private ITCH50View.Trade                     trade;
+    private ITCH50View.CrossTrade                crossTrade;
+    private ITCH50View.BrokenTrade               brokenTrade;
+    private ITCH50View.NOII                      noii;
+    private ITCH50View.RPII                      rpii;
+
+    private ITCH50ViewListener listener;
+
+    /**
+     * Create a parser for inbound messages.
+     *
+     * @param listener the message view listener
+     */
+    public ITCH50ViewParser(ITCH50ViewListener listener) {
+        this.systemEvent               = new ITCH50View.SystemEvent();
+        this.stockDirectory            = new ITCH50View.StockDirectory();
+        this.stockTradingAction        = new ITCH50View.StockTradingAction();
+        this.regSHORestriction         = new ITCH50View.RegSHORestriction();
+        this.marketParticipantPosition = new ITCH50View.MarketParticipantPosition();
+        this.mwcbDeclineLevel          = new ITCH50View.MWCBDeclineLevel();
+        this.mwcbStatus                = new ITCH50View.MWCBStatus();
+        this.ipoQuotingPeriodUpdate    = new ITCH50View.IPOQuotingPeriodUpdate();
+        this.luldAuctionCollar         = new ITCH50View.LULDAuctionCollar();
+        this.operationalHalt           = new ITCH50View.OperationalHalt();
+        this.addOrder                  = new ITCH50View.AddOrder();
+        this.addOrderMPID              = new ITCH50View.AddOrderMPID();
+        this.orderExecuted             = new ITCH50View.OrderExecuted();
+        this.orderExecutedWithPrice    = new ITCH50View.OrderExecutedWithPrice();
+        this.orderCancel               = new ITCH50View.OrderCancel();
+        this.orderDelete               = new ITCH50View.OrderDelete();
+        this.orderReplace              = new ITCH50View.OrderReplace();
+        this.trade                     = new ITCH50View.Trade();
+        this.crossTrade                = new ITCH50View.CrossTrade();
+        this.brokenTrade               = new ITCH50View.BrokenTrade();
+        this.noii                      = new ITCH50View.NOII();
+        this.rpii                      = new ITCH50View.RPII();
+
+        this.listener = listener;
+    }
+
+    @Override
+    public void message(ByteBuffer buffer) throws IOException {
+        byte messageType = buffer.get(buffer.position());
+
+        switch (messageType) {
+        case MESSAGE_TYPE_SYSTEM_EVENT:
+            wrap(systemEvent, buffer);
+            listener.systemEvent(systemEvent);
+            break;
+        case MESSAGE_TYPE_STOCK_DIRECTORY:
+            wrap(stockDirectory, buffer);
+            listener.stockDirectory(stockDirectory);
+            break;
+        case MESSAGE_TYPE_STOCK_TRADING_ACTION:
+            wrap(stockTradingAction, buffer);
+            listener.stockTradingAction(stockTradingAction);
+            break;
+        case MESSAGE_TYPE_REG_SHO_RESTRICTION:
+            wrap(regSHORestriction, buffer);
+            listener.regSHORestriction(regSHORestriction);
+            break;
+        case MESSAGE_TYPE_MARKET_PARTICIPANT_POSITION:
+            wrap(marketParticipantPosition, buffer);
+            listener.marketParticipantPosition(marketParticipantPosition);
+            break;
+        case MESSAGE_TYPE_MWCB_DECLINE_LEVEL:
+            wrap(mwcbDeclineLevel, buffer);
+            listener.mwcbDeclineLevel(mwcbDeclineLevel);
+            break;
+        case MESSAGE_TYPE_MWCB_STATUS:
+            wrap(mwcbStatus, buffer);
+            listener.mwcbStatus(mwcbStatus);
+            break;
+        case MESSAGE_TYPE_IPO_QUOTING_PERIOD_UPDATE:
+            wrap(ipoQuotingPeriodUpdate, buffer);
+            listener.ipoQuotingPeriodUpdate(ipoQuotingPeriodUpdate);
+            break;
+        case MESSAGE_TYPE_LULD_AUCTION_COLLAR:
+            wrap(luldAuctionCollar, buffer);
+            listener.luldAuctionCollar(luldAuctionCollar);
+            break;
+        case MESSAGE_TYPE_OPERATIONAL_HALT:
+            wrap(operationalHalt, buffer);
+            listener.operationalHalt(operationalHalt);
+            break;
+        case MESSAGE_TYPE_ADD_ORDER:
+            wrap(addOrder, buffer);
+            listener.addOrder(addOrder);
+            break;
+        case MESSAGE_TYPE_ADD_ORDER_MPID:
+            wrap(addOrderMPID, buffer);
+            listener.addOrderMPID(addOrderMPID);
+            break;
+        case MESSAGE_TYPE_ORDER_EXECUTED:
+            wrap(orderExecuted, buffer);
+            listener.orderExecuted(orderExecuted);
+            break;
+        case MESSAGE_TYPE_ORDER_EXECUTED_WITH_PRICE:
+            wrap(orderExecutedWithPrice, buffer);
+            listener.orderExecutedWithPrice(orderExecutedWithPrice);
+            break;
+        case MESSAGE_TYPE_ORDER_CANCEL:
+            wrap(orderCancel, buffer);
+            listener.orderCancel(orderCancel);
+            break;
+        case MESSAGE_TYPE_ORDER_DELETE:
+            wrap(orderDelete, buffer);
+            listener.orderDelete(orderDelete);
+            break;
+        case MESSAGE_TYPE_ORDER_REPLACE:
+            wrap(orderReplace, buffer);
+            listener.orderReplace(orderReplace);
+            break;
+        case MESSAGE_TYPE_TRADE:
+            wrap(trade, buffer);
+            listener.trade(trade);
+            break;
+        case MESSAGE_TYPE_CROSS_TRADE:
+            wrap(crossTrade, buffer);
+            listener.crossTrade(crossTrade);
+            break;
+        case MESSAGE_TYPE_BROKEN_TRADE:
+            wrap(brokenTrade, buffer);
+            listener.brokenTrade(brokenTrade);
+            break;
+        case MESSAGE_TYPE_NOII:
+            wrap(noii, buffer);
+            listener.noii(noii);
+            break;
+        case MESSAGE_TYPE_RPII:
+            wrap(rpii, buffer);
+            listener.rpii(rpii);
+            break;
+        default:
+            throw new ITCH50Exception("Unknown message type: " + (char)messageType);
+        }
+    }
+
+    private void wrap(ITCH50View.Message message, ByteBuffer buffer) {
+        int offset = buffer.position();
+
+        if (buffer.remaining() < message.length())
+            throw new BufferUnderflowException();
+
+        message.wrap(buffer, offset);
+
+        buffer.position(offset + message.length());
+    }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.itch50;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash map with primitive {@code long} keys.
+ *
+ * <p>The map uses linear probing and backward shift deletion, so it does
+ * not need tombstones and never allocates memory except when it grows.</p>
+ */
+class LongHashMap<V> {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[]   keys;
+    private Object[] values;
+
+    private int mask;
+
+    private int size;
+
+    private int threshold;
+
+    LongHashMap(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(initialCapacity, 8) - 1) << 2;
+
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        for (int i = hash(key) & mask; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key)
+                return (V)values[i];
+        }
+
+        return null;
+    }
+
+    void put(long key, V value) {
+        int i = hash(key) & mask;
+
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return;
+            }
+        }
+
+        keys[i]   = key;
+        values[i] = value;
+
+        if (++size > threshold)
+            rehash();
+    }
+
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        for (int i = hash(key) & mask; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V value = (V)values[i];
+
+                delete(i);
+
+                size--;
+
+                return value;
+            }
+        }
+
+        return null;
+    }
+
+    void clear() {
+        Arrays.fill(values, null);
+
+        size = 0;
+    }
+
+    private void delete(int i) {
+        for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int k = hash(keys[j]) & mask;
+
+            if (i <= j ? (i < k && k <= j) : (i < k || k <= j))
+                continue;
+
+            keys[i]   = keys[j];
+            values[i] = values[j];
+
+            i = j;
+        }
+
+        values[i] = null;
+    }
+
+    private void rehash() {
+        long[]   oldKeys   = keys;
+        Object[] oldValues = values;
+
+        allocate(oldKeys.length * 2);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] == null)
+                continue;
+
+            int j = hash(oldKeys[i]) & mask;
+
+            while (values[j] != null)
+                j = (j + 1) & mask;
+
+            keys[j]   = oldKeys[i];
+            values[j] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys   = new long[capacity];
+        values = new Object[capacity];
+
+        mask      = capacity - 1;
+        threshold = (int)(capacity * LOAD_FACTOR);
+    }
+
+    static int hash(long key) {
+        long h = key * 0x9e3779b97f4a7c15L;
+
+        return (int)(h ^ (h >>> 32));
+    }
+
+}
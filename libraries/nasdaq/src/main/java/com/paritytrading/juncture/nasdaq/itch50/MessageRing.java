@@ -0,0 +1,151 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.itch50;
+
+import com.paritytrading.nassau.MessageListener;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A single-producer, single-consumer ring buffer for messages.
+ *
+ * <p>Each message occupies one fixed-size slot: a length byte followed by
+ * the message. The producer and consumer indices are kept on separate
+ * cache lines, and each side caches the index of the other side so that
+ * it only reads the shared index when the ring appears full or empty.</p>
+ */
+class MessageRing {
+
+    static final int SLOT_SIZE = 64;
+
+    static final int MAX_MESSAGE_LENGTH = SLOT_SIZE - 1;
+
+    private static final int HEAD = 8;
+    private static final int TAIL = 24;
+
+    private final ByteBuffer slots;
+
+    private final ByteBuffer producerView;
+    private final ByteBuffer consumerView;
+
+    private final int capacity;
+
+    private final int mask;
+
+    private final AtomicLongArray indices;
+
+    private long producerTail;
+    private long producerHead;
+
+    private long consumerHead;
+    private long consumerTail;
+
+    /**
+     * Create a ring buffer.
+     *
+     * @param capacity the number of slots, rounded up to a power of two
+     */
+    MessageRing(int capacity) {
+        this.capacity = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+
+        this.mask = this.capacity - 1;
+
+        this.slots = ByteBuffer.allocateDirect(this.capacity * SLOT_SIZE);
+        this.producerView = this.slots.duplicate();
+        this.consumerView = this.slots.duplicate();
+
+        this.indices = new AtomicLongArray(TAIL + 8);
+    }
+
+    /**
+     * Offer a message. Only the producer thread may invoke this method.
+     *
+     * @param message a buffer containing the message from its position to
+     *   its limit. If the message is added, the position of the buffer is
+     *   advanced to its limit
+     * @return true if the message was added, or false if the ring is full
+     */
+    boolean offer(ByteBuffer message) {
+        if (producerTail - producerHead >= capacity) {
+            producerHead = indices.get(HEAD);
+
+            if (producerTail - producerHead >= capacity)
+                return false;
+        }
+
+        int offset = (int)(producerTail & mask) * SLOT_SIZE;
+
+        slots.put(offset, (byte)message.remaining());
+
+        producerView.position(offset + 1);
+        producerView.put(message);
+
+        indices.lazySet(TAIL, ++producerTail);
+
+        return true;
+    }
+
+    /**
+     * Check if the consumer has consumed every message offered so far.
+     * Only the producer thread may invoke this method.
+     *
+     * @return true if the ring is empty, otherwise false
+     */
+    boolean isEmpty() {
+        return indices.get(HEAD) == producerTail;
+    }
+
+    /**
+     * Deliver the available messages to a listener. Only the consumer
+     * thread may invoke this method.
+     *
+     * @param listener a message listener
+     * @return the number of messages delivered
+     * @throws IOException if an I/O error occurs
+     */
+    int poll(MessageListener listener) throws IOException {
+        if (consumerHead == consumerTail) {
+            consumerTail = indices.get(TAIL);
+
+            if (consumerHead == consumerTail)
+                return 0;
+        }
+
+        long head = consumerHead;
+
+        while (head != consumerTail) {
+            int offset = (int)(head & mask) * SLOT_SIZE;
+            int length = slots.get(offset);
+
+            consumerView.limit(offset + 1 + length);
+            consumerView.position(offset + 1);
+
+            listener.message(consumerView);
+
+            head++;
+        }
+
+        int count = (int)(head - consumerHead);
+
+        consumerHead = head;
+
+        indices.lazySet(HEAD, head);
+
+        return count;
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.itch50;
+
+import static com.paritytrading.juncture.nasdaq.itch50.ITCH50.*;
+
+import com.paritytrading.foundation.ASCII;
+import java.util.Arrays;
+
+/**
+ * A directory of stock symbols by stock locate.
+ *
+ * <p>The directory captures Stock Directory messages into an array
+ * indexed by stock locate. Once a stock locate has been captured, its
+ * symbol resolves to the same interned {@code String} instance by array
+ * lookup, so messages that repeat the symbol need not decode it again.</p>
+ *
+ * <p>Pass the directory to an {@link ITCH50Parser} to have it capture the
+ * Stock Directory messages it reads and resolve the {@code stock} field of
+ * subsequent messages through the directory.</p>
+ */
+public class StockLocateDirectory {
+
+    private static final int MAX_STOCK_LOCATE = 65535;
+
+    private final String[] symbols;
+
+    private final long[] packedSymbols;
+
+    private int size;
+
+    /**
+     * Create a directory.
+     */
+    public StockLocateDirectory() {
+        this.symbols       = new String[MAX_STOCK_LOCATE + 1];
+        this.packedSymbols = new long[MAX_STOCK_LOCATE + 1];
+    }
+
+    /**
+     * Capture a Stock Directory message. If the stock locate has been
+     * captured before, its symbol is replaced.
+     *
+     * <p>Only the packed stock field of the message is used, so the
+     * message can have been read with either {@link Message#get} or
+     * {@link Message#getPacked}.</p>
+     *
+     * @param message a Stock Directory message
+     */
+    public void add(StockDirectory message) {
+        int  stockLocate  = message.stockLocate;
+        long packedSymbol = message.packedStock;
+
+        String symbol = symbols[stockLocate];
+
+        if (symbol != null && packedSymbols[stockLocate] == packedSymbol)
+            return;
+
+        if (symbol == null)
+            size++;
+
+        symbols[stockLocate]       = ASCII.unpackLong(packedSymbol).trim().intern();
+        packedSymbols[stockLocate] = packedSymbol;
+    }
+
+    /**
+     * Get the symbol of a stock locate.
+     *
+     * @param stockLocate a stock locate
+     * @return the symbol, or {@code null} if the stock locate has not been
+     *   captured
+     */
+    public String getSymbol(int stockLocate) {
+        return symbols[stockLocate];
+    }
+
+    /**
+     * Get the packed symbol of a stock locate.
+     *
+     * @param stockLocate a stock locate
+     * @return the packed symbol, or zero if the stock locate has not been
+     *   captured
+     */
+    public long getPackedSymbol(int stockLocate) {
+        return packedSymbols[stockLocate];
+    }
+
+    /**
+     * Get the number of captured stock locates.
+     *
+     * @return the number of captured stock locates
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Remove all captured stock locates.
+     */
+    public void clear() {
+        Arrays.fill(symbols, null);
+        Arrays.fill(packedSymbols, 0);
+
+        size = 0;
+    }
+
+    /**
+     * Resolve the symbol of a message. If the stock locate has been
+     * captured with the same packed symbol, return the captured symbol.
+     * Otherwise decode the packed symbol.
+     *
+     * @param stockLocate the stock locate
+     * @param packedSymbol the packed symbol
+     * @return the symbol
+     */
+    String resolve(int stockLocate, long packedSymbol) {
+        String symbol = symbols[stockLocate];
+
+        if (symbol != null && packedSymbols[stockLocate] == packedSymbol)
+            return symbol;
+
+        return ASCII.unpackLong(packedSymbol).trim();
+    }
+
+}
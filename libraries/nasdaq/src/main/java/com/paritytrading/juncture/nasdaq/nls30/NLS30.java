@@ -20,12 +20,13 @@ import static com.paritytrading.foundation.ByteBuffers.getUnsignedShort;
 import static com.paritytrading.foundation.ByteBuffers.putUnsignedInt;
 import static com.paritytrading.foundation.ByteBuffers.putUnsignedShort;
 
+import com.paritytrading.foundation.ASCII;
+import com.paritytrading.juncture.nasdaq.Prices;
 import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.ReadOnlyBufferException;
 import java.nio.charset.StandardCharsets;
-import java.time.LocalDateTime;
 
 /**
  * Common definitions.
@@ -34,8 +35,6 @@ import java.time.LocalDateTime;
  */
 public class NLS30 {
 
-    private static boolean DECODE_CONTAINS_HEADER = true;
-
     private NLS30() {
     }
 
@@ -224,6 +223,12 @@ public class NLS30 {
 
     /**
      * A message.
+     *
+     * <p>Prices are available both as {@code double} fields and as raw
+     * fields, such as {@code rawPrice}. A raw price holds the price as an
+     * integer with four implied decimal places for Price (4) fields and
+     * eight for Price (8) fields. Use {@link Prices} to convert raw prices
+     * exactly.</p>
      */
     public interface Message {
 
@@ -236,9 +241,60 @@ public class NLS30 {
          */
         void get(ByteBuffer buffer);
 
+        /**
+         * Read this message without the Tracking Number and Timestamp
+         * fields from the buffer. The Tracking Number and Timestamp fields
+         * are left unchanged.
+         *
+         * @param buffer a buffer
+         * @throws BufferUnderflowException if there are fewer bytes remaining
+         *   in the buffer than what the message body consists of
+         */
+        void getBody(ByteBuffer buffer);
+
+        /**
+         * Read this message from the buffer without allocating memory.
+         *
+         * <p>Alphanumeric fields are read into their packed counterparts,
+         * such as {@code packedStock}, only. The corresponding {@code
+         * String} fields are left untouched, but they can be decoded on
+         * demand with accessors such as {@code getStock()}.</p>
+         *
+         * <p>A packed alphanumeric field of two, four or eight characters
+         * holds the ASCII characters of the field in big-endian byte order,
+         * padded with spaces. A longer packed alphanumeric field holds the
+         * ASCII characters in a byte array that is reused by every read.</p>
+         *
+         * @param buffer a buffer
+         * @throws BufferUnderflowException if there are fewer bytes remaining
+         *   in the buffer than what this message consists of
+         */
+        default void getPacked(ByteBuffer buffer) {
+            get(buffer);
+        }
+
+        /**
+         * Read this message without the Tracking Number and Timestamp
+         * fields from the buffer without allocating memory. The Tracking
+         * Number and Timestamp fields are left unchanged.
+         *
+         * @param buffer a buffer
+         * @throws BufferUnderflowException if there are fewer bytes remaining
+         *   in the buffer than what the message body consists of
+         * @see #getPacked
+         */
+        default void getPackedBody(ByteBuffer buffer) {
+            getBody(buffer);
+        }
+
         /**
          * Write this message to the buffer.
          *
+         * <p>Alphanumeric fields are written from their packed counterparts
+         * and prices from their raw counterparts, both of which are filled
+         * in by every read. The corresponding {@code String} and {@code
+         * double} fields are ignored.</p>
+         *
          * @param buffer a buffer
          * @throws BufferOverflowException if there are fewer bytes remaining
          *   in the buffer than what this message consists of
@@ -253,7 +309,7 @@ public class NLS30 {
          * @return double
          */
         default double readDouble4(ByteBuffer buffer) {
-            return buffer.getInt() / 10000.0;
+            return Prices.toDouble4(buffer.getInt());
         }
 
         /**
@@ -263,7 +319,7 @@ public class NLS30 {
          * @return double
          */
         default double readDouble8(ByteBuffer buffer) {
-            return buffer.getLong() / 10000.0;
+            return Prices.toDouble4(buffer.getLong());
         }
 
         /**
@@ -273,7 +329,7 @@ public class NLS30 {
          * @return price
          */
         default double readPrice8(ByteBuffer buffer) {
-            return buffer.getLong() / 10000.0 / 1000;
+            return Prices.toDouble8(buffer.getLong());
         }
 
         /**
@@ -297,7 +353,7 @@ public class NLS30 {
          * @return Byte array
          */
         default void put(ByteBuffer buffer, double value) {
-            buffer.putInt((int) (value * 10000));
+            buffer.putInt((int) Prices.fromDouble4(value));
         }
 
         /**
@@ -308,7 +364,7 @@ public class NLS30 {
          * @return Byte array
          */
         default void putDouble8(ByteBuffer buffer, double value) {
-            buffer.putLong((long) (value * 10000));
+            buffer.putLong(Prices.fromDouble4(value));
         }
 
         /**
@@ -319,7 +375,7 @@ public class NLS30 {
          * @return Byte array
          */
         default void putPrice8(ByteBuffer buffer, double value) {
-            buffer.putLong((long) (value * 10000 * 1000));
+            buffer.putLong(Prices.fromDouble8(value));
         }
 
     }
@@ -335,11 +391,15 @@ public class NLS30 {
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
             eventCode      = (char) buffer.get();
         }
 
@@ -368,22 +428,77 @@ public class NLS30 {
         public long tradeSize;
         public String saleConditionModifier;
         public long consolidatedVolume;
+        public long rawTradePrice;
+        public long packedIssueSymbol;
+        public final byte[] packedTradeControlNumber = new byte[10];
+        public int packedSaleConditionModifier;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            issueSymbol           = alpha(packedIssueSymbol);
+            tradeControlNumber    = alpha(packedTradeControlNumber);
+            saleConditionModifier = alpha(packedSaleConditionModifier);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
             originatingMarketCenterIdentifier = (char) buffer.get();
-            issueSymbol = readString(buffer, 8);
+            packedIssueSymbol = buffer.getLong();
             securityClass = (char) buffer.get();
-            tradeControlNumber = readString(buffer, 10);
-            tradePrice = readDouble4(buffer);
+            buffer.get(packedTradeControlNumber);
+            rawTradePrice = buffer.getInt();
             tradeSize = getUnsignedInt(buffer);
-            saleConditionModifier = readString(buffer, 4);
+            packedSaleConditionModifier = buffer.getInt();
             consolidatedVolume = buffer.getLong();
+
+            tradePrice = Prices.toDouble4(rawTradePrice);
+        }
+
+        /**
+         * Decode the packed issue symbol.
+         *
+         * @return the issue symbol
+         */
+        public String getIssueSymbol() {
+            return alpha(packedIssueSymbol);
+        }
+
+        /**
+         * Decode the packed trade control number.
+         *
+         * @return the trade control number
+         */
+        public String getTradeControlNumber() {
+            return alpha(packedTradeControlNumber);
+        }
+
+        /**
+         * Decode the packed sale condition modifier.
+         *
+         * @return the sale condition modifier
+         */
+        public String getSaleConditionModifier() {
+            return alpha(packedSaleConditionModifier);
         }
 
         @Override
@@ -393,12 +508,12 @@ public class NLS30 {
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
             buffer.put((byte) originatingMarketCenterIdentifier);
-            buffer.put(issueSymbol.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedIssueSymbol);
             buffer.put((byte) securityClass);
-            buffer.put(tradeControlNumber.getBytes(StandardCharsets.US_ASCII));
-            put(buffer, tradePrice);
+            buffer.put(packedTradeControlNumber);
+            buffer.putInt((int) rawTradePrice);
             putUnsignedInt(buffer, tradeSize);
-            buffer.put(saleConditionModifier.getBytes(StandardCharsets.US_ASCII));
+            buffer.putInt(packedSaleConditionModifier);
             buffer.putLong(consolidatedVolume);
         }
     }
@@ -418,22 +533,77 @@ public class NLS30 {
         public long tradeSize;
         public String saleConditionModifier;
         public long consolidatedVolume;
+        public long rawTradePrice;
+        public long packedIssueSymbol;
+        public final byte[] packedTradeControlNumber = new byte[10];
+        public int packedSaleConditionModifier;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            issueSymbol           = alpha(packedIssueSymbol);
+            tradeControlNumber    = alpha(packedTradeControlNumber);
+            saleConditionModifier = alpha(packedSaleConditionModifier);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
             originatingMarketCenterIdentifier = (char) buffer.get();
-            issueSymbol = readString(buffer, 8);
+            packedIssueSymbol = buffer.getLong();
             securityClass = (char) buffer.get();
-            tradeControlNumber = readString(buffer, 10);
-            tradePrice = readDouble8(buffer);
+            buffer.get(packedTradeControlNumber);
+            rawTradePrice = buffer.getLong();
             tradeSize = getUnsignedInt(buffer);
-            saleConditionModifier = readString(buffer, 4);
+            packedSaleConditionModifier = buffer.getInt();
             consolidatedVolume = buffer.getLong();
+
+            tradePrice = Prices.toDouble4(rawTradePrice);
+        }
+
+        /**
+         * Decode the packed issue symbol.
+         *
+         * @return the issue symbol
+         */
+        public String getIssueSymbol() {
+            return alpha(packedIssueSymbol);
+        }
+
+        /**
+         * Decode the packed trade control number.
+         *
+         * @return the trade control number
+         */
+        public String getTradeControlNumber() {
+            return alpha(packedTradeControlNumber);
+        }
+
+        /**
+         * Decode the packed sale condition modifier.
+         *
+         * @return the sale condition modifier
+         */
+        public String getSaleConditionModifier() {
+            return alpha(packedSaleConditionModifier);
         }
 
         @Override
@@ -443,12 +613,12 @@ public class NLS30 {
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
             buffer.put((byte) originatingMarketCenterIdentifier);
-            buffer.put(issueSymbol.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedIssueSymbol);
             buffer.put((byte) securityClass);
-            buffer.put(tradeControlNumber.getBytes(StandardCharsets.US_ASCII));
-            putDouble8(buffer, tradePrice);
+            buffer.put(packedTradeControlNumber);
+            buffer.putLong(rawTradePrice);
             putUnsignedInt(buffer, tradeSize);
-            buffer.put(saleConditionModifier.getBytes(StandardCharsets.US_ASCII));
+            buffer.putInt(packedSaleConditionModifier);
             buffer.putLong(consolidatedVolume);
         }
     }
@@ -469,23 +639,80 @@ public class NLS30 {
         public double navOffsetAmount;
         public String saleConditionModifier;
         public long consolidatedVolume;
+        public long rawProxyPrice;
+        public long rawNavOffsetAmount;
+        public long packedNextSharesSymbol;
+        public final byte[] packedTradeControlNumber = new byte[10];
+        public int packedSaleConditionModifier;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            nextSharesSymbol      = alpha(packedNextSharesSymbol);
+            tradeControlNumber    = alpha(packedTradeControlNumber);
+            saleConditionModifier = alpha(packedSaleConditionModifier);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
             originatingMarketCenterIdentifier = (char) buffer.get();
-            nextSharesSymbol = readString(buffer, 8);
+            packedNextSharesSymbol = buffer.getLong();
             securityClass = (char) buffer.get();
-            tradeControlNumber = readString(buffer, 10);
-            proxyPrice = readDouble4(buffer);
+            buffer.get(packedTradeControlNumber);
+            rawProxyPrice = buffer.getInt();
             tradeSize = getUnsignedInt(buffer);
-            navOffsetAmount = readDouble4(buffer);
-            saleConditionModifier = readString(buffer, 4);
+            rawNavOffsetAmount = buffer.getInt();
+            packedSaleConditionModifier = buffer.getInt();
             consolidatedVolume = buffer.getLong();
+
+            proxyPrice      = Prices.toDouble4(rawProxyPrice);
+            navOffsetAmount = Prices.toDouble4(rawNavOffsetAmount);
+        }
+
+        /**
+         * Decode the packed next shares symbol.
+         *
+         * @return the next shares symbol
+         */
+        public String getNextSharesSymbol() {
+            return alpha(packedNextSharesSymbol);
+        }
+
+        /**
+         * Decode the packed trade control number.
+         *
+         * @return the trade control number
+         */
+        public String getTradeControlNumber() {
+            return alpha(packedTradeControlNumber);
+        }
+
+        /**
+         * Decode the packed sale condition modifier.
+         *
+         * @return the sale condition modifier
+         */
+        public String getSaleConditionModifier() {
+            return alpha(packedSaleConditionModifier);
         }
 
         @Override
@@ -495,13 +722,13 @@ public class NLS30 {
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
             buffer.put((byte) originatingMarketCenterIdentifier);
-            buffer.put(nextSharesSymbol.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedNextSharesSymbol);
             buffer.put((byte) securityClass);
-            buffer.put(tradeControlNumber.getBytes(StandardCharsets.US_ASCII));
-            put(buffer, proxyPrice);
+            buffer.put(packedTradeControlNumber);
+            buffer.putInt((int) rawProxyPrice);
             putUnsignedInt(buffer, tradeSize);
-            put(buffer, navOffsetAmount);
-            buffer.put(saleConditionModifier.getBytes(StandardCharsets.US_ASCII));
+            buffer.putInt((int) rawNavOffsetAmount);
+            buffer.putInt(packedSaleConditionModifier);
             buffer.putLong(consolidatedVolume);
         }
     }
@@ -521,22 +748,77 @@ public class NLS30 {
         public long originalTradeSize;
         public String originalSaleConditionModifier;
         public long consolidatedVolume;
+        public long rawOriginalTradePrice;
+        public long packedIssueSymbol;
+        public final byte[] packedOriginalTradeControlNumber = new byte[10];
+        public int packedOriginalSaleConditionModifier;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            issueSymbol                   = alpha(packedIssueSymbol);
+            originalTradeControlNumber    = alpha(packedOriginalTradeControlNumber);
+            originalSaleConditionModifier = alpha(packedOriginalSaleConditionModifier);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
             originatingMarketCenterIdentifier = (char) buffer.get();
-            issueSymbol = readString(buffer, 8);
+            packedIssueSymbol = buffer.getLong();
             securityClass = (char) buffer.get();
-            originalTradeControlNumber = readString(buffer, 10);
-            originalTradePrice = readDouble4(buffer);
+            buffer.get(packedOriginalTradeControlNumber);
+            rawOriginalTradePrice = buffer.getInt();
             originalTradeSize = getUnsignedInt(buffer);
-            originalSaleConditionModifier = readString(buffer, 4);
+            packedOriginalSaleConditionModifier = buffer.getInt();
             consolidatedVolume = buffer.getLong();
+
+            originalTradePrice = Prices.toDouble4(rawOriginalTradePrice);
+        }
+
+        /**
+         * Decode the packed issue symbol.
+         *
+         * @return the issue symbol
+         */
+        public String getIssueSymbol() {
+            return alpha(packedIssueSymbol);
+        }
+
+        /**
+         * Decode the packed original trade control number.
+         *
+         * @return the original trade control number
+         */
+        public String getOriginalTradeControlNumber() {
+            return alpha(packedOriginalTradeControlNumber);
+        }
+
+        /**
+         * Decode the packed original sale condition modifier.
+         *
+         * @return the original sale condition modifier
+         */
+        public String getOriginalSaleConditionModifier() {
+            return alpha(packedOriginalSaleConditionModifier);
         }
 
         @Override
@@ -546,12 +828,12 @@ public class NLS30 {
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
             buffer.put((byte) originatingMarketCenterIdentifier);
-            buffer.put(issueSymbol.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedIssueSymbol);
             buffer.put((byte) securityClass);
-            buffer.put(originalTradeControlNumber.getBytes(StandardCharsets.US_ASCII));
-            put(buffer, originalTradePrice);
+            buffer.put(packedOriginalTradeControlNumber);
+            buffer.putInt((int) rawOriginalTradePrice);
             putUnsignedInt(buffer, originalTradeSize);
-            buffer.put(originalSaleConditionModifier.getBytes(StandardCharsets.US_ASCII));
+            buffer.putInt(packedOriginalSaleConditionModifier);
             buffer.putLong(consolidatedVolume);
         }
     }
@@ -571,22 +853,77 @@ public class NLS30 {
         public long originalTradeSize;
         public String originalSaleConditionModifier;
         public long consolidatedVolume;
+        public long rawOriginalTradePrice;
+        public long packedIssueSymbol;
+        public final byte[] packedOriginalTradeControlNumber = new byte[10];
+        public int packedOriginalSaleConditionModifier;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            issueSymbol                   = alpha(packedIssueSymbol);
+            originalTradeControlNumber    = alpha(packedOriginalTradeControlNumber);
+            originalSaleConditionModifier = alpha(packedOriginalSaleConditionModifier);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
             originatingMarketCenterIdentifier = (char) buffer.get();
-            issueSymbol = readString(buffer, 8);
+            packedIssueSymbol = buffer.getLong();
             securityClass = (char) buffer.get();
-            originalTradeControlNumber = readString(buffer, 10);
-            originalTradePrice = readDouble8(buffer);
+            buffer.get(packedOriginalTradeControlNumber);
+            rawOriginalTradePrice = buffer.getLong();
             originalTradeSize = getUnsignedInt(buffer);
-            originalSaleConditionModifier = readString(buffer, 4);
+            packedOriginalSaleConditionModifier = buffer.getInt();
             consolidatedVolume = buffer.getLong();
+
+            originalTradePrice = Prices.toDouble4(rawOriginalTradePrice);
+        }
+
+        /**
+         * Decode the packed issue symbol.
+         *
+         * @return the issue symbol
+         */
+        public String getIssueSymbol() {
+            return alpha(packedIssueSymbol);
+        }
+
+        /**
+         * Decode the packed original trade control number.
+         *
+         * @return the original trade control number
+         */
+        public String getOriginalTradeControlNumber() {
+            return alpha(packedOriginalTradeControlNumber);
+        }
+
+        /**
+         * Decode the packed original sale condition modifier.
+         *
+         * @return the original sale condition modifier
+         */
+        public String getOriginalSaleConditionModifier() {
+            return alpha(packedOriginalSaleConditionModifier);
         }
 
         @Override
@@ -596,12 +933,12 @@ public class NLS30 {
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
             buffer.put((byte) originatingMarketCenterIdentifier);
-            buffer.put(issueSymbol.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedIssueSymbol);
             buffer.put((byte) securityClass);
-            buffer.put(originalTradeControlNumber.getBytes(StandardCharsets.US_ASCII));
-            putDouble8(buffer, originalTradePrice);
+            buffer.put(packedOriginalTradeControlNumber);
+            buffer.putLong(rawOriginalTradePrice);
             putUnsignedInt(buffer, originalTradeSize);
-            buffer.put(originalSaleConditionModifier.getBytes(StandardCharsets.US_ASCII));
+            buffer.putInt(packedOriginalSaleConditionModifier);
             buffer.putLong(consolidatedVolume);
         }
     }
@@ -622,23 +959,80 @@ public class NLS30 {
         public long originalTradeSize;
         public String originalSaleConditionModifier;
         public long consolidatedVolume;
+        public long rawOriginalProxyPrice;
+        public long rawOriginalNavOffsetAmount;
+        public long packedIssueSymbol;
+        public final byte[] packedOriginalTradeControlNumber = new byte[10];
+        public int packedOriginalSaleConditionModifier;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            issueSymbol                   = alpha(packedIssueSymbol);
+            originalTradeControlNumber    = alpha(packedOriginalTradeControlNumber);
+            originalSaleConditionModifier = alpha(packedOriginalSaleConditionModifier);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
             marketCenterIdentifier = (char) buffer.get();
-            issueSymbol = readString(buffer, 8);
+            packedIssueSymbol = buffer.getLong();
             securityClass = (char) buffer.get();
-            originalTradeControlNumber = readString(buffer, 10);
-            originalProxyPrice = readDouble4(buffer);
-            originalNavOffsetAmount = readDouble4(buffer);
+            buffer.get(packedOriginalTradeControlNumber);
+            rawOriginalProxyPrice = buffer.getInt();
+            rawOriginalNavOffsetAmount = buffer.getInt();
             originalTradeSize = getUnsignedInt(buffer);
-            originalSaleConditionModifier = readString(buffer, 4);
+            packedOriginalSaleConditionModifier = buffer.getInt();
             consolidatedVolume = buffer.getLong();
+
+            originalProxyPrice      = Prices.toDouble4(rawOriginalProxyPrice);
+            originalNavOffsetAmount = Prices.toDouble4(rawOriginalNavOffsetAmount);
+        }
+
+        /**
+         * Decode the packed issue symbol.
+         *
+         * @return the issue symbol
+         */
+        public String getIssueSymbol() {
+            return alpha(packedIssueSymbol);
+        }
+
+        /**
+         * Decode the packed original trade control number.
+         *
+         * @return the original trade control number
+         */
+        public String getOriginalTradeControlNumber() {
+            return alpha(packedOriginalTradeControlNumber);
+        }
+
+        /**
+         * Decode the packed original sale condition modifier.
+         *
+         * @return the original sale condition modifier
+         */
+        public String getOriginalSaleConditionModifier() {
+            return alpha(packedOriginalSaleConditionModifier);
         }
 
         @Override
@@ -648,13 +1042,13 @@ public class NLS30 {
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
             buffer.put((byte) marketCenterIdentifier);
-            buffer.put(issueSymbol.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedIssueSymbol);
             buffer.put((byte) securityClass);
-            buffer.put(originalTradeControlNumber.getBytes(StandardCharsets.US_ASCII));
-            put(buffer, originalProxyPrice);
-            put(buffer, originalNavOffsetAmount);
+            buffer.put(packedOriginalTradeControlNumber);
+            buffer.putInt((int) rawOriginalProxyPrice);
+            buffer.putInt((int) rawOriginalNavOffsetAmount);
             putUnsignedInt(buffer, originalTradeSize);
-            buffer.put(originalSaleConditionModifier.getBytes(StandardCharsets.US_ASCII));
+            buffer.putInt(packedOriginalSaleConditionModifier);
             buffer.putLong(consolidatedVolume);
         }
     }
@@ -678,26 +1072,105 @@ public class NLS30 {
         public long correctionTradeSize;
         public String correctionSaleConditionModifier;
         public long consolidatedVolume;
+        public long rawOriginalTradePrice;
+        public long rawCorrectionTradePrice;
+        public long packedIssueSymbol;
+        public final byte[] packedOriginalTradeControlNumber = new byte[10];
+        public int packedOriginalSaleConditionModifier;
+        public final byte[] packedCorrectionTradeControlNumber = new byte[10];
+        public int packedCorrectionSaleConditionModifier;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            issueSymbol                     = alpha(packedIssueSymbol);
+            originalTradeControlNumber      = alpha(packedOriginalTradeControlNumber);
+            originalSaleConditionModifier   = alpha(packedOriginalSaleConditionModifier);
+            correctionTradeControlNumber    = alpha(packedCorrectionTradeControlNumber);
+            correctionSaleConditionModifier = alpha(packedCorrectionSaleConditionModifier);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
             originatingMarketCenterIdentifier = (char) buffer.get();
-            issueSymbol = readString(buffer, 8);
+            packedIssueSymbol = buffer.getLong();
             securityClass = (char) buffer.get();
-            originalTradeControlNumber = readString(buffer, 10);
-            originalTradePrice = readDouble4(buffer);
+            buffer.get(packedOriginalTradeControlNumber);
+            rawOriginalTradePrice = buffer.getInt();
             originalTradeSize = getUnsignedInt(buffer);
-            originalSaleConditionModifier = readString(buffer, 4);
-            correctionTradeControlNumber = readString(buffer, 10);
-            correctionTradePrice = readDouble4(buffer);
+            packedOriginalSaleConditionModifier = buffer.getInt();
+            buffer.get(packedCorrectionTradeControlNumber);
+            rawCorrectionTradePrice = buffer.getInt();
             correctionTradeSize = getUnsignedInt(buffer);
-            correctionSaleConditionModifier = readString(buffer, 4);
+            packedCorrectionSaleConditionModifier = buffer.getInt();
             consolidatedVolume = buffer.getLong();
+
+            originalTradePrice   = Prices.toDouble4(rawOriginalTradePrice);
+            correctionTradePrice = Prices.toDouble4(rawCorrectionTradePrice);
+        }
+
+        /**
+         * Decode the packed issue symbol.
+         *
+         * @return the issue symbol
+         */
+        public String getIssueSymbol() {
+            return alpha(packedIssueSymbol);
+        }
+
+        /**
+         * Decode the packed original trade control number.
+         *
+         * @return the original trade control number
+         */
+        public String getOriginalTradeControlNumber() {
+            return alpha(packedOriginalTradeControlNumber);
+        }
+
+        /**
+         * Decode the packed original sale condition modifier.
+         *
+         * @return the original sale condition modifier
+         */
+        public String getOriginalSaleConditionModifier() {
+            return alpha(packedOriginalSaleConditionModifier);
+        }
+
+        /**
+         * Decode the packed correction trade control number.
+         *
+         * @return the correction trade control number
+         */
+        public String getCorrectionTradeControlNumber() {
+            return alpha(packedCorrectionTradeControlNumber);
+        }
+
+        /**
+         * Decode the packed correction sale condition modifier.
+         *
+         * @return the correction sale condition modifier
+         */
+        public String getCorrectionSaleConditionModifier() {
+            return alpha(packedCorrectionSaleConditionModifier);
         }
 
         @Override
@@ -707,16 +1180,16 @@ public class NLS30 {
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
             buffer.put((byte) originatingMarketCenterIdentifier);
-            buffer.put(issueSymbol.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedIssueSymbol);
             buffer.put((byte) securityClass);
-            buffer.put(originalTradeControlNumber.getBytes(StandardCharsets.US_ASCII));
-            put(buffer, originalTradePrice);
+            buffer.put(packedOriginalTradeControlNumber);
+            buffer.putInt((int) rawOriginalTradePrice);
             putUnsignedInt(buffer, originalTradeSize);
-            buffer.put(originalSaleConditionModifier.getBytes(StandardCharsets.US_ASCII));
-            buffer.put(correctionTradeControlNumber.getBytes(StandardCharsets.US_ASCII));
-            put(buffer, correctionTradePrice);
+            buffer.putInt(packedOriginalSaleConditionModifier);
+            buffer.put(packedCorrectionTradeControlNumber);
+            buffer.putInt((int) rawCorrectionTradePrice);
             putUnsignedInt(buffer, correctionTradeSize);
-            buffer.put(correctionSaleConditionModifier.getBytes(StandardCharsets.US_ASCII));
+            buffer.putInt(packedCorrectionSaleConditionModifier);
             buffer.putLong(consolidatedVolume);
         }
     }
@@ -740,45 +1213,124 @@ public class NLS30 {
         public long correctionTradeSize;
         public String correctionSaleConditionModifier;
         public long consolidatedVolume;
+        public long rawOriginalTradePrice;
+        public long rawCorrectionTradePrice;
+        public long packedIssueSymbol;
+        public final byte[] packedOriginalTradeControlNumber = new byte[10];
+        public int packedOriginalSaleConditionModifier;
+        public final byte[] packedCorrectionTradeControlNumber = new byte[10];
+        public int packedCorrectionSaleConditionModifier;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            issueSymbol                     = alpha(packedIssueSymbol);
+            originalTradeControlNumber      = alpha(packedOriginalTradeControlNumber);
+            originalSaleConditionModifier   = alpha(packedOriginalSaleConditionModifier);
+            correctionTradeControlNumber    = alpha(packedCorrectionTradeControlNumber);
+            correctionSaleConditionModifier = alpha(packedCorrectionSaleConditionModifier);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
             originatingMarketCenterIdentifier = (char) buffer.get();
-            issueSymbol = readString(buffer, 8);
+            packedIssueSymbol = buffer.getLong();
             securityClass = (char) buffer.get();
-            originalTradeControlNumber = readString(buffer, 10);
-            originalTradePrice = readDouble8(buffer);
+            buffer.get(packedOriginalTradeControlNumber);
+            rawOriginalTradePrice = buffer.getLong();
             originalTradeSize = getUnsignedInt(buffer);
-            originalSaleConditionModifier = readString(buffer, 4);
-            correctionTradeControlNumber = readString(buffer, 10);
-            correctionTradePrice = readDouble8(buffer);
+            packedOriginalSaleConditionModifier = buffer.getInt();
+            buffer.get(packedCorrectionTradeControlNumber);
+            rawCorrectionTradePrice = buffer.getLong();
             correctionTradeSize = getUnsignedInt(buffer);
-            correctionSaleConditionModifier = readString(buffer, 4);
+            packedCorrectionSaleConditionModifier = buffer.getInt();
             consolidatedVolume = buffer.getLong();
+
+            originalTradePrice   = Prices.toDouble4(rawOriginalTradePrice);
+            correctionTradePrice = Prices.toDouble4(rawCorrectionTradePrice);
         }
 
-        @Override
-        public void put(ByteBuffer buffer) {
-            buffer.put(MESSAGE_TYPE_LONG_FORM_TRADE_CORRECTION_FOR_NON_NEXT_SHARES);
-            putUnsignedShort(buffer, trackingNumber);
-            putUnsignedShort(buffer, timestampHigh);
-            putUnsignedInt(buffer, timestampLow);
-            buffer.put((byte) originatingMarketCenterIdentifier);
-            buffer.put(issueSymbol.getBytes(StandardCharsets.US_ASCII));
-            buffer.put((byte) securityClass);
-            buffer.put(originalTradeControlNumber.getBytes(StandardCharsets.US_ASCII));
-            putDouble8(buffer, originalTradePrice);
-            putUnsignedInt(buffer, originalTradeSize);
-            buffer.put(originalSaleConditionModifier.getBytes(StandardCharsets.US_ASCII));
-            buffer.put(correctionTradeControlNumber.getBytes(StandardCharsets.US_ASCII));
-            putDouble8(buffer, correctionTradePrice);
-            putUnsignedInt(buffer, correctionTradeSize);
-            buffer.put(correctionSaleConditionModifier.getBytes(StandardCharsets.US_ASCII));
+        /**
+         * Decode the packed issue symbol.
+         *
+         * @return the issue symbol
+         */
+        public String getIssueSymbol() {
+            return alpha(packedIssueSymbol);
+        }
+
+        /**
+         * Decode the packed original trade control number.
+         *
+         * @return the original trade control number
+         */
+        public String getOriginalTradeControlNumber() {
+            return alpha(packedOriginalTradeControlNumber);
+        }
+
+        /**
+         * Decode the packed original sale condition modifier.
+         *
+         * @return the original sale condition modifier
+         */
+        public String getOriginalSaleConditionModifier() {
+            return alpha(packedOriginalSaleConditionModifier);
+        }
+
+        /**
+         * Decode the packed correction trade control number.
+         *
+         * @return the correction trade control number
+         */
+        public String getCorrectionTradeControlNumber() {
+            return alpha(packedCorrectionTradeControlNumber);
+        }
+
+        /**
+         * Decode the packed correction sale condition modifier.
+         *
+         * @return the correction sale condition modifier
+         */
+        public String getCorrectionSaleConditionModifier() {
+            return alpha(packedCorrectionSaleConditionModifier);
+        }
+
+        @Override
+        public void put(ByteBuffer buffer) {
+            buffer.put(MESSAGE_TYPE_LONG_FORM_TRADE_CORRECTION_FOR_NON_NEXT_SHARES);
+            putUnsignedShort(buffer, trackingNumber);
+            putUnsignedShort(buffer, timestampHigh);
+            putUnsignedInt(buffer, timestampLow);
+            buffer.put((byte) originatingMarketCenterIdentifier);
+            buffer.putLong(packedIssueSymbol);
+            buffer.put((byte) securityClass);
+            buffer.put(packedOriginalTradeControlNumber);
+            buffer.putLong(rawOriginalTradePrice);
+            putUnsignedInt(buffer, originalTradeSize);
+            buffer.putInt(packedOriginalSaleConditionModifier);
+            buffer.put(packedCorrectionTradeControlNumber);
+            buffer.putLong(rawCorrectionTradePrice);
+            putUnsignedInt(buffer, correctionTradeSize);
+            buffer.putInt(packedCorrectionSaleConditionModifier);
             buffer.putLong(consolidatedVolume);
         }
     }
@@ -804,28 +1356,111 @@ public class NLS30 {
         public long correctionTradeSize;
         public String correctionSaleConditionModifier;
         public long consolidatedVolume;
+        public long rawOriginalProxyPrice;
+        public long rawOriginalNavOffsetAmount;
+        public long rawCorrectionProxyPrice;
+        public long rawCorrectionNavOffsetAmount;
+        public long packedIssueSymbol;
+        public final byte[] packedOriginalTradeControlNumber = new byte[10];
+        public int packedOriginalSaleConditionModifier;
+        public final byte[] packedCorrectionTradeControlNumber = new byte[10];
+        public int packedCorrectionSaleConditionModifier;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            issueSymbol                     = alpha(packedIssueSymbol);
+            originalTradeControlNumber      = alpha(packedOriginalTradeControlNumber);
+            originalSaleConditionModifier   = alpha(packedOriginalSaleConditionModifier);
+            correctionTradeControlNumber    = alpha(packedCorrectionTradeControlNumber);
+            correctionSaleConditionModifier = alpha(packedCorrectionSaleConditionModifier);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
             marketCenterIdentifier = (char) buffer.get();
-            issueSymbol = readString(buffer, 8);
+            packedIssueSymbol = buffer.getLong();
             securityClass = (char) buffer.get();
-            originalTradeControlNumber = readString(buffer, 10);
-            originalProxyPrice = readDouble4(buffer);
-            originalNavOffsetAmount = readDouble4(buffer);
+            buffer.get(packedOriginalTradeControlNumber);
+            rawOriginalProxyPrice = buffer.getInt();
+            rawOriginalNavOffsetAmount = buffer.getInt();
             originalTradeSize = getUnsignedInt(buffer);
-            originalSaleConditionModifier = readString(buffer, 4);
-            correctionTradeControlNumber = readString(buffer, 10);
-            correctionProxyPrice = readDouble4(buffer);
-            correctionNavOffsetAmount = readDouble4(buffer);
+            packedOriginalSaleConditionModifier = buffer.getInt();
+            buffer.get(packedCorrectionTradeControlNumber);
+            rawCorrectionProxyPrice = buffer.getInt();
+            rawCorrectionNavOffsetAmount = buffer.getInt();
             correctionTradeSize = getUnsignedInt(buffer);
-            correctionSaleConditionModifier = readString(buffer, 4);
+            packedCorrectionSaleConditionModifier = buffer.getInt();
             consolidatedVolume = buffer.getLong();
+
+            originalProxyPrice        = Prices.toDouble4(rawOriginalProxyPrice);
+            originalNavOffsetAmount   = Prices.toDouble4(rawOriginalNavOffsetAmount);
+            correctionProxyPrice      = Prices.toDouble4(rawCorrectionProxyPrice);
+            correctionNavOffsetAmount = Prices.toDouble4(rawCorrectionNavOffsetAmount);
+        }
+
+        /**
+         * Decode the packed issue symbol.
+         *
+         * @return the issue symbol
+         */
+        public String getIssueSymbol() {
+            return alpha(packedIssueSymbol);
+        }
+
+        /**
+         * Decode the packed original trade control number.
+         *
+         * @return the original trade control number
+         */
+        public String getOriginalTradeControlNumber() {
+            return alpha(packedOriginalTradeControlNumber);
+        }
+
+        /**
+         * Decode the packed original sale condition modifier.
+         *
+         * @return the original sale condition modifier
+         */
+        public String getOriginalSaleConditionModifier() {
+            return alpha(packedOriginalSaleConditionModifier);
+        }
+
+        /**
+         * Decode the packed correction trade control number.
+         *
+         * @return the correction trade control number
+         */
+        public String getCorrectionTradeControlNumber() {
+            return alpha(packedCorrectionTradeControlNumber);
+        }
+
+        /**
+         * Decode the packed correction sale condition modifier.
+         *
+         * @return the correction sale condition modifier
+         */
+        public String getCorrectionSaleConditionModifier() {
+            return alpha(packedCorrectionSaleConditionModifier);
         }
 
         @Override
@@ -835,18 +1470,18 @@ public class NLS30 {
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
             buffer.put((byte) marketCenterIdentifier);
-            buffer.put(issueSymbol.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedIssueSymbol);
             buffer.put((byte) securityClass);
-            buffer.put(originalTradeControlNumber.getBytes(StandardCharsets.US_ASCII));
-            put(buffer, originalProxyPrice);
-            put(buffer, originalNavOffsetAmount);
+            buffer.put(packedOriginalTradeControlNumber);
+            buffer.putInt((int) rawOriginalProxyPrice);
+            buffer.putInt((int) rawOriginalNavOffsetAmount);
             putUnsignedInt(buffer, originalTradeSize);
-            buffer.put(originalSaleConditionModifier.getBytes(StandardCharsets.US_ASCII));
-            buffer.put(correctionTradeControlNumber.getBytes(StandardCharsets.US_ASCII));
-            put(buffer, correctionProxyPrice);
-            put(buffer, correctionNavOffsetAmount);
+            buffer.putInt(packedOriginalSaleConditionModifier);
+            buffer.put(packedCorrectionTradeControlNumber);
+            buffer.putInt((int) rawCorrectionProxyPrice);
+            buffer.putInt((int) rawCorrectionNavOffsetAmount);
             putUnsignedInt(buffer, correctionTradeSize);
-            buffer.put(correctionSaleConditionModifier.getBytes(StandardCharsets.US_ASCII));
+            buffer.putInt(packedCorrectionSaleConditionModifier);
             buffer.putLong(consolidatedVolume);
         }
     }
@@ -863,19 +1498,60 @@ public class NLS30 {
         public char securityClass;
         public char currentTradingState;
         public String  reason;
+        public long packedIssueSymbol;
+        public int packedReason;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            issueSymbol = alpha(packedIssueSymbol);
+            reason      = alpha(packedReason);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
             reserved  = (char) buffer.get();
-            issueSymbol = readString(buffer, 8);
+            packedIssueSymbol = buffer.getLong();
             securityClass  = (char) buffer.get();
             currentTradingState = (char) buffer.get();
-            reason         = readString(buffer, 4);
+            packedReason   = buffer.getInt();
+        }
+
+        /**
+         * Decode the packed issue symbol.
+         *
+         * @return the issue symbol
+         */
+        public String getIssueSymbol() {
+            return alpha(packedIssueSymbol);
+        }
+
+        /**
+         * Decode the packed reason.
+         *
+         * @return the reason
+         */
+        public String getReason() {
+            return alpha(packedReason);
         }
 
         @Override
@@ -884,10 +1560,11 @@ public class NLS30 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(issueSymbol.getBytes(StandardCharsets.US_ASCII));
+            buffer.put((byte) reserved);
+            buffer.putLong(packedIssueSymbol);
             buffer.put((byte) securityClass);
             buffer.put((byte) currentTradingState);
-            buffer.put(reason.getBytes(StandardCharsets.US_ASCII));
+            buffer.putInt(packedReason);
         }
     }
 
@@ -913,21 +1590,46 @@ public class NLS30 {
         public long  etpLeverageFactor;
         public char  inverseIndicator;
         public String bloombergID;
+        public long packedStock;
+        public short packedIssueSubType;
+        public final byte[] packedBloombergID = new byte[12];
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
-            stock                       = readString(buffer, 8);
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            stock        = alpha(packedStock);
+            issueSubType = alpha(packedIssueSubType);
+            bloombergID  = alpha(packedBloombergID);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
+            packedStock                 = buffer.getLong();
             marketCategory              = (char) buffer.get();
             financialStatusIndicator    = (char) buffer.get();
             roundLotSize                = getUnsignedInt(buffer);
             roundLotsOnly               = (char) buffer.get();
             issueClassification         = (char) buffer.get();
-            issueSubType                = readString(buffer, 2);
+            packedIssueSubType          = buffer.getShort();
             authenticity                = (char) buffer.get();
             shortSaleThresholdIndicator = (char) buffer.get();
             ipoFlag                     = (char) buffer.get();
@@ -935,7 +1637,34 @@ public class NLS30 {
             etpFlag                     = (char) buffer.get();
             etpLeverageFactor           = getUnsignedInt(buffer);
             inverseIndicator            = (char) buffer.get();
-            bloombergID                 = readString(buffer, 12);
+            buffer.get(packedBloombergID);
+        }
+
+        /**
+         * Decode the packed stock.
+         *
+         * @return the stock
+         */
+        public String getStock() {
+            return alpha(packedStock);
+        }
+
+        /**
+         * Decode the packed issue sub type.
+         *
+         * @return the issue sub type
+         */
+        public String getIssueSubType() {
+            return alpha(packedIssueSubType);
+        }
+
+        /**
+         * Decode the packed bloomberg id.
+         *
+         * @return the bloomberg id
+         */
+        public String getBloombergID() {
+            return alpha(packedBloombergID);
         }
 
         @Override
@@ -944,13 +1673,13 @@ public class NLS30 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(stock.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedStock);
             buffer.put((byte) marketCategory);
             buffer.put((byte) financialStatusIndicator);
             putUnsignedInt(buffer, roundLotSize);
             buffer.put((byte) roundLotsOnly);
             buffer.put((byte) issueClassification);
-            buffer.put(issueSubType.getBytes(StandardCharsets.US_ASCII));
+            buffer.putShort(packedIssueSubType);
             buffer.put((byte) authenticity);
             buffer.put((byte) shortSaleThresholdIndicator);
             buffer.put((byte) ipoFlag);
@@ -958,7 +1687,7 @@ public class NLS30 {
             buffer.put((byte) etpFlag);
             putUnsignedInt(buffer, etpLeverageFactor);
             buffer.put((byte) inverseIndicator);
-            buffer.put(bloombergID.getBytes(StandardCharsets.US_ASCII));
+            buffer.put(packedBloombergID);
         }
     }
 
@@ -971,25 +1700,55 @@ public class NLS30 {
         public long timestampLow;
         public String issueSymbol;
         public char regSHOAction;
+        public long packedIssueSymbol;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
-            issueSymbol = readString(buffer, 8);
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            issueSymbol = alpha(packedIssueSymbol);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
+            packedIssueSymbol = buffer.getLong();
             regSHOAction   = (char) buffer.get();
         }
 
+        /**
+         * Decode the packed issue symbol.
+         *
+         * @return the issue symbol
+         */
+        public String getIssueSymbol() {
+            return alpha(packedIssueSymbol);
+        }
+
         @Override
         public void put(ByteBuffer buffer) {
             buffer.put(MESSAGE_TYPE_REG_SHO_RESTRICTION);
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(issueSymbol.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedIssueSymbol);
             buffer.put((byte) regSHOAction);
         }
     }
@@ -1004,17 +1763,50 @@ public class NLS30 {
         public String issueSymbol;
         public char securityClass;
         public double adjustedClosingPrice;
+        public long rawAdjustedClosingPrice;
+        public long packedIssueSymbol;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
-            issueSymbol = readString(buffer, 8);
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            issueSymbol = alpha(packedIssueSymbol);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
+            packedIssueSymbol = buffer.getLong();
             securityClass = (char) buffer.get();
-            adjustedClosingPrice = readDouble4(buffer);
+            rawAdjustedClosingPrice = buffer.getInt();
+
+            adjustedClosingPrice = Prices.toDouble4(rawAdjustedClosingPrice);
+        }
+
+        /**
+         * Decode the packed issue symbol.
+         *
+         * @return the issue symbol
+         */
+        public String getIssueSymbol() {
+            return alpha(packedIssueSymbol);
         }
 
         @Override
@@ -1023,9 +1815,9 @@ public class NLS30 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(issueSymbol.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedIssueSymbol);
             buffer.put((byte) securityClass);
-            put(buffer, adjustedClosingPrice);
+            buffer.putInt((int) rawAdjustedClosingPrice);
         }
     }
 
@@ -1039,17 +1831,50 @@ public class NLS30 {
         public String issueSymbol;
         public char securityClass;
         public double adjustedClosingPrice;
+        public long rawAdjustedClosingPrice;
+        public long packedIssueSymbol;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
-            issueSymbol = readString(buffer, 8);
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            issueSymbol = alpha(packedIssueSymbol);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
+            packedIssueSymbol = buffer.getLong();
             securityClass = (char) buffer.get();
-            adjustedClosingPrice = readDouble8(buffer);
+            rawAdjustedClosingPrice = buffer.getLong();
+
+            adjustedClosingPrice = Prices.toDouble4(rawAdjustedClosingPrice);
+        }
+
+        /**
+         * Decode the packed issue symbol.
+         *
+         * @return the issue symbol
+         */
+        public String getIssueSymbol() {
+            return alpha(packedIssueSymbol);
         }
 
         @Override
@@ -1058,9 +1883,9 @@ public class NLS30 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(issueSymbol.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedIssueSymbol);
             buffer.put((byte) securityClass);
-            putDouble8(buffer, adjustedClosingPrice);
+            buffer.putLong(rawAdjustedClosingPrice);
         }
     }
 
@@ -1078,21 +1903,60 @@ public class NLS30 {
         public double consolidatedClosingPrice;
         public long consolidatedVolume;
         public double consolidatedOpenPrice;
+        public long rawConsolidatedHighPrice;
+        public long rawConsolidatedLowPrice;
+        public long rawConsolidatedClosingPrice;
+        public long rawConsolidatedOpenPrice;
+        public long packedIssueSymbol;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
-            issueSymbol = readString(buffer, 8);
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            issueSymbol = alpha(packedIssueSymbol);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
+            packedIssueSymbol = buffer.getLong();
             marketCategory = (char) buffer.get();
-            consolidatedHighPrice = readDouble4(buffer);
-            consolidatedLowPrice = readDouble4(buffer);
-            consolidatedClosingPrice = readDouble4(buffer);
+            rawConsolidatedHighPrice = buffer.getInt();
+            rawConsolidatedLowPrice = buffer.getInt();
+            rawConsolidatedClosingPrice = buffer.getInt();
             consolidatedVolume = buffer.getLong();
-            consolidatedOpenPrice = readDouble4(buffer);
+            rawConsolidatedOpenPrice = buffer.getInt();
+
+            consolidatedHighPrice    = Prices.toDouble4(rawConsolidatedHighPrice);
+            consolidatedLowPrice     = Prices.toDouble4(rawConsolidatedLowPrice);
+            consolidatedClosingPrice = Prices.toDouble4(rawConsolidatedClosingPrice);
+            consolidatedOpenPrice    = Prices.toDouble4(rawConsolidatedOpenPrice);
+        }
+
+        /**
+         * Decode the packed issue symbol.
+         *
+         * @return the issue symbol
+         */
+        public String getIssueSymbol() {
+            return alpha(packedIssueSymbol);
         }
 
         @Override
@@ -1101,13 +1965,13 @@ public class NLS30 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(issueSymbol.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedIssueSymbol);
             buffer.put((byte) marketCategory);
-            put(buffer, consolidatedHighPrice);
-            put(buffer, consolidatedLowPrice);
-            put(buffer, consolidatedClosingPrice);
+            buffer.putInt((int) rawConsolidatedHighPrice);
+            buffer.putInt((int) rawConsolidatedLowPrice);
+            buffer.putInt((int) rawConsolidatedClosingPrice);
             buffer.putLong(consolidatedVolume);
-            put(buffer, consolidatedOpenPrice);
+            buffer.putInt((int) rawConsolidatedOpenPrice);
         }
     }
 
@@ -1125,21 +1989,60 @@ public class NLS30 {
         public double consolidatedClosingPrice;
         public long consolidatedVolume;
         public double consolidatedOpenPrice;
+        public long rawConsolidatedHighPrice;
+        public long rawConsolidatedLowPrice;
+        public long rawConsolidatedClosingPrice;
+        public long rawConsolidatedOpenPrice;
+        public long packedIssueSymbol;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
-            issueSymbol = readString(buffer, 8);
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            issueSymbol = alpha(packedIssueSymbol);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
+            packedIssueSymbol = buffer.getLong();
             marketCategory = (char) buffer.get();
-            consolidatedHighPrice = readDouble8(buffer);
-            consolidatedLowPrice = readDouble8(buffer);
-            consolidatedClosingPrice = readDouble8(buffer);
+            rawConsolidatedHighPrice = buffer.getLong();
+            rawConsolidatedLowPrice = buffer.getLong();
+            rawConsolidatedClosingPrice = buffer.getLong();
             consolidatedVolume = buffer.getLong();
-            consolidatedOpenPrice = readDouble8(buffer);
+            rawConsolidatedOpenPrice = buffer.getLong();
+
+            consolidatedHighPrice    = Prices.toDouble4(rawConsolidatedHighPrice);
+            consolidatedLowPrice     = Prices.toDouble4(rawConsolidatedLowPrice);
+            consolidatedClosingPrice = Prices.toDouble4(rawConsolidatedClosingPrice);
+            consolidatedOpenPrice    = Prices.toDouble4(rawConsolidatedOpenPrice);
+        }
+
+        /**
+         * Decode the packed issue symbol.
+         *
+         * @return the issue symbol
+         */
+        public String getIssueSymbol() {
+            return alpha(packedIssueSymbol);
         }
 
         @Override
@@ -1148,13 +2051,13 @@ public class NLS30 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(issueSymbol.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedIssueSymbol);
             buffer.put((byte) marketCategory);
-            putDouble8(buffer, consolidatedHighPrice);
-            putDouble8(buffer, consolidatedLowPrice);
-            putDouble8(buffer, consolidatedClosingPrice);
+            buffer.putLong(rawConsolidatedHighPrice);
+            buffer.putLong(rawConsolidatedLowPrice);
+            buffer.putLong(rawConsolidatedClosingPrice);
             buffer.putLong(consolidatedVolume);
-            putDouble8(buffer, consolidatedOpenPrice);
+            buffer.putLong(rawConsolidatedOpenPrice);
         }
     }
 
@@ -1174,23 +2077,66 @@ public class NLS30 {
         public double nasdaqClosingPrice;
         public double navOffsetAmountClose;
         public long consolidatedVolume;
+        public long rawNasdaqHighPrice;
+        public long rawNavOffsetAmountHigh;
+        public long rawNasdaqLowPrice;
+        public long rawNavOffsetAmountLow;
+        public long rawNasdaqClosingPrice;
+        public long rawNavOffsetAmountClose;
+        public long packedIssueSymbol;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
-            issueSymbol = readString(buffer, 8);
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            issueSymbol = alpha(packedIssueSymbol);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
+            packedIssueSymbol = buffer.getLong();
             marketCategory = (char) buffer.get();
-            nasdaqHighPrice = readDouble4(buffer);
-            navOffsetAmountHigh = readDouble4(buffer);
-            nasdaqLowPrice = readDouble4(buffer);
-            navOffsetAmountLow = readDouble4(buffer);
-            nasdaqClosingPrice = readDouble4(buffer);
-            navOffsetAmountClose = readDouble4(buffer);
+            rawNasdaqHighPrice = buffer.getInt();
+            rawNavOffsetAmountHigh = buffer.getInt();
+            rawNasdaqLowPrice = buffer.getInt();
+            rawNavOffsetAmountLow = buffer.getInt();
+            rawNasdaqClosingPrice = buffer.getInt();
+            rawNavOffsetAmountClose = buffer.getInt();
             consolidatedVolume = buffer.getLong();
+
+            nasdaqHighPrice      = Prices.toDouble4(rawNasdaqHighPrice);
+            navOffsetAmountHigh  = Prices.toDouble4(rawNavOffsetAmountHigh);
+            nasdaqLowPrice       = Prices.toDouble4(rawNasdaqLowPrice);
+            navOffsetAmountLow   = Prices.toDouble4(rawNavOffsetAmountLow);
+            nasdaqClosingPrice   = Prices.toDouble4(rawNasdaqClosingPrice);
+            navOffsetAmountClose = Prices.toDouble4(rawNavOffsetAmountClose);
+        }
+
+        /**
+         * Decode the packed issue symbol.
+         *
+         * @return the issue symbol
+         */
+        public String getIssueSymbol() {
+            return alpha(packedIssueSymbol);
         }
 
         @Override
@@ -1199,14 +2145,14 @@ public class NLS30 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(issueSymbol.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedIssueSymbol);
             buffer.put((byte) marketCategory);
-            put(buffer, nasdaqHighPrice);
-            put(buffer, navOffsetAmountHigh);
-            put(buffer, nasdaqLowPrice);
-            put(buffer, navOffsetAmountLow);
-            put(buffer, nasdaqClosingPrice);
-            put(buffer, navOffsetAmountClose);
+            buffer.putInt((int) rawNasdaqHighPrice);
+            buffer.putInt((int) rawNavOffsetAmountHigh);
+            buffer.putInt((int) rawNasdaqLowPrice);
+            buffer.putInt((int) rawNavOffsetAmountLow);
+            buffer.putInt((int) rawNasdaqClosingPrice);
+            buffer.putInt((int) rawNavOffsetAmountClose);
             buffer.putLong(consolidatedVolume);
         }
     }
@@ -1222,30 +2168,63 @@ public class NLS30 {
         public char securityClass;
         public char referenceForNetChange;
         public double referencePrice;
+        public long rawReferencePrice;
+        public long packedIssueSymbol;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
-            issueSymbol = readString(buffer, 8);
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            issueSymbol = alpha(packedIssueSymbol);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
+            packedIssueSymbol = buffer.getLong();
             securityClass = (char) buffer.get();
             referenceForNetChange = (char) buffer.get();
-            referencePrice = readDouble4(buffer);
+            rawReferencePrice = buffer.getInt();
+
+            referencePrice = Prices.toDouble4(rawReferencePrice);
+        }
+
+        /**
+         * Decode the packed issue symbol.
+         *
+         * @return the issue symbol
+         */
+        public String getIssueSymbol() {
+            return alpha(packedIssueSymbol);
         }
 
         @Override
         public void put(ByteBuffer buffer) {
-            buffer.put(MESSAGE_TYPE_IPO_QUOTING_PERIOD_UPDATE);
+            buffer.put(MESSAGE_TYPE_IPO_INFORMATION);
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(issueSymbol.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedIssueSymbol);
             buffer.put((byte) securityClass);
             buffer.put((byte) referenceForNetChange);
-            put(buffer, referencePrice);
+            buffer.putInt((int) rawReferencePrice);
         }
     }
 
@@ -1259,17 +2238,28 @@ public class NLS30 {
         public double level1;
         public double level2;
         public double level3;
+        public long rawLevel1;
+        public long rawLevel2;
+        public long rawLevel3;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
-            level1         = readPrice8(buffer);
-            level2         = readPrice8(buffer);
-            level3         = readPrice8(buffer);
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            rawLevel1 = buffer.getLong();
+            rawLevel2 = buffer.getLong();
+            rawLevel3 = buffer.getLong();
+
+            level1 = Prices.toDouble8(rawLevel1);
+            level2 = Prices.toDouble8(rawLevel2);
+            level3 = Prices.toDouble8(rawLevel3);
         }
 
         @Override
@@ -1278,9 +2268,9 @@ public class NLS30 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            putPrice8(buffer, level1);
-            putPrice8(buffer, level2);
-            putPrice8(buffer, level3);
+            buffer.putLong(rawLevel1);
+            buffer.putLong(rawLevel2);
+            buffer.putLong(rawLevel3);
         }
     }
 
@@ -1295,11 +2285,15 @@ public class NLS30 {
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
             breachedLevel  = (char) buffer.get();
         }
 
@@ -1324,18 +2318,51 @@ public class NLS30 {
         public long ipoQuotationReleaseTime;
         public char ipoQuotationReleaseQualifier;
         public double ipoPrice;
+        public long rawIpoPrice;
+        public long packedStock;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
-            stock                        = readString(buffer, 8);
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            stock = alpha(packedStock);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
+            packedStock                  = buffer.getLong();
             ipoQuotationReleaseTime      = getUnsignedInt(buffer);
             ipoQuotationReleaseQualifier = (char) buffer.get();
-            ipoPrice                     = readDouble4(buffer);
+            rawIpoPrice                  = buffer.getInt();
+
+            ipoPrice = Prices.toDouble4(rawIpoPrice);
+        }
+
+        /**
+         * Decode the packed stock.
+         *
+         * @return the stock
+         */
+        public String getStock() {
+            return alpha(packedStock);
         }
 
         @Override
@@ -1344,10 +2371,10 @@ public class NLS30 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(stock.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedStock);
             putUnsignedInt(buffer, ipoQuotationReleaseTime);
             buffer.put((byte) ipoQuotationReleaseQualifier);
-            put(buffer, ipoPrice);
+            buffer.putInt((int) rawIpoPrice);
         }
     }
 
@@ -1361,38 +2388,157 @@ public class NLS30 {
         public String stock;
         public char marketCode;
         public char operationalHaltAction;
+        public long packedStock;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
-            stock                 = readString(buffer, 8);
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            stock = alpha(packedStock);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
+            packedStock           = buffer.getLong();
             marketCode            = (char) buffer.get();
             operationalHaltAction = (char) buffer.get();
         }
 
+        /**
+         * Decode the packed stock.
+         *
+         * @return the stock
+         */
+        public String getStock() {
+            return alpha(packedStock);
+        }
+
         @Override
         public void put(ByteBuffer buffer) {
             buffer.put(MESSAGE_TYPE_OPERATIONAL_HALT);
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(stock.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedStock);
             buffer.put((byte) marketCode);
             buffer.put((byte) operationalHaltAction);
         }
     }
 
-    public static boolean isDecodeContainsHeader() {
-        return DECODE_CONTAINS_HEADER;
+    /**
+     * The length of the Tracking Number and Timestamp fields.
+     */
+    public static final int HEADER_LENGTH = 8;
+
+    private static final int[] MESSAGE_LENGTHS = new int[256];
+
+    static {
+        MESSAGE_LENGTHS[MESSAGE_TYPE_SYSTEM_EVENT]                                     = 10;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_TRADE_REPORT_FOR_NON_NEXT_SHARES]                 = 49;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_LONG_FORM_TRADE_REPORT_FOR_NON_NEXT_SHARES]       = 53;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_TRADE_REPORT_FOR_NEXT_SHARES]                     = 53;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_TRADE_CANCEL_ERROR_FOR_NON_NEXT_SHARES]           = 49;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_LONG_FORM_TRADE_CANCEL_ERROR_FOR_NON_NEXT_SHARES] = 53;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_TRADE_CANCEL_ERROR_FOR_NEXT_SHARES]               = 53;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_TRADE_CORRECTION_FOR_NON_NEXT_SHARES]             = 71;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_LONG_FORM_TRADE_CORRECTION_FOR_NON_NEXT_SHARES]   = 79;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_TRADE_CORRECTION_FOR_NEXT_SHARES]                 = 79;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_STOCK_TRADING_ACTION]                             = 24;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_STOCK_DIRECTORY]                                  = 49;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_REG_SHO_RESTRICTION]                              = 18;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_ADJUSTED_CLOSING_PRICE]                           = 22;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_LONG_FORM_ADJUSTED_CLOSING_PRICE]                 = 26;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_END_OF_DAY_TRADE_SUMMARY]                         = 42;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_LONG_FORM_END_OF_DAY_TRADE_SUMMARY]               = 58;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_END_OF_DAY_TRADE_SUMMARY_NEXT_SHARES]             = 50;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_IPO_INFORMATION]                                  = 23;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_MWCB_DECLINE_LEVEL]                               = 33;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_MWCB_STATUS]                                      = 10;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_IPO_QUOTING_PERIOD_UPDATE]                        = 26;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_OPERATIONAL_HALT]                                 = 19;
+    }
+
+    /**
+     * Get the length of a message, including the message type and the
+     * Tracking Number and Timestamp fields.
+     *
+     * @param messageType the message type
+     * @return the message length or zero if the message type is unknown
+     */
+    public static int messageLength(byte messageType) {
+        return MESSAGE_LENGTHS[messageType & 0xff];
+    }
+
+    private static final int[] SYMBOL_OFFSETS = new int[256];
+
+    static {
+        SYMBOL_OFFSETS[MESSAGE_TYPE_TRADE_REPORT_FOR_NON_NEXT_SHARES]                 = 9;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_LONG_FORM_TRADE_REPORT_FOR_NON_NEXT_SHARES]       = 9;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_TRADE_REPORT_FOR_NEXT_SHARES]                     = 9;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_TRADE_CANCEL_ERROR_FOR_NON_NEXT_SHARES]           = 9;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_LONG_FORM_TRADE_CANCEL_ERROR_FOR_NON_NEXT_SHARES] = 9;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_TRADE_CANCEL_ERROR_FOR_NEXT_SHARES]               = 9;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_TRADE_CORRECTION_FOR_NON_NEXT_SHARES]             = 9;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_LONG_FORM_TRADE_CORRECTION_FOR_NON_NEXT_SHARES]   = 9;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_TRADE_CORRECTION_FOR_NEXT_SHARES]                 = 9;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_STOCK_TRADING_ACTION]                             = 9;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_STOCK_DIRECTORY]                                  = 8;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_REG_SHO_RESTRICTION]                              = 8;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_ADJUSTED_CLOSING_PRICE]                           = 8;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_LONG_FORM_ADJUSTED_CLOSING_PRICE]                 = 8;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_END_OF_DAY_TRADE_SUMMARY]                         = 8;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_LONG_FORM_END_OF_DAY_TRADE_SUMMARY]               = 8;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_END_OF_DAY_TRADE_SUMMARY_NEXT_SHARES]             = 8;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_IPO_INFORMATION]                                  = 8;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_IPO_QUOTING_PERIOD_UPDATE]                        = 8;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_OPERATIONAL_HALT]                                 = 8;
+    }
+
+    /**
+     * Get the offset of the symbol in a message, counted from the byte
+     * following the message type and including the Tracking Number and
+     * Timestamp fields.
+     *
+     * @param messageType the message type
+     * @return the offset of the symbol or zero if messages of the message
+     *   type carry no symbol
+     */
+    static int symbolOffset(byte messageType) {
+        return SYMBOL_OFFSETS[messageType & 0xff];
+    }
+
+    private static String alpha(short value) {
+        return ASCII.unpackShort(value).trim();
+    }
+
+    private static String alpha(int value) {
+        return ASCII.unpackInt(value).trim();
+    }
+
+    private static String alpha(long value) {
+        return ASCII.unpackLong(value).trim();
     }
 
-    public static void setDecodeContainsHeader(boolean decodeContainsHeader) {
-        System.err.println(LocalDateTime.now() + ",nls30 setDecodeContainsHeader," + decodeContainsHeader);
-        DECODE_CONTAINS_HEADER = decodeContainsHeader;
+    private static String alpha(byte[] value) {
+        return new String(value, StandardCharsets.US_ASCII).trim();
     }
 
 }
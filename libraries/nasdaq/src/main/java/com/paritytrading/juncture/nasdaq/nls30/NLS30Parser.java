@@ -17,6 +17,8 @@ package com.paritytrading.juncture.nasdaq.nls30;
 
 import static com.paritytrading.juncture.nasdaq.nls30.NLS30.*;
 
+import com.paritytrading.juncture.nasdaq.MessageFilter;
+import com.paritytrading.juncture.nasdaq.UnknownMessageTypePolicy;
 import com.paritytrading.nassau.MessageListener;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -54,12 +56,54 @@ public class NLS30Parser implements MessageListener {
 
     private NLS30Listener listener;
 
+    private UnknownMessageTypePolicy unknownMessageTypePolicy;
+
+    private final long[] unknownMessageCounts;
+
+    private MessageFilter filter;
+
+    private final boolean header;
+
+    private final boolean packed;
+
     /**
-     * Create a parser for inbound messages.
+     * Create a parser for inbound messages that contain the Tracking
+     * Number and Timestamp fields.
      *
      * @param listener the message listener
      */
     public NLS30Parser(NLS30Listener listener) {
+        this(listener, true);
+    }
+
+    /**
+     * Create a parser for inbound messages.
+     *
+     * <p>Parsers with different configurations can be used concurrently
+     * on different threads.</p>
+     *
+     * @param listener the message listener
+     * @param header true if inbound messages contain the Tracking Number
+     *   and Timestamp fields, otherwise false
+     */
+    public NLS30Parser(NLS30Listener listener, boolean header) {
+        this(listener, header, false);
+    }
+
+    /**
+     * Create a parser for inbound messages.
+     *
+     * <p>If packed decoding is enabled, messages are read using {@link
+     * Message#getPacked} instead of {@link Message#get}. The parser then
+     * does not allocate memory, but only the packed alphanumeric fields
+     * of the messages are populated.</p>
+     *
+     * @param listener the message listener
+     * @param header true if inbound messages contain the Tracking Number
+     *   and Timestamp fields, otherwise false
+     * @param packed if true, use packed decoding, otherwise not
+     */
+    public NLS30Parser(NLS30Listener listener, boolean header, boolean packed) {
         this.systemEvent               = new SystemEvent();
         this.tradeReportForNonNextShares               = new TradeReportForNonNextShares();
         this.longFormTradeReportForNonNextShares               = new LongFormTradeReportForNonNextShares();
@@ -85,110 +129,201 @@ public class NLS30Parser implements MessageListener {
         this.operationalHalt           = new OperationalHalt();
 
         this.listener = listener;
+        this.header   = header;
+        this.packed   = packed;
+
+        this.unknownMessageTypePolicy = UnknownMessageTypePolicy.COUNT;
+        this.unknownMessageCounts     = new long[256];
+    }
+
+    /**
+     * Set the policy for messages of an unknown message type. The default
+     * is {@link UnknownMessageTypePolicy#COUNT}.
+     *
+     * @param policy the policy
+     */
+    public void setUnknownMessageTypePolicy(UnknownMessageTypePolicy policy) {
+        this.unknownMessageTypePolicy = policy;
+    }
+
+    /**
+     * Get the number of skipped messages of an unknown message type. Only
+     * messages skipped under {@link UnknownMessageTypePolicy#COUNT} are
+     * counted.
+     *
+     * @param messageType the message type
+     * @return the number of skipped messages
+     */
+    public long getUnknownMessageCount(byte messageType) {
+        return unknownMessageCounts[messageType & 0xff];
+    }
+
+    /**
+     * Set the message filter. The parser checks the message type and the
+     * symbol of each message against the filter before decoding the
+     * message and skips the message by its known length if the filter
+     * rejects it. Messages of an unknown message type are not filtered.
+     *
+     * @param filter the message filter or {@code null} to accept all
+     *   messages
+     */
+    public void setFilter(MessageFilter filter) {
+        this.filter = filter;
     }
 
     @Override
     public void message(ByteBuffer buffer) throws IOException {
         byte messageType = buffer.get();
 
+        if (filter != null && skip(messageType, buffer))
+            return;
+
         switch (messageType) {
         case MESSAGE_TYPE_SYSTEM_EVENT:
-            systemEvent.get(buffer);
+            get(systemEvent, buffer);
             listener.systemEvent(systemEvent);
             break;
         case MESSAGE_TYPE_TRADE_REPORT_FOR_NON_NEXT_SHARES:
-            tradeReportForNonNextShares.get(buffer);
+            get(tradeReportForNonNextShares, buffer);
             listener.tradeReportForNonNextShares(tradeReportForNonNextShares);
             break;
         case MESSAGE_TYPE_LONG_FORM_TRADE_REPORT_FOR_NON_NEXT_SHARES:
-            longFormTradeReportForNonNextShares.get(buffer);
+            get(longFormTradeReportForNonNextShares, buffer);
             listener.tradeReportForNonNextShares(longFormTradeReportForNonNextShares);
             break;
         case MESSAGE_TYPE_TRADE_REPORT_FOR_NEXT_SHARES:
-            tradeReportForNextShares.get(buffer);
+            get(tradeReportForNextShares, buffer);
             listener.tradeReportForNextShares(tradeReportForNextShares);
             break;
         case MESSAGE_TYPE_TRADE_CANCEL_ERROR_FOR_NON_NEXT_SHARES:
-            tradeCancelErrorForNonNextShares.get(buffer);
+            get(tradeCancelErrorForNonNextShares, buffer);
             listener.tradeCancelErrorForNonNextShares(tradeCancelErrorForNonNextShares);
             break;
         case MESSAGE_TYPE_LONG_FORM_TRADE_CANCEL_ERROR_FOR_NON_NEXT_SHARES:
-            longFormTradeCancelErrorForNonNextShares.get(buffer);
+            get(longFormTradeCancelErrorForNonNextShares, buffer);
             listener.tradeCancelErrorForNonNextShares(longFormTradeCancelErrorForNonNextShares);
             break;
         case MESSAGE_TYPE_TRADE_CANCEL_ERROR_FOR_NEXT_SHARES:
-            tradeCancelErrorForNextShares.get(buffer);
+            get(tradeCancelErrorForNextShares, buffer);
             listener.tradeCancelErrorForNextShares(tradeCancelErrorForNextShares);
             break;
         case MESSAGE_TYPE_TRADE_CORRECTION_FOR_NON_NEXT_SHARES:
-            tradeCorrectionForNonNextShares.get(buffer);
+            get(tradeCorrectionForNonNextShares, buffer);
             listener.tradeCorrectionForNonNextShares(tradeCorrectionForNonNextShares);
             break;
         case MESSAGE_TYPE_LONG_FORM_TRADE_CORRECTION_FOR_NON_NEXT_SHARES:
-            longFormTradeCorrectionForNonNextShares.get(buffer);
+            get(longFormTradeCorrectionForNonNextShares, buffer);
             listener.tradeCorrectionForNonNextShares(longFormTradeCorrectionForNonNextShares);
             break;
         case MESSAGE_TYPE_TRADE_CORRECTION_FOR_NEXT_SHARES:
-            tradeCorrectionForNextShares.get(buffer);
+            get(tradeCorrectionForNextShares, buffer);
             listener.tradeCorrectionForNextShares(tradeCorrectionForNextShares);
             break;
         case MESSAGE_TYPE_STOCK_DIRECTORY:
-            stockDirectory.get(buffer);
+            get(stockDirectory, buffer);
             listener.stockDirectory(stockDirectory);
             break;
         case MESSAGE_TYPE_STOCK_TRADING_ACTION:
-            stockTradingAction.get(buffer);
+            get(stockTradingAction, buffer);
             listener.stockTradingAction(stockTradingAction);
             break;
         case MESSAGE_TYPE_REG_SHO_RESTRICTION:
-            regSHORestriction.get(buffer);
+            get(regSHORestriction, buffer);
             listener.regSHORestriction(regSHORestriction);
             break;
         case MESSAGE_TYPE_ADJUSTED_CLOSING_PRICE:
-            adjustedClosingPrice.get(buffer);
+            get(adjustedClosingPrice, buffer);
             listener.adjustedClosingPrice(adjustedClosingPrice);
             break;
         case MESSAGE_TYPE_LONG_FORM_ADJUSTED_CLOSING_PRICE:
-            longFormAdjustedClosingPrice.get(buffer);
+            get(longFormAdjustedClosingPrice, buffer);
             listener.adjustedClosingPrice(longFormAdjustedClosingPrice);
             break;
         case MESSAGE_TYPE_END_OF_DAY_TRADE_SUMMARY:
-            endOfDayTradeSummary.get(buffer);
+            get(endOfDayTradeSummary, buffer);
             listener.endOfDayTradeSummary(endOfDayTradeSummary);
             break;
         case MESSAGE_TYPE_LONG_FORM_END_OF_DAY_TRADE_SUMMARY:
-            longFormEndOfDayTradeSummary.get(buffer);
+            get(longFormEndOfDayTradeSummary, buffer);
             listener.endOfDayTradeSummary(longFormEndOfDayTradeSummary);
             break;
         case MESSAGE_TYPE_END_OF_DAY_TRADE_SUMMARY_NEXT_SHARES:
-            endOfDayTradeSummaryNextShares.get(buffer);
+            get(endOfDayTradeSummaryNextShares, buffer);
             listener.endOfDayTradeSummaryNextShares(endOfDayTradeSummaryNextShares);
             break;
         case MESSAGE_TYPE_IPO_INFORMATION:
-            ipoInformation.get(buffer);
+            get(ipoInformation, buffer);
             listener.ipoInformation(ipoInformation);
             break;
         case MESSAGE_TYPE_MWCB_DECLINE_LEVEL:
-            mwcbDeclineLevel.get(buffer);
+            get(mwcbDeclineLevel, buffer);
             listener.mwcbDeclineLevel(mwcbDeclineLevel);
             break;
         case MESSAGE_TYPE_MWCB_STATUS:
-            mwcbStatus.get(buffer);
+            get(mwcbStatus, buffer);
             listener.mwcbStatus(mwcbStatus);
             break;
         case MESSAGE_TYPE_IPO_QUOTING_PERIOD_UPDATE:
-            ipoQuotingPeriodUpdate.get(buffer);
+            get(ipoQuotingPeriodUpdate, buffer);
             listener.ipoQuotingPeriodUpdate(ipoQuotingPeriodUpdate);
             break;
         case MESSAGE_TYPE_OPERATIONAL_HALT:
-            operationalHalt.get(buffer);
+            get(operationalHalt, buffer);
             listener.operationalHalt(operationalHalt);
             break;
         default:
-            final char type = (char) messageType;
-            System.err.println("nls plus,Unknown message type: " + type);
-            // throw new NLS30Exception("Unknown message type: " + (char)messageType);
+            unknown(messageType, buffer);
+            break;
+        }
+    }
+
+    private void get(Message message, ByteBuffer buffer) {
+        if (packed) {
+            if (header)
+                message.getPacked(buffer);
+            else
+                message.getPackedBody(buffer);
+        } else {
+            if (header)
+                message.get(buffer);
+            else
+                message.getBody(buffer);
         }
     }
 
+    private boolean skip(byte messageType, ByteBuffer buffer) {
+        int length = messageLength(messageType);
+        if (length == 0)
+            return false;
+
+        int missing = header ? 0 : HEADER_LENGTH;
+
+        if (filter.acceptsMessageType(messageType)) {
+            int offset = symbolOffset(messageType);
+            if (offset == 0 || !filter.hasSymbols())
+                return false;
+
+            if (filter.acceptsSymbol(buffer.getLong(buffer.position() + offset - missing)))
+                return false;
+        }
+
+        buffer.position(Math.min(buffer.position() + length - 1 - missing, buffer.limit()));
+
+        return true;
+    }
+
+    private void unknown(byte messageType, ByteBuffer buffer) throws NLS30Exception {
+        switch (unknownMessageTypePolicy) {
+        case FAIL:
+            throw new NLS30Exception("Unknown message type: " + (char)messageType);
+        case COUNT:
+            unknownMessageCounts[messageType & 0xff]++;
+            break;
+        case SKIP:
+            break;
+        }
+
+        buffer.position(buffer.limit());
+    }
+
 }
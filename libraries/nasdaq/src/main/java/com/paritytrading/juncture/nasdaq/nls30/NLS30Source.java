@@ -8,9 +8,7 @@ package com.paritytrading.juncture.nasdaq.nls30;
 import static com.paritytrading.juncture.nasdaq.nls30.NLS30.*;
 
 import java.io.IOException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import com.paritytrading.juncture.nasdaq.MessageCounters;
 
 /**
  * NLS PLUS 3.0 handler
@@ -20,145 +18,205 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class NLS30Source implements NLS30Listener {
 
-    protected static final Map<String, AtomicLong> TYPE_COUNT_MAP = new ConcurrentHashMap<>();
+    private static final byte[] MESSAGE_TYPES = {
+        MESSAGE_TYPE_SYSTEM_EVENT,
+        MESSAGE_TYPE_TRADE_REPORT_FOR_NON_NEXT_SHARES,
+        MESSAGE_TYPE_LONG_FORM_TRADE_REPORT_FOR_NON_NEXT_SHARES,
+        MESSAGE_TYPE_TRADE_REPORT_FOR_NEXT_SHARES,
+        MESSAGE_TYPE_TRADE_CANCEL_ERROR_FOR_NON_NEXT_SHARES,
+        MESSAGE_TYPE_LONG_FORM_TRADE_CANCEL_ERROR_FOR_NON_NEXT_SHARES,
+        MESSAGE_TYPE_TRADE_CANCEL_ERROR_FOR_NEXT_SHARES,
+        MESSAGE_TYPE_TRADE_CORRECTION_FOR_NON_NEXT_SHARES,
+        MESSAGE_TYPE_LONG_FORM_TRADE_CORRECTION_FOR_NON_NEXT_SHARES,
+        MESSAGE_TYPE_TRADE_CORRECTION_FOR_NEXT_SHARES,
+        MESSAGE_TYPE_STOCK_TRADING_ACTION,
+        MESSAGE_TYPE_STOCK_DIRECTORY,
+        MESSAGE_TYPE_REG_SHO_RESTRICTION,
+        MESSAGE_TYPE_ADJUSTED_CLOSING_PRICE,
+        MESSAGE_TYPE_LONG_FORM_ADJUSTED_CLOSING_PRICE,
+        MESSAGE_TYPE_END_OF_DAY_TRADE_SUMMARY,
+        MESSAGE_TYPE_LONG_FORM_END_OF_DAY_TRADE_SUMMARY,
+        MESSAGE_TYPE_END_OF_DAY_TRADE_SUMMARY_NEXT_SHARES,
+        MESSAGE_TYPE_IPO_INFORMATION,
+        MESSAGE_TYPE_MWCB_DECLINE_LEVEL,
+        MESSAGE_TYPE_MWCB_STATUS,
+        MESSAGE_TYPE_IPO_QUOTING_PERIOD_UPDATE,
+        MESSAGE_TYPE_OPERATIONAL_HALT,
+    };
+
+    private static final String[] TOPICS = {
+        "us.nlsp_SystemEvent",
+        "us.nlsp_TradeReportForNonNextShares",
+        "us.nlsp_LongFormTradeReportForNonNextShares",
+        "us.nlsp_TradeReportForNextShares",
+        "us.nlsp_TradeCancelErrorForNonNextShares",
+        "us.nlsp_LongFormTradeCancelErrorForNonNextShares",
+        "us.nlsp_TradeCancelErrorForNextShares",
+        "us.nlsp_TradeCorrectionForNonNextShares",
+        "us.nlsp_LongFormTradeCorrectionForNonNextShares",
+        "us.nlsp_TradeCorrectionForNextShares",
+        "us.nlsp_StockTradingAction",
+        "us.nlsp_StockDirectory",
+        "us.nlsp_RegSHORestriction",
+        "us.nlsp_AdjustedClosingPrice",
+        "us.nlsp_LongFormAdjustedClosingPrice",
+        "us.nlsp_EndOfDayTradeSummary",
+        "us.nlsp_LongFormEndOfDayTradeSummary",
+        "us.nlsp_EndOfDayTradeSummaryNextShares",
+        "us.nlsp_IPOInformation",
+        "us.nlsp_MWCBDeclineLevel",
+        "us.nlsp_MWCBStatus",
+        "us.nlsp_IPOQuotingPeriodUpdate",
+        "us.nlsp_OperationalHalt",
+    };
+
+    private static final MessageCounters COUNTERS = new MessageCounters(MESSAGE_TYPES, TOPICS);
 
     public NLS30Source() {
     }
 
     @Override
     public void systemEvent(SystemEvent message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_SYSTEM_EVENT, message);
     }
 
     @Override
     public void tradeReportForNonNextShares(TradeReportForNonNextShares message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_TRADE_REPORT_FOR_NON_NEXT_SHARES, message);
     }
 
     @Override
     public void tradeReportForNonNextShares(LongFormTradeReportForNonNextShares message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_LONG_FORM_TRADE_REPORT_FOR_NON_NEXT_SHARES, message);
     }
 
     @Override
     public void tradeReportForNextShares(TradeReportForNextShares message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_TRADE_REPORT_FOR_NEXT_SHARES, message);
     }
 
     @Override
     public void tradeCancelErrorForNonNextShares(TradeCancelErrorForNonNextShares message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_TRADE_CANCEL_ERROR_FOR_NON_NEXT_SHARES, message);
     }
 
     @Override
     public void tradeCancelErrorForNonNextShares(LongFormTradeCancelErrorForNonNextShares message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_LONG_FORM_TRADE_CANCEL_ERROR_FOR_NON_NEXT_SHARES, message);
     }
 
     @Override
     public void tradeCancelErrorForNextShares(TradeCancelErrorForNextShares message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_TRADE_CANCEL_ERROR_FOR_NEXT_SHARES, message);
     }
 
     @Override
     public void tradeCorrectionForNonNextShares(TradeCorrectionForNonNextShares message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_TRADE_CORRECTION_FOR_NON_NEXT_SHARES, message);
     }
 
     @Override
     public void tradeCorrectionForNonNextShares(LongFormTradeCorrectionForNonNextShares message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_LONG_FORM_TRADE_CORRECTION_FOR_NON_NEXT_SHARES, message);
     }
 
     @Override
     public void tradeCorrectionForNextShares(TradeCorrectionForNextShares message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_TRADE_CORRECTION_FOR_NEXT_SHARES, message);
     }
 
     @Override
     public void stockTradingAction(StockTradingAction message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_STOCK_TRADING_ACTION, message);
     }
 
     @Override
     public void stockDirectory(StockDirectory message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_STOCK_DIRECTORY, message);
     }
 
     @Override
     public void regSHORestriction(RegSHORestriction message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_REG_SHO_RESTRICTION, message);
     }
 
     @Override
     public void adjustedClosingPrice(AdjustedClosingPrice message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_ADJUSTED_CLOSING_PRICE, message);
     }
 
     @Override
     public void adjustedClosingPrice(LongFormAdjustedClosingPrice message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_LONG_FORM_ADJUSTED_CLOSING_PRICE, message);
     }
 
     @Override
     public void endOfDayTradeSummary(EndOfDayTradeSummary message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_END_OF_DAY_TRADE_SUMMARY, message);
     }
 
     @Override
     public void endOfDayTradeSummary(LongFormEndOfDayTradeSummary message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_LONG_FORM_END_OF_DAY_TRADE_SUMMARY, message);
     }
 
     @Override
     public void endOfDayTradeSummaryNextShares(EndOfDayTradeSummaryNextShares message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_END_OF_DAY_TRADE_SUMMARY_NEXT_SHARES, message);
     }
 
     @Override
     public void ipoInformation(IPOInformation message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_IPO_INFORMATION, message);
     }
 
     @Override
     public void mwcbDeclineLevel(MWCBDeclineLevel message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_MWCB_DECLINE_LEVEL, message);
     }
 
     @Override
     public void mwcbStatus(MWCBStatus message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_MWCB_STATUS, message);
     }
 
     @Override
     public void ipoQuotingPeriodUpdate(IPOQuotingPeriodUpdate message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_IPO_QUOTING_PERIOD_UPDATE, message);
     }
 
     @Override
     public void operationalHalt(OperationalHalt message) throws IOException {
-        handle(message);
+        handle(MESSAGE_TYPE_OPERATIONAL_HALT, message);
     }
 
-    protected void handle(Message message) {
-        String topic = "us.nlsp_" + message.getClass().getSimpleName();
-        log(message, topic);
+    /**
+     * Get the message counters shared by all NLS30Source instances.
+     *
+     * @return the message counters
+     */
+    public static MessageCounters getCounters() {
+        return COUNTERS;
     }
 
-    protected void log(Message message, String topic) {
-        AtomicLong count = TYPE_COUNT_MAP.get(topic);
-        if (count == null) {
-            count = new AtomicLong(0);
-            TYPE_COUNT_MAP.put(topic, count);
-        }
-        if (count.incrementAndGet() % logPerNum() == 0) {
-            TYPE_COUNT_MAP.put(topic, count);
-            System.out.println(topic + "|" + count);
-        }
+    /**
+     * Count a message and handle it.
+     *
+     * @param messageType the message type
+     * @param message the message
+     */
+    protected void handle(byte messageType, Message message) {
+        COUNTERS.increment(messageType);
+
+        handle(message);
     }
 
-    protected int logPerNum() {
-        return 1000;
+    /**
+     * Handle a message. The default implementation does nothing.
+     *
+     * @param message the message
+     */
+    protected void handle(Message message) {
     }
 
 }
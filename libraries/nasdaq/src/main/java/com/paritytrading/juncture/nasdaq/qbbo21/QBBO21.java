@@ -20,12 +20,13 @@ import static com.paritytrading.foundation.ByteBuffers.getUnsignedShort;
 import static com.paritytrading.foundation.ByteBuffers.putUnsignedInt;
 import static com.paritytrading.foundation.ByteBuffers.putUnsignedShort;
 
+import com.paritytrading.foundation.ASCII;
+import com.paritytrading.juncture.nasdaq.Prices;
 import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.ReadOnlyBufferException;
 import java.nio.charset.StandardCharsets;
-import java.time.LocalDateTime;
 
 /**
  * Common definitions.
@@ -34,8 +35,6 @@ import java.time.LocalDateTime;
  */
 public class QBBO21 {
 
-    private static boolean DECODE_CONTAINS_HEADER = true;
-
     private QBBO21() {
     }
 
@@ -143,6 +142,12 @@ public class QBBO21 {
 
     /**
      * A message.
+     *
+     * <p>Prices are available both as {@code double} fields and as raw
+     * fields, such as {@code rawPrice}. A raw price holds the price as an
+     * integer with four implied decimal places for Price (4) fields and
+     * eight for Price (8) fields. Use {@link Prices} to convert raw prices
+     * exactly.</p>
      */
     public interface Message {
 
@@ -155,9 +160,60 @@ public class QBBO21 {
          */
         void get(ByteBuffer buffer);
 
+        /**
+         * Read this message without the Tracking Number and Timestamp
+         * fields from the buffer. The Tracking Number and Timestamp fields
+         * are left unchanged.
+         *
+         * @param buffer a buffer
+         * @throws BufferUnderflowException if there are fewer bytes remaining
+         *   in the buffer than what the message body consists of
+         */
+        void getBody(ByteBuffer buffer);
+
+        /**
+         * Read this message from the buffer without allocating memory.
+         *
+         * <p>Alphanumeric fields are read into their packed counterparts,
+         * such as {@code packedStock}, only. The corresponding {@code
+         * String} fields are left untouched, but they can be decoded on
+         * demand with accessors such as {@code getStock()}.</p>
+         *
+         * <p>A packed alphanumeric field of two, four or eight characters
+         * holds the ASCII characters of the field in big-endian byte order,
+         * padded with spaces. A longer packed alphanumeric field holds the
+         * ASCII characters in a byte array that is reused by every read.</p>
+         *
+         * @param buffer a buffer
+         * @throws BufferUnderflowException if there are fewer bytes remaining
+         *   in the buffer than what this message consists of
+         */
+        default void getPacked(ByteBuffer buffer) {
+            get(buffer);
+        }
+
+        /**
+         * Read this message without the Tracking Number and Timestamp
+         * fields from the buffer without allocating memory. The Tracking
+         * Number and Timestamp fields are left unchanged.
+         *
+         * @param buffer a buffer
+         * @throws BufferUnderflowException if there are fewer bytes remaining
+         *   in the buffer than what the message body consists of
+         * @see #getPacked
+         */
+        default void getPackedBody(ByteBuffer buffer) {
+            getBody(buffer);
+        }
+
         /**
          * Write this message to the buffer.
          *
+         * <p>Alphanumeric fields are written from their packed counterparts
+         * and prices from their raw counterparts, both of which are filled
+         * in by every read. The corresponding {@code String} and {@code
+         * double} fields are ignored.</p>
+         *
          * @param buffer a buffer
          * @throws BufferOverflowException if there are fewer bytes remaining
          *   in the buffer than what this message consists of
@@ -172,7 +228,7 @@ public class QBBO21 {
          * @return double
          */
         default double readDouble4(ByteBuffer buffer) {
-            return buffer.getInt() / 10000.0;
+            return Prices.toDouble4(buffer.getInt());
         }
 
         /**
@@ -182,7 +238,7 @@ public class QBBO21 {
          * @return price
          */
         default double readPrice8(ByteBuffer buffer) {
-            return buffer.getLong() / 10000.0 / 1000;
+            return Prices.toDouble8(buffer.getLong());
         }
 
         /**
@@ -206,7 +262,7 @@ public class QBBO21 {
          * @return Byte array
          */
         default void put(ByteBuffer buffer, double value) {
-            buffer.putInt((int) (value * 10000));
+            buffer.putInt((int) Prices.fromDouble4(value));
         }
 
         /**
@@ -217,7 +273,7 @@ public class QBBO21 {
          * @return Byte array
          */
         default void putPrice8(ByteBuffer buffer, double value) {
-            buffer.putLong((int) (value * 10000 * 1000));
+            buffer.putLong(Prices.fromDouble8(value));
         }
 
     }
@@ -233,11 +289,15 @@ public class QBBO21 {
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh  = getUnsignedShort(buffer);
-                timestampLow   = getUnsignedInt(buffer);
-            }
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh  = getUnsignedShort(buffer);
+            timestampLow   = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
             eventCode      = (char) buffer.get();
         }
 
@@ -272,21 +332,44 @@ public class QBBO21 {
         public char  etpFlag;
         public long  etpLeverageFactor;
         public char  inverseIndicator;
+        public long packedStock;
+        public short packedIssueSubType;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
-            stock                       = readString(buffer, 8);
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            stock        = alpha(packedStock);
+            issueSubType = alpha(packedIssueSubType);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
+            packedStock                 = buffer.getLong();
             marketCategory              = (char) buffer.get();
             financialStatusIndicator    = (char) buffer.get();
             roundLotSize                = getUnsignedInt(buffer);
             roundLotsOnly               = (char) buffer.get();
             issueClassification         = (char) buffer.get();
-            issueSubType                = readString(buffer, 2);
+            packedIssueSubType          = buffer.getShort();
             authenticity                = (char) buffer.get();
             shortSaleThresholdIndicator = (char) buffer.get();
             ipoFlag                     = (char) buffer.get();
@@ -296,19 +379,37 @@ public class QBBO21 {
             inverseIndicator            = (char) buffer.get();
         }
 
+        /**
+         * Decode the packed stock.
+         *
+         * @return the stock
+         */
+        public String getStock() {
+            return alpha(packedStock);
+        }
+
+        /**
+         * Decode the packed issue sub type.
+         *
+         * @return the issue sub type
+         */
+        public String getIssueSubType() {
+            return alpha(packedIssueSubType);
+        }
+
         @Override
         public void put(ByteBuffer buffer) {
             buffer.put(MESSAGE_TYPE_STOCK_DIRECTORY);
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(stock.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedStock);
             buffer.put((byte) marketCategory);
             buffer.put((byte) financialStatusIndicator);
             putUnsignedInt(buffer, roundLotSize);
             buffer.put((byte) roundLotsOnly);
             buffer.put((byte) issueClassification);
-            buffer.put(issueSubType.getBytes(StandardCharsets.US_ASCII));
+            buffer.putShort(packedIssueSubType);
             buffer.put((byte) authenticity);
             buffer.put((byte) shortSaleThresholdIndicator);
             buffer.put((byte) ipoFlag);
@@ -330,18 +431,59 @@ public class QBBO21 {
         public char securityClass;
         public char tradingState;
         public String  reason;
+        public long packedStock;
+        public int packedReason;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
-            stock          = readString(buffer, 8);
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            stock  = alpha(packedStock);
+            reason = alpha(packedReason);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
+            packedStock    = buffer.getLong();
             securityClass  = (char) buffer.get();
             tradingState   = (char) buffer.get();
-            reason         = readString(buffer, 4);
+            packedReason   = buffer.getInt();
+        }
+
+        /**
+         * Decode the packed stock.
+         *
+         * @return the stock
+         */
+        public String getStock() {
+            return alpha(packedStock);
+        }
+
+        /**
+         * Decode the packed reason.
+         *
+         * @return the reason
+         */
+        public String getReason() {
+            return alpha(packedReason);
         }
 
         @Override
@@ -350,10 +492,10 @@ public class QBBO21 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(stock.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedStock);
             buffer.put((byte) securityClass);
             buffer.put((byte) tradingState);
-            buffer.put(reason.getBytes(StandardCharsets.US_ASCII));
+            buffer.putInt(packedReason);
         }
     }
 
@@ -366,25 +508,55 @@ public class QBBO21 {
         public long timestampLow;
         public String stock;
         public char regSHOAction;
+        public long packedStock;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
-            stock          = readString(buffer, 8);
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            stock = alpha(packedStock);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
+            packedStock    = buffer.getLong();
             regSHOAction   = (char) buffer.get();
         }
 
+        /**
+         * Decode the packed stock.
+         *
+         * @return the stock
+         */
+        public String getStock() {
+            return alpha(packedStock);
+        }
+
         @Override
         public void put(ByteBuffer buffer) {
             buffer.put(MESSAGE_TYPE_REG_SHO_RESTRICTION);
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(stock.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedStock);
             buffer.put((byte) regSHOAction);
         }
     }
@@ -399,17 +571,28 @@ public class QBBO21 {
         public double level1;
         public double level2;
         public double level3;
+        public long rawLevel1;
+        public long rawLevel2;
+        public long rawLevel3;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
-            level1         = readPrice8(buffer);
-            level2         = readPrice8(buffer);
-            level3         = readPrice8(buffer);
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            rawLevel1 = buffer.getLong();
+            rawLevel2 = buffer.getLong();
+            rawLevel3 = buffer.getLong();
+
+            level1 = Prices.toDouble8(rawLevel1);
+            level2 = Prices.toDouble8(rawLevel2);
+            level3 = Prices.toDouble8(rawLevel3);
         }
 
         @Override
@@ -418,9 +601,9 @@ public class QBBO21 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            putPrice8(buffer, level1);
-            putPrice8(buffer, level2);
-            putPrice8(buffer, level3);
+            buffer.putLong(rawLevel1);
+            buffer.putLong(rawLevel2);
+            buffer.putLong(rawLevel3);
         }
     }
 
@@ -435,11 +618,15 @@ public class QBBO21 {
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
             breachedLevel  = (char) buffer.get();
         }
 
@@ -464,18 +651,51 @@ public class QBBO21 {
         public long ipoQuotationReleaseTime;
         public char ipoQuotationReleaseQualifier;
         public double ipoPrice;
+        public long rawIpoPrice;
+        public long packedStock;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
-            stock                        = readString(buffer, 8);
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            stock = alpha(packedStock);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
+            packedStock                  = buffer.getLong();
             ipoQuotationReleaseTime      = getUnsignedInt(buffer);
             ipoQuotationReleaseQualifier = (char) buffer.get();
-            ipoPrice                     = readDouble4(buffer);
+            rawIpoPrice                  = buffer.getInt();
+
+            ipoPrice = Prices.toDouble4(rawIpoPrice);
+        }
+
+        /**
+         * Decode the packed stock.
+         *
+         * @return the stock
+         */
+        public String getStock() {
+            return alpha(packedStock);
         }
 
         @Override
@@ -484,10 +704,10 @@ public class QBBO21 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(stock.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedStock);
             putUnsignedInt(buffer, ipoQuotationReleaseTime);
             buffer.put((byte) ipoQuotationReleaseQualifier);
-            put(buffer, ipoPrice);
+            buffer.putInt((int) rawIpoPrice);
         }
     }
 
@@ -501,26 +721,56 @@ public class QBBO21 {
         public String stock;
         public char marketCode;
         public char operationalHaltAction;
+        public long packedStock;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
-            stock                 = readString(buffer, 8);
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            stock = alpha(packedStock);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
+            packedStock           = buffer.getLong();
             marketCode            = (char) buffer.get();
             operationalHaltAction = (char) buffer.get();
         }
 
+        /**
+         * Decode the packed stock.
+         *
+         * @return the stock
+         */
+        public String getStock() {
+            return alpha(packedStock);
+        }
+
         @Override
         public void put(ByteBuffer buffer) {
             buffer.put(MESSAGE_TYPE_OPERATIONAL_HALT);
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(stock.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedStock);
             buffer.put((byte) marketCode);
             buffer.put((byte) operationalHaltAction);
         }
@@ -541,22 +791,61 @@ public class QBBO21 {
         public double bestOfferProxyPrice;
         public long bestOfferSize;
         public double bestOfferAmount;
+        public long rawBestBidProxyPrice;
+        public long rawBestBidAmount;
+        public long rawBestOfferProxyPrice;
+        public long rawBestOfferAmount;
+        public long packedStock;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
-            stock                = readString(buffer, 8);
-            securityClass        = (char) buffer.get();
-            bestBidProxyPrice    = readDouble4(buffer);
-            bestBidSize          = getUnsignedInt(buffer);
-            bestBidAmount        = readDouble4(buffer);
-            bestOfferProxyPrice  = readDouble4(buffer);
-            bestOfferSize        = getUnsignedInt(buffer);
-            bestOfferAmount      = readDouble4(buffer);
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            stock = alpha(packedStock);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
+            packedStock            = buffer.getLong();
+            securityClass          = (char) buffer.get();
+            rawBestBidProxyPrice   = buffer.getInt();
+            bestBidSize            = getUnsignedInt(buffer);
+            rawBestBidAmount       = buffer.getInt();
+            rawBestOfferProxyPrice = buffer.getInt();
+            bestOfferSize          = getUnsignedInt(buffer);
+            rawBestOfferAmount     = buffer.getInt();
+
+            bestBidProxyPrice   = Prices.toDouble4(rawBestBidProxyPrice);
+            bestBidAmount       = Prices.toDouble4(rawBestBidAmount);
+            bestOfferProxyPrice = Prices.toDouble4(rawBestOfferProxyPrice);
+            bestOfferAmount     = Prices.toDouble4(rawBestOfferAmount);
+        }
+
+        /**
+         * Decode the packed stock.
+         *
+         * @return the stock
+         */
+        public String getStock() {
+            return alpha(packedStock);
         }
 
         @Override
@@ -565,14 +854,14 @@ public class QBBO21 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(stock.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedStock);
             buffer.put((byte) securityClass);
-            put(buffer, bestBidProxyPrice);
+            buffer.putInt((int) rawBestBidProxyPrice);
             putUnsignedInt(buffer, bestBidSize);
-            put(buffer, bestBidAmount);
-            put(buffer, bestOfferProxyPrice);
+            buffer.putInt((int) rawBestBidAmount);
+            buffer.putInt((int) rawBestOfferProxyPrice);
             putUnsignedInt(buffer, bestOfferSize);
-            put(buffer, bestOfferAmount);
+            buffer.putInt((int) rawBestOfferAmount);
         }
     }
 
@@ -589,20 +878,55 @@ public class QBBO21 {
         public long bestBidSize;
         public double bestOfferPrice;
         public long bestOfferSize;
+        public long rawBestBidPrice;
+        public long rawBestOfferPrice;
+        public long packedStock;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
-            stock          = readString(buffer, 8);
-            securityClass  = (char) buffer.get();
-            bestBidPrice   = readDouble4(buffer);
-            bestBidSize    = getUnsignedInt(buffer);
-            bestOfferPrice = readDouble4(buffer);
-            bestOfferSize  = getUnsignedInt(buffer);
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            stock = alpha(packedStock);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
+            packedStock       = buffer.getLong();
+            securityClass     = (char) buffer.get();
+            rawBestBidPrice   = buffer.getInt();
+            bestBidSize       = getUnsignedInt(buffer);
+            rawBestOfferPrice = buffer.getInt();
+            bestOfferSize     = getUnsignedInt(buffer);
+
+            bestBidPrice   = Prices.toDouble4(rawBestBidPrice);
+            bestOfferPrice = Prices.toDouble4(rawBestOfferPrice);
+        }
+
+        /**
+         * Decode the packed stock.
+         *
+         * @return the stock
+         */
+        public String getStock() {
+            return alpha(packedStock);
         }
 
         @Override
@@ -611,11 +935,11 @@ public class QBBO21 {
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(stock.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedStock);
             buffer.put((byte) securityClass);
-            put(buffer, bestBidPrice);
+            buffer.putInt((int) rawBestBidPrice);
             putUnsignedInt(buffer, bestBidSize);
-            put(buffer, bestOfferPrice);
+            buffer.putInt((int) rawBestOfferPrice);
             putUnsignedInt(buffer, bestOfferSize);
         }
     }
@@ -629,36 +953,127 @@ public class QBBO21 {
         public long timestampLow;
         public String stock;
         public char interestFlag;
+        public long packedStock;
 
         @Override
         public void get(ByteBuffer buffer) {
-            if (DECODE_CONTAINS_HEADER) {
-                trackingNumber = getUnsignedShort(buffer);
-                timestampHigh = getUnsignedShort(buffer);
-                timestampLow = getUnsignedInt(buffer);
-            }
-            stock          = readString(buffer, 8);
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getBody(buffer);
+        }
+
+        @Override
+        public void getPacked(ByteBuffer buffer) {
+            trackingNumber = getUnsignedShort(buffer);
+            timestampHigh = getUnsignedShort(buffer);
+            timestampLow = getUnsignedInt(buffer);
+
+            getPackedBody(buffer);
+        }
+
+        @Override
+        public void getBody(ByteBuffer buffer) {
+            getPackedBody(buffer);
+
+            stock = alpha(packedStock);
+        }
+
+        @Override
+        public void getPackedBody(ByteBuffer buffer) {
+            packedStock    = buffer.getLong();
             interestFlag   = (char) buffer.get();
         }
 
+        /**
+         * Decode the packed stock.
+         *
+         * @return the stock
+         */
+        public String getStock() {
+            return alpha(packedStock);
+        }
+
         @Override
         public void put(ByteBuffer buffer) {
             buffer.put(MESSAGE_TYPE_RPII);
             putUnsignedShort(buffer, trackingNumber);
             putUnsignedShort(buffer, timestampHigh);
             putUnsignedInt(buffer, timestampLow);
-            buffer.put(stock.getBytes(StandardCharsets.US_ASCII));
+            buffer.putLong(packedStock);
             buffer.put((byte) interestFlag);
         }
     }
 
-    public static boolean isDecodeContainsHeader() {
-        return DECODE_CONTAINS_HEADER;
+    /**
+     * The length of the Tracking Number and Timestamp fields.
+     */
+    public static final int HEADER_LENGTH = 8;
+
+    private static final int[] MESSAGE_LENGTHS = new int[256];
+
+    static {
+        MESSAGE_LENGTHS[MESSAGE_TYPE_SYSTEM_EVENT]              = 10;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_STOCK_DIRECTORY]           = 37;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_STOCK_TRADING_ACTION]      = 23;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_REG_SHO_RESTRICTION]       = 18;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_MWCB_DECLINE_LEVEL]        = 33;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_MWCB_STATUS]               = 10;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_IPO_QUOTING_PERIOD_UPDATE] = 26;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_OPERATIONAL_HALT]          = 19;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_NEXT_SHARES_QUOTATION]     = 42;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_QUOTATION]                 = 34;
+        MESSAGE_LENGTHS[MESSAGE_TYPE_RPII]                      = 18;
+    }
+
+    /**
+     * Get the length of a message, including the message type and the
+     * Tracking Number and Timestamp fields.
+     *
+     * @param messageType the message type
+     * @return the message length or zero if the message type is unknown
+     */
+    public static int messageLength(byte messageType) {
+        return MESSAGE_LENGTHS[messageType & 0xff];
+    }
+
+    private static final int[] SYMBOL_OFFSETS = new int[256];
+
+    static {
+        SYMBOL_OFFSETS[MESSAGE_TYPE_STOCK_DIRECTORY]           = 8;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_STOCK_TRADING_ACTION]      = 8;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_REG_SHO_RESTRICTION]       = 8;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_IPO_QUOTING_PERIOD_UPDATE] = 8;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_OPERATIONAL_HALT]          = 8;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_NEXT_SHARES_QUOTATION]     = 8;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_QUOTATION]                 = 8;
+        SYMBOL_OFFSETS[MESSAGE_TYPE_RPII]                      = 8;
+    }
+
+    /**
+     * Get the offset of the symbol in a message, counted from the byte
+     * following the message type and including the Tracking Number and
+     * Timestamp fields.
+     *
+     * @param messageType the message type
+     * @return the offset of the symbol or zero if messages of the message
+     *   type carry no symbol
+     */
+    static int symbolOffset(byte messageType) {
+        return SYMBOL_OFFSETS[messageType & 0xff];
+    }
+
+    private static String alpha(short value) {
+        return ASCII.unpackShort(value).trim();
+    }
+
+    private static String alpha(int value) {
+        return ASCII.unpackInt(value).trim();
     }
 
-    public static void setDecodeContainsHeader(boolean decodeContainsHeader) {
-        System.err.println(LocalDateTime.now() + ",qbbo21 setDecodeContainsHeader," + decodeContainsHeader);
-        DECODE_CONTAINS_HEADER = decodeContainsHeader;
+    private static String alpha(long value) {
+        return ASCII.unpackLong(value).trim();
     }
 
 }
@@ -5,14 +5,9 @@
 
 package com.paritytrading.juncture.nasdaq.qbbo21;
 
-import static com.paritytrading.juncture.nasdaq.qbbo21.QBBO21.Message;
-import static com.paritytrading.juncture.nasdaq.qbbo21.QBBO21.NextSharesQuotation;
-import static com.paritytrading.juncture.nasdaq.qbbo21.QBBO21.OperationalHalt;
-import static com.paritytrading.juncture.nasdaq.qbbo21.QBBO21.Quotation;
+import static com.paritytrading.juncture.nasdaq.qbbo21.QBBO21.*;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import com.paritytrading.juncture.nasdaq.MessageCounters;
 
 /**
  * QBBO 2.1 handler
@@ -22,85 +17,121 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 public class QBBO21Source implements QBBO21Listener {
 
-    protected static final Map<String, AtomicLong> TYPE_COUNT_MAP = new ConcurrentHashMap<>();
+    private static final byte[] MESSAGE_TYPES = {
+        MESSAGE_TYPE_SYSTEM_EVENT,
+        MESSAGE_TYPE_STOCK_DIRECTORY,
+        MESSAGE_TYPE_STOCK_TRADING_ACTION,
+        MESSAGE_TYPE_REG_SHO_RESTRICTION,
+        MESSAGE_TYPE_MWCB_DECLINE_LEVEL,
+        MESSAGE_TYPE_MWCB_STATUS,
+        MESSAGE_TYPE_IPO_QUOTING_PERIOD_UPDATE,
+        MESSAGE_TYPE_OPERATIONAL_HALT,
+        MESSAGE_TYPE_NEXT_SHARES_QUOTATION,
+        MESSAGE_TYPE_QUOTATION,
+        MESSAGE_TYPE_RPII,
+    };
+
+    private static final String[] TOPICS = {
+        "us.qbbo_SystemEvent",
+        "us.qbbo_StockDirectory",
+        "us.qbbo_StockTradingAction",
+        "us.qbbo_RegSHORestriction",
+        "us.qbbo_MWCBDeclineLevel",
+        "us.qbbo_MWCBStatus",
+        "us.qbbo_IPOQuotingPeriodUpdate",
+        "us.qbbo_OperationalHalt",
+        "us.qbbo_NextSharesQuotation",
+        "us.qbbo_Quotation",
+        "us.qbbo_RPII",
+    };
+
+    private static final MessageCounters COUNTERS = new MessageCounters(MESSAGE_TYPES, TOPICS);
 
     public QBBO21Source() {
     }
 
     @Override
     public void systemEvent(QBBO21.SystemEvent message) {
-        handle(message);
+        handle(MESSAGE_TYPE_SYSTEM_EVENT, message);
     }
 
     @Override
     public void stockDirectory(QBBO21.StockDirectory message) {
-        handle(message);
+        handle(MESSAGE_TYPE_STOCK_DIRECTORY, message);
     }
 
     @Override
     public void stockTradingAction(QBBO21.StockTradingAction message) {
-        handle(message);
+        handle(MESSAGE_TYPE_STOCK_TRADING_ACTION, message);
     }
 
     @Override
     public void regSHORestriction(QBBO21.RegSHORestriction message) {
-        handle(message);
+        handle(MESSAGE_TYPE_REG_SHO_RESTRICTION, message);
     }
 
     @Override
     public void mwcbDeclineLevel(QBBO21.MWCBDeclineLevel message) {
-        handle(message);
+        handle(MESSAGE_TYPE_MWCB_DECLINE_LEVEL, message);
     }
 
     @Override
     public void mwcbStatus(QBBO21.MWCBStatus message) {
-        handle(message);
+        handle(MESSAGE_TYPE_MWCB_STATUS, message);
     }
 
     @Override
     public void ipoQuotingPeriodUpdate(QBBO21.IPOQuotingPeriodUpdate message) {
-        handle(message);
+        handle(MESSAGE_TYPE_IPO_QUOTING_PERIOD_UPDATE, message);
     }
 
     @Override
     public void operationalHalt(OperationalHalt message) {
-        handle(message);
+        handle(MESSAGE_TYPE_OPERATIONAL_HALT, message);
     }
 
     @Override
     public void nextSharesQuotation(NextSharesQuotation message) {
-        handle(message);
+        handle(MESSAGE_TYPE_NEXT_SHARES_QUOTATION, message);
     }
 
     @Override
     public void quotation(Quotation message) {
-        handle(message);
+        handle(MESSAGE_TYPE_QUOTATION, message);
     }
 
     @Override
     public void rpii(QBBO21.RPII message) {
-        handle(message);
+        handle(MESSAGE_TYPE_RPII, message);
     }
 
-    protected void handle(Message message) {
-        String topic = "us.qbbo_" + message.getClass().getSimpleName();
-        log(message, topic);
+    /**
+     * Get the message counters shared by all QBBO21Source instances.
+     *
+     * @return the message counters
+     */
+    public static MessageCounters getCounters() {
+        return COUNTERS;
     }
 
-    protected void log(Message message, String topic) {
-        AtomicLong count = TYPE_COUNT_MAP.get(topic);
-        if (count == null) {
-            count = new AtomicLong(0);
-            TYPE_COUNT_MAP.put(topic, count);
-        }
-        if (count.incrementAndGet() % logPerNum() == 0) {
-            TYPE_COUNT_MAP.put(topic, count);
-            System.out.println(topic + "|" + count);
-        }
+    /**
+     * Count a message and handle it.
+     *
+     * @param messageType the message type
+     * @param message the message
+     */
+    protected void handle(byte messageType, Message message) {
+        COUNTERS.increment(messageType);
+
+        handle(message);
     }
 
-    protected int logPerNum() {
-        return 1000;
+    /**
+     * Handle a message. The default implementation does nothing.
+     *
+     * @param message the message
+     */
+    protected void handle(Message message) {
     }
 
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BinaryFILEIndexTest {
+
+    @TempDir
+    File directory;
+
+    @Test
+    void build() throws IOException {
+        File file = file(10, 10, 10, 10);
+
+        try (FileChannel channel = open(file)) {
+            BinaryFILEIndex index = BinaryFILEIndex.build(channel, 20);
+
+            assertEquals(48, index.getFileSize());
+            assertEquals(48, index.getEnd());
+            assertEquals(2, index.getEntryCount());
+            assertEquals(0, index.getPosition(0));
+            assertEquals(24, index.getPosition(1));
+        }
+    }
+
+    @Test
+    void intervalSmallerThanMessages() throws IOException {
+        File file = file(30, 0, 10);
+
+        try (FileChannel channel = open(file)) {
+            BinaryFILEIndex index = BinaryFILEIndex.build(channel, 8);
+
+            assertEquals(5, index.getEntryCount());
+            assertEquals(0, index.getPosition(0));
+            assertEquals(32, index.getPosition(1));
+            assertEquals(32, index.getPosition(2));
+            assertEquals(32, index.getPosition(3));
+            assertEquals(32, index.getPosition(4));
+        }
+    }
+
+    @Test
+    void incompleteMessage() throws IOException {
+        File file = file(10, 10);
+
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            out.seek(out.length());
+            out.writeShort(10);
+            out.write(new byte[4]);
+        }
+
+        try (FileChannel channel = open(file)) {
+            BinaryFILEIndex index = BinaryFILEIndex.build(channel, 12);
+
+            assertEquals(30, index.getFileSize());
+            assertEquals(24, index.getEnd());
+            assertEquals(2, index.getEntryCount());
+            assertEquals(0, index.getPosition(0));
+            assertEquals(12, index.getPosition(1));
+        }
+    }
+
+    @Test
+    void empty() throws IOException {
+        File file = file();
+
+        try (FileChannel channel = open(file)) {
+            BinaryFILEIndex index = BinaryFILEIndex.build(channel, 16);
+
+            assertEquals(0, index.getEnd());
+            assertEquals(0, index.getEntryCount());
+        }
+    }
+
+    @Test
+    void saveAndLoad() throws IOException {
+        File file = file(10, 20, 30, 40);
+
+        try (FileChannel channel = open(file)) {
+            BinaryFILEIndex index = BinaryFILEIndex.build(channel, 16);
+
+            File saved = new File(directory, "test.idx");
+
+            index.save(saved);
+
+            BinaryFILEIndex loaded = BinaryFILEIndex.load(saved);
+
+            assertEquals(index.getFileSize(), loaded.getFileSize());
+            assertEquals(index.getEnd(), loaded.getEnd());
+            assertEquals(index.getEntryCount(), loaded.getEntryCount());
+
+            for (int i = 0; i < index.getEntryCount(); i++)
+                assertEquals(index.getPosition(i), loaded.getPosition(i));
+        }
+    }
+
+    @Test
+    void nonPositiveInterval() throws IOException {
+        File file = file(10);
+
+        try (FileChannel channel = open(file)) {
+            assertThrows(IllegalArgumentException.class, () -> BinaryFILEIndex.build(channel, 0));
+        }
+    }
+
+    private File file(int... lengths) throws IOException {
+        List<byte[]> messages = new ArrayList<>();
+
+        for (int length : lengths)
+            messages.add(new byte[length]);
+
+        File file = new File(directory, "test.bin");
+
+        BinaryFILEs.write(file, messages);
+
+        return file;
+    }
+
+    private static FileChannel open(File file) throws IOException {
+        return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    }
+
+}
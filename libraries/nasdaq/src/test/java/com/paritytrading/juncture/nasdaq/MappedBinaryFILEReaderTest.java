@@ -0,0 +1,168 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedBinaryFILEReaderTest {
+
+    private static final int MESSAGES = 5000;
+
+    private static final int MESSAGE_LENGTH = 48;
+
+    private static final long FILE_SIZE = MESSAGES * (2 + MESSAGE_LENGTH);
+
+    private static final long MIN_CHUNK_SIZE = 2 + 65535;
+
+    @TempDir
+    File directory;
+
+    private File file;
+
+    private FileChannel channel;
+
+    private List<Integer> received;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        List<byte[]> messages = new ArrayList<>();
+
+        for (int i = 0; i < MESSAGES; i++)
+            messages.add(ByteBuffer.allocate(MESSAGE_LENGTH).putInt(i).array());
+
+        file = new File(directory, "test.bin");
+
+        BinaryFILEs.write(file, messages);
+
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+
+        received = new ArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        channel.close();
+    }
+
+    @Test
+    void read() throws IOException {
+        MappedBinaryFILEReader reader = new MappedBinaryFILEReader(channel, this::message);
+
+        assertEquals(FILE_SIZE, reader.read());
+        assertEquals(-1, reader.read());
+
+        assertMessages(0, MESSAGES);
+        assertEquals(FILE_SIZE, reader.getPosition());
+    }
+
+    @Test
+    void readInChunks() throws IOException {
+        MappedBinaryFILEReader reader = new MappedBinaryFILEReader(channel, MIN_CHUNK_SIZE, this::message);
+
+        int chunks = 0;
+
+        while (reader.read() >= 0)
+            chunks++;
+
+        assertEquals((FILE_SIZE + MIN_CHUNK_SIZE - 1) / MIN_CHUNK_SIZE, chunks);
+        assertMessages(0, MESSAGES);
+        assertEquals(FILE_SIZE, reader.getPosition());
+    }
+
+    @Test
+    void readRange() throws IOException {
+        long start = 100 * (2 + MESSAGE_LENGTH);
+        long end   = 200 * (2 + MESSAGE_LENGTH);
+
+        MappedBinaryFILEReader reader = new MappedBinaryFILEReader(channel, start, end, this::message);
+
+        while (reader.read() >= 0);
+
+        assertMessages(100, 200);
+        assertEquals(end, reader.getPosition());
+    }
+
+    @Test
+    void readEmptyRange() throws IOException {
+        MappedBinaryFILEReader reader = new MappedBinaryFILEReader(channel, FILE_SIZE, FILE_SIZE, this::message);
+
+        assertEquals(-1, reader.read());
+        assertMessages(0, 0);
+    }
+
+    @Test
+    void ignoreIncompleteMessage() throws IOException {
+        try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+            out.seek(out.length());
+            out.writeShort(MESSAGE_LENGTH);
+            out.write(new byte[MESSAGE_LENGTH / 2]);
+        }
+
+        MappedBinaryFILEReader reader = new MappedBinaryFILEReader(channel, this::message);
+
+        while (reader.read() >= 0);
+
+        assertMessages(0, MESSAGES);
+        assertEquals(FILE_SIZE, reader.getPosition());
+    }
+
+    @Test
+    void invalidRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MappedBinaryFILEReader(channel, -1, FILE_SIZE, this::message));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MappedBinaryFILEReader(channel, 100, 50, this::message));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MappedBinaryFILEReader(channel, 0, FILE_SIZE + 1, this::message));
+    }
+
+    @Test
+    void invalidChunkSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MappedBinaryFILEReader(channel, MIN_CHUNK_SIZE - 1, this::message));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MappedBinaryFILEReader(channel, Integer.MAX_VALUE + 1L, this::message));
+    }
+
+    private void message(ByteBuffer buffer) {
+        assertEquals(MESSAGE_LENGTH, buffer.remaining());
+
+        received.add(buffer.getInt(buffer.position()));
+    }
+
+    private void assertMessages(int from, int to) {
+        List<Integer> expected = new ArrayList<>();
+
+        for (int i = from; i < to; i++)
+            expected.add(i);
+
+        assertEquals(expected, received);
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq;
+
+import static java.util.Arrays.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MessageCountReporterTest {
+
+    private MessageCounters counters;
+
+    private List<String> reports;
+
+    private MessageCountReporter reporter;
+
+    @BeforeEach
+    void setUp() {
+        counters = new MessageCounters(new byte[] { 'A', 'B' }, new String[] { "test_A", "test_B" });
+
+        reports = new ArrayList<>();
+
+        reporter = new MessageCountReporter(counters, 1000, (topic, count) -> reports.add(topic + "|" + count));
+    }
+
+    @Test
+    void reportChangedTopics() {
+        counters.increment((byte)'A');
+
+        reporter.report();
+
+        assertEquals(asList("test_A|1"), reports);
+
+        reports.clear();
+
+        counters.increment((byte)'B');
+        counters.increment((byte)'B');
+
+        reporter.report();
+
+        assertEquals(asList("test_B|2"), reports);
+    }
+
+    @Test
+    void reportNothingIfUnchanged() {
+        counters.increment((byte)'A');
+
+        reporter.report();
+
+        reports.clear();
+
+        reporter.report();
+
+        assertEquals(asList(), reports);
+    }
+
+    @Test
+    void finalReportOnClose() {
+        reporter.start();
+
+        counters.increment((byte)'A');
+
+        reporter.close();
+
+        assertEquals(asList("test_A|1"), reports);
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MessageCountersTest {
+
+    private static final byte[] MESSAGE_TYPES = { 'A', 'B' };
+
+    private static final String[] TOPICS = { "test_A", "test_B" };
+
+    private MessageCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new MessageCounters(MESSAGE_TYPES, TOPICS, 4);
+    }
+
+    @Test
+    void increment() {
+        counters.increment((byte)'A');
+        counters.increment((byte)'A');
+        counters.increment((byte)'B');
+
+        assertEquals(2, counters.getCount((byte)'A'));
+        assertEquals(1, counters.getCount((byte)'B'));
+        assertEquals(2, counters.getCount(0));
+        assertEquals("test_B", counters.getTopic(1));
+        assertEquals('B', counters.getMessageType(1));
+    }
+
+    @Test
+    void sumAcrossStripes() throws Exception {
+        Thread[] threads = new Thread[8];
+
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 10000; j++)
+                    counters.increment((byte)'A');
+            });
+        }
+
+        for (Thread thread : threads)
+            thread.start();
+
+        for (Thread thread : threads)
+            thread.join();
+
+        assertEquals(80000, counters.getCount((byte)'A'));
+        assertEquals(0, counters.getCount((byte)'B'));
+    }
+
+    @Test
+    void unknownMessageType() {
+        counters.increment((byte)'C');
+
+        assertEquals(0, counters.getCount((byte)'C'));
+        assertEquals(0, counters.getCount((byte)'A'));
+        assertEquals(0, counters.getCount((byte)'B'));
+    }
+
+    @Test
+    void repeatedMessageType() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MessageCounters(new byte[] { 'A', 'A' }, TOPICS));
+    }
+
+    @Test
+    void topicCountMismatch() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MessageCounters(MESSAGE_TYPES, new String[] { "test_A" }));
+    }
+
+}
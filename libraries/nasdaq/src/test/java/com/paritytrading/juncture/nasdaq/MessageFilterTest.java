@@ -0,0 +1,138 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq;
+
+import static java.util.Arrays.*;
+import static java.util.Collections.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.paritytrading.foundation.ASCII;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MessageFilterTest {
+
+    private MessageFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new MessageFilter();
+    }
+
+    @Test
+    void acceptAll() {
+        assertTrue(filter.acceptsMessageType((byte)'A'));
+        assertFalse(filter.hasSymbols());
+        assertTrue(filter.acceptsSymbol(symbol("FOO")));
+        assertFalse(filter.hasStockLocates());
+        assertTrue(filter.acceptsStockLocate(1));
+    }
+
+    @Test
+    void messageTypes() {
+        filter.setMessageTypes((byte)'A', (byte)'a', (byte)0xff);
+
+        assertTrue(filter.acceptsMessageType((byte)'A'));
+        assertTrue(filter.acceptsMessageType((byte)'a'));
+        assertTrue(filter.acceptsMessageType((byte)0xff));
+        assertFalse(filter.acceptsMessageType((byte)'F'));
+        assertFalse(filter.acceptsMessageType((byte)0x7f));
+    }
+
+    @Test
+    void noMessageTypes() {
+        filter.setMessageTypes();
+
+        assertFalse(filter.acceptsMessageType((byte)'A'));
+    }
+
+    @Test
+    void resetMessageTypes() {
+        filter.setMessageTypes((byte)'A');
+        filter.setMessageTypes((byte)'F');
+
+        assertFalse(filter.acceptsMessageType((byte)'A'));
+        assertTrue(filter.acceptsMessageType((byte)'F'));
+    }
+
+    @Test
+    void symbols() {
+        filter.setSymbols(asList("FOO", "ABCDEFGH"));
+
+        assertTrue(filter.hasSymbols());
+        assertTrue(filter.acceptsSymbol(symbol("FOO")));
+        assertTrue(filter.acceptsSymbol(symbol("ABCDEFGH")));
+        assertFalse(filter.acceptsSymbol(symbol("BAR")));
+        assertFalse(filter.acceptsSymbol(symbol("FO")));
+    }
+
+    @Test
+    void noSymbols() {
+        filter.setSymbols(emptyList());
+
+        assertTrue(filter.hasSymbols());
+        assertFalse(filter.acceptsSymbol(symbol("FOO")));
+    }
+
+    @Test
+    void manySymbols() {
+        List<String> symbols = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++)
+            symbols.add("S" + i);
+
+        filter.setSymbols(symbols);
+
+        for (int i = 0; i < 1000; i++)
+            assertTrue(filter.acceptsSymbol(symbol("S" + i)));
+
+        for (int i = 1000; i < 2000; i++)
+            assertFalse(filter.acceptsSymbol(symbol("S" + i)));
+    }
+
+    @Test
+    void tooLongSymbol() {
+        assertThrows(IllegalArgumentException.class, () -> filter.setSymbols(asList("FOO", "ABCDEFGHI")));
+
+        assertFalse(filter.hasSymbols());
+    }
+
+    @Test
+    void stockLocates() {
+        filter.setStockLocates(1, 64, 65535);
+
+        assertTrue(filter.hasStockLocates());
+        assertTrue(filter.acceptsStockLocate(1));
+        assertTrue(filter.acceptsStockLocate(64));
+        assertTrue(filter.acceptsStockLocate(65535));
+        assertFalse(filter.acceptsStockLocate(2));
+        assertFalse(filter.acceptsStockLocate(65));
+    }
+
+    @Test
+    void stockLocateZero() {
+        filter.setStockLocates(1);
+
+        assertTrue(filter.acceptsStockLocate(0));
+    }
+
+    private static long symbol(String symbol) {
+        return ASCII.packLong(String.format("%-8s", symbol));
+    }
+
+}
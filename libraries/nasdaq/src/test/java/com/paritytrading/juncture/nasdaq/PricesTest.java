@@ -0,0 +1,134 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.paritytrading.juncture.nasdaq.itch50.ITCH50;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+class PricesTest {
+
+    @Test
+    void price4() {
+        assertEquals(1.0, Prices.toDouble4(10_000L), 0.0);
+        assertEquals(123.4567, Prices.toDouble4(1_234_567L), 0.0);
+        assertEquals(1_234_567L, Prices.fromDouble4(123.4567));
+    }
+
+    @Test
+    void price8() {
+        assertEquals(1.0, Prices.toDouble8(100_000_000L), 0.0);
+        assertEquals(123.45678901, Prices.toDouble8(12_345_678_901L), 0.0);
+        assertEquals(12_345_678_901L, Prices.fromDouble8(123.45678901));
+    }
+
+    @Test
+    void roundHalfTickUp() {
+        assertEquals(1L, Prices.fromDouble4(0.00005));
+        assertEquals(1_234_568L, Prices.fromDouble4(123.45675));
+        assertEquals(0L, Prices.fromDouble4(-0.00005));
+        assertEquals(1L, Prices.fromDouble8(0.000000005));
+    }
+
+    @Test
+    void roundToNearestTick() {
+        assertEquals(10_000L, Prices.fromDouble4(1.00004));
+        assertEquals(10_001L, Prices.fromDouble4(1.00006));
+        assertEquals(100_000_000L, Prices.fromDouble8(1.000000004));
+        assertEquals(100_000_001L, Prices.fromDouble8(1.000000006));
+    }
+
+    @Test
+    void roundTrip() {
+        for (long value = -100_000L; value <= 100_000L; value++) {
+            assertEquals(value, Prices.fromDouble4(Prices.toDouble4(value)));
+            assertEquals(value, Prices.fromDouble8(Prices.toDouble8(value)));
+        }
+
+        assertEquals(Long.MAX_VALUE >> 12, Prices.fromDouble8(Prices.toDouble8(Long.MAX_VALUE >> 12)));
+    }
+
+    @Test
+    void roundTripBelowBound() {
+        long bound = 1L << 51;
+
+        for (long value = bound - 100_000L; value < bound; value++) {
+            assertEquals(value, Prices.fromDouble4(Prices.toDouble4(value)));
+            assertEquals(value, Prices.fromDouble8(Prices.toDouble8(value)));
+            assertEquals(-value, Prices.fromDouble4(Prices.toDouble4(-value)));
+            assertEquals(-value, Prices.fromDouble8(Prices.toDouble8(-value)));
+        }
+    }
+
+    @Test
+    void bigDecimal() {
+        assertEquals(new BigDecimal("123.4567"), Prices.toBigDecimal4(1_234_567L));
+        assertEquals(new BigDecimal("123.45678901"), Prices.toBigDecimal8(12_345_678_901L));
+    }
+
+    @Test
+    void price4ToPrice8() {
+        assertEquals(12_345_670_000L, Prices.price4ToPrice8(1_234_567L));
+        assertThrows(ArithmeticException.class, () -> Prices.price4ToPrice8(Long.MAX_VALUE / 1000));
+    }
+
+    @Test
+    void price4RoundTripThroughMessage() {
+        ITCH50.AddOrder message = new ITCH50.AddOrder();
+
+        message.rawPrice = 4_294_967_295L;
+
+        ITCH50.AddOrder result = roundTrip(message, new ITCH50.AddOrder());
+
+        assertEquals(4_294_967_295L, result.rawPrice);
+        assertEquals(429_496.7295, result.price, 0.0);
+        assertEquals(result.rawPrice, Prices.fromDouble4(result.price));
+    }
+
+    @Test
+    void price8RoundTripThroughMessage() {
+        ITCH50.MWCBDeclineLevel message = new ITCH50.MWCBDeclineLevel();
+
+        message.rawLevel1 = 12_345_678_901L;
+        message.rawLevel2 = 1L;
+        message.rawLevel3 = 100_000_000L;
+
+        ITCH50.MWCBDeclineLevel result = roundTrip(message, new ITCH50.MWCBDeclineLevel());
+
+        assertEquals(12_345_678_901L, result.rawLevel1);
+        assertEquals(123.45678901, result.level1, 0.0);
+        assertEquals(0.00000001, result.level2, 0.0);
+        assertEquals(1.0, result.level3, 0.0);
+    }
+
+    private static <M extends ITCH50.Message> M roundTrip(ITCH50.Message message, M result) {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        message.put(buffer);
+        buffer.flip();
+        buffer.get();
+
+        result.get(buffer);
+
+        assertEquals(0, buffer.remaining());
+
+        return result;
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.itch50;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.jvirtanen.value.Value;
+
+class ITCH50BookEvents implements ITCH50BookListener {
+
+    private List<Event> events;
+
+    public ITCH50BookEvents() {
+        events = new ArrayList<Event>();
+    }
+
+    public List<Event> collect() {
+        return events;
+    }
+
+    @Override
+    public void level(int stockLocate, byte side, long price, long size) {
+        events.add(new Level(stockLocate, side, price, size));
+    }
+
+    @Override
+    public void bbo(int stockLocate, long bidPrice, long bidSize, long askPrice, long askSize) {
+        events.add(new BBO(stockLocate, bidPrice, bidSize, askPrice, askSize));
+    }
+
+    public interface Event {
+    }
+
+    public static class Level extends Value implements Event {
+        public final int  stockLocate;
+        public final byte side;
+        public final long price;
+        public final long size;
+
+        public Level(int stockLocate, byte side, long price, long size) {
+            this.stockLocate = stockLocate;
+            this.side        = side;
+            this.price       = price;
+            this.size        = size;
+        }
+    }
+
+    public static class BBO extends Value implements Event {
+        public final int  stockLocate;
+        public final long bidPrice;
+        public final long bidSize;
+        public final long askPrice;
+        public final long askSize;
+
+        public BBO(int stockLocate, long bidPrice, long bidSize, long askPrice,
+                long askSize) {
+            this.stockLocate = stockLocate;
+            this.bidPrice    = bidPrice;
+            this.bidSize     = bidSize;
+            this.askPrice    = askPrice;
+            this.askSize     = askSize;
+        }
+    }
+
+}
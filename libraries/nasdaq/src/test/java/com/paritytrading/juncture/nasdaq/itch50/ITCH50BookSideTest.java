@@ -0,0 +1,127 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.itch50;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ITCH50BookSideTest {
+
+    private ITCH50Book.Side bids;
+    private ITCH50Book.Side asks;
+
+    @BeforeEach
+    void setUp() {
+        bids = new ITCH50Book.Side(false);
+        asks = new ITCH50Book.Side(true);
+    }
+
+    @Test
+    void bidsBestFirst() {
+        bids.add(100, 1);
+        bids.add(102, 2);
+        bids.add(101, 3);
+
+        assertEquals(102, bids.price(0));
+        assertEquals(101, bids.price(1));
+        assertEquals(100, bids.price(2));
+
+        assertEquals(2, bids.size(0));
+        assertEquals(3, bids.size(1));
+        assertEquals(1, bids.size(2));
+    }
+
+    @Test
+    void asksBestFirst() {
+        asks.add(100, 1);
+        asks.add(102, 2);
+        asks.add(101, 3);
+
+        assertEquals(100, asks.price(0));
+        assertEquals(101, asks.price(1));
+        assertEquals(102, asks.price(2));
+
+        assertEquals(1, asks.size(0));
+        assertEquals(3, asks.size(1));
+        assertEquals(2, asks.size(2));
+    }
+
+    @Test
+    void addToLevel() {
+        assertEquals(1, bids.add(100, 1));
+        assertEquals(3, bids.add(100, 2));
+
+        assertEquals(1, bids.levels);
+        assertEquals(3, bids.size(0));
+    }
+
+    @Test
+    void reduceLevel() {
+        bids.add(100, 3);
+
+        assertEquals(1, bids.reduce(100, 2));
+        assertEquals(0, bids.reduce(100, 1));
+
+        assertEquals(0, bids.levels);
+    }
+
+    @Test
+    void reduceMissingLevel() {
+        bids.add(100, 3);
+
+        assertEquals(0, bids.reduce(101, 1));
+
+        assertEquals(1, bids.levels);
+        assertEquals(3, bids.size(0));
+    }
+
+    @Test
+    void missingLevel() {
+        bids.add(100, 1);
+
+        assertEquals(0, bids.price(1));
+        assertEquals(0, bids.size(1));
+        assertEquals(0, bids.price(-1));
+        assertEquals(0, bids.size(-1));
+    }
+
+    @Test
+    void deepBook() {
+        for (long price = 1; price <= 1000; price += 2)
+            bids.add(price, price);
+
+        for (long price = 2; price <= 1000; price += 2)
+            bids.add(price, price);
+
+        assertEquals(1000, bids.levels);
+
+        for (int level = 0; level < 1000; level++) {
+            assertEquals(1000 - level, bids.price(level));
+            assertEquals(1000 - level, bids.size(level));
+        }
+
+        for (long price = 1; price <= 1000; price += 2)
+            assertEquals(0, bids.reduce(price, price));
+
+        assertEquals(500, bids.levels);
+
+        for (int level = 0; level < 500; level++)
+            assertEquals(1000 - 2 * level, bids.price(level));
+    }
+
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.itch50;
+
+import static com.paritytrading.juncture.nasdaq.itch50.ITCH50.*;
+import static com.paritytrading.juncture.nasdaq.itch50.ITCH50BookEvents.*;
+import static java.util.Arrays.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ITCH50BookTest {
+
+    private static final int FOO = 1;
+    private static final int BAR = 2;
+
+    private ITCH50BookEvents events;
+
+    private ITCH50Book book;
+
+    @BeforeEach
+    void setUp() {
+        events = new ITCH50BookEvents();
+
+        book = new ITCH50Book(events, 16);
+    }
+
+    @Test
+    void addOrder() throws IOException {
+        addOrder(FOO, 100, BUY, 9500, 100);
+
+        assertEquals(asList(new Level(FOO, BUY, 9500, 100), new BBO(FOO, 9500, 100, 0, 0)),
+                events.collect());
+        assertEquals(1, book.getOrderCount());
+    }
+
+    @Test
+    void addOrderMPID() throws IOException {
+        AddOrderMPID message = new AddOrderMPID();
+
+        message.stockLocate          = FOO;
+        message.orderReferenceNumber = 100;
+        message.buySellIndicator     = (char)SELL;
+        message.shares               = 100;
+        message.rawPrice             = 10500;
+
+        book.addOrderMPID(message);
+
+        assertEquals(asList(new Level(FOO, SELL, 10500, 100), new BBO(FOO, 0, 0, 10500, 100)),
+                events.collect());
+    }
+
+    @Test
+    void addOrderOnSameLevel() throws IOException {
+        addOrder(FOO, 100, BUY, 9500, 100);
+        addOrder(FOO, 101, BUY, 9500, 50);
+
+        assertEquals(150, book.getSize(FOO, BUY, 0));
+        assertEquals(1, book.getDepth(FOO, BUY));
+        assertEquals(2, book.getOrderCount());
+    }
+
+    @Test
+    void addOrderBehindBestPrice() throws IOException {
+        addOrder(FOO, 100, BUY, 9500, 100);
+
+        events.collect().clear();
+
+        addOrder(FOO, 101, BUY, 9400, 100);
+
+        assertEquals(asList(new Level(FOO, BUY, 9400, 100)), events.collect());
+    }
+
+    @Test
+    void orderExecuted() throws IOException {
+        addOrder(FOO, 100, SELL, 10500, 100);
+        orderExecuted(100, 40);
+
+        assertEquals(asList(
+                    new Level(FOO, SELL, 10500, 100),
+                    new BBO(FOO, 0, 0, 10500, 100),
+                    new Level(FOO, SELL, 10500, 60),
+                    new BBO(FOO, 0, 0, 10500, 60)),
+                events.collect());
+        assertEquals(1, book.getOrderCount());
+    }
+
+    @Test
+    void orderExecutedInFull() throws IOException {
+        addOrder(FOO, 100, SELL, 10500, 100);
+        orderExecuted(100, 100);
+
+        assertEquals(0, book.getOrderCount());
+        assertEquals(0, book.getDepth(FOO, SELL));
+    }
+
+    @Test
+    void orderExecutedWithPrice() throws IOException {
+        addOrder(FOO, 100, BUY, 9500, 100);
+
+        OrderExecutedWithPrice message = new OrderExecutedWithPrice();
+
+        message.orderReferenceNumber = 100;
+        message.executedShares       = 30;
+        message.rawExecutionPrice    = 9400;
+
+        book.orderExecutedWithPrice(message);
+
+        assertEquals(70, book.getSize(FOO, BUY, 0));
+        assertEquals(9500, book.getPrice(FOO, BUY, 0));
+    }
+
+    @Test
+    void orderCancel() throws IOException {
+        addOrder(FOO, 100, BUY, 9500, 100);
+        addOrder(FOO, 101, BUY, 9500, 100);
+        orderCancel(100, 100);
+
+        assertEquals(100, book.getSize(FOO, BUY, 0));
+        assertEquals(1, book.getOrderCount());
+    }
+
+    @Test
+    void orderCancelMoreThanOpen() throws IOException {
+        addOrder(FOO, 100, BUY, 9500, 100);
+        addOrder(FOO, 101, BUY, 9500, 100);
+        orderCancel(100, 150);
+
+        assertEquals(100, book.getSize(FOO, BUY, 0));
+        assertEquals(1, book.getOrderCount());
+    }
+
+    @Test
+    void orderDelete() throws IOException {
+        addOrder(FOO, 100, BUY, 9500, 100);
+        orderDelete(100);
+
+        assertEquals(asList(
+                    new Level(FOO, BUY, 9500, 100),
+                    new BBO(FOO, 9500, 100, 0, 0),
+                    new Level(FOO, BUY, 9500, 0),
+                    new BBO(FOO, 0, 0, 0, 0)),
+                events.collect());
+        assertEquals(0, book.getOrderCount());
+        assertEquals(0, book.getDepth(FOO, BUY));
+    }
+
+    @Test
+    void orderReplace() throws IOException {
+        addOrder(FOO, 100, SELL, 10500, 100);
+        orderReplace(100, 101, 10400, 50);
+
+        assertEquals(asList(
+                    new Level(FOO, SELL, 10500, 100),
+                    new BBO(FOO, 0, 0, 10500, 100),
+                    new Level(FOO, SELL, 10500, 0),
+                    new Level(FOO, SELL, 10400, 50),
+                    new BBO(FOO, 0, 0, 10400, 50)),
+                events.collect());
+        assertEquals(1, book.getOrderCount());
+
+        orderDelete(100);
+
+        assertEquals(1, book.getOrderCount());
+
+        orderDelete(101);
+
+        assertEquals(0, book.getOrderCount());
+        assertEquals(0, book.getDepth(FOO, SELL));
+    }
+
+    @Test
+    void unknownOrder() throws IOException {
+        orderExecuted(100, 100);
+        orderCancel(100, 100);
+        orderDelete(100);
+        orderReplace(100, 101, 9500, 100);
+
+        assertEquals(asList(), events.collect());
+        assertEquals(0, book.getOrderCount());
+    }
+
+    @Test
+    void levelRemoval() throws IOException {
+        addOrder(FOO, 100, BUY, 9600, 100);
+        addOrder(FOO, 101, BUY, 9500, 100);
+        addOrder(FOO, 102, BUY, 9400, 100);
+
+        events.collect().clear();
+
+        orderDelete(101);
+
+        assertEquals(asList(new Level(FOO, BUY, 9500, 0)), events.collect());
+        assertEquals(2, book.getDepth(FOO, BUY));
+        assertEquals(9600, book.getPrice(FOO, BUY, 0));
+        assertEquals(9400, book.getPrice(FOO, BUY, 1));
+        assertEquals(0, book.getPrice(FOO, BUY, 2));
+    }
+
+    @Test
+    void priceLevels() throws IOException {
+        addOrder(FOO, 100, BUY, 9500, 100);
+        addOrder(FOO, 101, BUY, 9600, 200);
+        addOrder(FOO, 102, BUY, 9400, 300);
+        addOrder(FOO, 200, SELL, 10500, 400);
+        addOrder(FOO, 201, SELL, 10400, 500);
+        addOrder(FOO, 202, SELL, 10600, 600);
+
+        assertEquals(9600, book.getPrice(FOO, BUY, 0));
+        assertEquals(9500, book.getPrice(FOO, BUY, 1));
+        assertEquals(9400, book.getPrice(FOO, BUY, 2));
+        assertEquals(200, book.getSize(FOO, BUY, 0));
+        assertEquals(10400, book.getPrice(FOO, SELL, 0));
+        assertEquals(10500, book.getPrice(FOO, SELL, 1));
+        assertEquals(10600, book.getPrice(FOO, SELL, 2));
+        assertEquals(500, book.getSize(FOO, SELL, 0));
+    }
+
+    @Test
+    void deepPriceLevels() throws IOException {
+        List<Integer> ticks = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++)
+            ticks.add(i);
+
+        Collections.shuffle(ticks, new Random(1));
+
+        for (int tick : ticks) {
+            addOrder(FOO, 1000 + tick, BUY, 9900 - 100 * tick, 100);
+            addOrder(FOO, 2000 + tick, SELL, 10000 + 100 * tick, 100);
+        }
+
+        assertEquals(100, book.getDepth(FOO, BUY));
+        assertEquals(100, book.getDepth(FOO, SELL));
+
+        for (int level = 0; level < 100; level++) {
+            assertEquals(9900 - 100 * level, book.getPrice(FOO, BUY, level));
+            assertEquals(10000 + 100 * level, book.getPrice(FOO, SELL, level));
+        }
+
+        for (int tick : ticks) {
+            orderDelete(1000 + tick);
+            orderDelete(2000 + tick);
+        }
+
+        assertEquals(0, book.getDepth(FOO, BUY));
+        assertEquals(0, book.getDepth(FOO, SELL));
+        assertEquals(0, book.getOrderCount());
+    }
+
+    @Test
+    void stockLocates() throws IOException {
+        addOrder(FOO, 100, BUY, 9500, 100);
+        addOrder(BAR, 101, BUY, 9600, 200);
+
+        assertEquals(9500, book.getPrice(FOO, BUY, 0));
+        assertEquals(9600, book.getPrice(BAR, BUY, 0));
+        assertEquals(0, book.getDepth(3, BUY));
+    }
+
+    private void addOrder(int stockLocate, long orderReferenceNumber, byte side,
+            long price, long shares) throws IOException {
+        AddOrder message = new AddOrder();
+
+        message.stockLocate          = stockLocate;
+        message.orderReferenceNumber = orderReferenceNumber;
+        message.buySellIndicator     = (char)side;
+        message.shares               = shares;
+        message.rawPrice             = price;
+
+        book.addOrder(message);
+    }
+
+    private void orderExecuted(long orderReferenceNumber, long executedShares) throws IOException {
+        OrderExecuted message = new OrderExecuted();
+
+        message.orderReferenceNumber = orderReferenceNumber;
+        message.executedShares       = executedShares;
+
+        book.orderExecuted(message);
+    }
+
+    private void orderCancel(long orderReferenceNumber, long canceledShares) throws IOException {
+        OrderCancel message = new OrderCancel();
+
+        message.orderReferenceNumber = orderReferenceNumber;
+        message.canceledShares       = canceledShares;
+
+        book.orderCancel(message);
+    }
+
+    private void orderDelete(long orderReferenceNumber) throws IOException {
+        OrderDelete message = new OrderDelete();
+
+        message.orderReferenceNumber = orderReferenceNumber;
+
+        book.orderDelete(message);
+    }
+
+    private void orderReplace(long originalOrderReferenceNumber, long newOrderReferenceNumber,
+            long price, long shares) throws IOException {
+        OrderReplace message = new OrderReplace();
+
+        message.originalOrderReferenceNumber = originalOrderReferenceNumber;
+        message.newOrderReferenceNumber      = newOrderReferenceNumber;
+        message.shares                       = shares;
+        message.rawPrice                     = price;
+
+        book.orderReplace(message);
+    }
+
+}
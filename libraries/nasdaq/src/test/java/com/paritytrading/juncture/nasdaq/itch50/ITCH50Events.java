@@ -0,0 +1,170 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.itch50;
+
+import static com.paritytrading.juncture.nasdaq.itch50.ITCH50.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.jvirtanen.value.Value;
+
+class ITCH50Events implements ITCH50Listener {
+
+    private List<Event> events;
+
+    public ITCH50Events() {
+        events = new ArrayList<Event>();
+    }
+
+    public List<Event> collect() {
+        return events;
+    }
+
+    public static ITCH50Events merge(ITCH50Events first, ITCH50Events second) {
+        first.events.addAll(second.events);
+
+        return first;
+    }
+
+    @Override
+    public void systemEvent(SystemEvent message) {
+        add(MESSAGE_TYPE_SYSTEM_EVENT, message.stockLocate, 0, null);
+    }
+
+    @Override
+    public void stockDirectory(StockDirectory message) {
+        add(MESSAGE_TYPE_STOCK_DIRECTORY, message.stockLocate, 0, message.stock);
+    }
+
+    @Override
+    public void stockTradingAction(StockTradingAction message) {
+        add(MESSAGE_TYPE_STOCK_TRADING_ACTION, message.stockLocate, 0, message.stock);
+    }
+
+    @Override
+    public void regSHORestriction(RegSHORestriction message) {
+        add(MESSAGE_TYPE_REG_SHO_RESTRICTION, message.locateCode, 0, message.stock);
+    }
+
+    @Override
+    public void marketParticipantPosition(MarketParticipantPosition message) {
+        add(MESSAGE_TYPE_MARKET_PARTICIPANT_POSITION, message.stockLocate, 0, message.stock);
+    }
+
+    @Override
+    public void mwcbDeclineLevel(MWCBDeclineLevel message) {
+        add(MESSAGE_TYPE_MWCB_DECLINE_LEVEL, message.stockLocate, 0, null);
+    }
+
+    @Override
+    public void mwcbStatus(MWCBStatus message) {
+        add(MESSAGE_TYPE_MWCB_STATUS, message.stockLocate, 0, null);
+    }
+
+    @Override
+    public void ipoQuotingPeriodUpdate(IPOQuotingPeriodUpdate message) {
+        add(MESSAGE_TYPE_IPO_QUOTING_PERIOD_UPDATE, message.stockLocate, 0, message.stock);
+    }
+
+    @Override
+    public void luldAuctionCollar(LULDAuctionCollar message) {
+        add(MESSAGE_TYPE_LULD_AUCTION_COLLAR, message.stockLocate, 0, message.stock);
+    }
+
+    @Override
+    public void operationalHalt(OperationalHalt message) {
+        add(MESSAGE_TYPE_OPERATIONAL_HALT, message.stockLocate, 0, message.stock);
+    }
+
+    @Override
+    public void addOrder(AddOrder message) {
+        add(MESSAGE_TYPE_ADD_ORDER, message.stockLocate, message.orderReferenceNumber, message.stock);
+    }
+
+    @Override
+    public void addOrderMPID(AddOrderMPID message) {
+        add(MESSAGE_TYPE_ADD_ORDER_MPID, message.stockLocate, message.orderReferenceNumber, message.stock);
+    }
+
+    @Override
+    public void orderExecuted(OrderExecuted message) {
+        add(MESSAGE_TYPE_ORDER_EXECUTED, message.stockLocate, message.orderReferenceNumber, null);
+    }
+
+    @Override
+    public void orderExecutedWithPrice(OrderExecutedWithPrice message) {
+        add(MESSAGE_TYPE_ORDER_EXECUTED_WITH_PRICE, message.stockLocate, message.orderReferenceNumber, null);
+    }
+
+    @Override
+    public void orderCancel(OrderCancel message) {
+        add(MESSAGE_TYPE_ORDER_CANCEL, message.stockLocate, message.orderReferenceNumber, null);
+    }
+
+    @Override
+    public void orderDelete(OrderDelete message) {
+        add(MESSAGE_TYPE_ORDER_DELETE, message.stockLocate, message.orderReferenceNumber, null);
+    }
+
+    @Override
+    public void orderReplace(OrderReplace message) {
+        add(MESSAGE_TYPE_ORDER_REPLACE, message.stockLocate, message.originalOrderReferenceNumber, null);
+    }
+
+    @Override
+    public void trade(Trade message) {
+        add(MESSAGE_TYPE_TRADE, message.stockLocate, message.orderReferenceNumber, message.stock);
+    }
+
+    @Override
+    public void crossTrade(CrossTrade message) {
+        add(MESSAGE_TYPE_CROSS_TRADE, message.stockLocate, 0, message.stock);
+    }
+
+    @Override
+    public void brokenTrade(BrokenTrade message) {
+        add(MESSAGE_TYPE_BROKEN_TRADE, message.stockLocate, 0, null);
+    }
+
+    @Override
+    public void noii(NOII message) {
+        add(MESSAGE_TYPE_NOII, message.stockLocate, 0, message.stock);
+    }
+
+    @Override
+    public void rpii(RPII message) {
+        add(MESSAGE_TYPE_RPII, message.stockLocate, 0, message.stock);
+    }
+
+    private void add(byte messageType, int stockLocate, long orderReferenceNumber, String stock) {
+        events.add(new Event(messageType, stockLocate, orderReferenceNumber, stock));
+    }
+
+    public static class Event extends Value {
+        public final byte   messageType;
+        public final int    stockLocate;
+        public final long   orderReferenceNumber;
+        public final String stock;
+
+        public Event(byte messageType, int stockLocate, long orderReferenceNumber, String stock) {
+            this.messageType          = messageType;
+            this.stockLocate          = stockLocate;
+            this.orderReferenceNumber = orderReferenceNumber;
+            this.stock                = stock;
+        }
+    }
+
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.itch50;
+
+import static com.paritytrading.juncture.nasdaq.itch50.ITCH50.*;
+import static java.util.Arrays.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.paritytrading.foundation.ASCII;
+import com.paritytrading.juncture.nasdaq.MessageFilter;
+import com.paritytrading.juncture.nasdaq.UnknownMessageTypePolicy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ITCH50ParserTest {
+
+    private ITCH50Events events;
+
+    private ITCH50Parser parser;
+
+    private MessageFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        events = new ITCH50Events();
+
+        parser = new ITCH50Parser(events);
+
+        filter = new MessageFilter();
+
+        parser.setFilter(filter);
+    }
+
+    @Test
+    void filterMessageType() throws IOException {
+        filter.setMessageTypes(MESSAGE_TYPE_ADD_ORDER);
+
+        parser.message(bytes(systemEvent()));
+        parser.message(bytes(stockDirectory(1, "FOO")));
+        parser.message(bytes(addOrder(1, 1)));
+
+        assertEquals(asList(new ITCH50Events.Event(MESSAGE_TYPE_ADD_ORDER, 1, 1, "FOO")),
+                events.collect());
+    }
+
+    @Test
+    void filterStockLocate() throws IOException {
+        filter.setStockLocates(1);
+
+        parser.message(bytes(systemEvent()));
+        parser.message(bytes(addOrder(1, 1)));
+        parser.message(bytes(addOrder(2, 2)));
+
+        assertEquals(asList(
+                    new ITCH50Events.Event(MESSAGE_TYPE_SYSTEM_EVENT, 0, 0, null),
+                    new ITCH50Events.Event(MESSAGE_TYPE_ADD_ORDER, 1, 1, "FOO")),
+                events.collect());
+    }
+
+    @Test
+    void filterStockDirectory() throws IOException {
+        StockLocateDirectory directory = new StockLocateDirectory();
+
+        parser = new ITCH50Parser(events, directory);
+        parser.setFilter(filter);
+
+        filter.setStockLocates(1);
+
+        parser.message(bytes(stockDirectory(1, "FOO")));
+        parser.message(bytes(stockDirectory(2, "BAR")));
+
+        assertEquals("FOO", directory.getSymbol(1));
+        assertNull(directory.getSymbol(2));
+    }
+
+    @Test
+    void skip() throws IOException {
+        filter.setStockLocates(1);
+
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        addOrder(2, 2).put(buffer);
+        buffer.putInt(0);
+        buffer.flip();
+
+        parser.message(buffer);
+
+        assertEquals(messageLength(MESSAGE_TYPE_ADD_ORDER), buffer.position());
+        assertEquals(4, buffer.remaining());
+        assertEquals(0, events.collect().size());
+    }
+
+    @Test
+    void skipTruncated() throws IOException {
+        filter.setStockLocates(1);
+
+        ByteBuffer buffer = bytes(addOrder(2, 2));
+
+        buffer.limit(16);
+
+        parser.message(buffer);
+
+        assertEquals(16, buffer.position());
+        assertEquals(0, events.collect().size());
+    }
+
+    @Test
+    void crossTrade() {
+        ByteBuffer buffer = bytes(crossTrade(1));
+
+        assertEquals(messageLength(MESSAGE_TYPE_CROSS_TRADE), buffer.remaining());
+
+        buffer.get();
+
+        CrossTrade message = new CrossTrade();
+
+        message.get(buffer);
+
+        assertEquals(0, buffer.remaining());
+        assertEquals(5000000000L, message.shares);
+        assertEquals("FOO", message.stock);
+        assertEquals(123.45, message.crossPrice, 0.0);
+        assertEquals(42, message.matchNumber);
+        assertEquals('O', message.crossType);
+    }
+
+    @Test
+    void crossTradeView() {
+        ByteBuffer buffer = bytes(crossTrade(1));
+
+        ITCH50View.CrossTrade message = new ITCH50View.CrossTrade();
+
+        message.wrap(buffer, 0);
+
+        assertEquals(messageLength(MESSAGE_TYPE_CROSS_TRADE), message.length());
+        assertEquals(5000000000L, message.shares());
+        assertEquals(ASCII.packLong("FOO     "), message.packedStock());
+        assertEquals(1234500, message.rawCrossPrice());
+        assertEquals(42, message.matchNumber());
+        assertEquals('O', message.crossType());
+    }
+
+    @Test
+    void skipCrossTrade() throws IOException {
+        filter.setStockLocates(1);
+
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        crossTrade(2).put(buffer);
+        buffer.putInt(0);
+        buffer.flip();
+
+        parser.message(buffer);
+
+        assertEquals(40, buffer.position());
+        assertEquals(0, events.collect().size());
+    }
+
+    @Test
+    void failOnUnknownMessageType() {
+        assertThrows(ITCH50Exception.class, () -> parser.message(unknown()));
+    }
+
+    @Test
+    void countUnknownMessageTypes() throws IOException {
+        parser.setUnknownMessageTypePolicy(UnknownMessageTypePolicy.COUNT);
+
+        ByteBuffer buffer = unknown();
+
+        parser.message(buffer);
+        parser.message(unknown());
+
+        assertEquals(0, buffer.remaining());
+        assertEquals(2, parser.getUnknownMessageCount((byte)'z'));
+        assertEquals(0, parser.getUnknownMessageCount((byte)'y'));
+        assertEquals(0, events.collect().size());
+    }
+
+    @Test
+    void countFilteredUnknownMessageTypes() throws IOException {
+        parser.setUnknownMessageTypePolicy(UnknownMessageTypePolicy.COUNT);
+
+        filter.setMessageTypes(MESSAGE_TYPE_ADD_ORDER);
+
+        parser.message(unknown());
+
+        assertEquals(1, parser.getUnknownMessageCount((byte)'z'));
+    }
+
+    @Test
+    void skipUnknownMessageTypes() throws IOException {
+        parser.setUnknownMessageTypePolicy(UnknownMessageTypePolicy.SKIP);
+
+        ByteBuffer buffer = unknown();
+
+        parser.message(buffer);
+
+        assertEquals(0, buffer.remaining());
+        assertEquals(0, parser.getUnknownMessageCount((byte)'z'));
+        assertEquals(0, events.collect().size());
+    }
+
+    private static SystemEvent systemEvent() {
+        SystemEvent message = new SystemEvent();
+
+        message.eventCode = 'O';
+
+        return message;
+    }
+
+    private static StockDirectory stockDirectory(int stockLocate, String stock) {
+        StockDirectory message = new StockDirectory();
+
+        message.stockLocate = stockLocate;
+        message.packedStock = ASCII.packLong(String.format("%-8s", stock));
+
+        return message;
+    }
+
+    private static AddOrder addOrder(int stockLocate, long orderReferenceNumber) {
+        AddOrder message = new AddOrder();
+
+        message.stockLocate          = stockLocate;
+        message.orderReferenceNumber = orderReferenceNumber;
+        message.packedStock          = ASCII.packLong("FOO     ");
+
+        return message;
+    }
+
+    private static CrossTrade crossTrade(int stockLocate) {
+        CrossTrade message = new CrossTrade();
+
+        message.stockLocate   = stockLocate;
+        message.shares        = 5000000000L;
+        message.packedStock   = ASCII.packLong("FOO     ");
+        message.rawCrossPrice = 1234500;
+        message.matchNumber   = 42;
+        message.crossType     = 'O';
+
+        return message;
+    }
+
+    private static ByteBuffer unknown() {
+        return ByteBuffer.wrap(new byte[] { 'z', 0, 1, 0, 0 });
+    }
+
+    private static ByteBuffer bytes(Message message) {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        message.put(buffer);
+        buffer.flip();
+
+        return buffer;
+    }
+
+}
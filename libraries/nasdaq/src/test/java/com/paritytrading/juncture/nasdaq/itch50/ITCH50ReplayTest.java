@@ -0,0 +1,166 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.itch50;
+
+import static com.paritytrading.juncture.nasdaq.itch50.ITCH50.*;
+import static com.paritytrading.juncture.nasdaq.itch50.ITCH50Events.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.paritytrading.foundation.ASCII;
+import com.paritytrading.juncture.nasdaq.BinaryFILEIndex;
+import com.paritytrading.juncture.nasdaq.BinaryFILEs;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ITCH50ReplayTest {
+
+    private static final int STOCKS = 10;
+
+    private static final int ORDERS = 200;
+
+    @TempDir
+    File directory;
+
+    private FileChannel channel;
+
+    private ForkJoinPool pool;
+
+    private List<Event> expected;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        List<byte[]> messages = new ArrayList<>();
+
+        expected = new ArrayList<>();
+
+        messages.add(systemEvent());
+
+        for (int i = 0; i < ORDERS; i++)
+            messages.add(addOrder(1 + i % STOCKS, 1 + i));
+
+        messages.add(systemEvent());
+
+        messages.add(new byte[0]);
+
+        File file = new File(directory, "test.itch50");
+
+        BinaryFILEs.write(file, messages);
+
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+
+        pool = new ForkJoinPool(3);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        pool.shutdown();
+
+        channel.close();
+    }
+
+    @Test
+    void replay() throws IOException {
+        BinaryFILEIndex index = BinaryFILEIndex.build(channel, 256);
+
+        ITCH50Replay replay = new ITCH50Replay(channel, index, pool);
+
+        assertEquals(expected, replay.replay(ITCH50Events::new, ITCH50Events::merge).collect());
+    }
+
+    @Test
+    void replayWithCoarseIndex() throws IOException {
+        BinaryFILEIndex index = BinaryFILEIndex.build(channel, 1 << 20);
+
+        ITCH50Replay replay = new ITCH50Replay(channel, index, pool);
+
+        assertEquals(expected, replay.replay(ITCH50Events::new, ITCH50Events::merge).collect());
+    }
+
+    @Test
+    void replayByStockLocate() throws IOException {
+        BinaryFILEIndex index = BinaryFILEIndex.build(channel, 256);
+
+        ITCH50Replay replay = new ITCH50Replay(channel, index, pool);
+
+        List<Event> partitioned = new ArrayList<>();
+
+        for (int partition = 0; partition < pool.getParallelism(); partition++) {
+            for (Event event : expected) {
+                if (event.stockLocate == 0 || event.stockLocate % pool.getParallelism() == partition)
+                    partitioned.add(event);
+            }
+        }
+
+        assertEquals(partitioned, replay.replayByStockLocate(ITCH50Events::new, ITCH50Events::merge).collect());
+    }
+
+    @Test
+    void indexMismatch() throws IOException {
+        BinaryFILEIndex index = BinaryFILEIndex.build(channel, 256);
+
+        try (FileChannel other = FileChannel.open(new File(directory, "other.itch50").toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ)) {
+            assertThrows(IllegalArgumentException.class, () -> new ITCH50Replay(other, index, pool));
+        }
+    }
+
+    private byte[] systemEvent() {
+        SystemEvent message = new SystemEvent();
+
+        message.eventCode = 'O';
+
+        expected.add(new Event(MESSAGE_TYPE_SYSTEM_EVENT, 0, 0, null));
+
+        return bytes(message);
+    }
+
+    private byte[] addOrder(int stockLocate, long orderReferenceNumber) {
+        AddOrder message = new AddOrder();
+
+        message.stockLocate          = stockLocate;
+        message.orderReferenceNumber = orderReferenceNumber;
+        message.buySellIndicator     = (char)BUY;
+        message.shares               = 100;
+        message.packedStock          = ASCII.packLong(String.format("S%03d    ", stockLocate));
+        message.rawPrice             = 10000;
+
+        expected.add(new Event(MESSAGE_TYPE_ADD_ORDER, stockLocate, orderReferenceNumber,
+                    String.format("S%03d", stockLocate)));
+
+        return bytes(message);
+    }
+
+    private static byte[] bytes(Message message) {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        message.put(buffer);
+        buffer.flip();
+
+        return Arrays.copyOf(buffer.array(), buffer.limit());
+    }
+
+}
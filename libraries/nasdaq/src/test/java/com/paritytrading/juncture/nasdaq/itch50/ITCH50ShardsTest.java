@@ -0,0 +1,159 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.itch50;
+
+import static java.util.Arrays.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class ITCH50ShardsTest {
+
+    private static final int SHARDS = 4;
+
+    /*
+     * The stock locate of a message, or -1 for a message that is too short
+     * to carry one, in the order the shard received them.
+     */
+    private List<List<Integer>> received;
+
+    private ITCH50Shards shards;
+
+    @BeforeEach
+    void setUp() {
+        received = new ArrayList<>();
+
+        for (int i = 0; i < SHARDS; i++)
+            received.add(new ArrayList<>());
+
+        shards = new ITCH50Shards(SHARDS, 16, shard -> buffer -> {
+            int stockLocate = buffer.remaining() >= 3 ? buffer.getShort(buffer.position() + 1) & 0xffff : -1;
+
+            buffer.position(buffer.limit());
+
+            received.get(shard).add(stockLocate);
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        shards.close();
+    }
+
+    @Test
+    void route() throws IOException {
+        for (int stockLocate = 1; stockLocate <= 64; stockLocate++)
+            shards.message(message(stockLocate));
+
+        shards.flush();
+
+        for (int shard = 0; shard < SHARDS; shard++) {
+            List<Integer> expected = new ArrayList<>();
+
+            for (int stockLocate = 1; stockLocate <= 64; stockLocate++) {
+                if (stockLocate % SHARDS == shard)
+                    expected.add(stockLocate);
+            }
+
+            assertEquals(expected, received.get(shard));
+        }
+    }
+
+    @Test
+    void broadcastStockLocateZero() throws IOException {
+        shards.message(message(1));
+        shards.message(message(0));
+        shards.message(message(2));
+
+        shards.flush();
+
+        assertEquals(asList(0), received.get(0));
+        assertEquals(asList(1, 0), received.get(1));
+        assertEquals(asList(0, 2), received.get(2));
+        assertEquals(asList(0), received.get(3));
+    }
+
+    @Test
+    void broadcastShortMessages() throws IOException {
+        shards.message(ByteBuffer.allocate(0));
+        shards.message(ByteBuffer.wrap(new byte[] { 'S', 0 }));
+        shards.message(message(1));
+
+        shards.flush();
+
+        assertEquals(asList(-1, -1), received.get(0));
+        assertEquals(asList(-1, -1, 1), received.get(1));
+        assertEquals(asList(-1, -1), received.get(2));
+        assertEquals(asList(-1, -1), received.get(3));
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void parkWhenIdle() throws Exception {
+        for (Thread worker : workers()) {
+            while (worker.getState() != Thread.State.TIMED_WAITING)
+                Thread.sleep(1);
+        }
+
+        shards.message(message(1));
+
+        shards.flush();
+
+        assertEquals(asList(1), received.get(1));
+    }
+
+    @Test
+    void tooLongMessage() {
+        ByteBuffer buffer = ByteBuffer.allocate(MessageRing.MAX_MESSAGE_LENGTH + 1);
+
+        assertThrows(ITCH50Exception.class, () -> shards.message(buffer));
+    }
+
+    private static List<Thread> workers() {
+        List<Thread> workers = new ArrayList<>();
+
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("itch50-shard-"))
+                workers.add(thread);
+        }
+
+        assertEquals(SHARDS, workers.size());
+
+        return workers;
+    }
+
+    private static ByteBuffer message(int stockLocate) {
+        ByteBuffer buffer = ByteBuffer.allocate(36);
+
+        ITCH50.AddOrder message = new ITCH50.AddOrder();
+
+        message.stockLocate = stockLocate;
+
+        message.put(buffer);
+        buffer.flip();
+
+        return buffer;
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.itch50;
+
+import static com.paritytrading.juncture.nasdaq.itch50.ITCH50.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.paritytrading.foundation.ASCII;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ITCH50Test {
+
+    private static final Message[] MESSAGES = {
+        new SystemEvent(),
+        new StockDirectory(),
+        new StockTradingAction(),
+        new RegSHORestriction(),
+        new MarketParticipantPosition(),
+        new MWCBDeclineLevel(),
+        new MWCBStatus(),
+        new IPOQuotingPeriodUpdate(),
+        new LULDAuctionCollar(),
+        new OperationalHalt(),
+        new AddOrder(),
+        new AddOrderMPID(),
+        new OrderExecuted(),
+        new OrderExecutedWithPrice(),
+        new OrderCancel(),
+        new OrderDelete(),
+        new OrderReplace(),
+        new Trade(),
+        new CrossTrade(),
+        new BrokenTrade(),
+        new NOII(),
+        new RPII(),
+    };
+
+    @Test
+    void roundTrip() {
+        Random random = new Random(0);
+
+        for (Message message : MESSAGES) {
+            byte[] bytes = bytes(message, random);
+
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+            buffer.get();
+
+            message.get(buffer);
+
+            assertEquals(0, buffer.remaining(), message.getClass().getSimpleName());
+            assertArrayEquals(bytes, put(message), message.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void packedRoundTrip() {
+        Random random = new Random(0);
+
+        for (Message message : MESSAGES) {
+            byte[] bytes = bytes(message, random);
+
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+            buffer.get();
+
+            message.getPacked(buffer);
+
+            assertEquals(0, buffer.remaining(), message.getClass().getSimpleName());
+            assertArrayEquals(bytes, put(message), message.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void putPackedAndRawFields() {
+        AddOrder message = new AddOrder();
+
+        message.stockLocate = 1;
+        message.packedStock = ASCII.packLong("AAPL    ");
+        message.rawPrice    = 123400;
+
+        ByteBuffer buffer = ByteBuffer.wrap(put(message));
+
+        buffer.get();
+
+        AddOrder decoded = new AddOrder();
+
+        decoded.get(buffer);
+
+        assertEquals(1, decoded.stockLocate);
+        assertEquals("AAPL", decoded.stock);
+        assertEquals(12.34, decoded.price, 0.0);
+    }
+
+    @Test
+    void putIgnoresStringAndDoubleFields() {
+        AddOrder message = new AddOrder();
+
+        message.stock = "AAPL";
+        message.price = 12.34;
+
+        ByteBuffer buffer = ByteBuffer.wrap(put(message));
+
+        buffer.get();
+
+        AddOrder decoded = new AddOrder();
+
+        decoded.getPacked(buffer);
+
+        assertEquals(0, decoded.packedStock);
+        assertEquals(0, decoded.rawPrice);
+    }
+
+    /*
+     * Generate a message of the same message type as the given message
+     * with random field values.
+     */
+    private static byte[] bytes(Message message, Random random) {
+        byte messageType = put(message)[0];
+
+        byte[] bytes = new byte[messageLength(messageType)];
+
+        random.nextBytes(bytes);
+
+        bytes[0] = messageType;
+
+        return bytes;
+    }
+
+    private static byte[] put(Message message) {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        message.put(buffer);
+        buffer.flip();
+
+        byte[] bytes = new byte[buffer.remaining()];
+
+        buffer.get(bytes);
+
+        return bytes;
+    }
+
+}
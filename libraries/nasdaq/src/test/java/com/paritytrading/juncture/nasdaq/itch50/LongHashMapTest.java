@@ -0,0 +1,171 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.itch50;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LongHashMapTest {
+
+    /*
+     * An initial capacity of eight yields a table of 16 slots that grows
+     * once the map holds more than eight entries.
+     */
+    private static final int INITIAL_CAPACITY = 8;
+
+    private static final int MASK = 15;
+
+    private LongHashMap<String> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new LongHashMap<>(INITIAL_CAPACITY);
+    }
+
+    @Test
+    void putAndGet() {
+        map.put(1, "foo");
+        map.put(2, "bar");
+
+        assertEquals("foo", map.get(1));
+        assertEquals("bar", map.get(2));
+        assertNull(map.get(3));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void putReplaces() {
+        map.put(1, "foo");
+        map.put(1, "bar");
+
+        assertEquals("bar", map.get(1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void remove() {
+        map.put(1, "foo");
+
+        assertEquals("foo", map.remove(1));
+        assertNull(map.remove(1));
+        assertNull(map.get(1));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void removeCollidingKeys() {
+        long[] keys = keys(3, 4);
+
+        for (long key : keys)
+            map.put(key, Long.toString(key));
+
+        assertEquals(Long.toString(keys[0]), map.remove(keys[0]));
+
+        assertNull(map.get(keys[0]));
+        assertEquals(Long.toString(keys[1]), map.get(keys[1]));
+        assertEquals(Long.toString(keys[2]), map.get(keys[2]));
+        assertEquals(Long.toString(keys[3]), map.get(keys[3]));
+
+        assertEquals(Long.toString(keys[2]), map.remove(keys[2]));
+
+        assertEquals(Long.toString(keys[1]), map.get(keys[1]));
+        assertEquals(Long.toString(keys[3]), map.get(keys[3]));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void removeCollidingKeysAcrossWrapAround() {
+        long[] last  = keys(MASK, 3);
+        long[] first = keys(0, 2);
+
+        for (long key : last)
+            map.put(key, Long.toString(key));
+
+        for (long key : first)
+            map.put(key, Long.toString(key));
+
+        map.remove(last[0]);
+
+        for (int i = 1; i < last.length; i++)
+            assertEquals(Long.toString(last[i]), map.get(last[i]));
+
+        for (long key : first)
+            assertEquals(Long.toString(key), map.get(key));
+
+        map.remove(first[0]);
+
+        assertEquals(Long.toString(last[1]), map.get(last[1]));
+        assertEquals(Long.toString(last[2]), map.get(last[2]));
+        assertEquals(Long.toString(first[1]), map.get(first[1]));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void removeDuringResize() {
+        Map<Long, String> expected = new HashMap<>();
+
+        Random random = new Random(1);
+
+        for (int i = 0; i < 100000; i++) {
+            long key = random.nextInt(1024);
+
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                String value = Integer.toString(i);
+
+                expected.put(key, value);
+                map.put(key, value);
+            }
+
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (long key = 0; key < 1024; key++)
+            assertEquals(expected.get(key), map.get(key));
+    }
+
+    @Test
+    void clear() {
+        map.put(1, "foo");
+        map.put(2, "bar");
+
+        map.clear();
+
+        assertNull(map.get(1));
+        assertNull(map.get(2));
+        assertEquals(0, map.size());
+    }
+
+    private static long[] keys(int slot, int count) {
+        long[] keys = new long[count];
+
+        int n = 0;
+
+        for (long key = 1; n < count; key++) {
+            if ((LongHashMap.hash(key) & MASK) == slot)
+                keys[n++] = key;
+        }
+
+        return keys;
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.itch50;
+
+import static com.paritytrading.juncture.nasdaq.itch50.ITCH50.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.paritytrading.foundation.ASCII;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StockLocateDirectoryTest {
+
+    private StockLocateDirectory directory;
+
+    @BeforeEach
+    void setUp() {
+        directory = new StockLocateDirectory();
+    }
+
+    @Test
+    void add() {
+        directory.add(stockDirectory(1, "FOO"));
+        directory.add(stockDirectory(65535, "BAR"));
+
+        assertEquals("FOO", directory.getSymbol(1));
+        assertEquals("BAR", directory.getSymbol(65535));
+        assertEquals(ASCII.packLong("FOO     "), directory.getPackedSymbol(1));
+        assertNull(directory.getSymbol(2));
+        assertEquals(0, directory.getPackedSymbol(2));
+        assertEquals(2, directory.size());
+    }
+
+    @Test
+    void addTwice() {
+        directory.add(stockDirectory(1, "FOO"));
+
+        String symbol = directory.getSymbol(1);
+
+        directory.add(stockDirectory(1, "FOO"));
+
+        assertSame(symbol, directory.getSymbol(1));
+        assertEquals(1, directory.size());
+    }
+
+    @Test
+    void replace() {
+        directory.add(stockDirectory(1, "FOO"));
+        directory.add(stockDirectory(1, "BAR"));
+
+        assertEquals("BAR", directory.getSymbol(1));
+        assertEquals(1, directory.size());
+    }
+
+    @Test
+    void clear() {
+        directory.add(stockDirectory(1, "FOO"));
+
+        directory.clear();
+
+        assertNull(directory.getSymbol(1));
+        assertEquals(0, directory.size());
+    }
+
+    @Test
+    void resolve() {
+        directory.add(stockDirectory(1, "FOO"));
+
+        assertSame(directory.getSymbol(1), directory.resolve(1, ASCII.packLong("FOO     ")));
+        assertEquals("BAR", directory.resolve(1, ASCII.packLong("BAR     ")));
+        assertEquals("BAZ", directory.resolve(2, ASCII.packLong("BAZ     ")));
+    }
+
+    @Test
+    void parser() throws IOException {
+        ITCH50Events events = new ITCH50Events();
+
+        ITCH50Parser parser = new ITCH50Parser(events, directory);
+
+        parser.message(bytes(stockDirectory(1, "FOO")));
+        parser.message(bytes(addOrder(1, "FOO")));
+        parser.message(bytes(addOrder(1, "BAR")));
+
+        assertEquals("FOO", directory.getSymbol(1));
+        assertEquals("FOO", events.collect().get(1).stock);
+        assertSame(directory.getSymbol(1), events.collect().get(1).stock);
+        assertEquals("BAR", events.collect().get(2).stock);
+    }
+
+    @Test
+    void packedParser() throws IOException {
+        ITCH50Events events = new ITCH50Events();
+
+        ITCH50Parser parser = new ITCH50Parser(events, true, directory);
+
+        parser.message(bytes(stockDirectory(1, "FOO")));
+        parser.message(bytes(addOrder(1, "FOO")));
+
+        assertEquals("FOO", directory.getSymbol(1));
+        assertNull(events.collect().get(1).stock);
+    }
+
+    private static StockDirectory stockDirectory(int stockLocate, String stock) {
+        StockDirectory message = new StockDirectory();
+
+        message.stockLocate = stockLocate;
+        message.packedStock = ASCII.packLong(String.format("%-8s", stock));
+
+        return message;
+    }
+
+    private static AddOrder addOrder(int stockLocate, String stock) {
+        AddOrder message = new AddOrder();
+
+        message.stockLocate = stockLocate;
+        message.packedStock = ASCII.packLong(String.format("%-8s", stock));
+
+        return message;
+    }
+
+    private static ByteBuffer bytes(Message message) {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        message.put(buffer);
+        buffer.flip();
+
+        return buffer;
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.nls30;
+
+import static com.paritytrading.juncture.nasdaq.nls30.NLS30.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.jvirtanen.value.Value;
+
+class NLS30Events implements NLS30Listener {
+
+    private List<Event> events;
+
+    private Message last;
+
+    public NLS30Events() {
+        events = new ArrayList<Event>();
+    }
+
+    public List<Event> collect() {
+        return events;
+    }
+
+    public Message last() {
+        return last;
+    }
+
+    @Override
+    public void systemEvent(SystemEvent message) {
+        add(MESSAGE_TYPE_SYSTEM_EVENT, message.trackingNumber, message);
+    }
+
+    @Override
+    public void tradeReportForNonNextShares(TradeReportForNonNextShares message) {
+        add(MESSAGE_TYPE_TRADE_REPORT_FOR_NON_NEXT_SHARES, message.trackingNumber, message);
+    }
+
+    @Override
+    public void tradeReportForNonNextShares(LongFormTradeReportForNonNextShares message) {
+        add(MESSAGE_TYPE_LONG_FORM_TRADE_REPORT_FOR_NON_NEXT_SHARES, message.trackingNumber, message);
+    }
+
+    @Override
+    public void tradeReportForNextShares(TradeReportForNextShares message) {
+        add(MESSAGE_TYPE_TRADE_REPORT_FOR_NEXT_SHARES, message.trackingNumber, message);
+    }
+
+    @Override
+    public void tradeCancelErrorForNonNextShares(TradeCancelErrorForNonNextShares message) {
+        add(MESSAGE_TYPE_TRADE_CANCEL_ERROR_FOR_NON_NEXT_SHARES, message.trackingNumber, message);
+    }
+
+    @Override
+    public void tradeCancelErrorForNonNextShares(LongFormTradeCancelErrorForNonNextShares message) {
+        add(MESSAGE_TYPE_LONG_FORM_TRADE_CANCEL_ERROR_FOR_NON_NEXT_SHARES, message.trackingNumber, message);
+    }
+
+    @Override
+    public void tradeCancelErrorForNextShares(TradeCancelErrorForNextShares message) {
+        add(MESSAGE_TYPE_TRADE_CANCEL_ERROR_FOR_NEXT_SHARES, message.trackingNumber, message);
+    }
+
+    @Override
+    public void tradeCorrectionForNonNextShares(TradeCorrectionForNonNextShares message) {
+        add(MESSAGE_TYPE_TRADE_CORRECTION_FOR_NON_NEXT_SHARES, message.trackingNumber, message);
+    }
+
+    @Override
+    public void tradeCorrectionForNonNextShares(LongFormTradeCorrectionForNonNextShares message) {
+        add(MESSAGE_TYPE_LONG_FORM_TRADE_CORRECTION_FOR_NON_NEXT_SHARES, message.trackingNumber, message);
+    }
+
+    @Override
+    public void tradeCorrectionForNextShares(TradeCorrectionForNextShares message) {
+        add(MESSAGE_TYPE_TRADE_CORRECTION_FOR_NEXT_SHARES, message.trackingNumber, message);
+    }
+
+    @Override
+    public void stockTradingAction(StockTradingAction message) {
+        add(MESSAGE_TYPE_STOCK_TRADING_ACTION, message.trackingNumber, message);
+    }
+
+    @Override
+    public void stockDirectory(StockDirectory message) {
+        add(MESSAGE_TYPE_STOCK_DIRECTORY, message.trackingNumber, message);
+    }
+
+    @Override
+    public void regSHORestriction(RegSHORestriction message) {
+        add(MESSAGE_TYPE_REG_SHO_RESTRICTION, message.trackingNumber, message);
+    }
+
+    @Override
+    public void adjustedClosingPrice(AdjustedClosingPrice message) {
+        add(MESSAGE_TYPE_ADJUSTED_CLOSING_PRICE, message.trackingNumber, message);
+    }
+
+    @Override
+    public void adjustedClosingPrice(LongFormAdjustedClosingPrice message) {
+        add(MESSAGE_TYPE_LONG_FORM_ADJUSTED_CLOSING_PRICE, message.trackingNumber, message);
+    }
+
+    @Override
+    public void endOfDayTradeSummary(EndOfDayTradeSummary message) {
+        add(MESSAGE_TYPE_END_OF_DAY_TRADE_SUMMARY, message.trackingNumber, message);
+    }
+
+    @Override
+    public void endOfDayTradeSummary(LongFormEndOfDayTradeSummary message) {
+        add(MESSAGE_TYPE_LONG_FORM_END_OF_DAY_TRADE_SUMMARY, message.trackingNumber, message);
+    }
+
+    @Override
+    public void endOfDayTradeSummaryNextShares(EndOfDayTradeSummaryNextShares message) {
+        add(MESSAGE_TYPE_END_OF_DAY_TRADE_SUMMARY_NEXT_SHARES, message.trackingNumber, message);
+    }
+
+    @Override
+    public void ipoInformation(IPOInformation message) {
+        add(MESSAGE_TYPE_IPO_INFORMATION, message.trackingNumber, message);
+    }
+
+    @Override
+    public void mwcbDeclineLevel(MWCBDeclineLevel message) {
+        add(MESSAGE_TYPE_MWCB_DECLINE_LEVEL, message.trackingNumber, message);
+    }
+
+    @Override
+    public void mwcbStatus(MWCBStatus message) {
+        add(MESSAGE_TYPE_MWCB_STATUS, message.trackingNumber, message);
+    }
+
+    @Override
+    public void ipoQuotingPeriodUpdate(IPOQuotingPeriodUpdate message) {
+        add(MESSAGE_TYPE_IPO_QUOTING_PERIOD_UPDATE, message.trackingNumber, message);
+    }
+
+    @Override
+    public void operationalHalt(OperationalHalt message) {
+        add(MESSAGE_TYPE_OPERATIONAL_HALT, message.trackingNumber, message);
+    }
+
+    private void add(byte messageType, int trackingNumber, Message message) {
+        events.add(new Event(messageType, trackingNumber));
+
+        last = message;
+    }
+
+    public static class Event extends Value {
+        public final byte messageType;
+        public final int  trackingNumber;
+
+        public Event(byte messageType, int trackingNumber) {
+            this.messageType    = messageType;
+            this.trackingNumber = trackingNumber;
+        }
+    }
+
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.nls30;
+
+import static com.paritytrading.juncture.nasdaq.nls30.NLS30.*;
+import static java.nio.charset.StandardCharsets.*;
+import static java.util.Arrays.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.paritytrading.foundation.ASCII;
+import com.paritytrading.juncture.nasdaq.MessageFilter;
+import com.paritytrading.juncture.nasdaq.UnknownMessageTypePolicy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NLS30ParserTest {
+
+    private NLS30Events events;
+
+    private MessageFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        events = new NLS30Events();
+
+        filter = new MessageFilter();
+    }
+
+    @Test
+    void decode() throws IOException {
+        NLS30Parser parser = new NLS30Parser(events);
+
+        parser.message(bytes(tradeReport(1)));
+
+        TradeReportForNonNextShares message = (TradeReportForNonNextShares)events.last();
+
+        assertEquals(1, message.trackingNumber);
+        assertEquals(2, message.timestampHigh);
+        assertEquals(3, message.timestampLow);
+        assertTradeReport(message);
+    }
+
+    @Test
+    void decodeWithoutHeader() throws IOException {
+        NLS30Parser parser = new NLS30Parser(events, false);
+
+        ByteBuffer buffer = headerless(tradeReport(1));
+
+        parser.message(buffer);
+
+        TradeReportForNonNextShares message = (TradeReportForNonNextShares)events.last();
+
+        assertEquals(0, buffer.remaining());
+        assertEquals(0, message.trackingNumber);
+        assertEquals(0, message.timestampHigh);
+        assertEquals(0, message.timestampLow);
+        assertTradeReport(message);
+    }
+
+    @Test
+    void filterMessageType() throws IOException {
+        NLS30Parser parser = parser(true);
+
+        filter.setMessageTypes(MESSAGE_TYPE_REG_SHO_RESTRICTION);
+
+        parser.message(bytes(systemEvent(1)));
+        parser.message(bytes(regSHORestriction(2, "FOO")));
+        parser.message(bytes(stockTradingAction(3, "FOO")));
+
+        assertEquals(asList(new NLS30Events.Event(MESSAGE_TYPE_REG_SHO_RESTRICTION, 2)),
+                events.collect());
+    }
+
+    @Test
+    void filterSymbol() throws IOException {
+        NLS30Parser parser = parser(true);
+
+        filter.setSymbols(asList("FOO"));
+
+        parser.message(bytes(systemEvent(1)));
+        parser.message(bytes(regSHORestriction(2, "FOO")));
+        parser.message(bytes(regSHORestriction(3, "BAR")));
+        parser.message(bytes(stockTradingAction(4, "FOO")));
+        parser.message(bytes(stockTradingAction(5, "BAR")));
+
+        assertEquals(asList(
+                    new NLS30Events.Event(MESSAGE_TYPE_SYSTEM_EVENT, 1),
+                    new NLS30Events.Event(MESSAGE_TYPE_REG_SHO_RESTRICTION, 2),
+                    new NLS30Events.Event(MESSAGE_TYPE_STOCK_TRADING_ACTION, 4)),
+                events.collect());
+    }
+
+    @Test
+    void filterSymbolWithoutHeader() throws IOException {
+        NLS30Parser parser = parser(false);
+
+        filter.setSymbols(asList("FOO"));
+
+        parser.message(headerless(systemEvent(1)));
+        parser.message(headerless(regSHORestriction(2, "FOO")));
+        parser.message(headerless(regSHORestriction(3, "BAR")));
+
+        assertEquals("FOO", ((RegSHORestriction)events.last()).issueSymbol);
+
+        parser.message(headerless(stockTradingAction(4, "FOO")));
+        parser.message(headerless(stockTradingAction(5, "BAR")));
+
+        assertEquals("FOO", ((StockTradingAction)events.last()).issueSymbol);
+
+        assertEquals(asList(
+                    new NLS30Events.Event(MESSAGE_TYPE_SYSTEM_EVENT, 0),
+                    new NLS30Events.Event(MESSAGE_TYPE_REG_SHO_RESTRICTION, 0),
+                    new NLS30Events.Event(MESSAGE_TYPE_STOCK_TRADING_ACTION, 0)),
+                events.collect());
+    }
+
+    @Test
+    void skip() throws IOException {
+        NLS30Parser parser = parser(true);
+
+        filter.setSymbols(asList("FOO"));
+
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        stockTradingAction(1, "BAR").put(buffer);
+        buffer.putInt(0);
+        buffer.flip();
+
+        parser.message(buffer);
+
+        assertEquals(messageLength(MESSAGE_TYPE_STOCK_TRADING_ACTION), buffer.position());
+        assertEquals(0, events.collect().size());
+    }
+
+    @Test
+    void skipWithoutHeader() throws IOException {
+        NLS30Parser parser = parser(false);
+
+        filter.setSymbols(asList("FOO"));
+
+        ByteBuffer message = headerless(stockTradingAction(1, "BAR"));
+
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        buffer.put(message);
+        buffer.putInt(0);
+        buffer.flip();
+
+        parser.message(buffer);
+
+        assertEquals(messageLength(MESSAGE_TYPE_STOCK_TRADING_ACTION) - HEADER_LENGTH, buffer.position());
+        assertEquals(0, events.collect().size());
+    }
+
+    @Test
+    void skipTruncated() throws IOException {
+        NLS30Parser parser = parser(true);
+
+        filter.setMessageTypes(MESSAGE_TYPE_SYSTEM_EVENT);
+
+        ByteBuffer buffer = bytes(stockTradingAction(1, "FOO"));
+
+        buffer.limit(12);
+
+        parser.message(buffer);
+
+        assertEquals(12, buffer.position());
+        assertEquals(0, events.collect().size());
+    }
+
+    @Test
+    void countUnknownMessageTypes() throws IOException {
+        NLS30Parser parser = parser(true);
+
+        ByteBuffer buffer = unknown();
+
+        parser.message(buffer);
+        parser.message(unknown());
+
+        assertEquals(0, buffer.remaining());
+        assertEquals(2, parser.getUnknownMessageCount((byte)'z'));
+        assertEquals(0, parser.getUnknownMessageCount((byte)'y'));
+        assertEquals(0, events.collect().size());
+    }
+
+    @Test
+    void countFilteredUnknownMessageTypes() throws IOException {
+        NLS30Parser parser = parser(true);
+
+        filter.setMessageTypes(MESSAGE_TYPE_SYSTEM_EVENT);
+
+        parser.message(unknown());
+
+        assertEquals(1, parser.getUnknownMessageCount((byte)'z'));
+    }
+
+    @Test
+    void failOnUnknownMessageType() {
+        NLS30Parser parser = parser(true);
+
+        parser.setUnknownMessageTypePolicy(UnknownMessageTypePolicy.FAIL);
+
+        assertThrows(NLS30Exception.class, () -> parser.message(unknown()));
+    }
+
+    @Test
+    void skipUnknownMessageTypes() throws IOException {
+        NLS30Parser parser = parser(true);
+
+        parser.setUnknownMessageTypePolicy(UnknownMessageTypePolicy.SKIP);
+
+        ByteBuffer buffer = unknown();
+
+        parser.message(buffer);
+
+        assertEquals(0, buffer.remaining());
+        assertEquals(0, parser.getUnknownMessageCount((byte)'z'));
+        assertEquals(0, events.collect().size());
+    }
+
+    private NLS30Parser parser(boolean header) {
+        NLS30Parser parser = new NLS30Parser(events, header);
+
+        parser.setFilter(filter);
+
+        return parser;
+    }
+
+    private static TradeReportForNonNextShares tradeReport(int trackingNumber) {
+        TradeReportForNonNextShares message = new TradeReportForNonNextShares();
+
+        message.trackingNumber                    = trackingNumber;
+        message.timestampHigh                     = 2;
+        message.timestampLow                      = 3;
+        message.originatingMarketCenterIdentifier = 'Q';
+        message.packedIssueSymbol                 = ASCII.packLong("FOO     ");
+        message.securityClass                     = 'Q';
+        message.rawTradePrice                     = 1234500;
+        message.tradeSize                         = 100;
+        message.packedSaleConditionModifier       = ASCII.packInt("@   ");
+        message.consolidatedVolume                = 5000000000L;
+
+        System.arraycopy("0123456789".getBytes(US_ASCII), 0, message.packedTradeControlNumber, 0, 10);
+
+        return message;
+    }
+
+    private static void assertTradeReport(TradeReportForNonNextShares message) {
+        assertEquals('Q', message.originatingMarketCenterIdentifier);
+        assertEquals("FOO", message.issueSymbol);
+        assertEquals('Q', message.securityClass);
+        assertEquals("0123456789", message.tradeControlNumber);
+        assertEquals(123.45, message.tradePrice, 0.0);
+        assertEquals(1234500, message.rawTradePrice);
+        assertEquals(100, message.tradeSize);
+        assertEquals("@", message.saleConditionModifier);
+        assertEquals(5000000000L, message.consolidatedVolume);
+    }
+
+    private static SystemEvent systemEvent(int trackingNumber) {
+        SystemEvent message = new SystemEvent();
+
+        message.trackingNumber = trackingNumber;
+        message.eventCode      = 'O';
+
+        return message;
+    }
+
+    private static RegSHORestriction regSHORestriction(int trackingNumber, String issueSymbol) {
+        RegSHORestriction message = new RegSHORestriction();
+
+        message.trackingNumber    = trackingNumber;
+        message.packedIssueSymbol = ASCII.packLong(String.format("%-8s", issueSymbol));
+        message.regSHOAction      = '1';
+
+        return message;
+    }
+
+    private static StockTradingAction stockTradingAction(int trackingNumber, String issueSymbol) {
+        StockTradingAction message = new StockTradingAction();
+
+        message.trackingNumber      = trackingNumber;
+        message.reserved            = ' ';
+        message.packedIssueSymbol   = ASCII.packLong(String.format("%-8s", issueSymbol));
+        message.securityClass       = 'Q';
+        message.currentTradingState = 'T';
+        message.packedReason        = ASCII.packInt("    ");
+
+        return message;
+    }
+
+    private static ByteBuffer unknown() {
+        return ByteBuffer.wrap(new byte[] { 'z', 0, 1, 0, 0 });
+    }
+
+    private static ByteBuffer bytes(Message message) {
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+
+        message.put(buffer);
+        buffer.flip();
+
+        return buffer;
+    }
+
+    private static ByteBuffer headerless(Message message) {
+        ByteBuffer buffer = bytes(message);
+
+        ByteBuffer body = ByteBuffer.allocate(buffer.remaining() - HEADER_LENGTH);
+
+        body.put(buffer.get());
+
+        buffer.position(1 + HEADER_LENGTH);
+
+        body.put(buffer);
+        body.flip();
+
+        return body;
+    }
+
+}
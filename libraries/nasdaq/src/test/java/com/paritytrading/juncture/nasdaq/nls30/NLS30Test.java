@@ -0,0 +1,157 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.nls30;
+
+import static com.paritytrading.juncture.nasdaq.nls30.NLS30.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.paritytrading.foundation.ASCII;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class NLS30Test {
+
+    private static final Message[] MESSAGES = {
+        new SystemEvent(),
+        new TradeReportForNonNextShares(),
+        new LongFormTradeReportForNonNextShares(),
+        new TradeReportForNextShares(),
+        new TradeCancelErrorForNonNextShares(),
+        new LongFormTradeCancelErrorForNonNextShares(),
+        new TradeCancelErrorForNextShares(),
+        new TradeCorrectionForNonNextShares(),
+        new LongFormTradeCorrectionForNonNextShares(),
+        new TradeCorrectionForNextShares(),
+        new StockTradingAction(),
+        new StockDirectory(),
+        new RegSHORestriction(),
+        new AdjustedClosingPrice(),
+        new LongFormAdjustedClosingPrice(),
+        new EndOfDayTradeSummary(),
+        new LongFormEndOfDayTradeSummary(),
+        new EndOfDayTradeSummaryNextShares(),
+        new IPOInformation(),
+        new MWCBDeclineLevel(),
+        new MWCBStatus(),
+        new IPOQuotingPeriodUpdate(),
+        new OperationalHalt(),
+    };
+
+    @Test
+    void roundTrip() {
+        Random random = new Random(0);
+
+        for (Message message : MESSAGES) {
+            byte[] bytes = bytes(message, random);
+
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+            buffer.get();
+
+            message.get(buffer);
+
+            assertEquals(0, buffer.remaining(), message.getClass().getSimpleName());
+            assertArrayEquals(bytes, put(message), message.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void packedRoundTrip() {
+        Random random = new Random(0);
+
+        for (Message message : MESSAGES) {
+            byte[] bytes = bytes(message, random);
+
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+            buffer.get();
+
+            message.getPacked(buffer);
+
+            assertEquals(0, buffer.remaining(), message.getClass().getSimpleName());
+            assertArrayEquals(bytes, put(message), message.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    void putPackedAndRawFields() {
+        TradeReportForNonNextShares message = new TradeReportForNonNextShares();
+
+        message.packedIssueSymbol = ASCII.packLong("AAPL    ");
+        message.rawTradePrice     = 123400;
+
+        ByteBuffer buffer = ByteBuffer.wrap(put(message));
+
+        buffer.get();
+
+        TradeReportForNonNextShares decoded = new TradeReportForNonNextShares();
+
+        decoded.get(buffer);
+
+        assertEquals("AAPL", decoded.issueSymbol);
+        assertEquals(12.34, decoded.tradePrice, 0.0);
+    }
+
+    @Test
+    void putIgnoresStringAndDoubleFields() {
+        TradeReportForNonNextShares message = new TradeReportForNonNextShares();
+
+        message.issueSymbol = "AAPL";
+        message.tradePrice  = 12.34;
+
+        ByteBuffer buffer = ByteBuffer.wrap(put(message));
+
+        buffer.get();
+
+        TradeReportForNonNextShares decoded = new TradeReportForNonNextShares();
+
+        decoded.getPacked(buffer);
+
+        assertEquals(0, decoded.packedIssueSymbol);
+        assertEquals(0, decoded.rawTradePrice);
+    }
+
+    /*
+     * Generate a message of the same message type as the given message
+     * with random field values.
+     */
+    private static byte[] bytes(Message message, Random random) {
+        byte messageType = put(message)[0];
+
+        byte[] bytes = new byte[messageLength(messageType)];
+
+        random.nextBytes(bytes);
+
+        bytes[0] = messageType;
+
+        return bytes;
+    }
+
+    private static byte[] put(Message message) {
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+
+        message.put(buffer);
+        buffer.flip();
+
+        byte[] bytes = new byte[buffer.remaining()];
+
+        buffer.get(bytes);
+
+        return bytes;
+    }
+
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2015 Juncture authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.paritytrading.juncture.nasdaq.qbbo21;
+
+import static com.paritytrading.juncture.nasdaq.qbbo21.QBBO21.*;
+import static java.util.Arrays.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.paritytrading.foundation.ASCII;
+import com.paritytrading.juncture.nasdaq.MessageFilter;
+import com.paritytrading.juncture.nasdaq.UnknownMessageTypePolicy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class QBBO21ParserTest {
+
+    private QBBO21Events events;
+
+    private MessageFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        events = new QBBO21Events();
+
+        filter = new MessageFilter();
+    }
+
+    @Test
+    void decode() throws IOException {
+        QBBO21Parser parser = new QBBO21Parser(events);
+
+        parser.message(bytes(quotation(1, "FOO")));
+
+        Quotation message = (Quotation)events.last();
+
+        assertEquals(1, message.trackingNumber);
+        assertEquals(2, message.timestampHigh);
+        assertEquals(3, message.timestampLow);
+        assertQuotation(message);
+    }
+
+    @Test
+    void decodeWithoutHeader() throws IOException {
+        QBBO21Parser parser = new QBBO21Parser(events, false);
+
+        ByteBuffer buffer = headerless(quotation(1, "FOO"));
+
+        parser.message(buffer);
+
+        Quotation message = (Quotation)events.last();
+
+        assertEquals(0, buffer.remaining());
+        assertEquals(0, message.trackingNumber);
+        assertEquals(0, message.timestampHigh);
+        assertEquals(0, message.timestampLow);
+        assertQuotation(message);
+    }
+
+    @Test
+    void filterMessageType() throws IOException {
+        QBBO21Parser parser = parser(true);
+
+        filter.setMessageTypes(MESSAGE_TYPE_REG_SHO_RESTRICTION);
+
+        parser.message(bytes(systemEvent(1)));
+        parser.message(bytes(regSHORestriction(2, "FOO")));
+        parser.message(bytes(quotation(3, "FOO")));
+
+        assertEquals(asList(new QBBO21Events.Event(MESSAGE_TYPE_REG_SHO_RESTRICTION, 2)),
+                events.collect());
+    }
+
+    @Test
+    void filterSymbol() throws IOException {
+        QBBO21Parser parser = parser(true);
+
+        filter.setSymbols(asList("FOO"));
+
+        parser.message(bytes(systemEvent(1)));
+        parser.message(bytes(regSHORestriction(2, "FOO")));
+        parser.message(bytes(regSHORestriction(3, "BAR")));
+        parser.message(bytes(quotation(4, "FOO")));
+        parser.message(bytes(quotation(5, "BAR")));
+
+        assertEquals(asList(
+                    new QBBO21Events.Event(MESSAGE_TYPE_SYSTEM_EVENT, 1),
+                    new QBBO21Events.Event(MESSAGE_TYPE_REG_SHO_RESTRICTION, 2),
+                    new QBBO21Events.Event(MESSAGE_TYPE_QUOTATION, 4)),
+                events.collect());
+    }
+
+    @Test
+    void filterSymbolWithoutHeader() throws IOException {
+        QBBO21Parser parser = parser(false);
+
+        filter.setSymbols(asList("FOO"));
+
+        parser.message(headerless(systemEvent(1)));
+        parser.message(headerless(regSHORestriction(2, "FOO")));
+        parser.message(headerless(regSHORestriction(3, "BAR")));
+
+        assertEquals("FOO", ((RegSHORestriction)events.last()).stock);
+
+        parser.message(headerless(quotation(4, "FOO")));
+        parser.message(headerless(quotation(5, "BAR")));
+
+        assertEquals("FOO", ((Quotation)events.last()).stock);
+
+        assertEquals(asList(
+                    new QBBO21Events.Event(MESSAGE_TYPE_SYSTEM_EVENT, 0),
+                    new QBBO21Events.Event(MESSAGE_TYPE_REG_SHO_RESTRICTION, 0),
+                    new QBBO21Events.Event(MESSAGE_TYPE_QUOTATION, 0)),
+                events.collect());
+    }
+
+    @Test
+    void skip() throws IOException {
+        QBBO21Parser parser = parser(true);
+
+        filter.setSymbols(asList("FOO"));
+
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        quotation(1, "BAR").put(buffer);
+        buffer.putInt(0);
+        buffer.flip();
+
+        parser.message(buffer);
+
+        assertEquals(messageLength(MESSAGE_TYPE_QUOTATION), buffer.position());
+        assertEquals(0, events.collect().size());
+    }
+
+    @Test
+    void skipWithoutHeader() throws IOException {
+        QBBO21Parser parser = parser(false);
+
+        filter.setSymbols(asList("FOO"));
+
+        ByteBuffer message = headerless(quotation(1, "BAR"));
+
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        buffer.put(message);
+        buffer.putInt(0);
+        buffer.flip();
+
+        parser.message(buffer);
+
+        assertEquals(messageLength(MESSAGE_TYPE_QUOTATION) - HEADER_LENGTH, buffer.position());
+        assertEquals(0, events.collect().size());
+    }
+
+    @Test
+    void skipTruncated() throws IOException {
+        QBBO21Parser parser = parser(true);
+
+        filter.setMessageTypes(MESSAGE_TYPE_SYSTEM_EVENT);
+
+        ByteBuffer buffer = bytes(quotation(1, "FOO"));
+
+        buffer.limit(12);
+
+        parser.message(buffer);
+
+        assertEquals(12, buffer.position());
+        assertEquals(0, events.collect().size());
+    }
+
+    @Test
+    void countUnknownMessageTypes() throws IOException {
+        QBBO21Parser parser = parser(true);
+
+        ByteBuffer buffer = unknown();
+
+        parser.message(buffer);
+        parser.message(unknown());
+
+        assertEquals(0, buffer.remaining());
+        assertEquals(2, parser.getUnknownMessageCount((byte)'z'));
+        assertEquals(0, parser.getUnknownMessageCount((byte)'y'));
+        assertEquals(0, events.collect().size());
+    }
+
+    @Test
+    void countFilteredUnknownMessageTypes() throws IOException {
+        QBBO21Parser parser = parser(true);
+
+        filter.setMessageTypes(MESSAGE_TYPE_SYSTEM_EVENT);
+
+        parser.message(unknown());
+
+        assertEquals(1, parser.getUnknownMessageCount((byte)'z'));
+    }
+
+    @Test
+    void failOnUnknownMessageType() {
+        QBBO21Parser parser = parser(true);
+
+        parser.setUnknownMessageTypePolicy(UnknownMessageTypePolicy.FAIL);
+
+        assertThrows(QBBO21Exception.class, () -> parser.message(unknown()));
+    }
+
+    @Test
+    void skipUnknownMessageTypes() throws IOException {
+        QBBO21Parser parser = parser(true);
+
+        parser.setUnknownMessageTypePolicy(UnknownMessageTypePolicy.SKIP);
+
+        ByteBuffer buffer = unknown();
+
+        parser.message(buffer);
+
+        assertEquals(0, buffer.remaining());
+        assertEquals(0, parser.getUnknownMessageCount((byte)'z'));
+        assertEquals(0, events.collect().size());
+    }
+
+    private QBBO21Parser parser(boolean header) {
+        QBBO21Parser parser = new QBBO21Parser(events, header);
+
+        parser.setFilter(filter);
+
+        return parser;
+    }
+
+    private static SystemEvent systemEvent(int trackingNumber) {
+        SystemEvent message = new SystemEvent();
+
+        message.trackingNumber = trackingNumber;
+        message.eventCode      = 'O';
+
+        return message;
+    }
+
+    private static RegSHORestriction regSHORestriction(int trackingNumber, String stock) {
+        RegSHORestriction message = new RegSHORestriction();
+
+        message.trackingNumber = trackingNumber;
+        message.packedStock    = ASCII.packLong(String.format("%-8s", stock));
+        message.regSHOAction   = '1';
+
+        return message;
+    }
+
+    private static Quotation quotation(int trackingNumber, String stock) {
+        Quotation message = new Quotation();
+
+        message.trackingNumber    = trackingNumber;
+        message.timestampHigh     = 2;
+        message.timestampLow      = 3;
+        message.packedStock       = ASCII.packLong(String.format("%-8s", stock));
+        message.securityClass     = 'Q';
+        message.rawBestBidPrice   = 1000000;
+        message.bestBidSize       = 100;
+        message.rawBestOfferPrice = 1001000;
+        message.bestOfferSize     = 200;
+
+        return message;
+    }
+
+    private static void assertQuotation(Quotation message) {
+        assertEquals("FOO", message.stock);
+        assertEquals('Q', message.securityClass);
+        assertEquals(100.0, message.bestBidPrice, 0.0);
+        assertEquals(1000000, message.rawBestBidPrice);
+        assertEquals(100, message.bestBidSize);
+        assertEquals(100.1, message.bestOfferPrice, 0.0);
+        assertEquals(1001000, message.rawBestOfferPrice);
+        assertEquals(200, message.bestOfferSize);
+    }
+
+    private static ByteBuffer unknown() {
+        return ByteBuffer.wrap(new byte[] { 'z', 0, 1, 0, 0 });
+    }
+
+    private static ByteBuffer bytes(Message message) {
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+
+        message.put(buffer);
+        buffer.flip();
+
+        return buffer;
+    }
+
+    private static ByteBuffer headerless(Message message) {
+        ByteBuffer buffer = bytes(message);
+
+        ByteBuffer body = ByteBuffer.allocate(buffer.remaining() - HEADER_LENGTH);
+
+        body.put(buffer.get());
+
+        buffer.position(1 + HEADER_LENGTH);
+
+        body.put(buffer);
+        body.flip();
+
+        return body;
+    }
+
+}